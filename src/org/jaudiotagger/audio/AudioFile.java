@@ -5,7 +5,7 @@ import org.jaudiotagger.audio.exceptions.*;
 import org.jaudiotagger.audio.real.RealTag;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.aiff.AiffTag;
 import org.jaudiotagger.tag.asf.AsfTag;
 import org.jaudiotagger.tag.flac.FlacTag;
@@ -62,6 +62,11 @@ public class AudioFile
      */
     protected String extension;
 
+    /**
+     * The instance that read this file, so it is written back with the same options
+     */
+    private AudioFileIO audioFileIO;
+
     public AudioFile()
     {
 
@@ -99,7 +104,8 @@ public class AudioFile
     }
 
     /**
-     * <p>Write the tag contained in this AudioFile in the actual file on the disk, this is the same as calling the <code>AudioFileIO.write(this)</code> method.
+     * <p>Write the tag contained in this AudioFile in the actual file on the disk, this is the same as calling the <code>writeFile(this, null)</code>
+     * method of the <code>AudioFileIO</code> that read it, so it is written with the same options, or <code>AudioFileIO.write(this)</code> if it was not read by one.
      *
      * @throws NoWritePermissionsException if the file could not be written to due to file permissions
      * @throws CannotWriteException If the file could not be written/accessed, the extension wasn't recognized, or other IO error occured.
@@ -107,18 +113,37 @@ public class AudioFile
      */
     public void commit() throws CannotWriteException
     {
-        AudioFileIO.write(this);
+        getAudioFileIO().writeFile(this, null);
     }
 
     /**
-     * <p>Delete any tags that exist in the fie , this is the same as calling the <code>AudioFileIO.delete(this)</code> method.
+     * <p>Delete any tags that exist in the fie , this is the same as calling the <code>deleteTag(this)</code> method of the
+     * <code>AudioFileIO</code> that read it, or <code>AudioFileIO.delete(this)</code> if it was not read by one.
      *
      * @throws CannotWriteException If the file could not be written/accessed, the extension wasn't recognized, or other IO error occured.
      * @see AudioFileIO
      */
     public void delete() throws CannotReadException, CannotWriteException
     {
-        AudioFileIO.delete(this);
+        getAudioFileIO().deleteTag(this);
+    }
+
+    /**
+     * @return the instance that read this file, or the default instance if it was not read by one
+     */
+    public AudioFileIO getAudioFileIO()
+    {
+        return audioFileIO != null ? audioFileIO : AudioFileIO.getDefaultAudioFileIO();
+    }
+
+    /**
+     * Set by the AudioFileIO that read this file
+     *
+     * @param audioFileIO
+     */
+    void setAudioFileIO(AudioFileIO audioFileIO)
+    {
+        this.audioFileIO = audioFileIO;
     }
 
     /**
@@ -201,7 +226,7 @@ public class AudioFile
      */
     public String toString()
     {
-        return "AudioFile " + getFile().getAbsolutePath()
+        return "AudioFile " + ((getFile() == null) ? "" : getFile().getAbsolutePath())
                 + "  --------\n" + audioHeader.toString() + "\n" + ((tag == null) ? "" : tag.toString()) + "\n-------------------";
     }
 
@@ -248,7 +273,7 @@ public class AudioFile
         }
         else
         {
-            if (TagOptionSingleton.getInstance().isCheckIsWritable() && !file.canWrite())
+            if (TagOptions.current().isCheckIsWritable() && !file.canWrite())
             {
                 throw new ReadOnlyFileException(ErrorMessage.NO_PERMISSIONS_TO_WRITE_TO_FILE.getMsg(file.getPath()));
             }
@@ -321,7 +346,7 @@ public class AudioFile
         }
         else if(SupportedFileFormat.WAV.getFilesuffix().equals(extension))
         {
-            return new WavTag(TagOptionSingleton.getInstance().getWavOptions());
+            return new WavTag(TagOptions.current().getWavOptions());
         }
         else if(SupportedFileFormat.RA.getFilesuffix().equals(extension))
         {
@@ -398,7 +423,7 @@ public class AudioFile
          */
         if(tag instanceof AbstractID3v2Tag)
         {
-            Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, TagOptionSingleton.getInstance().getID3V2Version());
+            Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, TagOptions.current().getID3V2Version());
             if(convertedTag!=null)
             {
                 return convertedTag;
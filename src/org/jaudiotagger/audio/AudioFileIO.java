@@ -24,6 +24,7 @@ import org.jaudiotagger.audio.ape.ApeFileReader;
 import org.jaudiotagger.audio.ape.ApeFileWriter;
 import org.jaudiotagger.audio.asf.AsfFileReader;
 import org.jaudiotagger.audio.asf.AsfFileWriter;
+import org.jaudiotagger.audio.cache.CachedAudioFile;
 import org.jaudiotagger.audio.dff.DffFileReader;
 import org.jaudiotagger.audio.dsf.DsfFileReader;
 import org.jaudiotagger.audio.dsf.DsfFileWriter;
@@ -42,11 +43,13 @@ import org.jaudiotagger.audio.wav.WavFileReader;
 import org.jaudiotagger.audio.wav.WavFileWriter;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagOptions;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -122,10 +125,12 @@ public class AudioFileIO
 
     /**
      * This method returns the default instance for static use.<br>
+     * It is created on first use and may be shared between threads, the readers and writers it holds keep no
+     * state between files.
      *
      * @return The default instance.
      */
-    public static AudioFileIO getDefaultAudioFileIO()
+    public static synchronized AudioFileIO getDefaultAudioFileIO()
     {
         if (defaultInstance == null)
         {
@@ -195,6 +200,80 @@ public class AudioFileIO
       return getDefaultAudioFileIO().readFile(f);
   }
 
+    /**
+     *
+     * Read only the audio header of the given file, tags are not parsed.
+     *
+     *
+     * @param f The file to read.
+     * @return The audio header of the file.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioHeader readAudioHeader(File f)
+            throws CannotReadException, IOException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readFileAudioHeader(f);
+    }
+
+    /**
+     *
+     * Read the tag contained in the given channel, such as one opened from a file descriptor when there is no path
+     * to the file.
+     *
+     *
+     * @param fc The channel to read, it is left open.
+     * @param formatHint The extension or name of the file used to pick the reader, if null the format is worked out
+     *                   from the content of the channel.
+     * @return The AudioFile with the file tag and the file encoding info, it has no File.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the channel could not be read, the format wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     */
+    public static AudioFile read(FileChannel fc, String formatHint)
+            throws CannotReadException, IOException
+    {
+        return getDefaultAudioFileIO().readChannel(fc, formatHint);
+    }
+
+    /**
+     *
+     * Read the tag contained in the file behind the given range reader, such as a file held in a remote store.
+     *
+     *
+     * @param reader The source of the file, it is left open.
+     * @param formatHint The extension or name of the file used to pick the reader, if null the format is worked out
+     *                   from the content of the file.
+     * @return The AudioFile with the file tag and the file encoding info, it has no File.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the format wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     */
+    public static AudioFile read(RangeReader reader, String formatHint)
+            throws CannotReadException, IOException
+    {
+        return getDefaultAudioFileIO().readRange(reader, formatHint);
+    }
+
+    /**
+     *
+     * Write the tag contained in the audioFile to the given channel.
+     *
+     *
+     * @param f The AudioFile to be written
+     * @param fc The channel holding the audio data the AudioFile was read from, open for reading and writing. It is
+     *           left open.
+     * @throws CannotWriteException If the channel could not be written, the extension
+     *                              wasn't recognized, the change can only be made by writing a new file,
+     *                              or other IO error occurred.
+     */
+    public static void write(AudioFile f, FileChannel fc) throws CannotWriteException
+    {
+        getDefaultAudioFileIO().writeChannel(f, fc);
+    }
+
     /**
      *
      * Write the tag contained in the audioFile in the actual file on the disk.
@@ -239,16 +318,41 @@ public class AudioFileIO
     public final Map<String, AudioFileReader> readers = new HashMap<>();
     public final Map<String, AudioFileWriter> writers = new HashMap<>();
 
+    /**
+     * Options used while this instance reads and writes files, null to use the default TagOptionSingleton
+     */
+    private final TagOptions tagOptions;
 
     /**
      * Creates an instance.
      */
     public AudioFileIO()
     {
+        this(null);
+    }
+
+    /**
+     * Creates an instance that reads and writes files with the given options rather than the ones currently set
+     * on the default TagOptionSingleton. The options are bound to the calling thread for the duration of each
+     * read, write or delete made through this instance.
+     *
+     * @param tagOptions the options, or null to use the default TagOptionSingleton
+     */
+    public AudioFileIO(TagOptions tagOptions)
+    {
+        this.tagOptions = tagOptions;
         this.modificationHandler = new ModificationHandler();
         prepareReadersAndWriters();
     }
 
+    /**
+     * @return the options bound to this instance, null if it uses the default TagOptionSingleton
+     */
+    public TagOptions getTagOptions()
+    {
+        return tagOptions;
+    }
+
     /**
      * Adds an listener for all file formats.
      *
@@ -272,6 +376,10 @@ public class AudioFileIO
      */
     public void deleteTag(AudioFile f) throws CannotReadException, CannotWriteException
     {
+        if (f instanceof CachedAudioFile)
+        {
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_CACHED.getMsg(f.getFile()));
+        }
         String ext = Utils.getExtension(f.getFile());
 
         Object afw = writers.get(ext);
@@ -280,7 +388,15 @@ public class AudioFileIO
             throw new CannotWriteException(ErrorMessage.NO_DELETER_FOR_THIS_FORMAT.getMsg(ext));
         }
 
-        ((AudioFileWriter) afw).delete(f);
+        TagOptions previous = TagOptions.bind(tagOptions);
+        try
+        {
+            ((AudioFileWriter) afw).delete(f);
+        }
+        finally
+        {
+            TagOptions.bind(previous);
+        }
     }
 
     /**
@@ -358,7 +474,7 @@ public class AudioFileIO
         {
             throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
         }
-        AudioFile tempFile = afr.read(f);
+        AudioFile tempFile = read(afr, f);
         tempFile.setExt(ext);
         return tempFile;
     }
@@ -389,7 +505,7 @@ public class AudioFileIO
            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
        }
 
-       AudioFile tempFile = afr.read(f);
+       AudioFile tempFile = read(afr, f);
        tempFile.setExt(ext);
        return tempFile;
 
@@ -421,12 +537,139 @@ public class AudioFileIO
           throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
       }
 
-      AudioFile tempFile = afr.read(f);
+      AudioFile tempFile = read(afr, f);
       tempFile.setExt(ext);
       return tempFile;
 
   }
 
+    /**
+     *
+     * Read only the audio header of the given file. This is much quicker than reading the whole file when the
+     * tags are not needed, as large tags such as those holding artwork are skipped over rather than parsed.
+     *
+     *
+     * @param f The file to read.
+     * @return The audio header of the file.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioHeader readFileAudioHeader(File f)
+            throws CannotReadException, IOException, InvalidAudioFrameException
+    {
+        String ext = Utils.getExtension(f);
+
+        AudioFileReader afr = readers.get(ext);
+        if (afr == null)
+        {
+            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+
+        TagOptions previous = TagOptions.bind(tagOptions);
+        try
+        {
+            return afr.readAudioHeader(f);
+        }
+        finally
+        {
+            TagOptions.bind(previous);
+        }
+    }
+
+    /**
+     *
+     * Read the tag contained in the given channel.
+     *
+     *
+     * @param fc The channel to read, it is left open.
+     * @param formatHint The extension or name of the file used to pick the reader, if null the format is worked out
+     *                   from the content of the channel.
+     * @return The AudioFile with the file tag and the file encoding info, it has no File.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the channel could not be read, the format wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     */
+    public AudioFile readChannel(FileChannel fc, String formatHint)
+            throws CannotReadException, IOException
+    {
+        String ext = getChannelExtension(fc, formatHint);
+
+        AudioFileReader afr = readers.get(ext);
+        if (afr == null)
+        {
+            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+
+        TagOptions previous = TagOptions.bind(tagOptions);
+        try
+        {
+            AudioFile tempFile = afr.read(fc, formatHint == null ? ext : formatHint);
+            tempFile.setExt(ext);
+            tempFile.setAudioFileIO(this);
+            return tempFile;
+        }
+        finally
+        {
+            TagOptions.bind(previous);
+        }
+    }
+
+    /**
+     *
+     * Read the tag contained in the file behind the given range reader. The ranges the reader for the format will need
+     * are planned and fetched in a few large reads before it starts, see {@link ReadPlanner}.
+     *
+     *
+     * @param reader The source of the file, it is left open.
+     * @param formatHint The extension or name of the file used to pick the reader, if null the format is worked out
+     *                   from the content of the file.
+     * @return The AudioFile with the file tag and the file encoding info, it has no File.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the format wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     */
+    public AudioFile readRange(RangeReader reader, String formatHint)
+            throws CannotReadException, IOException
+    {
+        //Not closed as that would close the reader
+        RangeReaderChannel fc = new RangeReaderChannel(reader);
+        new ReadPlanner().prefetch(fc, getChannelExtension(fc, formatHint));
+        return readChannel(fc, formatHint);
+    }
+
+    /**
+     * @return extension from the format hint, or from the content of the channel if there is no hint
+     */
+    private String getChannelExtension(FileChannel fc, String formatHint) throws IOException
+    {
+        if (formatHint == null)
+        {
+            return Utils.getMagicExtension(fc);
+        }
+        return formatHint.substring(formatHint.lastIndexOf('.') + 1).toLowerCase();
+    }
+
+    /**
+     * Read the file with the options of this instance bound to the calling thread
+     */
+    private AudioFile read(AudioFileReader afr, File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        TagOptions previous = TagOptions.bind(tagOptions);
+        try
+        {
+            AudioFile audioFile = afr.read(f);
+            audioFile.setAudioFileIO(this);
+            return audioFile;
+        }
+        finally
+        {
+            TagOptions.bind(previous);
+        }
+    }
+
     /**
      * Check does file exist
      *
@@ -468,6 +711,16 @@ public class AudioFileIO
     {
     	String ext = f.getExt();
 
+        if (f.getFile() == null)
+        {
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_NO_FILE.getMsg(ext));
+        }
+
+        if (f instanceof CachedAudioFile)
+        {
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_CACHED.getMsg(f.getFile()));
+        }
+
         if (targetPath != null && !targetPath.isEmpty())
         {
             File destination = new File(targetPath + "." + ext);
@@ -486,7 +739,53 @@ public class AudioFileIO
             throw new CannotWriteException(ErrorMessage.NO_WRITER_FOR_THIS_FORMAT.getMsg(ext));
         }
 
-        afw.write(f);
+        TagOptions previous = TagOptions.bind(tagOptions);
+        try
+        {
+            afw.write(f);
+        }
+        finally
+        {
+            TagOptions.bind(previous);
+        }
+    }
+
+    /**
+     *
+     * Write the tag contained in the audioFile to the given channel.
+     *
+     *
+     * @param f The AudioFile to be written
+     * @param fc The channel holding the audio data the AudioFile was read from, open for reading and writing. It is
+     *           left open.
+     * @throws CannotWriteException If the channel could not be written, the extension
+     *                              wasn't recognized, the change can only be made by writing a new file,
+     *                              or other IO error occurred.
+     */
+    public void writeChannel(AudioFile f, FileChannel fc) throws CannotWriteException
+    {
+        String ext = f.getExt();
+
+        if (f instanceof CachedAudioFile)
+        {
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_CACHED.getMsg(f.getFile()));
+        }
+
+        AudioFileWriter afw = writers.get(ext);
+        if (afw == null)
+        {
+            throw new CannotWriteException(ErrorMessage.NO_WRITER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+
+        TagOptions previous = TagOptions.bind(tagOptions);
+        try
+        {
+            afw.write(f, fc);
+        }
+        finally
+        {
+            TagOptions.bind(previous);
+        }
     }
 
     /**
@@ -0,0 +1,31 @@
+package org.jaudiotagger.audio;
+
+import java.io.File;
+
+/**
+ * Receives the results of an {@link AudioLibraryScanner} scan.<br>
+ *
+ * <p>Methods are called from the worker threads of the scanner, possibly at the same time for different files,
+ * so implementations must be thread safe. A scan does not complete until every call has returned, so a slow
+ * listener holds back the reading of further files.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public interface AudioLibraryScanListener
+{
+    /**
+     * Notifies that <code>file</code> has been read.
+     *
+     * @param file      The file that was read.
+     * @param audioFile Its audio header and tag.
+     */
+    void fileRead(File file, AudioFile audioFile);
+
+    /**
+     * Notifies that <code>file</code> could not be read, the scan carries on with the next file.
+     *
+     * @param file  The file that could not be read.
+     * @param cause The exception thrown by the reader.
+     */
+    void fileFailed(File file, Exception cause);
+}
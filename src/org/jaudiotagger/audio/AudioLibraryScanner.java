@@ -0,0 +1,335 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.audio.cache.MetadataCache;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Reads many audio files in parallel.<br>
+ *
+ * <p>Files are read with {@link AudioFileIO#readFile(File)} on a fixed pool of worker threads and the results are
+ * passed to an {@link AudioLibraryScanListener}. Only a bounded number of files are queued or being read at any
+ * time, so walking a large directory tree or consuming a long list of paths waits for the workers to catch up
+ * rather than building up an unbounded backlog.
+ *
+ * <p>Here is an simple example of use:
+ *
+ * <code>
+ * AudioLibraryScanner scanner = new AudioLibraryScanner(4);
+ * scanner.scan(new File("/sdcard/Music"), listener); //Returns once every file has been passed to the listener
+ * scanner.close();
+ * </code>
+ *
+ * <p>A scanner runs one scan at a time, {@link #cancel()} may be called from any thread, including from the
+ * listener, to stop the current scan early. A cancel made before a scan starts stops that scan, and is cleared when
+ * the scan it applied to returns.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class AudioLibraryScanner implements Closeable
+{
+    //Logger
+    public static final Logger logger = Logger.getLogger("org.jaudiotagger.audio");
+
+    private static final AtomicInteger scannerCount = new AtomicInteger();
+
+    private final AudioFileIO audioFileIO;
+    private final ExecutorService executor;
+    private final int maxPendingFiles;
+    private final AudioFileFilter filter = new AudioFileFilter(true);
+
+    private volatile boolean cancelled;
+    private volatile MetadataCache metadataCache;
+
+    /**
+     * Creates a scanner using the default AudioFileIO, allowing twice as many files to be pending as there are
+     * worker threads.
+     *
+     * @param threads number of worker threads
+     */
+    public AudioLibraryScanner(int threads)
+    {
+        this(AudioFileIO.getDefaultAudioFileIO(), threads, threads * 2);
+    }
+
+    /**
+     * Creates a scanner.
+     *
+     * @param audioFileIO     used to read the files
+     * @param threads         number of worker threads
+     * @param maxPendingFiles maximum number of files waiting to be read or being read, not less than threads
+     */
+    public AudioLibraryScanner(AudioFileIO audioFileIO, int threads, int maxPendingFiles)
+    {
+        if (threads < 1 || maxPendingFiles < threads)
+        {
+            throw new IllegalArgumentException("Invalid threads:" + threads + ":maxPendingFiles:" + maxPendingFiles);
+        }
+        this.audioFileIO = audioFileIO;
+        this.maxPendingFiles = maxPendingFiles;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ScanThreadFactory(scannerCount.incrementAndGet()));
+    }
+
+    /**
+     * Read files through the given cache, so files that have not changed since they were cached are not parsed again.
+     * The cache reads the files that are not cached with its own AudioFileIO.
+     *
+     * @param metadataCache the cache, or null to read every file
+     */
+    public void setMetadataCache(MetadataCache metadataCache)
+    {
+        this.metadataCache = metadataCache;
+    }
+
+    /**
+     * Read every supported audio file within directory and its sub directories, hidden and unreadable files
+     * are skipped.
+     *
+     * @param directory root of the tree to scan
+     * @param listener  receives the result for each file
+     * @return true if all the files have been read, false if the scan was cancelled
+     * @throws InterruptedException if the calling thread is interrupted, files already passed to the workers are
+     *                              still read
+     */
+    public synchronized boolean scan(File directory, AudioLibraryScanListener listener) throws InterruptedException
+    {
+        Semaphore pending = new Semaphore(maxPendingFiles);
+        boolean completed;
+        try
+        {
+            Deque<File> directories = new ArrayDeque<>();
+            directories.push(directory);
+            while (!directories.isEmpty() && !cancelled)
+            {
+                File[] children = directories.pop().listFiles(filter);
+                if (children == null)
+                {
+                    continue;
+                }
+
+                //Sorted so files are read in a predictable order, sub directories are visited in the same order
+                Arrays.sort(children);
+                for (int i = children.length - 1; i >= 0; i--)
+                {
+                    if (children[i].isDirectory())
+                    {
+                        directories.push(children[i]);
+                    }
+                }
+                for (File child : children)
+                {
+                    if (cancelled)
+                    {
+                        break;
+                    }
+                    if (!child.isDirectory())
+                    {
+                        submit(child, listener, pending);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            awaitPending(pending);
+            completed = finishScan();
+        }
+        return completed;
+    }
+
+    /**
+     * Read each of the files, in the order returned by files. The iterable is consumed only as fast as the
+     * workers can read the files, so it may be backed by a lazily produced sequence of paths.
+     *
+     * @param files    the files to read
+     * @param listener receives the result for each file
+     * @return true if all the files have been read, false if the scan was cancelled
+     * @throws InterruptedException if the calling thread is interrupted, files already passed to the workers are
+     *                              still read
+     */
+    public synchronized boolean scan(Iterable<File> files, AudioLibraryScanListener listener) throws InterruptedException
+    {
+        Semaphore pending = new Semaphore(maxPendingFiles);
+        boolean completed;
+        try
+        {
+            for (File file : files)
+            {
+                if (cancelled)
+                {
+                    break;
+                }
+                submit(file, listener, pending);
+            }
+        }
+        finally
+        {
+            awaitPending(pending);
+            completed = finishScan();
+        }
+        return completed;
+    }
+
+    /**
+     * Stop the current scan, files that have not been started yet are not read or passed to the listener. If no scan
+     * is running, or one is waiting to start, the next scan to run is stopped before it reads any file.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if the current scan, or the next one if none is running, has been cancelled
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Clear the cancellation once the scan it applied to has finished, so it is not carried over to the next scan.
+     *
+     * @return true if the scan completed, false if it was cancelled
+     */
+    private boolean finishScan()
+    {
+        boolean completed = !cancelled;
+        cancelled = false;
+        return completed;
+    }
+
+    /**
+     * Stops the worker threads once any current scan has finished, the scanner cannot be used afterwards.
+     */
+    @Override
+    public void close()
+    {
+        executor.shutdown();
+    }
+
+    /**
+     * Wait for room in the pending files then pass file to a worker.
+     */
+    private void submit(File file, AudioLibraryScanListener listener, Semaphore pending) throws InterruptedException
+    {
+        pending.acquire();
+        try
+        {
+            executor.execute(new ReadTask(file, listener, pending));
+        }
+        catch (RejectedExecutionException ree)
+        {
+            pending.release();
+            throw new IllegalStateException("Scanner has been closed", ree);
+        }
+    }
+
+    /**
+     * Wait for every pending file to be finished with, even if interrupted, so that no listener calls are made
+     * after the scan has returned.
+     */
+    private void awaitPending(Semaphore pending)
+    {
+        boolean interrupted = false;
+        while (true)
+        {
+            try
+            {
+                pending.acquire(maxPendingFiles);
+                break;
+            }
+            catch (InterruptedException ie)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads a single file on a worker thread
+     */
+    private class ReadTask implements Runnable
+    {
+        private final File file;
+        private final AudioLibraryScanListener listener;
+        private final Semaphore pending;
+
+        ReadTask(File file, AudioLibraryScanListener listener, Semaphore pending)
+        {
+            this.file = file;
+            this.listener = listener;
+            this.pending = pending;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                if (cancelled)
+                {
+                    return;
+                }
+
+                AudioFile audioFile;
+                try
+                {
+                    MetadataCache cache = metadataCache;
+                    audioFile = cache != null ? cache.read(file) : audioFileIO.readFile(file);
+                }
+                catch (Exception e)
+                {
+                    logger.config("Unable to read:" + file.getPath() + ":" + e.getMessage());
+                    listener.fileFailed(file, e);
+                    return;
+                }
+                listener.fileRead(file, audioFile);
+            }
+            finally
+            {
+                pending.release();
+            }
+        }
+    }
+
+    /**
+     * Creates daemon worker threads, so an unclosed scanner does not stop the application from exiting
+     */
+    private static class ScanThreadFactory implements ThreadFactory
+    {
+        private final int scannerNumber;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        ScanThreadFactory(int scannerNumber)
+        {
+            this.scannerNumber = scannerNumber;
+        }
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread thread = new Thread(r, "jaudiotagger-scanner-" + scannerNumber + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
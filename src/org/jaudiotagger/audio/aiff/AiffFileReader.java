@@ -1,12 +1,17 @@
 package org.jaudiotagger.audio.aiff;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptions;
+import org.jaudiotagger.tag.aiff.AiffTag;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 /**
  * Reads Audio and Metadata information contained in Aiff file.
@@ -14,14 +19,27 @@ import java.io.IOException;
 public class AiffFileReader extends AudioFileReader2
 {
     @Override
-    protected GenericAudioHeader getEncodingInfo(File file) throws CannotReadException, IOException
+    protected GenericAudioHeader getEncodingInfo(FileChannel fc, String name) throws CannotReadException, IOException
     {
-        return new AiffInfoReader(file.getName()).read(file);
+        return new AiffInfoReader(name).read(fc);
     }
 
     @Override
-    protected Tag getTag(File file) throws CannotReadException, IOException
+    protected Tag getTag(FileChannel fc, String name) throws CannotReadException, IOException
     {
-        return new AiffTagReader(file.getName()).read(file);
+        return new AiffTagReader(name).read(fc);
+    }
+
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        AudioFile audioFile = super.read(fc, name, f);
+        //Artwork can only be left in the file until asked for if we know the file
+        AbstractID3v2Tag id3Tag = ((AiffTag) audioFile.getTag()).getID3Tag();
+        if (f != null && id3Tag != null && id3Tag.getStartLocationInFile() != null && TagOptions.current().isLazyArtwork())
+        {
+            id3Tag.leaveImageDataInFile(f, id3Tag.getStartLocationInFile());
+        }
+        return audioFile;
     }
 }
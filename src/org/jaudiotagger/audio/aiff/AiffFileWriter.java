@@ -18,11 +18,14 @@
  */
 package org.jaudiotagger.audio.aiff;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter2;
 import org.jaudiotagger.tag.Tag;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 
 /**
@@ -45,6 +48,14 @@ public class AiffFileWriter extends AudioFileWriter2
         tw.delete(tag, file);
     }
 
+    @Override
+    protected boolean writeTagToChannel(AudioFile af, Tag tag, FileChannel fc) throws CannotWriteException, IOException
+    {
+        fileWillBeModifiedInPlace(af);
+        tw.write(tag, fc, getLoggingName(af));
+        return true;
+    }
+
 
 }
 
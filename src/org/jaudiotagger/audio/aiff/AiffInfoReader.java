@@ -44,32 +44,44 @@ public class AiffInfoReader extends AiffChunkReader
     {
         try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
         {
-            FileChannel fc = raf.getChannel();
-            logger.config(loggingName + ":Reading AIFF file size:" + Hex.asDecAndHex(fc.size()));
-            AiffAudioHeader info = new AiffAudioHeader();
-            AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
-            long noOfBytes = fileHeader.readHeader(fc, info);
-            while ((fc.position() < (noOfBytes + ChunkHeader.CHUNK_HEADER_SIZE)) && (fc.position() < fc.size()))
-            {
-                boolean result = readChunk(fc, info);
-                if (!result)
-                {
-                    logger.severe(file + ":UnableToReadProcessChunk");
-                    break;
-                }
-            }
+            return read(raf.getChannel());
+        }
+    }
 
-            if(info.getFileType()==AiffType.AIFC)
-            {
-                info.setFormat(SupportedFileFormat.AIF.getDisplayName());
-            }
-            else
+    /**
+     * Read the encoding info from the channel of an AIFF file
+     *
+     * @param fc channel positioned at the start of the file
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected GenericAudioHeader read(FileChannel fc) throws CannotReadException, IOException
+    {
+        logger.config(loggingName + ":Reading AIFF file size:" + Hex.asDecAndHex(fc.size()));
+        AiffAudioHeader info = new AiffAudioHeader();
+        AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
+        long noOfBytes = fileHeader.readHeader(fc, info);
+        while ((fc.position() < (noOfBytes + ChunkHeader.CHUNK_HEADER_SIZE)) && (fc.position() < fc.size()))
+        {
+            boolean result = readChunk(fc, info);
+            if (!result)
             {
-                info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+                logger.severe(loggingName + ":UnableToReadProcessChunk");
+                break;
             }
-            calculateBitRate(info);
-            return info;
         }
+
+        if(info.getFileType()==AiffType.AIFC)
+        {
+            info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+        }
+        else
+        {
+            info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+        }
+        calculateBitRate(info);
+        return info;
     }
 
     /**
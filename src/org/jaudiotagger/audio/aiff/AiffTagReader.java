@@ -46,36 +46,48 @@ public class AiffTagReader extends AiffChunkReader
     {
         try(RandomAccessFile raf = new RandomAccessFile(file, "r"))
         {
-            FileChannel fc = raf.getChannel();
-            AiffAudioHeader aiffAudioHeader = new AiffAudioHeader();
-            AiffTag aiffTag = new AiffTag();
+            return read(raf.getChannel());
+        }
+    }
 
-            AiffFileHeader fileHeader = new AiffFileHeader(file.toString());
-            long  overallChunkSize = fileHeader.readHeader(fc, aiffAudioHeader);
-            aiffTag.setFormSize( overallChunkSize);
-            aiffTag.setFileSize(fc.size());
-            long  endLocationOfAiffData = overallChunkSize + ChunkHeader.CHUNK_HEADER_SIZE;
-            while ((fc.position() < endLocationOfAiffData) && (fc.position() < fc.size()))
-            {
-                if (!readChunk(fc, aiffTag))
-                {
-                    logger.severe(file + ":UnableToReadProcessChunk");
-                    break;
-                }
-            }
+    /**
+     * Read editable Metadata from the channel of an AIFF file
+     *
+     * @param fc channel positioned at the start of the file
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public AiffTag read(FileChannel fc) throws CannotReadException, IOException
+    {
+        AiffAudioHeader aiffAudioHeader = new AiffAudioHeader();
+        AiffTag aiffTag = new AiffTag();
 
-            if (aiffTag.getID3Tag() == null)
-            {
-                aiffTag.setID3Tag(AiffTag.createDefaultID3Tag());
-            }
-            logger.config("LastChunkPos:"+Hex.asDecAndHex(fc.position())
-                    +":OfficialEndLocation:"+Hex.asDecAndHex(endLocationOfAiffData));
-            if(fc.position() > endLocationOfAiffData)
+        AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
+        long  overallChunkSize = fileHeader.readHeader(fc, aiffAudioHeader);
+        aiffTag.setFormSize( overallChunkSize);
+        aiffTag.setFileSize(fc.size());
+        long  endLocationOfAiffData = overallChunkSize + ChunkHeader.CHUNK_HEADER_SIZE;
+        while ((fc.position() < endLocationOfAiffData) && (fc.position() < fc.size()))
+        {
+            if (!readChunk(fc, aiffTag))
             {
-                aiffTag.setLastChunkSizeExtendsPastFormSize(true);
+                logger.severe(loggingName + ":UnableToReadProcessChunk");
+                break;
             }
-            return aiffTag;
         }
+
+        if (aiffTag.getID3Tag() == null)
+        {
+            aiffTag.setID3Tag(AiffTag.createDefaultID3Tag());
+        }
+        logger.config("LastChunkPos:"+Hex.asDecAndHex(fc.position())
+                +":OfficialEndLocation:"+Hex.asDecAndHex(endLocationOfAiffData));
+        if(fc.position() > endLocationOfAiffData)
+        {
+            aiffTag.setLastChunkSizeExtendsPastFormSize(true);
+        }
+        return aiffTag;
     }
 
     /**
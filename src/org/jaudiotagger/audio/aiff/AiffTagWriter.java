@@ -11,8 +11,8 @@ import org.jaudiotagger.audio.iff.ChunkSummary;
 import org.jaudiotagger.audio.iff.IffHeaderChunk;
 import org.jaudiotagger.logging.Hex;
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.aiff.AiffTag;
+import org.jaudiotagger.utils.ShiftData;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -54,6 +54,34 @@ public class AiffTagWriter
         }
     }
 
+    /**
+     * Read existing metadata from the channel, which is left at the start of the file
+     *
+     * @param fc
+     * @param loggingName
+     * @return tags within Tag wrapper
+     * @throws IOException
+     * @throws CannotWriteException
+     */
+    private AiffTag getExistingMetadata(FileChannel fc, String loggingName) throws IOException, CannotWriteException
+    {
+        try
+        {
+            //Find AiffTag (if any)
+            fc.position(0);
+            AiffTagReader im = new AiffTagReader(loggingName);
+            return im.read(fc);
+        }
+        catch (CannotReadException ex)
+        {
+            throw new CannotWriteException(loggingName + " Failed to read file");
+        }
+        finally
+        {
+            fc.position(0);
+        }
+    }
+
     /**
      * Seek in file to start of LIST Metadata chunk
      *
@@ -169,11 +197,9 @@ public class AiffTagWriter
         fc.position(existingTag.getStartLocationInFileOfId3Chunk() + lengthTagChunk);
         logger.severe(fileName + ":Moved location to:" + Hex.asDecAndHex(newLength));
 
-        deleteTagChunkUsingSmallByteBufferSegments(existingTag, fc, newLength, lengthTagChunk);
-
-        //Truncate the file after the last chunk
+        //Move the rest of the file down over the tag and truncate the file after it
         logger.config(fileName + ":Setting new length to:" + Hex.asDecAndHex(newLength));
-        fc.truncate(newLength);
+        ShiftData.shiftDataByOffsetToShrinkSpace(fc, lengthTagChunk);
     }
 
     /** If Metadata tags are corrupted and no other tags later in the file then just truncate ID3 tags and start again
@@ -197,31 +223,6 @@ public class AiffTagWriter
         }
     }
 
-    /**
-     * Use ByteBuffers to copy a chunk, write the chunk and repeat until the rest of the file after the ID3 tag
-     * is rewritten
-     *
-     * @param existingTag existing tag
-     * @param channel channel
-     * @param newLength new length
-     * @param lengthTagChunk length tag chunk
-     * @throws IOException if something goes wrong
-     */
-    // TODO: arguments are not used, position is implicit
-    private void deleteTagChunkUsingSmallByteBufferSegments(AiffTag existingTag, FileChannel channel, long newLength, long lengthTagChunk)
-            throws IOException
-    {
-        ByteBuffer buffer = ByteBuffer.allocateDirect((int)TagOptionSingleton.getInstance().getWriteChunkSize());
-        while (channel.read(buffer) >= 0 || buffer.position() != 0) {
-            buffer.flip();
-            long readPosition = channel.position();
-            channel.position(readPosition-lengthTagChunk-buffer.limit());
-            channel.write(buffer);
-            channel.position(readPosition);
-            buffer.compact();
-        }
-    }
-
     /**
      *
      * @param tag
@@ -245,75 +246,95 @@ public class AiffTagWriter
 
         try(RandomAccessFile raf = new RandomAccessFile(file, "rw"))
         {
-            FileChannel fc = raf.getChannel();
-            //Issue 227:HDtracks issue, if crap at end of file after length according to FORM then delete it
-            long formFileLength     = existingTag.getFormSize() + ChunkHeader.CHUNK_HEADER_SIZE;
-            long currentPos = fc.position();
-            if(formFileLength < fc.size() && !existingTag.isLastChunkSizeExtendsPastFormSize())
-            {
-                logger.warning(file+":Extra Non Chunk Data after end of FORM data length:"+(fc.size() - formFileLength));
-                fc.position(formFileLength);
-                fc.truncate(formFileLength);
-                fc.position(currentPos);
-            }
-            AiffTag aiffTag = (AiffTag) tag;
-            ByteBuffer bb = convert(aiffTag, existingTag);
+            write(tag, raf.getChannel(), existingTag, file.toString());
+        }
+        catch(IOException ioe)
+        {
+            throw new CannotWriteException(file + ":" + ioe.getMessage());
+        }
+    }
 
-            //Replacing ID3 tag
-            if (existingTag.isExistingId3Tag() && existingTag.getID3Tag().getStartLocationInFile() != null)
+    /**
+     * Write tag within the channel, the ID3 chunk is normally the last chunk so only that part of the channel
+     * is changed
+     *
+     * @param tag
+     * @param fc          channel holding the Aiff file, open for reading and writing
+     * @param loggingName
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    public void write(Tag tag, FileChannel fc, String loggingName) throws CannotWriteException, IOException
+    {
+        logger.config(loggingName + ":Writing Aiff tag to channel");
+        write(tag, fc, getExistingMetadata(fc, loggingName), loggingName);
+    }
+
+    private void write(Tag tag, FileChannel fc, AiffTag existingTag, String loggingName) throws CannotWriteException, IOException
+    {
+        //Issue 227:HDtracks issue, if crap at end of file after length according to FORM then delete it
+        long formFileLength     = existingTag.getFormSize() + ChunkHeader.CHUNK_HEADER_SIZE;
+        long currentPos = fc.position();
+        if(formFileLength < fc.size() && !existingTag.isLastChunkSizeExtendsPastFormSize())
+        {
+            logger.warning(loggingName+":Extra Non Chunk Data after end of FORM data length:"+(fc.size() - formFileLength));
+            fc.position(formFileLength);
+            fc.truncate(formFileLength);
+            fc.position(currentPos);
+        }
+        AiffTag aiffTag = (AiffTag) tag;
+        ByteBuffer bb = convert(aiffTag, existingTag);
+
+        //Replacing ID3 tag
+        if (existingTag.isExistingId3Tag() && existingTag.getID3Tag().getStartLocationInFile() != null)
+        {
+            //Usual case
+            if (!existingTag.isIncorrectlyAlignedTag())
             {
-                //Usual case
-                if (!existingTag.isIncorrectlyAlignedTag())
-                {
-                    ChunkHeader chunkHeader = seekToStartOfMetadata(fc, existingTag, file.toString());
-                    logger.config(file + ":Current Space allocated:" + existingTag.getSizeOfID3TagOnly() + ":NewTagRequires:" + bb.limit());
+                ChunkHeader chunkHeader = seekToStartOfMetadata(fc, existingTag, loggingName);
+                logger.config(loggingName + ":Current Space allocated:" + existingTag.getSizeOfID3TagOnly() + ":NewTagRequires:" + bb.limit());
 
-                    //Usual case ID3 is last chunk
-                    if (isAtEndOfFileAllowingForPaddingByte(existingTag, fc))
-                    {
-                        writeDataToFile(fc, bb);
-                    }
-                    //Unusual Case where ID3 is not last chunk
-                    else
-                    {
-                        deleteTagChunk(fc, existingTag, chunkHeader, file.toString());
-                        fc.position(fc.size());
-                        writeExtraByteIfChunkOddSize(fc, fc.size());
-                        writeDataToFile(fc, bb);
-                    }
-                }
-                //Existing ID3 tag is incorrectly aligned so if we can lets delete it and any subsequentially added
-                //ID3 tags as we only want one ID3 tag.
-                else if (AiffChunkSummary.isOnlyMetadataTagsAfterStartingMetadataTag(existingTag))
+                //Usual case ID3 is last chunk
+                if (isAtEndOfFileAllowingForPaddingByte(existingTag, fc))
                 {
-                    deleteRemainderOfFile(fc, existingTag, file.toString());
-                    fc.position(fc.size());
-                    writeExtraByteIfChunkOddSize(fc, fc.size());
                     writeDataToFile(fc, bb);
                 }
+                //Unusual Case where ID3 is not last chunk
                 else
                 {
-                    throw new CannotWriteException(file + ":Metadata tags are corrupted and not at end of file so cannot be fixed");
+                    deleteTagChunk(fc, existingTag, chunkHeader, loggingName);
+                    fc.position(fc.size());
+                    writeExtraByteIfChunkOddSize(fc, fc.size());
+                    writeDataToFile(fc, bb);
                 }
             }
-            //New Tag
-            else
+            //Existing ID3 tag is incorrectly aligned so if we can lets delete it and any subsequentially added
+            //ID3 tags as we only want one ID3 tag.
+            else if (AiffChunkSummary.isOnlyMetadataTagsAfterStartingMetadataTag(existingTag))
             {
+                deleteRemainderOfFile(fc, existingTag, loggingName);
                 fc.position(fc.size());
-                if (Utils.isOddLength(fc.size()))
-                {
-                    fc.write(ByteBuffer.allocateDirect(1));
-                }
+                writeExtraByteIfChunkOddSize(fc, fc.size());
                 writeDataToFile(fc, bb);
             }
-
-            //Always rewrite header
-            rewriteRiffHeaderSize(fc);
+            else
+            {
+                throw new CannotWriteException(loggingName + ":Metadata tags are corrupted and not at end of file so cannot be fixed");
+            }
         }
-        catch(IOException ioe)
+        //New Tag
+        else
         {
-            throw new CannotWriteException(file + ":" + ioe.getMessage());
+            fc.position(fc.size());
+            if (Utils.isOddLength(fc.size()))
+            {
+                fc.write(ByteBuffer.allocateDirect(1));
+            }
+            writeDataToFile(fc, bb);
         }
+
+        //Always rewrite header
+        rewriteRiffHeaderSize(fc);
     }
     /**
      * Rewrite FORM header to reflect new file length
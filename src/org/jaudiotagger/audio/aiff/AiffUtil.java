@@ -55,7 +55,10 @@ public class AiffUtil
      */
     public static String formatDate(Date dat)
     {
-        return dateFmt.format(dat);
+        synchronized (dateFmt)
+        {
+            return dateFmt.format(dat);
+        }
     }
 
 
@@ -1,16 +1,18 @@
 package org.jaudiotagger.audio.ape;
 
-import static org.jaudiotagger.audio.ape.ApeFile.readInt;
-import static org.jaudiotagger.audio.ape.ApeFile.readUnsignedShort;
-
 import android.annotation.SuppressLint;
 
 import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.generic.PrefetchedFileRegions;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public class ApeAudioHeader implements AudioHeader
 {
@@ -22,6 +24,8 @@ public class ApeAudioHeader implements AudioHeader
     private static final int MAC_COMPRESSION_INSANE = 5000;
     private static final int MAC_FLAG_8_BIT = 1;
     private static final int MAC_FLAG_24_BIT = 8;
+    private static final int HEADER_SIZE = 24;
+    private static final int HEADER_READ_SIZE = 128;
 
     private final long fAudioDataStartPosition;
     private final int bitsPerSample;
@@ -36,64 +40,90 @@ public class ApeAudioHeader implements AudioHeader
 
     public ApeAudioHeader(RandomAccessFile file, long id3v2size) throws IOException, CannotReadException
     {
-        file.seek(id3v2size); // skip ID3v2
-
-        fAudioDataStartPosition = file.getFilePointer();
-
-        int signature = file.readInt();
-        if (signature != APE_SIGNATURE)
-            throw new CannotReadException("Monkey's Audio signature was not found");
+        this(new PrefetchedFileRegions(file.getChannel(), 0, 0), id3v2size);
+    }
 
-        this.version = readUnsignedShort(file);
-        if (version <= 0 || version > 32767)
-            throw new CannotReadException("Monkey's Audio signature has invalid version: " + version);
+    public ApeAudioHeader(PrefetchedFileRegions regions, long id3v2size) throws IOException, CannotReadException
+    {
+        fAudioDataStartPosition = id3v2size; // skip ID3v2
 
-        if (version >= 3980)
+        // descriptor and header are read at once, they are usually well within the prefetched head of the file
+        ByteBuffer bb = regions.read(id3v2size, HEADER_READ_SIZE);
+        bb.order(ByteOrder.LITTLE_ENDIAN);
+        try
         {
-            file.skipBytes(2); // padded
-            int descriptorSize = readInt(file);
-            int headerSize = readInt(file);
-            file.seek(fAudioDataStartPosition + descriptorSize);
-
-            this.compressionLevel = readUnsignedShort(file);
-            this.flags = readUnsignedShort(file);
-            this.blocksPerFrame = readInt(file);
-            this.finalFrameBlocks = readInt(file);
-            this.totalFrames = readInt(file);
-            this.bitsPerSample = readUnsignedShort(file);
-            this.channels = readUnsignedShort(file);
-            this.sampleRate = readInt(file);
+            int signature = Integer.reverseBytes(bb.getInt());
+            if (signature != APE_SIGNATURE)
+                throw new CannotReadException("Monkey's Audio signature was not found");
+
+            this.version = getUnsignedShort(bb);
+            if (version <= 0 || version > 32767)
+                throw new CannotReadException("Monkey's Audio signature has invalid version: " + version);
+
+            if (version >= 3980)
+            {
+                bb.getShort(); // padded
+                int descriptorSize = bb.getInt();
+                int headerSize = bb.getInt();
+                if (descriptorSize < 0 || descriptorSize + HEADER_SIZE > bb.limit())
+                {
+                    bb = regions.read(id3v2size + descriptorSize, HEADER_SIZE);
+                    bb.order(ByteOrder.LITTLE_ENDIAN);
+                }
+                else
+                {
+                    bb.position(descriptorSize);
+                }
+
+                this.compressionLevel = getUnsignedShort(bb);
+                this.flags = getUnsignedShort(bb);
+                this.blocksPerFrame = bb.getInt();
+                this.finalFrameBlocks = bb.getInt();
+                this.totalFrames = bb.getInt();
+                this.bitsPerSample = getUnsignedShort(bb);
+                this.channels = getUnsignedShort(bb);
+                this.sampleRate = bb.getInt();
+            }
+            else
+            {
+                this.compressionLevel = getUnsignedShort(bb);
+                this.flags = getUnsignedShort(bb);
+                this.channels = getUnsignedShort(bb);
+                this.sampleRate = bb.getInt();
+                int headerBytes = bb.getInt();
+                int terminatingBytes = bb.getInt();
+                this.totalFrames = bb.getInt();
+                this.finalFrameBlocks = bb.getInt();
+                int reserved = bb.getInt();
+
+                if ((flags & MAC_FLAG_8_BIT) != 0)
+                    this.bitsPerSample = 8;
+                else if ((flags & MAC_FLAG_24_BIT) != 0)
+                    this.bitsPerSample = 24;
+                else
+                    this.bitsPerSample = 16;
+
+                if (version >= 3950)
+                    this.blocksPerFrame = 73728 * 4;
+                else if (version >= 3900)
+                    this.blocksPerFrame = 73728;
+                else if (version >= 3800 && compressionLevel == MAC_COMPRESSION_EXTRA_HIGH)
+                    this.blocksPerFrame = 73728;
+                else
+                    this.blocksPerFrame = 9216;
+            }
         }
-        else
+        catch (BufferUnderflowException e)
         {
-            this.compressionLevel = readUnsignedShort(file);
-            this.flags = readUnsignedShort(file);
-            this.channels = readUnsignedShort(file);
-            this.sampleRate = readInt(file);
-            int headerBytes = readInt(file);
-            int terminatingBytes = readInt(file);
-            this.totalFrames = readInt(file);
-            this.finalFrameBlocks = readInt(file);
-            int reserved = readInt(file);
-
-            if ((flags & MAC_FLAG_8_BIT) != 0)
-                this.bitsPerSample = 8;
-            else if ((flags & MAC_FLAG_24_BIT) != 0)
-                this.bitsPerSample = 24;
-            else
-                this.bitsPerSample = 16;
-
-            if (version >= 3950)
-                this.blocksPerFrame = 73728 * 4;
-            else if (version >= 3900)
-                this.blocksPerFrame = 73728;
-            else if (version >= 3800 && compressionLevel == MAC_COMPRESSION_EXTRA_HIGH)
-                this.blocksPerFrame = 73728;
-            else
-                this.blocksPerFrame = 9216;
+            throw new EOFException("Monkey's Audio header is truncated");
         }
     }
 
+    private static int getUnsignedShort(ByteBuffer bb)
+    {
+        return bb.getShort() & 0xFFFF;
+    }
+
     @Override
     public Integer getByteRate()
     {
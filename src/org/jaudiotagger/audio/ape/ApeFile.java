@@ -4,11 +4,13 @@ import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
 import org.jaudiotagger.audio.generic.AudioFileWithCommonTags;
+import org.jaudiotagger.audio.generic.PrefetchedFileRegions;
 import org.jaudiotagger.tag.TagException;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 /**
  * This class represents a physical APE File
@@ -19,7 +21,27 @@ public class ApeFile extends AudioFileWithCommonTags
 {
     public ApeFile(File file, boolean readOnly) throws IOException, ReadOnlyFileException, CannotReadException, TagException
     {
-        super(file, readOnly, LOAD_ALL);
+        this(file, readOnly, LOAD_ALL);
+    }
+
+    /**
+     * @param file
+     * @param readOnly    causes the files to be opened readonly
+     * @param loadOptions decide what tags to load
+     */
+    public ApeFile(File file, boolean readOnly, int loadOptions) throws IOException, ReadOnlyFileException, CannotReadException, TagException
+    {
+        super(file, readOnly, loadOptions);
+    }
+
+    /**
+     * @param fc          channel of the file, it is left open
+     * @param name        name of the file used in log messages
+     * @param loadOptions decide what tags to load
+     */
+    public ApeFile(FileChannel fc, String name, int loadOptions) throws IOException, CannotReadException, TagException
+    {
+        super(fc, name, loadOptions);
     }
 
     @Override
@@ -29,9 +51,9 @@ public class ApeFile extends AudioFileWithCommonTags
     }
 
     @Override
-    protected AudioHeader readAudioHeader(RandomAccessFile file, long id3v2size) throws CannotReadException, IOException
+    protected AudioHeader readAudioHeader(PrefetchedFileRegions regions, long id3v2size) throws CannotReadException, IOException
     {
-        return new ApeAudioHeader(file, id3v2size);
+        return new ApeAudioHeader(regions, id3v2size);
     }
 
     public static int readInt(RandomAccessFile file) throws IOException
@@ -1,6 +1,7 @@
 package org.jaudiotagger.audio.ape;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
@@ -12,6 +13,7 @@ import org.jaudiotagger.tag.TagException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 public class ApeFileReader extends AudioFileReader
 {
@@ -21,6 +23,38 @@ public class ApeFileReader extends AudioFileReader
         return new ApeFile(f, false);
     }
 
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        try
+        {
+            ApeFile apeFile = new ApeFile(fc, name, ApeFile.LOAD_ALL);
+            apeFile.setFile(f);
+            return apeFile;
+        }
+        catch (TagException e)
+        {
+            throw new CannotReadException(name + ":" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Only the APE header is read, the ID3 and APE tags are skipped over without being parsed
+     */
+    @Override
+    public AudioHeader readAudioHeader(File f) throws CannotReadException, IOException
+    {
+        try
+        {
+            return new ApeFile(f, true, ApeFile.LOAD_NONE).getAudioHeader();
+        }
+        catch (TagException | ReadOnlyFileException e)
+        {
+            //No tags are loaded and the file is opened read only, so should not happen
+            throw new CannotReadException(f.getPath() + ":" + e.getMessage(), e);
+        }
+    }
+
     @Override
     protected GenericAudioHeader getEncodingInfo(RandomAccessFile raf) throws CannotReadException, IOException
     {
@@ -8,6 +8,7 @@ import org.jaudiotagger.tag.Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 public class ApeFileWriter extends AudioFileWriter
 {
@@ -20,6 +21,15 @@ public class ApeFileWriter extends AudioFileWriter
         af.commit();
     }
 
+    @Override
+    protected boolean writeTagToChannel(AudioFile af, Tag tag, FileChannel fc) throws CannotWriteException, IOException
+    {
+        //As with commit the tags held by the ApeFile are saved
+        fileWillBeModifiedInPlace(af);
+        ((ApeFile) af).save(fc);
+        return true;
+    }
+
     @Override
     protected void deleteTag(Tag tag, RandomAccessFile raf, RandomAccessFile tempRaf) throws CannotReadException, CannotWriteException, IOException
     {
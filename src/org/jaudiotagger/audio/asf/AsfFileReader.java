@@ -34,6 +34,7 @@ import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.asf.AsfTag;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -235,28 +236,11 @@ public class AsfFileReader extends AudioFileReader
                 throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f.getAbsolutePath()));
             }
         }
-        InputStream stream = null;
+        RandomAccessFile raf = null;
         try
         {
-            stream = new FullRequestInputStream(new BufferedInputStream(new FileInputStream(f)));
-            AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
-            if (header == null)
-            {
-                throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-            if (header.getFileHeader() == null)
-            {
-                throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-
-            // Just log a warning because file seems to play okay
-            if (header.getFileHeader().getFileSize().longValue() != f.length())
-            {
-                logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(f.getAbsolutePath(), header.getFileHeader().getFileSize().longValue(), f.length()));
-            }
-
-            return new AudioFile(f, getAudioHeader(header), getTag(header));
-
+            raf = new RandomAccessFile(f, "r");
+            return read(raf.getChannel(), f.getAbsolutePath(), f);
         }
         catch (CannotReadException e)
         {
@@ -270,9 +254,9 @@ public class AsfFileReader extends AudioFileReader
         {
             try
             {
-                if (stream != null)
+                if (raf != null)
                 {
-                    stream.close();
+                    raf.close();
                 }
             }
             catch (Exception ex)
@@ -282,4 +266,30 @@ public class AsfFileReader extends AudioFileReader
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        InputStream stream = new FileChannelInputStream(fc, fc.position(), f);
+        AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
+        if (header == null)
+        {
+            throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(name));
+        }
+        if (header.getFileHeader() == null)
+        {
+            throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(name));
+        }
+
+        // Just log a warning because file seems to play okay
+        if (header.getFileHeader().getFileSize() != fc.size())
+        {
+            logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(name, header.getFileHeader().getFileSize(), fc.size()));
+        }
+
+        return new AudioFile(f, getAudioHeader(header), getTag(header));
+    }
+
 }
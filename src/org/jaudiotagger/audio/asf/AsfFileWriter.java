@@ -24,12 +24,21 @@ import org.jaudiotagger.audio.asf.data.ChunkContainer;
 import org.jaudiotagger.audio.asf.data.MetadataContainer;
 import org.jaudiotagger.audio.asf.io.*;
 import org.jaudiotagger.audio.asf.util.TagConverter;
+import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.generic.WritePlan;
+import org.jaudiotagger.audio.generic.WritePlanner;
+import org.jaudiotagger.audio.generic.WriteStrategy;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.asf.AsfTag;
+import org.jaudiotagger.utils.ShiftData;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,6 +50,18 @@ import java.util.List;
  */
 public class AsfFileWriter extends AudioFileWriter
 {
+    /**
+     * Size of the padding object added when the data object has to be moved
+     * anyway, so that later changes can be written without moving it again.
+     */
+    public static final int DEFAULT_PADDING = 4000;
+
+    /**
+     * If the header object shrinks by more than this, such as when artwork is
+     * removed, the data object is moved to reclaim the space rather than
+     * leaving it as padding.
+     */
+    public static final int MAX_PADDING_GROWTH = 64 * 1024;
 
     /**
      * {@inheritDoc}
@@ -68,6 +89,136 @@ public class AsfFileWriter extends AudioFileWriter
      */
     @Override
     protected void writeTag(AudioFile audioFile, Tag tag, RandomAccessFile raf, RandomAccessFile rafTemp) throws IOException
+    {
+        List<ChunkModifier> modifiers = createModifiers(tag, raf.getChannel(), null, null);
+        raf.seek(0);
+        new AsfStreamer().createModifiedHeader(new RandomAccessFileInputstream(raf), new RandomAccessFileOutputStream(rafTemp), modifiers);
+        // The data and index objects are not modified, so are copied in one go
+        Utils.transferFully(raf.getChannel(), raf.getFilePointer(), raf.length() - raf.getFilePointer(), rafTemp.getChannel());
+    }
+
+    /**
+     * Writes the modified header object over the existing one.<br>
+     * If the header object changes size an existing padding object is resized
+     * to take up the difference, or one is created if the header has shrunk
+     * by no more than {@link #MAX_PADDING_GROWTH}.
+     * Only if that is not possible is the data object moved, within the file,
+     * and then a padding object of {@link #DEFAULT_PADDING} bytes is written
+     * so the next change should fit. If the {@link WritePlanner} expects
+     * writing a new file to cost less than moving the data, nothing is
+     * written and <code>false</code> is returned.
+     * <br>
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean writeTagInPlace(AudioFile audioFile, Tag tag, RandomAccessFile raf) throws CannotWriteException, IOException
+    {
+        return writeHeaderInPlace(audioFile, tag, raf.getChannel(), true);
+    }
+
+    /**
+     * Writes the modified header object over the existing one in the same
+     * way as {@link #writeTagInPlace(AudioFile, Tag, RandomAccessFile)}, but
+     * as there is no file to replace the data object is always moved within
+     * the channel if the header does not fit.
+     * <br>
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean writeTagToChannel(AudioFile audioFile, Tag tag, FileChannel fc) throws CannotWriteException, IOException
+    {
+        return writeHeaderInPlace(audioFile, tag, fc, false);
+    }
+
+    /**
+     * Writes the modified header object over the existing one.
+     *
+     * @param audioFile      the file being written.
+     * @param tag            the tag to write.
+     * @param fc             the ASF file.
+     * @param rewriteAllowed <code>false</code> if the file cannot be replaced
+     *                       by a new file, so the data object is moved however
+     *                       much it costs.
+     * @return <code>false</code> if nothing was written because writing a new
+     * file is expected to cost less.
+     * @throws CannotWriteException if the change was vetoed.
+     * @throws IOException on I/O errors.
+     */
+    private boolean writeHeaderInPlace(AudioFile audioFile, Tag tag, FileChannel fc, boolean rewriteAllowed) throws CannotWriteException, IOException
+    {
+        PaddingModifier headerPadding = new PaddingModifier();
+        PaddingModifier extHeaderPadding = new PaddingModifier();
+        List<ChunkModifier> modifiers = createModifiers(tag, fc, headerPadding, extHeaderPadding);
+        AsfStreamer streamer = new AsfStreamer();
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        // First find out how much the header changes by with the padding left as it is
+        long byteDifference = streamer.createModifiedHeader(new FileChannelInputStream(fc, 0), header, modifiers);
+        if (byteDifference != 0)
+        {
+            boolean absorbed = byteDifference >= -MAX_PADDING_GROWTH && (headerPadding.absorb(byteDifference) || extHeaderPadding.absorb(byteDifference));
+            if (!absorbed)
+            {
+                if (byteDifference <= -PaddingModifier.MINIMUM_SIZE && byteDifference >= -MAX_PADDING_GROWTH)
+                {
+                    headerPadding.resize(-byteDifference);
+                }
+                else
+                {
+                    headerPadding.resize(DEFAULT_PADDING);
+                }
+            }
+            header.reset();
+            byteDifference = streamer.createModifiedHeader(new FileChannelInputStream(fc, 0), header, modifiers);
+        }
+        if (byteDifference != 0)
+        {
+            // The data has to be moved, which may cost more than writing a new file
+            WritePlan plan = new WritePlanner(1, 0, 0).plan(fc.size(), 0, header.size() - byteDifference, header.size(), rewriteAllowed);
+            if (plan.getStrategy() == WriteStrategy.REWRITE)
+            {
+                return false;
+            }
+        }
+        fileWillBeModifiedInPlace(audioFile);
+        if (byteDifference != 0)
+        {
+            // Only the data and index objects after the header are moved, they are flushed before the header that
+            // describes their new position is written
+            fc.position(header.size() - byteDifference);
+            if (byteDifference > 0)
+            {
+                ShiftData.shiftDataByOffsetToMakeSpace(fc, (int) byteDifference);
+            }
+            else
+            {
+                ShiftData.shiftDataByOffsetToShrinkSpace(fc, (int) -byteDifference);
+            }
+            fc.force(false);
+        }
+        // The header is flushed once the write has succeeded
+        ByteBuffer headerData = ByteBuffer.wrap(header.toByteArray());
+        fc.position(0);
+        while (headerData.hasRemaining())
+        {
+            fc.write(headerData);
+        }
+        return true;
+    }
+
+    /**
+     * Creates the modifiers which apply the given tag to the header of the
+     * file.
+     *
+     * @param tag              the tag to write.
+     * @param fc               the ASF file.
+     * @param headerPadding    modifier for a padding object in the header
+     *                         object, or <code>null</code>.
+     * @param extHeaderPadding modifier for a padding object in the header
+     *                         extension object, or <code>null</code>.
+     * @return modifiers for the asf header object.
+     * @throws IOException on I/O errors.
+     */
+    private List<ChunkModifier> createModifiers(Tag tag, FileChannel fc, PaddingModifier headerPadding, PaddingModifier extHeaderPadding) throws IOException
     {
         /*
          * Since this implementation should not change the structure of the ASF
@@ -86,8 +237,7 @@ public class AsfFileWriter extends AudioFileWriter
          * for each descriptor type, if an object is found, an updater will be
          * configured.
          */
-        AsfHeader sourceHeader = AsfHeaderReader.readTagHeader(raf);
-        raf.seek(0); // Reset for the streamer
+        AsfHeader sourceHeader = AsfHeaderReader.readTagHeader(fc);
         /*
          * Now createField modifiers for metadata descriptor and extended content
          * descriptor as implied by the given Tag.
@@ -131,13 +281,21 @@ public class AsfFileWriter extends AudioFileWriter
                 }
             }
         }
+        if (headerPadding != null)
+        {
+            headerModifier.add(headerPadding);
+        }
+        if (extHeaderPadding != null && sourceHeader.getExtendedHeader() != null)
+        {
+            extHeaderModifier.add(extHeaderPadding);
+        }
         // only addField an AsfExtHeaderModifier, if there is actually something to
         // change (performance)
         if (!extHeaderModifier.isEmpty())
         {
             headerModifier.add(new AsfExtHeaderModifier(extHeaderModifier));
         }
-        new AsfStreamer().createModifiedCopy(new RandomAccessFileInputstream(raf), new RandomAccessFileOutputStream(rafTemp), headerModifier);
+        return headerModifier;
     }
 
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.jaudiotagger.audio.asf.data;
 
 import java.math.BigInteger;
 
+
 /**
  * This class represents the ASF extended header object (chunk).<br>
  * Like {@link AsfHeader} it contains multiple other ASF objects (chunks).<br>
@@ -17,11 +18,24 @@ public final class AsfExtendedHeader extends ChunkContainer
      * @param pos    Position within the stream.<br>
      * @param length the length of the extended header object.
      */
-    public AsfExtendedHeader(long pos, BigInteger length)
+    public AsfExtendedHeader(long pos, long length)
     {
         super(GUID.GUID_HEADER_EXTENSION, pos, length);
     }
 
+    /**
+     * Creates an instance.<br>
+     *
+     * @param pos    Position within the stream.<br>
+     * @param length the length of the extended header object.
+     * @deprecated use {@link #AsfExtendedHeader(long, long)}
+     */
+    @Deprecated
+    public AsfExtendedHeader(long pos, BigInteger length)
+    {
+        this(pos, chunkLengthOf(length));
+    }
+
     /**
      * @return Returns the contentDescription.
      */
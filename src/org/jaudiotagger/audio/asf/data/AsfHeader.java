@@ -66,12 +66,26 @@ public final class AsfHeader extends ChunkContainer
      * @param chunkLen see {@link Chunk#chunkLength}
      * @param chunkCnt
      */
-    public AsfHeader(long pos, BigInteger chunkLen, long chunkCnt)
+    public AsfHeader(long pos, long chunkLen, long chunkCnt)
     {
         super(GUID.GUID_HEADER, pos, chunkLen);
         this.chunkCount = chunkCnt;
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param pos      see {@link Chunk#position}
+     * @param chunkLen see {@link Chunk#chunkLength}
+     * @param chunkCnt
+     * @deprecated use {@link #AsfHeader(long, long, long)}
+     */
+    @Deprecated
+    public AsfHeader(long pos, BigInteger chunkLen, long chunkCnt)
+    {
+        this(pos, chunkLengthOf(chunkLen), chunkCnt);
+    }
+
     /**
      * This method looks for an content description object in this header
      * instance, if not found there, it tries to get one from a contained ASF
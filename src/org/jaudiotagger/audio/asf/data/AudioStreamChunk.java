@@ -22,6 +22,7 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.math.BigInteger;
 
+
 /**
  * This class represents the stream chunk describing an audio stream. <br>
  *
@@ -102,11 +103,23 @@ public final class AudioStreamChunk extends StreamChunk
      *
      * @param chunkLen Length of the entire chunk (including guid and size)
      */
-    public AudioStreamChunk(BigInteger chunkLen)
+    public AudioStreamChunk(long chunkLen)
     {
         super(GUID.GUID_AUDIOSTREAM, chunkLen);
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param chunkLen Length of the entire chunk (including guid and size)
+     * @deprecated use {@link #AudioStreamChunk(long)}
+     */
+    @Deprecated
+    public AudioStreamChunk(BigInteger chunkLen)
+    {
+        this(chunkLengthOf(chunkLen));
+    }
+
     /**
      * @return Returns the averageBytesPerSec.
      */
@@ -36,7 +36,7 @@ public class Chunk
     /**
      * The length of current chunk. <br>
      */
-    protected final BigInteger chunkLength;
+    protected final long chunkLength;
 
     /**
      * The GUID of represented chunk header.
@@ -48,26 +48,55 @@ public class Chunk
      */
     protected long position;
 
+    /**
+     * Converts a chunk length given as {@link BigInteger} by the deprecated
+     * constructors.
+     *
+     * @param chunkLen Length of a chunk.
+     * @return the length as long.
+     */
+    static long chunkLengthOf(BigInteger chunkLen)
+    {
+        if (chunkLen == null || chunkLen.signum() < 0 || chunkLen.bitLength() > 63)
+        {
+            throw new IllegalArgumentException("chunkLen must not be null nor negative nor exceed Long.MAX_VALUE.");
+        }
+        return chunkLen.longValue();
+    }
+
     /**
      * Creates an instance
      *
      * @param headerGuid The GUID of header object.
      * @param chunkLen   Length of current chunk.
      */
-    public Chunk(GUID headerGuid, BigInteger chunkLen)
+    public Chunk(GUID headerGuid, long chunkLen)
     {
         if (headerGuid == null)
         {
             throw new IllegalArgumentException("GUID must not be null.");
         }
-        if (chunkLen == null || chunkLen.compareTo(BigInteger.ZERO) < 0)
+        if (chunkLen < 0)
         {
-            throw new IllegalArgumentException("chunkLen must not be null nor negative.");
+            throw new IllegalArgumentException("chunkLen must not be negative.");
         }
         this.guid = headerGuid;
         this.chunkLength = chunkLen;
     }
 
+    /**
+     * Creates an instance
+     *
+     * @param headerGuid The GUID of header object.
+     * @param chunkLen   Length of current chunk.
+     * @deprecated use {@link #Chunk(GUID, long)}
+     */
+    @Deprecated
+    public Chunk(GUID headerGuid, BigInteger chunkLen)
+    {
+        this(headerGuid, chunkLengthOf(chunkLen));
+    }
+
     /**
      * Creates an instance
      *
@@ -75,7 +104,7 @@ public class Chunk
      * @param pos        Position of header object within stream or file.
      * @param chunkLen   Length of current chunk.
      */
-    public Chunk(GUID headerGuid, long pos, BigInteger chunkLen)
+    public Chunk(GUID headerGuid, long pos, long chunkLen)
     {
         if (headerGuid == null)
         {
@@ -85,15 +114,29 @@ public class Chunk
         {
             throw new IllegalArgumentException("Position of header can't be negative.");
         }
-        if (chunkLen == null || chunkLen.compareTo(BigInteger.ZERO) < 0)
+        if (chunkLen < 0)
         {
-            throw new IllegalArgumentException("chunkLen must not be null nor negative.");
+            throw new IllegalArgumentException("chunkLen must not be negative.");
         }
         this.guid = headerGuid;
         this.position = pos;
         this.chunkLength = chunkLen;
     }
 
+    /**
+     * Creates an instance
+     *
+     * @param headerGuid The GUID of header object.
+     * @param pos        Position of header object within stream or file.
+     * @param chunkLen   Length of current chunk.
+     * @deprecated use {@link #Chunk(GUID, long, long)}
+     */
+    @Deprecated
+    public Chunk(GUID headerGuid, long pos, BigInteger chunkLen)
+    {
+        this(headerGuid, pos, chunkLengthOf(chunkLen));
+    }
+
     /**
      * This method returns the End of the current chunk introduced by current
      * header object.
@@ -104,7 +147,7 @@ public class Chunk
     @Deprecated
     public long getChunckEnd()
     {
-        return this.position + this.chunkLength.longValue();
+        return this.position + this.chunkLength;
     }
 
     /**
@@ -115,17 +158,27 @@ public class Chunk
      */
     public long getChunkEnd()
     {
-        return this.position + this.chunkLength.longValue();
+        return this.position + this.chunkLength;
     }
 
     /**
      * @return Returns the chunkLength.
      */
-    public BigInteger getChunkLength()
+    public long getChunkLength()
     {
         return this.chunkLength;
     }
 
+    /**
+     * @return Returns the chunkLength.
+     * @deprecated use {@link #getChunkLength()}
+     */
+    @Deprecated
+    public BigInteger getChunkLengthBig()
+    {
+        return BigInteger.valueOf(this.chunkLength);
+    }
+
     /**
      * @return Returns the guid.
      */
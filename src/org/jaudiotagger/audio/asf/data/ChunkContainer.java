@@ -63,12 +63,26 @@ public class ChunkContainer extends Chunk
      * @param pos       the position of the chunk within the stream.
      * @param length    the length of the chunk.
      */
-    public ChunkContainer(GUID chunkGUID, long pos, BigInteger length)
+    public ChunkContainer(GUID chunkGUID, long pos, long length)
     {
         super(chunkGUID, pos, length);
         this.chunkTable = new Hashtable<>();
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param chunkGUID the GUID which identifies the chunk.
+     * @param pos       the position of the chunk within the stream.
+     * @param length    the length of the chunk.
+     * @deprecated use {@link #ChunkContainer(GUID, long, long)}
+     */
+    @Deprecated
+    public ChunkContainer(GUID chunkGUID, long pos, BigInteger length)
+    {
+        this(chunkGUID, pos, chunkLengthOf(length));
+    }
+
     /**
      * Adds a chunk to the container.<br>
      *
@@ -96,7 +96,7 @@ public enum ContainerType
     /**
      * The maximum amount of bytes the descriptor data may consume.<br>
      */
-    private final BigInteger maximumDataLength;
+    private final long maximumDataLength;
 
     /**
      * <code>true</code> if the container may store multiple values of the same
@@ -108,13 +108,6 @@ public enum ContainerType
      */
     private final boolean multiValued;
 
-    /**
-     * if <code>-1</code> a size value has to be compared against
-     * {@link #maximumDataLength} because {@link Long#MAX_VALUE} is exceeded.<br>
-     * Otherwise this is the {@link BigInteger#longValue()} representation.
-     */
-    private final long perfMaxDataLen;
-
     /**
      * <code>true</code> if descriptor field can refer to specific streams.
      */
@@ -135,15 +128,7 @@ public enum ContainerType
     ContainerType(GUID guid, int maxDataLenBits, boolean guidAllowed, boolean stream, boolean language, boolean multiValue)
     {
         this.containerGUID = guid;
-        this.maximumDataLength = BigInteger.valueOf(2).pow(maxDataLenBits).subtract(BigInteger.ONE);
-        if (this.maximumDataLength.compareTo(BigInteger.valueOf(Long.MAX_VALUE)) <= 0)
-        {
-            this.perfMaxDataLen = this.maximumDataLength.longValue();
-        }
-        else
-        {
-            this.perfMaxDataLen = -1;
-        }
+        this.maximumDataLength = (1L << maxDataLenBits) - 1;
         this.guidEnabled = guidAllowed;
         this.streamEnabled = stream;
         this.languageEnabled = language;
@@ -169,6 +154,26 @@ public enum ContainerType
         }
     }
 
+    /**
+     * Calls {@link #checkConstraints(String, int, int, int, int)} and
+     * actually throws the exception if there is one, for content which may
+     * not have been read yet.
+     *
+     * @param name       name of the descriptor
+     * @param dataLength length of the content
+     * @param type       data type
+     * @param stream     stream number
+     * @param language   language index
+     */
+    public void assertConstraints(String name, int dataLength, int type, int stream, int language)
+    {
+        RuntimeException result = checkConstraints(name, dataLength, type, stream, language);
+        if (result != null)
+        {
+            throw result;
+        }
+    }
+
     /**
      * Checks if the values for a {@linkplain MetadataDescriptor content
      * descriptor} match the contraints of the container type, and returns a
@@ -182,10 +187,30 @@ public enum ContainerType
      * @return <code>null</code> if everything is fine.
      */
     public RuntimeException checkConstraints(String name, byte[] data, int type, int stream, int language)
+    {
+        if (data == null)
+        {
+            return new IllegalArgumentException("Arguments must not be null.");
+        }
+        return checkConstraints(name, data.length, type, stream, language);
+    }
+
+    /**
+     * Like {@link #checkConstraints(String, byte[], int, int, int)}, but only
+     * needs the length of the content.
+     *
+     * @param name       name of the descriptor
+     * @param dataLength length of the content
+     * @param type       data type
+     * @param stream     stream number
+     * @param language   language index
+     * @return <code>null</code> if everything is fine.
+     */
+    public RuntimeException checkConstraints(String name, int dataLength, int type, int stream, int language)
     {
         RuntimeException result = null;
         // TODO generate tests
-        if (name == null || data == null)
+        if (name == null)
         {
             result = new IllegalArgumentException("Arguments must not be null.");
         }
@@ -196,9 +221,9 @@ public enum ContainerType
                 result = new IllegalArgumentException(ErrorMessage.WMA_LENGTH_OF_STRING_IS_TOO_LARGE.getMsg(name.length()));
             }
         }
-        if (result == null && !isWithinValueRange(data.length))
+        if (result == null && !isWithinValueRange(dataLength))
         {
-            result = new IllegalArgumentException(ErrorMessage.WMA_LENGTH_OF_DATA_IS_TOO_LARGE.getMsg(data.length, getMaximumDataLength(), getContainerGUID().getDescription()));
+            result = new IllegalArgumentException(ErrorMessage.WMA_LENGTH_OF_DATA_IS_TOO_LARGE.getMsg(dataLength, getMaximumDataLength(), getContainerGUID().getDescription()));
         }
         if (result == null && (stream < 0 || stream > MetadataDescriptor.MAX_STREAM_NUMBER || (!isStreamNumberEnabled() && stream != 0)))
         {
@@ -232,11 +257,21 @@ public enum ContainerType
     /**
      * @return the maximumDataLength
      */
-    public BigInteger getMaximumDataLength()
+    public long getMaximumDataLength()
     {
         return this.maximumDataLength;
     }
 
+    /**
+     * @return the maximumDataLength
+     * @deprecated use {@link #getMaximumDataLength()}
+     */
+    @Deprecated
+    public BigInteger getMaximumDataLengthBig()
+    {
+        return BigInteger.valueOf(this.maximumDataLength);
+    }
+
     /**
      * @return the guidEnabled
      */
@@ -263,7 +298,7 @@ public enum ContainerType
      */
     public boolean isWithinValueRange(long value)
     {
-        return (this.perfMaxDataLen == -1 || this.perfMaxDataLen >= value) && value >= 0;
+        return this.maximumDataLength >= value && value >= 0;
     }
 
     /**
@@ -66,7 +66,7 @@ public final class ContentBranding extends MetadataContainer
      */
     public ContentBranding()
     {
-        this(0, BigInteger.ZERO);
+        this(0, 0);
     }
 
     /**
@@ -75,11 +75,24 @@ public final class ContentBranding extends MetadataContainer
      * @param pos  Position of content description within file or stream
      * @param size Length of content description.
      */
-    public ContentBranding(long pos, BigInteger size)
+    public ContentBranding(long pos, long size)
     {
         super(ContainerType.CONTENT_BRANDING, pos, size);
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param pos  Position of content description within file or stream
+     * @param size Length of content description.
+     * @deprecated use {@link #ContentBranding(long, long)}
+     */
+    @Deprecated
+    public ContentBranding(long pos, BigInteger size)
+    {
+        this(pos, chunkLengthOf(size));
+    }
+
     /**
      * Returns the banner image URL.
      *
@@ -76,7 +76,7 @@ public final class ContentDescription extends MetadataContainer
      */
     public ContentDescription()
     {
-        this(0, BigInteger.ZERO);
+        this(0, 0);
     }
 
     /**
@@ -85,11 +85,24 @@ public final class ContentDescription extends MetadataContainer
      * @param pos      Position of content description within file or stream
      * @param chunkLen Length of content description.
      */
-    public ContentDescription(long pos, BigInteger chunkLen)
+    public ContentDescription(long pos, long chunkLen)
     {
         super(ContainerType.CONTENT_DESCRIPTION, pos, chunkLen);
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param pos      Position of content description within file or stream
+     * @param chunkLen Length of content description.
+     * @deprecated use {@link #ContentDescription(long, long)}
+     */
+    @Deprecated
+    public ContentDescription(long pos, BigInteger chunkLen)
+    {
+        this(pos, chunkLengthOf(chunkLen));
+    }
+
     /**
      * @return Returns the author.
      */
@@ -47,12 +47,24 @@ public class EncodingChunk extends Chunk
      *
      * @param chunkLen Length of current chunk.
      */
-    public EncodingChunk(BigInteger chunkLen)
+    public EncodingChunk(long chunkLen)
     {
         super(GUID.GUID_ENCODING, chunkLen);
         this.strings = new ArrayList<>();
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param chunkLen Length of current chunk.
+     * @deprecated use {@link #EncodingChunk(long)}
+     */
+    @Deprecated
+    public EncodingChunk(BigInteger chunkLen)
+    {
+        this(chunkLengthOf(chunkLen));
+    }
+
     /**
      * This method appends a String.
      *
@@ -26,7 +26,7 @@ public class EncryptionChunk extends Chunk
      *
      * @param chunkLen Length of current chunk.
      */
-    public EncryptionChunk(BigInteger chunkLen)
+    public EncryptionChunk(long chunkLen)
     {
         super(GUID.GUID_CONTENT_ENCRYPTION, chunkLen);
         this.strings = new ArrayList<>();
@@ -36,6 +36,18 @@ public class EncryptionChunk extends Chunk
         this.licenseURL = "";
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param chunkLen Length of current chunk.
+     * @deprecated use {@link #EncryptionChunk(long)}
+     */
+    @Deprecated
+    public EncryptionChunk(BigInteger chunkLen)
+    {
+        this(chunkLengthOf(chunkLen));
+    }
+
     /**
      * This method appends a String.
      *
@@ -35,7 +35,7 @@ public class FileHeader extends Chunk
     /**
      * Duration of the media content in 100ns steps.
      */
-    private final BigInteger duration;
+    private final long duration;
 
     /**
      * The time the file was created.
@@ -45,7 +45,7 @@ public class FileHeader extends Chunk
     /**
      * Size of the file or stream.
      */
-    private final BigInteger fileSize;
+    private final long fileSize;
 
     /**
      * Usually contains value of 2.
@@ -69,18 +69,18 @@ public class FileHeader extends Chunk
     /**
      * Number of stream packages within the File.
      */
-    private final BigInteger packageCount;
+    private final long packageCount;
 
     /**
      * No Idea of the Meaning, but stored anyway. <br>
      * Source documentation says it is: "Timestamp of end position"
      */
-    private final BigInteger timeEndPos;
+    private final long timeEndPos;
 
     /**
      * Like {@link #timeEndPos}no Idea.
      */
-    private final BigInteger timeStartPos;
+    private final long timeStartPos;
 
     /**
      * Size of an uncompressed video frame.
@@ -103,7 +103,7 @@ public class FileHeader extends Chunk
      * @param maxPkgSize          maximum size of packages
      * @param uncmpVideoFrameSize Size of an uncompressed Video Frame.
      */
-    public FileHeader(BigInteger chunckLen, BigInteger size, BigInteger fileTime, BigInteger pkgCount, BigInteger dur, BigInteger timestampStart, BigInteger timestampEnd, long headerFlags, long minPkgSize, long maxPkgSize, long uncmpVideoFrameSize)
+    public FileHeader(long chunckLen, long size, long fileTime, long pkgCount, long dur, long timestampStart, long timestampEnd, long headerFlags, long minPkgSize, long maxPkgSize, long uncmpVideoFrameSize)
     {
         super(GUID.GUID_FILE, chunckLen);
         this.fileSize = size;
@@ -118,14 +118,47 @@ public class FileHeader extends Chunk
         this.fileCreationTime = Utils.getDateOf(fileTime).getTime();
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param chunckLen           Length of the file header (chunk)
+     * @param size                Size of file or stream
+     * @param fileTime            Time file or stream was created. Time is calculated since 1st
+     *                            january of 1601 in 100ns steps.
+     * @param pkgCount            Number of stream packages.
+     * @param dur                 Duration of media clip in 100ns steps
+     * @param timestampStart      Timestamp of start {@link #timeStartPos}
+     * @param timestampEnd        Timestamp of end {@link #timeEndPos}
+     * @param headerFlags         some stream related flags.
+     * @param minPkgSize          minimum size of packages
+     * @param maxPkgSize          maximum size of packages
+     * @param uncmpVideoFrameSize Size of an uncompressed Video Frame.
+     * @deprecated use {@link #FileHeader(long, long, long, long, long, long, long, long, long, long, long)}
+     */
+    @Deprecated
+    public FileHeader(BigInteger chunckLen, BigInteger size, BigInteger fileTime, BigInteger pkgCount, BigInteger dur, BigInteger timestampStart, BigInteger timestampEnd, long headerFlags, long minPkgSize, long maxPkgSize, long uncmpVideoFrameSize)
+    {
+        this(chunkLengthOf(chunckLen), size.longValue(), fileTime.longValue(), pkgCount.longValue(), dur.longValue(), timestampStart.longValue(), timestampEnd.longValue(), headerFlags, minPkgSize, maxPkgSize, uncmpVideoFrameSize);
+    }
+
     /**
      * @return Returns the duration.
      */
-    public BigInteger getDuration()
+    public long getDuration()
     {
         return this.duration;
     }
 
+    /**
+     * @return Returns the duration.
+     * @deprecated use {@link #getDuration()}
+     */
+    @Deprecated
+    public BigInteger getDurationBig()
+    {
+        return BigInteger.valueOf(this.duration);
+    }
+
     /**
      * This method converts {@link #getDuration()}from 100ns steps to normal
      * seconds.
@@ -134,7 +167,7 @@ public class FileHeader extends Chunk
      */
     public int getDurationInSeconds()
     {
-        return this.duration.divide(new BigInteger("10000000")).intValue();
+        return (int) (this.duration / 10000000);
     }
 
     /**
@@ -148,11 +181,21 @@ public class FileHeader extends Chunk
     /**
      * @return Returns the fileSize.
      */
-    public BigInteger getFileSize()
+    public long getFileSize()
     {
         return this.fileSize;
     }
 
+    /**
+     * @return Returns the fileSize.
+     * @deprecated use {@link #getFileSize()}
+     */
+    @Deprecated
+    public BigInteger getFileSizeBig()
+    {
+        return BigInteger.valueOf(this.fileSize);
+    }
+
     /**
      * @return Returns the flags.
      */
@@ -180,11 +223,21 @@ public class FileHeader extends Chunk
     /**
      * @return Returns the packageCount.
      */
-    public BigInteger getPackageCount()
+    public long getPackageCount()
     {
         return this.packageCount;
     }
 
+    /**
+     * @return Returns the packageCount.
+     * @deprecated use {@link #getPackageCount()}
+     */
+    @Deprecated
+    public BigInteger getPackageCountBig()
+    {
+        return BigInteger.valueOf(this.packageCount);
+    }
+
     /**
      * This method converts {@link #getDuration()} from 100ns steps to normal
      * seconds with a fractional part taking milliseconds.<br>
@@ -194,25 +247,45 @@ public class FileHeader extends Chunk
      */
     public float getPreciseDuration()
     {
-        return (float) (getDuration().doubleValue() / 10000000d);
+        return (float) (getDuration() / 10000000d);
     }
 
     /**
      * @return Returns the timeEndPos.
      */
-    public BigInteger getTimeEndPos()
+    public long getTimeEndPos()
     {
         return this.timeEndPos;
     }
 
+    /**
+     * @return Returns the timeEndPos.
+     * @deprecated use {@link #getTimeEndPos()}
+     */
+    @Deprecated
+    public BigInteger getTimeEndPosBig()
+    {
+        return BigInteger.valueOf(this.timeEndPos);
+    }
+
     /**
      * @return Returns the timeStartPos.
      */
-    public BigInteger getTimeStartPos()
+    public long getTimeStartPos()
     {
         return this.timeStartPos;
     }
 
+    /**
+     * @return Returns the timeStartPos.
+     * @deprecated use {@link #getTimeStartPos()}
+     */
+    @Deprecated
+    public BigInteger getTimeStartPosBig()
+    {
+        return BigInteger.valueOf(this.timeStartPos);
+    }
+
     /**
      * @return Returns the uncompressedFrameSize.
      */
@@ -229,8 +302,8 @@ public class FileHeader extends Chunk
     @Override
     public String prettyPrint(String prefix)
     {
-        String result = super.prettyPrint(prefix) + prefix + "  |-> Filesize      = " + getFileSize().toString() + " Bytes" + Utils.LINE_SEPARATOR +
-                prefix + "  |-> Media duration= " + getDuration().divide(new BigInteger("10000")) + " ms" + Utils.LINE_SEPARATOR +
+        String result = super.prettyPrint(prefix) + prefix + "  |-> Filesize      = " + getFileSize() + " Bytes" + Utils.LINE_SEPARATOR +
+                prefix + "  |-> Media duration= " + getDuration() / 10000 + " ms" + Utils.LINE_SEPARATOR +
                 prefix + "  |-> Created at    = " + getFileCreationTime() + Utils.LINE_SEPARATOR;
         return result;
     }
@@ -20,6 +20,7 @@ package org.jaudiotagger.audio.asf.data;
 
 import org.jaudiotagger.audio.asf.util.Utils;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -115,6 +116,12 @@ public final class GUID
      */
     public final static GUID GUID_METADATA_LIBRARY = new GUID(new int[]{0x94, 0x1c, 0x23, 0x44, 0x98, 0x94, 0xd1, 0x49, 0xa1, 0x41, 0x1d, 0x13, 0x4e, 0x45, 0x70, 0x54}, "Metadata Library");
 
+    /**
+     * This constant stores the GUID indicating a padding object, which only
+     * reserves space within the header.<br>
+     */
+    public final static GUID GUID_PADDING = new GUID(new int[]{0x74, 0xd4, 0x06, 0x18, 0xdf, 0xca, 0x09, 0x45, 0xa4, 0xba, 0x9a, 0xab, 0xcb, 0x96, 0xaa, 0xe8}, "Padding");
+
     /**
      * The GUID String values format.<br>
      */
@@ -163,7 +170,7 @@ public final class GUID
 
     static
     {
-        KNOWN_GUIDS = new GUID[]{GUID_AUDIO_ERROR_CONCEALEMENT_ABSENT, GUID_CONTENTDESCRIPTION, GUID_AUDIOSTREAM, GUID_ENCODING, GUID_FILE, GUID_HEADER, GUID_STREAM, GUID_EXTENDED_CONTENT_DESCRIPTION, GUID_VIDEOSTREAM, GUID_HEADER_EXTENSION, GUID_STREAM_BITRATE_PROPERTIES, SCRIPT_COMMAND_OBJECT, GUID_CONTENT_ENCRYPTION, GUID_CONTENT_BRANDING, GUID_UNSPECIFIED, GUID_METADATA_LIBRARY, GUID_METADATA, GUID_LANGUAGE_LIST};
+        KNOWN_GUIDS = new GUID[]{GUID_AUDIO_ERROR_CONCEALEMENT_ABSENT, GUID_CONTENTDESCRIPTION, GUID_AUDIOSTREAM, GUID_ENCODING, GUID_FILE, GUID_HEADER, GUID_STREAM, GUID_EXTENDED_CONTENT_DESCRIPTION, GUID_VIDEOSTREAM, GUID_HEADER_EXTENSION, GUID_STREAM_BITRATE_PROPERTIES, SCRIPT_COMMAND_OBJECT, GUID_CONTENT_ENCRYPTION, GUID_CONTENT_BRANDING, GUID_UNSPECIFIED, GUID_METADATA_LIBRARY, GUID_METADATA, GUID_LANGUAGE_LIST, GUID_PADDING};
         GUID_TO_CONFIGURED = new HashMap<>(KNOWN_GUIDS.length);
         for (GUID curr : KNOWN_GUIDS)
         {
@@ -222,6 +229,34 @@ public final class GUID
         return result;
     }
 
+    /**
+     * This method reads a GUID from the current position of the given buffer,
+     * which is advanced past it. <br>
+     * If the value is one of {@link #KNOWN_GUIDS} that instance is returned, so
+     * reading the GUIDs of known chunks does not create any objects.
+     *
+     * @param data buffer holding at least {@link #GUID_LENGTH} remaining bytes.
+     * @return the GUID.
+     */
+    public static GUID read(ByteBuffer data)
+    {
+        int start = data.position();
+        data.position(start + GUID_LENGTH);
+        for (GUID curr : KNOWN_GUIDS)
+        {
+            if (curr.matches(data, start))
+            {
+                return curr;
+            }
+        }
+        int[] value = new int[GUID_LENGTH];
+        for (int i = 0; i < GUID_LENGTH; i++)
+        {
+            value[i] = data.get(start + i) & 0xFF;
+        }
+        return new GUID(value);
+    }
+
     /**
      * This method parses a String as GUID.<br>
      * The format is like the one in the ASF specification.<br>
@@ -271,8 +306,8 @@ public final class GUID
     private int[] guidData = null;
 
     /**
-     * Stores the hash code of the object.<br>
-     * <code>&quot;-1&quot;</code> if not determined yet.
+     * Stores the hash code of the object, determined when the value is
+     * assigned.<br>
      */
     private int hash;
 
@@ -349,7 +384,7 @@ public final class GUID
         if (obj instanceof GUID)
         {
             GUID other = (GUID) obj;
-            result = Arrays.equals(this.getGUID(), other.getGUID());
+            result = Arrays.equals(this.guidData, other.guidData);
         }
         return result;
     }
@@ -419,15 +454,6 @@ public final class GUID
     @Override
     public int hashCode()
     {
-        if (this.hash == -1)
-        {
-            int tmp = 0;
-            for (int curr : getGUID())
-            {
-                tmp = tmp * 31 + curr;
-            }
-            this.hash = tmp;
-        }
         return this.hash;
     }
 
@@ -439,7 +465,27 @@ public final class GUID
      */
     public boolean isValid()
     {
-        return assertGUID(getGUID());
+        return assertGUID(this.guidData);
+    }
+
+    /**
+     * This method checks if the bytes of the given buffer starting at
+     * <code>offset</code> hold the value of this GUID.
+     *
+     * @param data   buffer to compare with.
+     * @param offset position of the first byte to compare.
+     * @return <code>true</code> if they do.
+     */
+    private boolean matches(ByteBuffer data, int offset)
+    {
+        for (int i = 0; i < GUID_LENGTH; i++)
+        {
+            if ((data.get(offset + i) & 0xFF) != this.guidData[i])
+            {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -476,6 +522,12 @@ public final class GUID
         {
             this.guidData = new int[GUID_LENGTH];
             System.arraycopy(value, 0, this.guidData, 0, GUID_LENGTH);
+            int tmp = 0;
+            for (int curr : this.guidData)
+            {
+                tmp = tmp * 31 + curr;
+            }
+            this.hash = tmp;
         }
         else
         {
@@ -29,7 +29,7 @@ public class LanguageList extends Chunk
      */
     public LanguageList()
     {
-        super(GUID.GUID_LANGUAGE_LIST, 0, BigInteger.ZERO);
+        super(GUID.GUID_LANGUAGE_LIST, 0, 0);
     }
 
     /**
@@ -38,11 +38,24 @@ public class LanguageList extends Chunk
      * @param pos  position within the ASF file.
      * @param size size of the chunk
      */
-    public LanguageList(long pos, BigInteger size)
+    public LanguageList(long pos, long size)
     {
         super(GUID.GUID_LANGUAGE_LIST, pos, size);
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param pos  position within the ASF file.
+     * @param size size of the chunk
+     * @deprecated use {@link #LanguageList(long, long)}
+     */
+    @Deprecated
+    public LanguageList(long pos, BigInteger size)
+    {
+        this(pos, chunkLengthOf(size));
+    }
+
     /**
      * This method adds a language.<br>
      *
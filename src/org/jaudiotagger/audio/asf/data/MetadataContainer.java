@@ -137,7 +137,7 @@ public class MetadataContainer extends Chunk implements WriteableChunk
      */
     public MetadataContainer(ContainerType type)
     {
-        this(type, 0, BigInteger.ZERO);
+        this(type, 0, 0);
     }
 
     /**
@@ -147,12 +147,26 @@ public class MetadataContainer extends Chunk implements WriteableChunk
      * @param pos  location in the ASF file
      * @param size size of the chunk.
      */
-    public MetadataContainer(ContainerType type, long pos, BigInteger size)
+    public MetadataContainer(ContainerType type, long pos, long size)
     {
         super(type.getContainerGUID(), pos, size);
         this.containerType = type;
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param type determines the type of the container
+     * @param pos  location in the ASF file
+     * @param size size of the chunk.
+     * @deprecated use {@link #MetadataContainer(ContainerType, long, long)}
+     */
+    @Deprecated
+    public MetadataContainer(ContainerType type, long pos, BigInteger size)
+    {
+        this(type, pos, chunkLengthOf(size));
+    }
+
     /**
      * Creates an instance.
      *
@@ -160,11 +174,25 @@ public class MetadataContainer extends Chunk implements WriteableChunk
      * @param pos           location in the ASF file
      * @param size          size of the chunk.
      */
-    public MetadataContainer(GUID containerGUID, long pos, BigInteger size)
+    public MetadataContainer(GUID containerGUID, long pos, long size)
     {
         this(determineType(containerGUID), pos, size);
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param containerGUID the containers GUID
+     * @param pos           location in the ASF file
+     * @param size          size of the chunk.
+     * @deprecated use {@link #MetadataContainer(GUID, long, long)}
+     */
+    @Deprecated
+    public MetadataContainer(GUID containerGUID, long pos, BigInteger size)
+    {
+        this(containerGUID, pos, chunkLengthOf(size));
+    }
+
     /**
      * Adds a metadata descriptor.
      *
@@ -175,7 +203,7 @@ public class MetadataContainer extends Chunk implements WriteableChunk
     public final void addDescriptor(MetadataDescriptor toAdd) throws IllegalArgumentException
     {
         // check with throwing exceptions
-        this.containerType.assertConstraints(toAdd.getName(), toAdd.getRawData(), toAdd.getType(), toAdd.getStreamNumber(), toAdd.getLanguageIndex());
+        this.containerType.assertConstraints(toAdd.getName(), toAdd.getRawDataSize(), toAdd.getType(), toAdd.getStreamNumber(), toAdd.getLanguageIndex());
         // validate containers capabilities
         if (!isAddSupported(toAdd))
         {
@@ -375,7 +403,7 @@ public class MetadataContainer extends Chunk implements WriteableChunk
      */
     public boolean isAddSupported(MetadataDescriptor descriptor)
     {
-        boolean result = getContainerType().checkConstraints(descriptor.getName(), descriptor.getRawData(), descriptor.getType(), descriptor.getStreamNumber(), descriptor.getLanguageIndex()) == null;
+        boolean result = getContainerType().checkConstraints(descriptor.getName(), descriptor.getRawDataSize(), descriptor.getType(), descriptor.getStreamNumber(), descriptor.getLanguageIndex()) == null;
         // Now check if there is already a value contained.
         if (result && !getContainerType().isMultiValued())
         {
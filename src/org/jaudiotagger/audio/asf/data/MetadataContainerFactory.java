@@ -43,7 +43,7 @@ public final class MetadataContainerFactory
      */
     public MetadataContainer createContainer(ContainerType type)
     {
-        return createContainer(type, 0, BigInteger.ZERO);
+        return createContainer(type, 0, 0);
     }
 
     /**
@@ -58,7 +58,7 @@ public final class MetadataContainerFactory
      * @return an appropriate container implementation with assigned size and
      * position.
      */
-    public MetadataContainer createContainer(ContainerType type, long pos, BigInteger chunkSize)
+    public MetadataContainer createContainer(ContainerType type, long pos, long chunkSize)
     {
         MetadataContainer result;
         if (type == ContainerType.CONTENT_DESCRIPTION)
@@ -76,6 +76,25 @@ public final class MetadataContainerFactory
         return result;
     }
 
+    /**
+     * Convenience Method for I/O. Same as
+     * {@link #createContainer(ContainerType)}, but additionally assigns
+     * position and size. (since a {@link MetadataContainer} is actually a
+     * {@link Chunk}).
+     *
+     * @param type      The containers type.
+     * @param pos       the position within the stream.
+     * @param chunkSize the size of the container.
+     * @return an appropriate container implementation with assigned size and
+     * position.
+     * @deprecated use {@link #createContainer(ContainerType, long, long)}
+     */
+    @Deprecated
+    public MetadataContainer createContainer(ContainerType type, long pos, BigInteger chunkSize)
+    {
+        return createContainer(type, pos, Chunk.chunkLengthOf(chunkSize));
+    }
+
     /**
      * Convenience method which calls {@link #createContainer(ContainerType)}
      * for each given container type.
@@ -20,7 +20,9 @@ package org.jaudiotagger.audio.asf.data;
 
 import org.jaudiotagger.audio.asf.util.Utils;
 import org.jaudiotagger.logging.ErrorMessage;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
+import org.jaudiotagger.tag.images.FileImageData;
+import org.jaudiotagger.tag.images.ImageDataNotAvailableException;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -128,6 +130,13 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
      */
     private byte[] content = new byte[0];
 
+    /**
+     * The end of a binary value that has been left in the file, it follows
+     * {@link #content} and is read when the whole value is first needed, or
+     * <code>null</code> if all of the value is in {@link #content}.
+     */
+    private FileImageData contentEndInFile;
+
     /**
      * This field shows the type of the metadata descriptor. <br>
      *
@@ -239,7 +248,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
             case TYPE_DWORD:
             case TYPE_QWORD:
             case TYPE_BINARY:
-                if (this.content.length > 8)
+                if (getRawDataSize() > 8)
                 {
                     throw new NumberFormatException("Binary data would exceed QWORD");
                 }
@@ -254,10 +263,11 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
         }
         if (result == null)
         {
-            byte[] copy = new byte[this.content.length];
+            byte[] data = loadContent();
+            byte[] copy = new byte[data.length];
             for (int i = 0; i < copy.length; i++)
             {
-                copy[i] = this.content[this.content.length - (i + 1)];
+                copy[i] = data[data.length - (i + 1)];
             }
             result = new BigInteger(1, copy);
         }
@@ -293,7 +303,8 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
     public MetadataDescriptor createCopy()
     {
         MetadataDescriptor result = new MetadataDescriptor(this.containerType, this.name, this.descriptorType, this.streamNumber, this.languageIndex);
-        result.content = getRawData();
+        result.content = this.content.clone();
+        result.contentEndInFile = this.contentEndInFile;
         return result;
     }
 
@@ -315,7 +326,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
             else
             {
                 MetadataDescriptor other = (MetadataDescriptor) obj;
-                result = other.getName().equals(getName()) && other.descriptorType == this.descriptorType && other.languageIndex == this.languageIndex && other.streamNumber == this.streamNumber && Arrays.equals(this.content, other.content);
+                result = other.getName().equals(getName()) && other.descriptorType == this.descriptorType && other.languageIndex == this.languageIndex && other.streamNumber == this.streamNumber && Arrays.equals(loadContent(), other.loadContent());
             }
         }
         return result;
@@ -401,7 +412,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
         else
         {
 
-            result += this.content.length;
+            result += getRawDataSize();
             if (TYPE_STRING == this.getType())
             {
                 result += 2; // zero term of content string.
@@ -497,6 +508,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
      */
     public byte[] getRawData()
     {
+        loadContent();
         byte[] copy = new byte[this.content.length];
         System.arraycopy(this.content, 0, copy, 0, this.content.length);
         return copy;
@@ -510,7 +522,30 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
      */
     public int getRawDataSize()
     {
-        return this.content.length;
+        return this.contentEndInFile != null ? this.content.length + this.contentEndInFile.getLength() : this.content.length;
+    }
+
+    /**
+     * Returns a copy of the start of a binary value whose end has been left in
+     * the file, or of the whole content if all of it has been read.<br>
+     *
+     * @return the content that has been read from file.
+     */
+    public byte[] getRawDataStart()
+    {
+        return this.content.clone();
+    }
+
+    /**
+     * Returns the location of the end of a binary value that has not been read
+     * from file yet.<br>
+     *
+     * @return the end of the value in the file, or <code>null</code> if all of
+     * the content has been read.
+     */
+    public FileImageData getRawDataEndInFile()
+    {
+        return this.contentEndInFile;
     }
 
     /**
@@ -591,7 +626,36 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
      */
     public boolean isEmpty()
     {
-        return this.content.length == 0;
+        return getRawDataSize() == 0;
+    }
+
+    /**
+     * Reads the end of a binary value that has been left in the file, and
+     * keeps the whole value in {@link #content}.<br>
+     *
+     * @return the whole content.
+     * @throws ImageDataNotAvailableException if the file cannot be read or has
+     * changed since the value was read.
+     */
+    private byte[] loadContent()
+    {
+        if (this.contentEndInFile != null)
+        {
+            try
+            {
+                byte[] end = this.contentEndInFile.read();
+                byte[] whole = new byte[this.content.length + end.length];
+                System.arraycopy(this.content, 0, whole, 0, this.content.length);
+                System.arraycopy(end, 0, whole, this.content.length, end.length);
+                this.content = whole;
+                this.contentEndInFile = null;
+            }
+            catch (IOException ioe)
+            {
+                throw new ImageDataNotAvailableException(ioe);
+            }
+        }
+        return this.content;
     }
 
     /**
@@ -607,6 +671,27 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
     {
         this.containerType.assertConstraints(this.name, data, this.descriptorType, this.streamNumber, this.languageIndex);
         this.content = data.clone();
+        this.contentEndInFile = null;
+        this.descriptorType = TYPE_BINARY;
+    }
+
+    /**
+     * Sets a binary value whose end is left in the file, only the start of the
+     * value is held and the end is read from the file when the whole value is
+     * needed.<br>
+     * Using this method will change {@link #descriptorType}to
+     * {@link #TYPE_BINARY}.<br>
+     *
+     * @param start     the start of the value.
+     * @param endInFile location of the rest of the value.
+     * @throws IllegalArgumentException if data is invalid for {@linkplain #getContainerType()
+     *                                  container}.
+     */
+    public void setBinaryValue(byte[] start, FileImageData endInFile) throws IllegalArgumentException
+    {
+        this.containerType.assertConstraints(this.name, start.length + endInFile.getLength(), this.descriptorType, this.streamNumber, this.languageIndex);
+        this.content = start.clone();
+        this.contentEndInFile = endInFile;
         this.descriptorType = TYPE_BINARY;
     }
 
@@ -620,6 +705,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
     public void setBooleanValue(boolean value)
     {
         this.content = new byte[]{value ? (byte) 1 : 0};
+        this.contentEndInFile = null;
         this.descriptorType = TYPE_BOOLEAN;
     }
 
@@ -637,6 +723,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
             throw new IllegalArgumentException("value out of range (0-" + DWORD_MAXVALUE + ")");
         }
         this.content = Utils.getBytes(value, 4);
+        this.contentEndInFile = null;
         this.descriptorType = TYPE_DWORD;
     }
 
@@ -651,6 +738,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
     {
         this.containerType.assertConstraints(this.name, value.getBytes(), TYPE_GUID, this.streamNumber, this.languageIndex);
         this.content = value.getBytes();
+        this.contentEndInFile = null;
         this.descriptorType = TYPE_GUID;
     }
 
@@ -663,7 +751,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
      */
     public void setLanguageIndex(int language)
     {
-        this.containerType.assertConstraints(this.name, this.content, this.descriptorType, this.streamNumber, language);
+        this.containerType.assertConstraints(this.name, getRawDataSize(), this.descriptorType, this.streamNumber, language);
         this.languageIndex = language;
     }
 
@@ -706,6 +794,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
              */
             Arrays.fill(this.content, (byte) 0xFF);
         }
+        this.contentEndInFile = null;
         this.descriptorType = TYPE_QWORD;
     }
 
@@ -723,6 +812,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
             throw new IllegalArgumentException("value out of range (0-" + MetadataDescriptor.QWORD_MAXVALUE + ")");
         }
         this.content = Utils.getBytes(value, 8);
+        this.contentEndInFile = null;
         this.descriptorType = TYPE_QWORD;
     }
 
@@ -735,7 +825,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
      */
     public void setStreamNumber(int stream)
     {
-        this.containerType.assertConstraints(this.name, this.content, this.descriptorType, stream, this.languageIndex);
+        this.containerType.assertConstraints(this.name, getRawDataSize(), this.descriptorType, stream, this.languageIndex);
         this.streamNumber = stream;
     }
 
@@ -810,10 +900,10 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
             {
                 // Normally a size violation, check if JAudiotagger my truncate
                 // the string
-                if (TagOptionSingleton.getInstance().isTruncateTextWithoutErrors())
+                if (TagOptions.current().isTruncateTextWithoutErrors())
                 {
                     // truncate the string
-                    int copyBytes = (int) getContainerType().getMaximumDataLength().longValue();
+                    int copyBytes = (int) getContainerType().getMaximumDataLength();
                     this.content = new byte[copyBytes % 2 == 0 ? copyBytes : copyBytes - 1];
                     System.arraycopy(tmp, 0, this.content, 0, this.content.length);
                 }
@@ -825,6 +915,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
                 }
             }
         }
+        this.contentEndInFile = null;
         this.descriptorType = TYPE_STRING;
     }
 
@@ -843,6 +934,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
             throw new IllegalArgumentException("value out of range (0-" + WORD_MAXVALUE + ")");
         }
         this.content = Utils.getBytes(value, 2);
+        this.contentEndInFile = null;
         this.descriptorType = TYPE_WORD;
     }
 
@@ -879,7 +971,7 @@ public class MetadataDescriptor implements Comparable<MetadataDescriptor>, Clone
         }
         else
         {
-            binaryData = this.content;
+            binaryData = loadContent();
         }
         // for Metadata objects the stream number and language index
         if (contType != ContainerType.EXTENDED_CONTENT)
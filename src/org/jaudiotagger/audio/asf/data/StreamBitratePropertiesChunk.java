@@ -51,13 +51,25 @@ public class StreamBitratePropertiesChunk extends Chunk
      *
      * @param chunkLen Length of current chunk.
      */
-    public StreamBitratePropertiesChunk(BigInteger chunkLen)
+    public StreamBitratePropertiesChunk(long chunkLen)
     {
         super(GUID.GUID_STREAM_BITRATE_PROPERTIES, chunkLen);
         this.bitRates = new ArrayList<>();
         this.streamNumbers = new ArrayList<>();
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param chunkLen Length of current chunk.
+     * @deprecated use {@link #StreamBitratePropertiesChunk(long)}
+     */
+    @Deprecated
+    public StreamBitratePropertiesChunk(BigInteger chunkLen)
+    {
+        this(chunkLengthOf(chunkLen));
+    }
+
     /**
      * Adds the public values of a stream-record.
      *
@@ -22,6 +22,7 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.math.BigInteger;
 
+
 /**
  * This class is the base for all handled stream contents. <br>
  * A Stream chunk delivers information about a audio or video stream. Because of
@@ -76,13 +77,28 @@ public abstract class StreamChunk extends Chunk
      *                   ):
      * @param chunkLen   length of chunk
      */
-    public StreamChunk(GUID streamType, BigInteger chunkLen)
+    public StreamChunk(GUID streamType, long chunkLen)
     {
         super(GUID.GUID_STREAM, chunkLen);
         assert GUID.GUID_AUDIOSTREAM.equals(streamType) || GUID.GUID_VIDEOSTREAM.equals(streamType);
         this.type = streamType;
     }
 
+    /**
+     * Creates an instance
+     *
+     * @param streamType The GUID which tells the stream type represented (
+     *                   {@link GUID#GUID_AUDIOSTREAM} or {@link GUID#GUID_VIDEOSTREAM}
+     *                   ):
+     * @param chunkLen   length of chunk
+     * @deprecated use {@link #StreamChunk(GUID, long)}
+     */
+    @Deprecated
+    public StreamChunk(GUID streamType, BigInteger chunkLen)
+    {
+        this(streamType, chunkLengthOf(chunkLen));
+    }
+
     /**
      * @return Returns the streamNumber.
      */
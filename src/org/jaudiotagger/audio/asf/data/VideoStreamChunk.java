@@ -22,6 +22,7 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.math.BigInteger;
 
+
 /**
  * @author Christian Laireiter
  */
@@ -48,11 +49,23 @@ public class VideoStreamChunk extends StreamChunk
      *
      * @param chunkLen Length of the entire chunk (including guid and size)
      */
-    public VideoStreamChunk(BigInteger chunkLen)
+    public VideoStreamChunk(long chunkLen)
     {
         super(GUID.GUID_VIDEOSTREAM, chunkLen);
     }
 
+    /**
+     * Creates an instance.
+     *
+     * @param chunkLen Length of the entire chunk (including guid and size)
+     * @deprecated use {@link #VideoStreamChunk(long)}
+     */
+    @Deprecated
+    public VideoStreamChunk(BigInteger chunkLen)
+    {
+        this(chunkLengthOf(chunkLen));
+    }
+
     /**
      * @return Returns the codecId.
      */
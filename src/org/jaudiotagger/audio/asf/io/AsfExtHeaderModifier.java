@@ -7,7 +7,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -79,13 +78,13 @@ public class AsfExtHeaderModifier implements ChunkModifier
         Set<GUID> occuredGuids = new HashSet<>();
         occuredGuids.add(guid);
 
-        BigInteger chunkLen = Utils.readBig64(source);
+        long chunkLen = Utils.readUINT64AsLong(source);
         GUID reserved1 = Utils.readGUID(source);
         int reserved2 = Utils.readUINT16(source);
         long dataSize = Utils.readUINT32(source);
 
         assert dataSize == 0 || dataSize >= 24;
-        assert chunkLen.subtract(BigInteger.valueOf(46)).longValue() == dataSize;
+        assert chunkLen - 46 == dataSize;
 
         /*
          * Stream buffer for the chunk list
@@ -129,7 +128,7 @@ public class AsfExtHeaderModifier implements ChunkModifier
             occuredGuids.addAll(result.getOccuredGUIDs());
         }
         destination.write(GUID.GUID_HEADER_EXTENSION.getBytes());
-        Utils.writeUINT64(chunkLen.add(BigInteger.valueOf(difference)).longValue(), destination);
+        Utils.writeUINT64(chunkLen + difference, destination);
         destination.write(reserved1.getBytes());
         Utils.writeUINT16(reserved2, destination);
         Utils.writeUINT32(dataSize + difference, destination);
@@ -6,7 +6,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 import java.util.List;
 
 /**
@@ -50,14 +49,14 @@ public class AsfExtHeaderReader extends ChunkContainerReader<AsfExtendedHeader>
      * {@inheritDoc}
      */
     @Override
-    protected AsfExtendedHeader createContainer(long streamPosition, BigInteger chunkLength, InputStream stream) throws IOException
+    protected AsfExtendedHeader createContainer(long streamPosition, long chunkLength, InputStream stream) throws IOException
     {
         Utils.readGUID(stream); // First reserved field (should be a specific
         // GUID.
         Utils.readUINT16(stream); // Second reserved field (should always be 6)
         long extensionSize = Utils.readUINT32(stream);
         assert extensionSize == 0 || extensionSize >= 24;
-        assert chunkLength.subtract(BigInteger.valueOf(46)).longValue() == extensionSize;
+        assert chunkLength - 46 == extensionSize;
         return new AsfExtendedHeader(streamPosition, chunkLength);
     }
 
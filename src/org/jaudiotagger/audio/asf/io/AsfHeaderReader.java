@@ -23,7 +23,7 @@ import org.jaudiotagger.audio.asf.data.GUID;
 import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.*;
-import java.math.BigInteger;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -90,14 +90,16 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader>
 
     /**
      * Creates a Stream that will read from the specified
-     * {@link RandomAccessFile};<br>
+     * {@link RandomAccessFile} starting at its file pointer, which is left
+     * unchanged;<br>
      *
      * @param raf data source to read from.
      * @return a stream which accesses the source.
+     * @throws IOException on I/O Errors.
      */
-    private static InputStream createStream(RandomAccessFile raf)
+    private static InputStream createStream(RandomAccessFile raf) throws IOException
     {
-        return new FullRequestInputStream(new BufferedInputStream(new RandomAccessFileInputstream(raf)));
+        return new FileChannelInputStream(raf.getChannel(), raf.getFilePointer());
     }
 
     /**
@@ -111,10 +113,10 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader>
      */
     public static AsfHeader readHeader(File file) throws IOException
     {
-        InputStream stream = new FileInputStream(file);
-        AsfHeader result = FULL_READER.read(Utils.readGUID(stream), stream, 0);
-        stream.close();
-        return result;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            return readHeader(raf);
+        }
     }
 
     /**
@@ -164,6 +166,23 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader>
         return TAG_READER.read(Utils.readGUID(stream), stream, 0);
     }
 
+    /**
+     * This method tries to extract an ASF-header out of the given channel,
+     * which only contains metadata, reading from the start of the channel
+     * without changing its position.<br>
+     * If no header could be extracted <code>null</code> is returned. <br>
+     *
+     * @param fc channel which contains the ASF header.
+     * @return AsfHeader-Wrapper, or <code>null</code> if no supported ASF
+     * header was found.
+     * @throws IOException Read errors
+     */
+    public static AsfHeader readTagHeader(FileChannel fc) throws IOException
+    {
+        InputStream stream = new FileChannelInputStream(fc, 0);
+        return TAG_READER.read(Utils.readGUID(stream), stream, 0);
+    }
+
     /**
      * Creates an instance of this reader.
      *
@@ -189,7 +208,7 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader>
      * {@inheritDoc}
      */
     @Override
-    protected AsfHeader createContainer(long streamPosition, BigInteger chunkLength, InputStream stream) throws IOException
+    protected AsfHeader createContainer(long streamPosition, long chunkLength, InputStream stream) throws IOException
     {
         long chunkCount = Utils.readUINT32(stream);
         /*
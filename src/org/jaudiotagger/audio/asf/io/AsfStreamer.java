@@ -50,6 +50,28 @@ public class AsfStreamer
      * @throws IOException on I/O errors.
      */
     public void createModifiedCopy(InputStream source, OutputStream dest, List<ChunkModifier> modifiers) throws IOException
+    {
+        createModifiedHeader(source, dest, modifiers);
+        // copy the rest of the file (data and index)
+        Utils.flush(source, dest);
+    }
+
+    /**
+     * Reads the ASF header object from <code>source</code>, applies the
+     * modifications provided by the given <code>modifiers</code>, and puts the
+     * modified header object to <code>dest</code>.<br>
+     * Afterwards <code>source</code> is located at the first byte after the
+     * header object, that is at the data object, which has to be copied by
+     * the caller.<br>
+     *
+     * @param source    the source ASF file
+     * @param dest      the destination to write the modified header to.
+     * @param modifiers list of chunk modifiers to apply.
+     * @return the number of bytes the header object has grown by, negative if
+     * it has shrunk.
+     * @throws IOException on I/O errors.
+     */
+    public long createModifiedHeader(InputStream source, OutputStream dest, List<ChunkModifier> modifiers) throws IOException
     {
         List<ChunkModifier> modders = new ArrayList<>();
         if (modifiers != null)
@@ -148,8 +170,7 @@ public class AsfStreamer
             modifyFileHeader(new ByteArrayInputStream(fileHeader), dest, totalDiff);
             // write the header objects (chunks)
             dest.write(bos.toByteArray());
-            // copy the rest of the file (data and index)
-            Utils.flush(source, dest);
+            return totalDiff;
         }
         else
         {
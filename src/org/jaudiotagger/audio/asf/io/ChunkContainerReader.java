@@ -7,7 +7,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -95,7 +94,7 @@ abstract class ChunkContainerReader<ChunkType extends ChunkContainer> implements
      * @return instance of the implementations result.
      * @throws IOException On I/O Errors and Invalid data.
      */
-    abstract protected ChunkType createContainer(long streamPosition, BigInteger chunkLength, InputStream stream) throws IOException;
+    abstract protected ChunkType createContainer(long streamPosition, long chunkLength, InputStream stream) throws IOException;
 
     /**
      * Gets a configured {@linkplain ChunkReader reader} instance for ASF
@@ -138,20 +137,22 @@ abstract class ChunkContainerReader<ChunkType extends ChunkContainer> implements
     public ChunkType read(GUID guid, InputStream stream, long chunkStart) throws IOException, IllegalArgumentException
     {
         checkStream(stream);
-        CountingInputStream cis = new CountingInputStream(stream);
+        //Nested containers are read from the stream that already counts the bytes of the enclosing one
+        CountingInputStream cis = stream instanceof CountingInputStream ? (CountingInputStream) stream : new CountingInputStream(stream);
+        long readStart = cis.getReadCount();
         if (!Arrays.asList(getApplyingIds()).contains(guid))
         {
             throw new IllegalArgumentException("provided GUID is not supported by this reader.");
         }
         // For Know the file pointer pointed to an ASF header chunk.
-        BigInteger chunkLen = Utils.readBig64(cis);
+        long chunkLen = Utils.readUINT64AsLong(cis);
         /*
          * now read implementation specific information until the chunk
          * collection starts and create the resulting object.
          */
         ChunkType result = createContainer(chunkStart, chunkLen, cis);
         // 16 bytes have already been for providing the GUID
-        long currentPosition = chunkStart + cis.getReadCount() + 16;
+        long currentPosition = chunkStart + cis.getReadCount() - readStart + 16;
 
         HashSet<GUID> alreadyRead = new HashSet<>();
         /*
@@ -195,7 +196,7 @@ abstract class ChunkContainerReader<ChunkType extends ChunkContainer> implements
                 currentPosition = chunk.getChunkEnd();
                 // Always take into account, that 16 bytes have been read prior
                 // to calling this method
-                assert cis.getReadCount() + chunkStart + 16 == currentPosition;
+                assert cis.getReadCount() - readStart + chunkStart + 16 == currentPosition;
             }
         }
 
@@ -24,7 +24,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * Default reader, Reads GUID and size out of an input stream and creates a
@@ -85,8 +84,8 @@ final class ChunkHeaderReader implements ChunkReader
      */
     public Chunk read(GUID guid, InputStream stream, long chunkStart) throws IOException
     {
-        BigInteger chunkLen = Utils.readBig64(stream);
-        stream.skip(chunkLen.longValue() - 24);
+        long chunkLen = Utils.readUINT64AsLong(stream);
+        stream.skip(chunkLen - 24);
         return new Chunk(guid, chunkStart, chunkLen);
     }
 
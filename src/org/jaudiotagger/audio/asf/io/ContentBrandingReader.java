@@ -7,7 +7,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * This reader is used to read the content branding object of ASF streams.<br>
@@ -53,7 +52,7 @@ public class ContentBrandingReader implements ChunkReader
     public Chunk read(GUID guid, InputStream stream, long streamPosition) throws IOException
     {
         assert GUID.GUID_CONTENT_BRANDING.equals(guid);
-        BigInteger chunkSize = Utils.readBig64(stream);
+        long chunkSize = Utils.readUINT64AsLong(stream);
         long imageType = Utils.readUINT32(stream);
         assert imageType >= 0 && imageType <= 3 : imageType;
         long imageDataSize = Utils.readUINT32(stream);
@@ -25,7 +25,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * Reads and interprets the data of a ASF chunk containing title, author... <br>
@@ -87,7 +86,7 @@ public class ContentDescriptionReader implements ChunkReader
      */
     public Chunk read(GUID guid, InputStream stream, long chunkStart) throws IOException
     {
-        BigInteger chunkSize = Utils.readBig64(stream);
+        long chunkSize = Utils.readUINT64AsLong(stream);
         /*
          * Now comes 16-Bit values representing the length of the Strings which
          * follows.
@@ -25,7 +25,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * This class reads the chunk containing encoding data <br>
@@ -70,7 +69,7 @@ class EncodingChunkReader implements ChunkReader
      */
     public Chunk read(GUID guid, InputStream stream, long chunkStart) throws IOException
     {
-        BigInteger chunkLen = Utils.readBig64(stream);
+        long chunkLen = Utils.readUINT64AsLong(stream);
         EncodingChunk result = new EncodingChunk(chunkLen);
         int readBytes = 24;
         // Can't be interpreted
@@ -97,7 +96,7 @@ class EncodingChunkReader implements ChunkReader
             result.addString(curr);
             readBytes += 4 + 2 * curr.length();
         }
-        stream.skip(chunkLen.longValue() - readBytes);
+        stream.skip(chunkLen - readBytes);
         result.setPosition(chunkStart);
         return result;
     }
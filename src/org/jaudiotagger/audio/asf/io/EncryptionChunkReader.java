@@ -25,7 +25,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * This class reads the chunk containing encoding data <br>
@@ -72,7 +71,7 @@ class EncryptionChunkReader implements ChunkReader
     public Chunk read(GUID guid, InputStream stream, long chunkStart) throws IOException
     {
         EncryptionChunk result;
-        BigInteger chunkLen = Utils.readBig64(stream);
+        long chunkLen = Utils.readUINT64AsLong(stream);
         result = new EncryptionChunk(chunkLen);
 
         // Can't be interpreted
@@ -0,0 +1,298 @@
+package org.jaudiotagger.audio.asf.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads ASF data from a {@link FileChannel} through a single reused buffer.<br>
+ * The channel is read with positional reads so its own position is never
+ * changed, skipping just moves the position of this stream without reading,
+ * and {@link #readBuffered(int)} lets the number reading methods of
+ * {@link org.jaudiotagger.audio.asf.util.Utils} decode values straight from
+ * the buffer. Like {@link FullRequestInputStream} a read returns the requested
+ * amount of bytes or fails.<br>
+ * Closing this stream does not close the channel.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class FileChannelInputStream extends CountingInputStream
+{
+    private static final int BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+
+    /**
+     * Little endian, holds the bytes of the file starting at {@link #bufferStart}
+     */
+    private final ByteBuffer buffer;
+
+    private long bufferStart;
+
+    /**
+     * The file position of the next byte to be read
+     */
+    private long position;
+
+    private long markPosition;
+
+    private final long start;
+
+    private final long size;
+
+    /**
+     * The file the channel belongs to, if known
+     */
+    private final File file;
+
+    /**
+     * Creates an instance reading from the current position of the channel.
+     *
+     * @param channel channel to read from.
+     * @throws IOException on I/O errors.
+     */
+    public FileChannelInputStream(FileChannel channel) throws IOException
+    {
+        this(channel, channel.position());
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param channel channel to read from.
+     * @param start   file position to start reading from.
+     * @throws IOException on I/O errors.
+     */
+    public FileChannelInputStream(FileChannel channel, long start) throws IOException
+    {
+        this(channel, start, null);
+    }
+
+    /**
+     * Creates an instance which knows the file the channel belongs to, so
+     * readers can leave large values in the file and record where they are.
+     *
+     * @param channel channel to read from.
+     * @param start   file position to start reading from.
+     * @param file    the file the channel belongs to, or <code>null</code>.
+     * @throws IOException on I/O errors.
+     */
+    public FileChannelInputStream(FileChannel channel, long start, File file) throws IOException
+    {
+        super(null);
+        this.file = file;
+        this.channel = channel;
+        this.start = start;
+        this.position = start;
+        this.markPosition = start;
+        this.size = channel.size();
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.limit(0);
+        this.bufferStart = start;
+    }
+
+    /**
+     * Makes sure the buffer holds the bytes from the current position onwards,
+     * refilling it if needed.
+     *
+     * @param count number of bytes wanted, at most the size of the buffer.
+     * @return number of bytes available in the buffer, less than
+     * <code>count</code> only if the file ends first.
+     * @throws IOException on I/O errors.
+     */
+    private int fill(int count) throws IOException
+    {
+        long offset = this.position - this.bufferStart;
+        if (offset >= 0 && offset + count <= this.buffer.limit())
+        {
+            return count;
+        }
+        this.buffer.clear();
+        this.bufferStart = this.position;
+        while (this.buffer.hasRemaining())
+        {
+            if (this.channel.read(this.buffer, this.bufferStart + this.buffer.position()) <= 0)
+            {
+                break;
+            }
+        }
+        this.buffer.flip();
+        return Math.min(count, this.buffer.limit());
+    }
+
+    /**
+     * Reads the next <code>count</code> bytes into the buffer of this stream
+     * and moves past them.
+     *
+     * @param count number of bytes, at most 8192.
+     * @return the little endian buffer positioned at the bytes, valid until
+     * the next call to this stream, or <code>null</code> if the file ends
+     * before <code>count</code> bytes, in which case nothing is read.
+     * @throws IOException on I/O errors.
+     */
+    public ByteBuffer readBuffered(int count) throws IOException
+    {
+        if (fill(count) < count)
+        {
+            return null;
+        }
+        this.buffer.position((int) (this.position - this.bufferStart));
+        this.position += count;
+        return this.buffer;
+    }
+
+    /**
+     * @return the file the channel belongs to, or <code>null</code> if not
+     * known.
+     */
+    public File getFile()
+    {
+        return this.file;
+    }
+
+    /**
+     * @return the file position of the next byte to be read.
+     */
+    public long getPosition()
+    {
+        return this.position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReadCount()
+    {
+        return this.position - this.start;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available()
+    {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, this.size - this.position));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close()
+    {
+        //The channel belongs to the caller
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void mark(int readlimit)
+    {
+        this.markPosition = this.position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException
+    {
+        if (fill(1) < 1)
+        {
+            return -1;
+        }
+        int result = this.buffer.get((int) (this.position - this.bufferStart)) & 0xFF;
+        this.position++;
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] destination) throws IOException
+    {
+        return read(destination, 0, destination.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] destination, int off, int len) throws IOException
+    {
+        int totalRead = 0;
+        //Large reads go straight into the destination
+        if (len >= BUFFER_SIZE)
+        {
+            ByteBuffer target = ByteBuffer.wrap(destination, off, len);
+            while (target.hasRemaining())
+            {
+                if (this.channel.read(target, this.position + target.position() - off) <= 0)
+                {
+                    break;
+                }
+            }
+            totalRead = target.position() - off;
+            this.position += totalRead;
+        }
+        else
+        {
+            while (totalRead < len)
+            {
+                int available = fill(len - totalRead);
+                if (available == 0)
+                {
+                    break;
+                }
+                this.buffer.position((int) (this.position - this.bufferStart));
+                this.buffer.get(destination, off + totalRead, available);
+                this.position += available;
+                totalRead += available;
+            }
+        }
+        if (totalRead < len)
+        {
+            throw new IOException((len - totalRead) + " more bytes expected.");
+        }
+        return totalRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset()
+    {
+        this.position = this.markPosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long amount)
+    {
+        if (amount <= 0)
+        {
+            return 0;
+        }
+        long skipped = Math.min(amount, Math.max(0, this.size - this.position));
+        this.position += skipped;
+        return skipped;
+    }
+}
@@ -25,7 +25,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * Reads and interprets the data of the file header. <br>
@@ -69,18 +68,18 @@ public class FileHeaderReader implements ChunkReader
      */
     public Chunk read(GUID guid, InputStream stream, long chunkStart) throws IOException
     {
-        BigInteger chunkLen = Utils.readBig64(stream);
+        long chunkLen = Utils.readUINT64AsLong(stream);
         // Skip client GUID.
         stream.skip(16);
-        BigInteger fileSize = Utils.readBig64(stream);
+        long fileSize = Utils.readUINT64AsLong(stream);
         // fileTime in 100 ns since midnight of 1st january 1601 GMT
-        BigInteger fileTime = Utils.readBig64(stream);
+        long fileTime = Utils.readUINT64AsLong(stream);
 
-        BigInteger packageCount = Utils.readBig64(stream);
+        long packageCount = Utils.readUINT64AsLong(stream);
 
-        BigInteger timeEndPos = Utils.readBig64(stream);
-        BigInteger duration = Utils.readBig64(stream);
-        BigInteger timeStartPos = Utils.readBig64(stream);
+        long timeEndPos = Utils.readUINT64AsLong(stream);
+        long duration = Utils.readUINT64AsLong(stream);
+        long timeStartPos = Utils.readUINT64AsLong(stream);
 
         long flags = Utils.readUINT32(stream);
 
@@ -7,7 +7,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * Reads and interprets the &quot;Language List Object&quot; of ASF files.<br>
@@ -44,7 +43,7 @@ public class LanguageListReader implements ChunkReader
     public Chunk read(GUID guid, InputStream stream, long streamPosition) throws IOException
     {
         assert GUID.GUID_LANGUAGE_LIST.equals(guid);
-        BigInteger chunkLen = Utils.readBig64(stream);
+        long chunkLen = Utils.readUINT64AsLong(stream);
 
         int readUINT16 = Utils.readUINT16(stream);
 
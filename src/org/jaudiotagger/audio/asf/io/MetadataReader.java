@@ -2,10 +2,13 @@ package org.jaudiotagger.audio.asf.io;
 
 import org.jaudiotagger.audio.asf.data.*;
 import org.jaudiotagger.audio.asf.util.Utils;
+import org.jaudiotagger.tag.TagOptions;
+import org.jaudiotagger.tag.asf.AsfFieldKey;
+import org.jaudiotagger.tag.images.FileImageData;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * Reads an interprets &quot;Metadata Object&quot;, &quot;Metadata Library
@@ -42,7 +45,7 @@ public class MetadataReader implements ChunkReader
      */
     public Chunk read(GUID guid, InputStream stream, long streamPosition) throws IOException
     {
-        BigInteger chunkLen = Utils.readBig64(stream);
+        long chunkLen = Utils.readUINT64AsLong(stream);
 
         MetadataContainer result = new MetadataContainer(guid, streamPosition, chunkLen);
         // isExtDesc will be set to true, if a extended content description
@@ -88,7 +91,7 @@ public class MetadataReader implements ChunkReader
                     descriptor.setStringValue(Utils.readFixedSizeUTF16Str(stream, (int) dataLen));
                     break;
                 case MetadataDescriptor.TYPE_BINARY:
-                    descriptor.setBinaryValue(Utils.readBinary(stream, dataLen));
+                    readBinaryValue(stream, dataLen, descriptor);
                     break;
                 case MetadataDescriptor.TYPE_BOOLEAN:
                     assert isExtDesc && dataLen == 4 || !isExtDesc && dataLen == 2;
@@ -121,6 +124,56 @@ public class MetadataReader implements ChunkReader
         return result;
     }
 
+    /**
+     * Reads a binary value into the descriptor.<br>
+     * If lazy artwork is enabled and the stream knows the file it reads, only
+     * the header of a picture is read, the image data is left in the file and
+     * just its location is recorded.
+     *
+     * @param stream     stream positioned at the value.
+     * @param dataLen    length of the value.
+     * @param descriptor descriptor to set the value of.
+     * @throws IOException on I/O Errors
+     */
+    private void readBinaryValue(InputStream stream, long dataLen, MetadataDescriptor descriptor) throws IOException
+    {
+        if (!(stream instanceof FileChannelInputStream) || ((FileChannelInputStream) stream).getFile() == null || !TagOptions.current().isLazyArtwork() || !AsfFieldKey.COVER_ART.getFieldName().equals(descriptor.getName()) || dataLen < 5)
+        {
+            descriptor.setBinaryValue(Utils.readBinary(stream, dataLen));
+            return;
+        }
+        FileChannelInputStream fileStream = (FileChannelInputStream) stream;
+
+        //Picture type and image data size, then the mime type and the description, each ended by a zero term
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        header.write(Utils.readBinary(stream, 5));
+        int zeroTerms = 0;
+        while (zeroTerms < 2 && header.size() + 2 <= dataLen)
+        {
+            byte[] character = Utils.readBinary(stream, 2);
+            header.write(character);
+            if (character[0] == 0 && character[1] == 0)
+            {
+                zeroTerms++;
+            }
+        }
+        long imageLength = dataLen - header.size();
+        if (zeroTerms < 2 || imageLength == 0)
+        {
+            //Not a picture we can make sense of, so keep all of it
+            header.write(Utils.readBinary(stream, imageLength));
+            descriptor.setBinaryValue(header.toByteArray());
+            return;
+        }
+        byte[] start = header.toByteArray();
+        FileImageData imageData = new FileImageData(fileStream.getFile(), fileStream.getPosition(), (int) imageLength, start);
+        if (stream.skip(imageLength) < imageLength)
+        {
+            throw new IOException(imageLength + " bytes of image data expected.");
+        }
+        descriptor.setBinaryValue(start, imageData);
+    }
+
     /**
      * Reads the given number of bytes and checks the last byte, if it's equal to
      * one or zero (true / false).<br>
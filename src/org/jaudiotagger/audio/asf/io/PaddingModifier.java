@@ -0,0 +1,123 @@
+package org.jaudiotagger.audio.asf.io;
+
+import org.jaudiotagger.audio.asf.data.GUID;
+import org.jaudiotagger.audio.asf.util.Utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * This modifier resizes, creates or removes a padding object, so that the
+ * header object can keep its size when other chunks change.<br>
+ * Until {@link #resize(long)} or {@link #absorb(long)} is called an existing
+ * padding object is copied unchanged and none is created, so the modifier can
+ * be applied once to find out the size of the padding object before deciding
+ * what to do with it.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class PaddingModifier implements ChunkModifier
+{
+    /**
+     * The smallest padding object, just its GUID and size field.
+     */
+    public static final int MINIMUM_SIZE = 24;
+
+    /**
+     * Size of the padding object to write, <code>-1</code> to keep the
+     * existing size.
+     */
+    private long newSize = -1;
+
+    /**
+     * Size of the padding object found by the last modification,
+     * <code>0</code> if there was none.
+     */
+    private long existingSize;
+
+    /**
+     * @return size of the padding object found by the last modification,
+     * <code>0</code> if there was none.
+     */
+    public long getExistingSize()
+    {
+        return this.existingSize;
+    }
+
+    /**
+     * Sets the size of the padding object to write.<br>
+     *
+     * @param size size including the GUID and size field, <code>0</code> to
+     *             remove the padding object.
+     */
+    public void resize(long size)
+    {
+        if (size != 0 && size < MINIMUM_SIZE)
+        {
+            throw new IllegalArgumentException("Padding objects can't be smaller than " + MINIMUM_SIZE + " bytes.");
+        }
+        this.newSize = size;
+    }
+
+    /**
+     * Resizes the existing padding object so that it takes up the given
+     * change of the other chunks.<br>
+     *
+     * @param byteDifference number of bytes the other chunks have grown by,
+     *                       negative if they have shrunk.
+     * @return <code>false</code> if no padding object was found or it can't
+     * take up the change, in which case nothing is changed.
+     */
+    public boolean absorb(long byteDifference)
+    {
+        long size = this.existingSize - byteDifference;
+        if (this.existingSize == 0 || (size != 0 && size < MINIMUM_SIZE))
+        {
+            return false;
+        }
+        this.newSize = size;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isApplicable(GUID guid)
+    {
+        return GUID.GUID_PADDING.equals(guid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ModificationResult modify(GUID guid, InputStream source, OutputStream destination) throws IOException
+    {
+        int chunkDiff = 0;
+        long oldSize = 0;
+        if (guid != null)
+        {
+            assert isApplicable(guid);
+            oldSize = Utils.readUINT64AsLong(source);
+            source.skip(oldSize - MINIMUM_SIZE);
+        }
+        this.existingSize = oldSize;
+        long size = this.newSize == -1 ? oldSize : this.newSize;
+        if (size > 0)
+        {
+            destination.write(GUID.GUID_PADDING.getBytes());
+            Utils.writeUINT64(size, destination);
+            destination.write(new byte[(int) (size - MINIMUM_SIZE)]);
+            if (guid == null)
+            {
+                chunkDiff++;
+            }
+        }
+        else if (guid != null)
+        {
+            chunkDiff--;
+        }
+        return new ModificationResult(chunkDiff, size - oldSize, GUID.GUID_PADDING);
+    }
+
+}
@@ -25,7 +25,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * This class reads the chunk containing the stream bitrate properties.<br>
@@ -69,7 +68,7 @@ public class StreamBitratePropertiesReader implements ChunkReader
      */
     public Chunk read(GUID guid, InputStream stream, long chunkStart) throws IOException
     {
-        BigInteger chunkLen = Utils.readBig64(stream);
+        long chunkLen = Utils.readUINT64AsLong(stream);
         StreamBitratePropertiesChunk result = new StreamBitratePropertiesChunk(chunkLen);
 
         /*
@@ -23,7 +23,6 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 
 /**
  * Reads and interprets the data of the audio or video stream information chunk. <br>
@@ -68,7 +67,7 @@ public class StreamChunkReader implements ChunkReader
     public Chunk read(GUID guid, InputStream stream, long chunkStart) throws IOException
     {
         StreamChunk result = null;
-        BigInteger chunkLength = Utils.readBig64(stream);
+        long chunkLength = Utils.readUINT64AsLong(stream);
         // Now comes GUID indicating whether stream content type is audio or
         // video
         GUID streamTypeGUID = Utils.readGUID(stream);
@@ -183,7 +182,7 @@ public class StreamChunkReader implements ChunkReader
              * GUID and chunklen) - streamSpecificBytes(stream type specific
              * data) - 54 (common data)
              */
-            stream.skip(chunkLength.longValue() - 24 - streamSpecificBytes - 54);
+            stream.skip(chunkLength - 24 - streamSpecificBytes - 54);
         }
         return result;
     }
@@ -20,6 +20,7 @@ package org.jaudiotagger.audio.asf.util;
 
 import org.jaudiotagger.audio.asf.data.AsfHeader;
 import org.jaudiotagger.audio.asf.data.GUID;
+import org.jaudiotagger.audio.asf.io.FileChannelInputStream;
 import org.jaudiotagger.logging.ErrorMessage;
 
 import java.io.EOFException;
@@ -209,18 +210,31 @@ public class Utils
      * @param fileTime Time in 100ns since 1 jan 1601
      * @return Calendar holding the date representation.
      */
-    public static GregorianCalendar getDateOf(BigInteger fileTime)
+    public static GregorianCalendar getDateOf(long fileTime)
     {
         GregorianCalendar result = new GregorianCalendar();
 
         // Divide by 10 to convert from -4 to -3 (millisecs)
-        BigInteger time = fileTime.divide(new BigInteger("10"));
+        long time = fileTime / 10;
         // Construct Date taking into the diff between 1601 and 1970
-        Date date = new Date(time.longValue() - DIFF_BETWEEN_ASF_DATE_AND_JAVA_DATE);
+        Date date = new Date(time - DIFF_BETWEEN_ASF_DATE_AND_JAVA_DATE);
         result.setTime(date);
         return result;
     }
 
+    /**
+     * Date values in ASF files are given in 100 ns (10 exp -4) steps since first
+     *
+     * @param fileTime Time in 100ns since 1 jan 1601
+     * @return Calendar holding the date representation.
+     * @deprecated use {@link #getDateOf(long)}
+     */
+    @Deprecated
+    public static GregorianCalendar getDateOf(BigInteger fileTime)
+    {
+        return getDateOf(fileTime.longValue());
+    }
+
     /**
      * Tests if the given string is <code>null</code> or just contains
      * whitespace characters.
@@ -251,23 +265,13 @@ public class Utils
      *
      * @param stream stream to readm from.
      * @return a BigInteger which represents the read 8 bytes value.
-     * @throws IOException if problem reading bytes
+     * @throws IOException if problem reading bytes, or if the value exceeds {@link Long#MAX_VALUE}
+     * @deprecated use {@link #readUINT64AsLong(InputStream)}
      */
+    @Deprecated
     public static BigInteger readBig64(InputStream stream) throws IOException
     {
-        byte[] bytes = new byte[8];
-        byte[] oa = new byte[8];
-        int read = stream.read(bytes);
-        if (read != 8)
-        {
-            // 8 bytes mandatory.
-            throw new EOFException();
-        }
-        for (int i = 0; i < bytes.length; i++)
-        {
-            oa[7 - i] = bytes[i];
-        }
-        return new BigInteger(oa);
+        return BigInteger.valueOf(readUINT64AsLong(stream));
     }
 
     /**
@@ -371,6 +375,14 @@ public class Utils
         {
             throw new IllegalArgumentException("Argument must not be null"); //$NON-NLS-1$
         }
+        if (stream instanceof FileChannelInputStream)
+        {
+            ByteBuffer data = ((FileChannelInputStream) stream).readBuffered(GUID.GUID_LENGTH);
+            if (data != null)
+            {
+                return GUID.read(data);
+            }
+        }
         int[] binaryGuid = new int[GUID.GUID_LENGTH];
         for (int i = 0; i < binaryGuid.length; i++)
         {
@@ -388,6 +400,14 @@ public class Utils
      */
     public static int readUINT16(InputStream stream) throws IOException
     {
+        if (stream instanceof FileChannelInputStream)
+        {
+            ByteBuffer data = ((FileChannelInputStream) stream).readBuffered(2);
+            if (data != null)
+            {
+                return data.getShort() & 0xFFFF;
+            }
+        }
         int result = stream.read();
         result |= stream.read() << 8;
         return result;
@@ -402,6 +422,14 @@ public class Utils
      */
     public static long readUINT32(InputStream stream) throws IOException
     {
+        if (stream instanceof FileChannelInputStream)
+        {
+            ByteBuffer data = ((FileChannelInputStream) stream).readBuffered(4);
+            if (data != null)
+            {
+                return data.getInt() & 0xFFFFFFFFL;
+            }
+        }
         long result = 0;
         for (int i = 0; i <= 24; i += 8)
         {
@@ -423,6 +451,14 @@ public class Utils
      */
     public static long readUINT64(InputStream stream) throws IOException
     {
+        if (stream instanceof FileChannelInputStream)
+        {
+            ByteBuffer data = ((FileChannelInputStream) stream).readBuffered(8);
+            if (data != null)
+            {
+                return data.getLong();
+            }
+        }
         long result = 0;
         for (int i = 0; i <= 56; i += 8)
         {
@@ -435,6 +471,49 @@ public class Utils
         return result;
     }
 
+    /**
+     * Reads 8 bytes from stream and interprets them as a UINT64, used for sizes, positions, times and counts which
+     * are never expected to exceed {@link Long#MAX_VALUE}.<br>
+     *
+     * @param stream stream to read from.
+     * @return the read value.
+     * @throws IOException on I/O errors, if the stream ends before the 8 bytes are read, or if the value exceeds
+     *                     {@link Long#MAX_VALUE}.
+     */
+    public static long readUINT64AsLong(InputStream stream) throws IOException
+    {
+        long result;
+        if (stream instanceof FileChannelInputStream)
+        {
+            ByteBuffer data = ((FileChannelInputStream) stream).readBuffered(8);
+            if (data == null)
+            {
+                // 8 bytes mandatory.
+                throw new EOFException();
+            }
+            result = data.getLong();
+        }
+        else
+        {
+            result = 0;
+            for (int i = 0; i <= 56; i += 8)
+            {
+                int read = stream.read();
+                if (read == -1)
+                {
+                    // 8 bytes mandatory.
+                    throw new EOFException();
+                }
+                result |= (long) read << i;
+            }
+        }
+        if (result < 0)
+        {
+            throw new IOException(ErrorMessage.WMA_UINT64_TOO_LARGE.getMsg(Long.MAX_VALUE));
+        }
+        return result;
+    }
+
     /**
      * This method reads a UTF-16 encoded String, beginning with a 16-bit value
      * representing the number of bytes needed. The String is terminated with as
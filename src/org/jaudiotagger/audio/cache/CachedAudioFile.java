@@ -0,0 +1,21 @@
+package org.jaudiotagger.audio.cache;
+
+import org.jaudiotagger.audio.AudioFile;
+
+import java.io.File;
+
+/**
+ * AudioFile restored from a {@link MetadataCache} record rather than parsed from the file
+ *
+ * <p>It has a {@link CachedAudioHeader} and, if the file has a tag, a {@link CachedTag}. It cannot be written, read
+ * the file with {@link org.jaudiotagger.audio.AudioFileIO} to change its tag.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class CachedAudioFile extends AudioFile
+{
+    public CachedAudioFile(File f, CachedAudioHeader audioHeader, CachedTag tag)
+    {
+        super(f, audioHeader, tag);
+    }
+}
@@ -0,0 +1,304 @@
+package org.jaudiotagger.audio.cache;
+
+import org.jaudiotagger.audio.AudioHeader;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Audio header restored from a {@link MetadataCache} record
+ *
+ * <p>Holds the values the original header returned when the file was parsed. A value the original header could not
+ * provide is returned as zero, false or null.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class CachedAudioHeader implements AudioHeader
+{
+    private static final int ENCODING_TYPE = 0;
+    private static final int BYTE_RATE = 1;
+    private static final int BIT_RATE = 2;
+    private static final int BIT_RATE_AS_NUMBER = 3;
+    private static final int AUDIO_DATA_LENGTH = 4;
+    private static final int AUDIO_DATA_START_POSITION = 5;
+    private static final int AUDIO_DATA_END_POSITION = 6;
+    private static final int SAMPLE_RATE = 7;
+    private static final int SAMPLE_RATE_AS_NUMBER = 8;
+    private static final int FORMAT = 9;
+    private static final int CHANNELS = 10;
+    private static final int VARIABLE_BIT_RATE = 11;
+    private static final int TRACK_LENGTH = 12;
+    private static final int PRECISE_TRACK_LENGTH = 13;
+    private static final int BITS_PER_SAMPLE = 14;
+    private static final int LOSSLESS = 15;
+    private static final int NO_OF_SAMPLES = 16;
+    private static final int FIELD_COUNT = 17;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+
+    private final Object[] values;
+
+    private CachedAudioHeader(Object[] values)
+    {
+        this.values = values;
+    }
+
+    /**
+     * Write the values of the header to a record
+     *
+     * @param header
+     * @param out
+     * @throws IOException
+     */
+    static void write(AudioHeader header, DataOutputStream out) throws IOException
+    {
+        for (int field = 0; field < FIELD_COUNT; field++)
+        {
+            Object value;
+            try
+            {
+                value = getValue(header, field);
+            }
+            catch (RuntimeException re)
+            {
+                //Not known for this file, some headers fail rather than return null
+                value = null;
+            }
+
+            if (value == null)
+            {
+                out.writeByte(TYPE_NULL);
+            }
+            else if (value instanceof String)
+            {
+                out.writeByte(TYPE_STRING);
+                MetadataCache.writeString(out, (String) value);
+            }
+            else if (value instanceof Integer)
+            {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt((Integer) value);
+            }
+            else if (value instanceof Long)
+            {
+                out.writeByte(TYPE_LONG);
+                out.writeLong((Long) value);
+            }
+            else if (value instanceof Double)
+            {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble((Double) value);
+            }
+            else
+            {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            }
+        }
+    }
+
+    /**
+     * Read a header written by {@link #write(AudioHeader, DataOutputStream)}
+     *
+     * @param in
+     * @return the header
+     * @throws IOException
+     */
+    static CachedAudioHeader read(DataInputStream in) throws IOException
+    {
+        Object[] values = new Object[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT; field++)
+        {
+            byte type = in.readByte();
+            switch (type)
+            {
+                case TYPE_NULL:
+                    break;
+
+                case TYPE_STRING:
+                    values[field] = MetadataCache.readString(in);
+                    break;
+
+                case TYPE_INTEGER:
+                    values[field] = in.readInt();
+                    break;
+
+                case TYPE_LONG:
+                    values[field] = in.readLong();
+                    break;
+
+                case TYPE_DOUBLE:
+                    values[field] = in.readDouble();
+                    break;
+
+                case TYPE_BOOLEAN:
+                    values[field] = in.readBoolean();
+                    break;
+
+                default:
+                    throw new IOException("Unknown value type " + type);
+            }
+        }
+        return new CachedAudioHeader(values);
+    }
+
+    private static Object getValue(AudioHeader header, int field)
+    {
+        switch (field)
+        {
+            case ENCODING_TYPE:
+                return header.getEncodingType();
+            case BYTE_RATE:
+                return header.getByteRate();
+            case BIT_RATE:
+                return header.getBitRate();
+            case BIT_RATE_AS_NUMBER:
+                return header.getBitRateAsNumber();
+            case AUDIO_DATA_LENGTH:
+                return header.getAudioDataLength();
+            case AUDIO_DATA_START_POSITION:
+                return header.getAudioDataStartPosition();
+            case AUDIO_DATA_END_POSITION:
+                return header.getAudioDataEndPosition();
+            case SAMPLE_RATE:
+                return header.getSampleRate();
+            case SAMPLE_RATE_AS_NUMBER:
+                return header.getSampleRateAsNumber();
+            case FORMAT:
+                return header.getFormat();
+            case CHANNELS:
+                return header.getChannels();
+            case VARIABLE_BIT_RATE:
+                return header.isVariableBitRate();
+            case TRACK_LENGTH:
+                return header.getTrackLength();
+            case PRECISE_TRACK_LENGTH:
+                return header.getPreciseTrackLength();
+            case BITS_PER_SAMPLE:
+                return header.getBitsPerSample();
+            case LOSSLESS:
+                return header.isLossless();
+            default:
+                return header.getNoOfSamples();
+        }
+    }
+
+    private long getLong(int field)
+    {
+        Number value = (Number) values[field];
+        return value == null ? 0 : value.longValue();
+    }
+
+    private boolean getBoolean(int field)
+    {
+        Boolean value = (Boolean) values[field];
+        return value != null && value;
+    }
+
+    public String getEncodingType()
+    {
+        return (String) values[ENCODING_TYPE];
+    }
+
+    public Integer getByteRate()
+    {
+        return (Integer) values[BYTE_RATE];
+    }
+
+    public String getBitRate()
+    {
+        return (String) values[BIT_RATE];
+    }
+
+    public long getBitRateAsNumber()
+    {
+        return getLong(BIT_RATE_AS_NUMBER);
+    }
+
+    public Long getAudioDataLength()
+    {
+        return (Long) values[AUDIO_DATA_LENGTH];
+    }
+
+    public Long getAudioDataStartPosition()
+    {
+        return (Long) values[AUDIO_DATA_START_POSITION];
+    }
+
+    public Long getAudioDataEndPosition()
+    {
+        return (Long) values[AUDIO_DATA_END_POSITION];
+    }
+
+    public String getSampleRate()
+    {
+        return (String) values[SAMPLE_RATE];
+    }
+
+    public int getSampleRateAsNumber()
+    {
+        return (int) getLong(SAMPLE_RATE_AS_NUMBER);
+    }
+
+    public String getFormat()
+    {
+        return (String) values[FORMAT];
+    }
+
+    public String getChannels()
+    {
+        return (String) values[CHANNELS];
+    }
+
+    public boolean isVariableBitRate()
+    {
+        return getBoolean(VARIABLE_BIT_RATE);
+    }
+
+    public int getTrackLength()
+    {
+        return (int) getLong(TRACK_LENGTH);
+    }
+
+    public double getPreciseTrackLength()
+    {
+        Double value = (Double) values[PRECISE_TRACK_LENGTH];
+        return value == null ? 0 : value;
+    }
+
+    public int getBitsPerSample()
+    {
+        return (int) getLong(BITS_PER_SAMPLE);
+    }
+
+    public boolean isLossless()
+    {
+        return getBoolean(LOSSLESS);
+    }
+
+    public Long getNoOfSamples()
+    {
+        return (Long) values[NO_OF_SAMPLES];
+    }
+
+    public String toString()
+    {
+        return "Cached Audio Header:\n"
+                + "\tencodingType:" + getEncodingType() + "\n"
+                + "\tformat:" + getFormat() + "\n"
+                + "\tbitRate:" + getBitRate() + "\n"
+                + "\tsampleRate:" + getSampleRate() + "\n"
+                + "\tchannels:" + getChannels() + "\n"
+                + "\tbitsPerSample:" + getBitsPerSample() + "\n"
+                + "\ttrackLength:" + getPreciseTrackLength() + "\n"
+                + "\tnoOfSamples:" + getNoOfSamples() + "\n"
+                + "\tisVbr:" + isVariableBitRate() + "\n"
+                + "\tisLossless:" + isLossless() + "\n";
+    }
+}
@@ -0,0 +1,267 @@
+package org.jaudiotagger.audio.cache;
+
+import org.jaudiotagger.audio.generic.GenericTag;
+import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.KeyNotFoundException;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.TagTextField;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tag restored from a {@link MetadataCache} record
+ *
+ * <p>Holds the id and text value of every text field of the original tag, in the same order, so looking fields up by
+ * their id as with {@link #getFields(String)}, {@link #getFirst(String)} or {@link #getFieldCount()} gives the same
+ * result as the original tag. The text values of every {@link FieldKey} the original tag had are held as well, as
+ * the ids the format maps them to are only known to the format, so looking values up by key also gives the same
+ * result. Binary fields and artwork are not cached, so neither pictures nor fields such as ID3v2 PRIV frames are
+ * present and {@link #getArtworkList()} is always empty, read the file itself to get them.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class CachedTag extends GenericTag
+{
+    //Text values of the original tag by key, kept apart from the fields which are held under their original ids
+    private final Map<FieldKey, List<TagField>> keyFields = new EnumMap<>(FieldKey.class);
+
+    /**
+     * Write the text fields and the text values of the tag by key to a record
+     *
+     * @param tag the tag, or null if the file has none
+     * @param out
+     * @throws IOException
+     */
+    static void write(Tag tag, DataOutputStream out) throws IOException
+    {
+        if (tag == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+
+        //Some formats hold artwork in text fields, such as base64 encoded pictures in Vorbis comments
+        Set<String> artworkIds = new HashSet<>();
+        try
+        {
+            for (TagField field : tag.getFields(FieldKey.COVER_ART))
+            {
+                artworkIds.add(field.getId());
+            }
+        }
+        catch (KeyNotFoundException | UnsupportedOperationException e)
+        {
+            //No artwork in this format
+        }
+
+        List<TagTextField> textFields = new ArrayList<>();
+        Iterator<TagField> fields = tag.getFields();
+        while (fields.hasNext())
+        {
+            TagField field = fields.next();
+            if (field instanceof TagTextField && !field.isBinary() && !artworkIds.contains(field.getId()))
+            {
+                textFields.add((TagTextField) field);
+            }
+        }
+
+        out.writeInt(textFields.size());
+        for (TagTextField field : textFields)
+        {
+            MetadataCache.writeString(out, field.getId());
+            String content = field.getContent();
+            MetadataCache.writeString(out, content != null ? content : "");
+        }
+
+        List<FieldKey> keys = new ArrayList<>();
+        List<List<String>> values = new ArrayList<>();
+        for (FieldKey key : FieldKey.values())
+        {
+            if (key == FieldKey.COVER_ART)
+            {
+                continue;
+            }
+            List<String> keyValues = new ArrayList<>();
+            try
+            {
+                for (String value : tag.getAll(key))
+                {
+                    if (value != null && !value.isEmpty())
+                    {
+                        keyValues.add(value);
+                    }
+                }
+            }
+            catch (KeyNotFoundException | UnsupportedOperationException e)
+            {
+                //Not supported by this format
+                continue;
+            }
+            if (!keyValues.isEmpty())
+            {
+                keys.add(key);
+                values.add(keyValues);
+            }
+        }
+
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++)
+        {
+            MetadataCache.writeString(out, keys.get(i).name());
+            out.writeInt(values.get(i).size());
+            for (String value : values.get(i))
+            {
+                MetadataCache.writeString(out, value);
+            }
+        }
+    }
+
+    /**
+     * Read a tag written by {@link #write(Tag, DataOutputStream)}
+     *
+     * @param in
+     * @return the tag, or null if the file had none
+     * @throws IOException
+     */
+    static CachedTag read(DataInputStream in) throws IOException
+    {
+        int fieldCount = in.readInt();
+        if (fieldCount < 0)
+        {
+            return null;
+        }
+
+        CachedTag tag = new CachedTag();
+        for (int i = 0; i < fieldCount; i++)
+        {
+            String id = MetadataCache.readString(in);
+            tag.addField(new GenericTagTextField(id, MetadataCache.readString(in)));
+        }
+
+        int keyCount = in.readInt();
+        for (int i = 0; i < keyCount; i++)
+        {
+            FieldKey key;
+            try
+            {
+                key = FieldKey.valueOf(MetadataCache.readString(in));
+            }
+            catch (IllegalArgumentException iae)
+            {
+                throw new IOException("Unknown field key in cached record", iae);
+            }
+            int valueCount = in.readInt();
+            for (int j = 0; j < valueCount; j++)
+            {
+                tag.addKeyField(key, MetadataCache.readString(in));
+            }
+        }
+        return tag;
+    }
+
+    private void addKeyField(FieldKey genericKey, String value)
+    {
+        List<TagField> list = keyFields.get(genericKey);
+        if (list == null)
+        {
+            list = new ArrayList<>();
+            keyFields.put(genericKey, list);
+        }
+        list.add(new GenericTagTextField(genericKey.name(), value));
+    }
+
+    @Override
+    public TagField createField(FieldKey genericKey, String... values) throws KeyNotFoundException
+    {
+        if (values == null || values[0] == null)
+        {
+            throw new IllegalArgumentException(ErrorMessage.GENERAL_INVALID_NULL_ARGUMENT.getMsg());
+        }
+        return new GenericTagTextField(genericKey.name(), values[0]);
+    }
+
+    @Override
+    public String getValue(FieldKey genericKey, int index) throws KeyNotFoundException
+    {
+        List<TagField> list = getFields(genericKey);
+        return (list.size() > index) ? list.get(index).toString() : "";
+    }
+
+    @Override
+    public List<TagField> getFields(FieldKey genericKey) throws KeyNotFoundException
+    {
+        List<TagField> list = keyFields.get(genericKey);
+        if (list == null)
+        {
+            return new ArrayList<>();
+        }
+        return list;
+    }
+
+    @Override
+    public List<String> getAll(FieldKey genericKey) throws KeyNotFoundException
+    {
+        List<String> values = new ArrayList<>();
+        for (TagField field : getFields(genericKey))
+        {
+            values.add(field.toString());
+        }
+        return values;
+    }
+
+    @Override
+    public boolean hasField(FieldKey genericKey)
+    {
+        return !getFields(genericKey).isEmpty();
+    }
+
+    @Override
+    public void setField(FieldKey genericKey, String... value) throws KeyNotFoundException
+    {
+        TagField field = createField(genericKey, value);
+        List<TagField> list = new ArrayList<>();
+        list.add(field);
+        keyFields.put(genericKey, list);
+    }
+
+    @Override
+    public void addField(FieldKey genericKey, String... value) throws KeyNotFoundException
+    {
+        TagField field = createField(genericKey, value);
+        addKeyField(genericKey, field.toString());
+    }
+
+    @Override
+    public void deleteField(FieldKey genericKey) throws KeyNotFoundException
+    {
+        keyFields.remove(genericKey);
+    }
+
+    @Override
+    public TagField getFirstField(FieldKey genericKey) throws KeyNotFoundException
+    {
+        List<TagField> list = getFields(genericKey);
+        return (!list.isEmpty()) ? list.get(0) : null;
+    }
+
+    public TagField createCompilationField(boolean value) throws KeyNotFoundException
+    {
+        return createField(FieldKey.IS_COMPILATION, String.valueOf(value));
+    }
+
+    public String toString()
+    {
+        return "CACHED " + super.toString();
+    }
+}
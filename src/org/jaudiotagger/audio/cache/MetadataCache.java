@@ -0,0 +1,541 @@
+package org.jaudiotagger.audio.cache;
+
+import org.jaudiotagger.StandardCharsets;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
+import org.jaudiotagger.tag.TagException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Cache of the audio header and tag values of files, kept in a segment file so it survives restarts
+ *
+ * <p>{@link #read(File)} returns a {@link CachedAudioFile} if the cache holds a record for the file with the same
+ * path, length and modification time, and optionally the same file id such as an inode number, so an unchanged file
+ * is not parsed again. Otherwise the file is read with {@link AudioFileIO#readFile(File)} and a record of it is added.
+ *
+ * <p>Records are held in memory in least recently used order up to a limit on their total size. The segment file
+ * starts with a magic number and version, followed by records that are only ever appended, each prefixed by its length
+ * and a CRC32 of its content. A record that was only partly written, for example because another process is appending
+ * it, fails the check and ends the scan, so the segment can be read while it is written. Newer records for a path
+ * replace older ones, {@link #compact()} rewrites the segment with only the records held in memory and is also done
+ * when opening a segment that is mostly replaced records.
+ *
+ * <p>Only one cache can write to a segment at a time, it holds a {@link FileLock} on a lock file next to the segment
+ * until it is closed, and only that cache removes a partly written record, replaces a segment of another version or
+ * compacts the segment. Any number of read only caches can read the segment at the same time, they never change it and
+ * hold the records of files they had to read in memory only. Instances are thread safe.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class MetadataCache implements Closeable
+{
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.cache");
+
+    /** File id to use when the file system does not provide one */
+    public static final long UNKNOWN_FILE_ID = -1;
+
+    private static final int SEGMENT_MAGIC = 0x4A415443; // JATC
+    private static final int SEGMENT_VERSION = 2;
+    private static final int SEGMENT_HEADER_LENGTH = 8;
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+
+    //Segments smaller than this are not compacted when opened
+    private static final long MIN_COMPACT_LENGTH = 1024 * 1024;
+
+    private final AudioFileIO audioFileIO;
+    private final File segmentFile;
+    private final long maxBytes;
+    private final boolean readOnly;
+
+    //Records keyed by absolute path in least recently used order
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private RandomAccessFile segment;
+    private RandomAccessFile lockFile;
+    private FileLock writeLock;
+    private long hitCount;
+    private long missCount;
+
+    private static class Entry
+    {
+        private final long length;
+        private final long lastModified;
+        private final long fileId;
+        private final byte[] record;
+
+        private Entry(long length, long lastModified, long fileId, byte[] record)
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.fileId = fileId;
+            this.record = record;
+        }
+
+        private boolean matches(long length, long lastModified, long fileId)
+        {
+            return this.length == length && this.lastModified == lastModified && this.fileId == fileId;
+        }
+    }
+
+    /**
+     * Open the cache using the default AudioFileIO to read files that are not cached
+     *
+     * @param segmentFile file holding the records, created if it does not exist
+     * @param maxBytes    limit on the total size of the records held in memory
+     * @throws IOException if the segment file cannot be opened
+     */
+    public MetadataCache(File segmentFile, long maxBytes) throws IOException
+    {
+        this(AudioFileIO.getDefaultAudioFileIO(), segmentFile, maxBytes);
+    }
+
+    /**
+     * Open the cache to write to the segment file
+     *
+     * @param audioFileIO used to read files that are not cached
+     * @param segmentFile file holding the records, created if it does not exist
+     * @param maxBytes    limit on the total size of the records held in memory
+     * @throws IOException if the segment file cannot be opened, or another cache is writing to it
+     */
+    public MetadataCache(AudioFileIO audioFileIO, File segmentFile, long maxBytes) throws IOException
+    {
+        this(audioFileIO, segmentFile, maxBytes, false);
+    }
+
+    /**
+     * Open the cache
+     *
+     * @param audioFileIO used to read files that are not cached
+     * @param segmentFile file holding the records, created if it does not exist and not read only
+     * @param maxBytes    limit on the total size of the records held in memory
+     * @param readOnly    true to load the records of the segment file without ever changing it, a segment that does
+     *                    not exist yet is treated as empty
+     * @throws IOException if the segment file cannot be opened, or if not read only another cache is writing to it
+     */
+    public MetadataCache(AudioFileIO audioFileIO, File segmentFile, long maxBytes, boolean readOnly) throws IOException
+    {
+        this.audioFileIO = audioFileIO;
+        this.segmentFile = segmentFile;
+        this.maxBytes = maxBytes;
+        this.readOnly = readOnly;
+        if (readOnly)
+        {
+            //Records of files read later are only held in memory, so the segment is not needed after loading
+            if (segmentFile.exists())
+            {
+                try (RandomAccessFile raf = new RandomAccessFile(segmentFile, "r"))
+                {
+                    segment = raf;
+                    load();
+                }
+                finally
+                {
+                    segment = null;
+                }
+            }
+            return;
+        }
+
+        lockSegment();
+        try
+        {
+            this.segment = new RandomAccessFile(segmentFile, "rw");
+            load();
+            if (segment.length() > MIN_COMPACT_LENGTH && segment.length() > 2 * (bytes + entries.size() * RECORD_HEADER_LENGTH))
+            {
+                compact();
+            }
+        }
+        catch (IOException ioe)
+        {
+            close();
+            throw ioe;
+        }
+    }
+
+    /**
+     * Read the audio header and tag of the file, from the cache if it is unchanged since it was cached
+     *
+     * @param f the file
+     * @return a CachedAudioFile, or the AudioFile read from the file if it was not cached
+     * @throws CannotReadException
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    public AudioFile read(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return read(f, UNKNOWN_FILE_ID);
+    }
+
+    /**
+     * Read the audio header and tag of the file, from the cache if it is unchanged since it was cached
+     *
+     * @param f      the file
+     * @param fileId id of the file within its file system such as the inode number, a file whose id has changed is
+     *               read again even if its path, length and modification time have not
+     * @return a CachedAudioFile, or the AudioFile read from the file if it was not cached
+     * @throws CannotReadException
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    public AudioFile read(File f, long fileId)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        String path = f.getAbsolutePath();
+        long length = f.length();
+        long lastModified = f.lastModified();
+
+        byte[] record = null;
+        synchronized (this)
+        {
+            Entry entry = entries.get(path);
+            if (entry != null && entry.matches(length, lastModified, fileId))
+            {
+                record = entry.record;
+                hitCount++;
+            }
+            else
+            {
+                missCount++;
+            }
+        }
+
+        if (record != null)
+        {
+            try
+            {
+                return decode(f, record);
+            }
+            catch (IOException ioe)
+            {
+                logger.log(Level.WARNING, "Unable to use cached record for:" + path, ioe);
+            }
+        }
+
+        AudioFile audioFile = audioFileIO.readFile(f);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos);
+        writeString(out, path);
+        out.writeLong(length);
+        out.writeLong(lastModified);
+        out.writeLong(fileId);
+        writeString(out, audioFile.getExt());
+        CachedAudioHeader.write(audioFile.getAudioHeader(), out);
+        CachedTag.write(audioFile.getTag(), out);
+        out.flush();
+        store(path, new Entry(length, lastModified, fileId, baos.toByteArray()));
+        return audioFile;
+    }
+
+    /**
+     * @return number of reads served from the cache
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * @return number of reads that had to read the file
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * @return number of records held in memory
+     */
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * @return true if the segment file is never changed by this cache
+     */
+    public boolean isReadOnly()
+    {
+        return readOnly;
+    }
+
+    /**
+     * Rewrite the segment file with only the records held in memory, oldest first. The new segment is written to a
+     * temporary file which then replaces the segment, so readers that have the old segment open are not affected.
+     *
+     * @throws IOException
+     * @throws IllegalStateException if the cache is read only
+     */
+    public synchronized void compact() throws IOException
+    {
+        if (readOnly)
+        {
+            throw new IllegalStateException("Cannot compact " + segmentFile + " from a read only cache");
+        }
+        File tempFile = new File(segmentFile.getPath() + ".tmp");
+        try (RandomAccessFile temp = new RandomAccessFile(tempFile, "rw"))
+        {
+            temp.setLength(0);
+            writeSegmentHeader(temp);
+            for (Entry entry : entries.values())
+            {
+                temp.write(frame(entry.record));
+            }
+            temp.getChannel().force(true);
+        }
+
+        segment.close();
+        if (!tempFile.renameTo(segmentFile))
+        {
+            //Windows cannot rename over an existing file
+            if (!segmentFile.delete() || !tempFile.renameTo(segmentFile))
+            {
+                segment = new RandomAccessFile(segmentFile, "rw");
+                throw new IOException("Unable to replace " + segmentFile + " with " + tempFile);
+            }
+        }
+        segment = new RandomAccessFile(segmentFile, "rw");
+        logger.config("Compacted " + segmentFile + " to " + segment.length() + " bytes");
+    }
+
+    public synchronized void close() throws IOException
+    {
+        try
+        {
+            if (segment != null)
+            {
+                segment.close();
+            }
+        }
+        finally
+        {
+            if (lockFile != null)
+            {
+                //Closing the lock file releases the lock
+                lockFile.close();
+                lockFile = null;
+                writeLock = null;
+            }
+        }
+    }
+
+    /**
+     * Take the lock that makes this the only cache writing to the segment, it is held on a separate file so that it
+     * is kept when compacting replaces the segment
+     *
+     * @throws IOException if another cache holds the lock
+     */
+    private void lockSegment() throws IOException
+    {
+        lockFile = new RandomAccessFile(segmentFile.getPath() + LOCK_FILE_SUFFIX, "rw");
+        try
+        {
+            writeLock = lockFile.getChannel().tryLock();
+        }
+        catch (OverlappingFileLockException ofle)
+        {
+            //Held by another cache in this process
+            writeLock = null;
+        }
+        catch (IOException ioe)
+        {
+            lockFile.close();
+            lockFile = null;
+            throw ioe;
+        }
+        if (writeLock == null)
+        {
+            lockFile.close();
+            lockFile = null;
+            throw new IOException("Unable to write to " + segmentFile + " because another cache is writing to it");
+        }
+    }
+
+    private AudioFile decode(File f, byte[] record) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        readString(in);
+        in.readLong();
+        in.readLong();
+        in.readLong();
+        String ext = readString(in);
+        CachedAudioHeader audioHeader = CachedAudioHeader.read(in);
+        CachedTag tag = CachedTag.read(in);
+        CachedAudioFile audioFile = new CachedAudioFile(f, audioHeader, tag);
+        audioFile.setExt(ext);
+        return audioFile;
+    }
+
+    private synchronized void store(String path, Entry entry)
+    {
+        if (!readOnly)
+        {
+            try
+            {
+                segment.seek(segment.length());
+                segment.write(frame(entry.record));
+            }
+            catch (IOException ioe)
+            {
+                //Still held in memory for this session
+                logger.log(Level.WARNING, "Unable to append to " + segmentFile, ioe);
+            }
+        }
+        put(path, entry);
+    }
+
+    private void put(String path, Entry entry)
+    {
+        Entry previous = entries.put(path, entry);
+        if (previous != null)
+        {
+            bytes -= previous.record.length;
+        }
+        bytes += entry.record.length;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext())
+        {
+            bytes -= eldest.next().getValue().record.length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Read the records of the segment file. If the cache writes to the segment a partly written record at the end,
+     * which can only be left by a writer that failed, is removed, as is a segment of another version. A read only
+     * cache leaves them, as the record may still be being appended.
+     */
+    private void load() throws IOException
+    {
+        if (segment.length() < SEGMENT_HEADER_LENGTH)
+        {
+            if (!readOnly)
+            {
+                segment.setLength(0);
+                writeSegmentHeader(segment);
+            }
+            return;
+        }
+
+        segment.seek(0);
+        if (segment.readInt() != SEGMENT_MAGIC || segment.readInt() != SEGMENT_VERSION)
+        {
+            if (readOnly)
+            {
+                logger.warning("Ignoring " + segmentFile + " as it is not a cache segment of this version");
+            }
+            else
+            {
+                logger.warning("Discarding " + segmentFile + " as it is not a cache segment of this version");
+                segment.setLength(0);
+                writeSegmentHeader(segment);
+            }
+            return;
+        }
+
+        long position = SEGMENT_HEADER_LENGTH;
+        long length = segment.length();
+        CRC32 crc = new CRC32();
+        while (position + RECORD_HEADER_LENGTH <= length)
+        {
+            segment.seek(position);
+            int recordLength = segment.readInt();
+            int recordCrc = segment.readInt();
+            if (recordLength < 0 || position + RECORD_HEADER_LENGTH + recordLength > length)
+            {
+                break;
+            }
+            byte[] record = new byte[recordLength];
+            segment.readFully(record);
+            crc.reset();
+            crc.update(record);
+            if ((int) crc.getValue() != recordCrc)
+            {
+                break;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            String path = readString(in);
+            put(path, new Entry(in.readLong(), in.readLong(), in.readLong(), record));
+            position += RECORD_HEADER_LENGTH + recordLength;
+        }
+
+        if (position < length && !readOnly)
+        {
+            logger.warning("Removing incomplete record at " + position + " from " + segmentFile);
+            segment.setLength(position);
+        }
+    }
+
+    private static void writeSegmentHeader(RandomAccessFile raf) throws IOException
+    {
+        raf.seek(0);
+        raf.writeInt(SEGMENT_MAGIC);
+        raf.writeInt(SEGMENT_VERSION);
+    }
+
+    /**
+     * @return the record prefixed with its length and CRC32, so it can be appended with a single write
+     */
+    private static byte[] frame(byte[] record)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        ByteBuffer framed = ByteBuffer.allocate(RECORD_HEADER_LENGTH + record.length);
+        framed.putInt(record.length);
+        framed.putInt((int) crc.getValue());
+        framed.put(record);
+        return framed.array();
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    static String readString(DataInputStream in) throws IOException
+    {
+        int length = in.readInt();
+        if (length < 0)
+        {
+            return null;
+        }
+        byte[] data = new byte[length];
+        in.readFully(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,7 @@
 package org.jaudiotagger.audio.dsf;
 
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.id3.ID3v22Tag;
 import org.jaudiotagger.tag.id3.ID3v23Tag;
 import org.jaudiotagger.tag.id3.ID3v24Tag;
@@ -14,15 +14,15 @@ public class Dsf
 {
     public static Tag createDefaultTag()
     {
-        if(TagOptionSingleton.getInstance().getID3V2Version()== ID3V2Version.ID3_V24)
+        if(TagOptions.current().getID3V2Version()== ID3V2Version.ID3_V24)
         {
             return new ID3v24Tag();
         }
-        else if(TagOptionSingleton.getInstance().getID3V2Version()==ID3V2Version.ID3_V23)
+        else if(TagOptions.current().getID3V2Version()==ID3V2Version.ID3_V23)
         {
             return new ID3v23Tag();
         }
-        else if(TagOptionSingleton.getInstance().getID3V2Version()==ID3V2Version.ID3_V22)
+        else if(TagOptions.current().getID3V2Version()==ID3V2Version.ID3_V22)
         {
             return new ID3v22Tag();
         }
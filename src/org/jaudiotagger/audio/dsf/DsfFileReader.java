@@ -4,6 +4,7 @@
  */
 package org.jaudiotagger.audio.dsf;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
@@ -11,6 +12,7 @@ import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.iff.IffHeaderChunk;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 import org.jaudiotagger.tag.id3.ID3v22Tag;
 import org.jaudiotagger.tag.id3.ID3v23Tag;
@@ -18,7 +20,6 @@ import org.jaudiotagger.tag.id3.ID3v24Tag;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.logging.Level;
@@ -35,50 +36,55 @@ import static org.jaudiotagger.audio.dsf.DsdChunk.CHUNKSIZE_LENGTH;
 public class DsfFileReader extends AudioFileReader2
 {
     @Override
-    protected GenericAudioHeader getEncodingInfo(File file) throws CannotReadException, IOException
+    protected GenericAudioHeader getEncodingInfo(FileChannel fc, String name) throws CannotReadException, IOException
     {
-        try(RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
+        if (dsd != null)
         {
-            FileChannel fc = raf.getChannel();
-            DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
-            if (dsd != null)
+            ByteBuffer fmtChunkBuffer = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
+            FmtChunk fmt = FmtChunk.readChunkHeader(fmtChunkBuffer);
+            if (fmt != null)
             {
-                ByteBuffer fmtChunkBuffer = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
-                FmtChunk fmt = FmtChunk.readChunkHeader(fmtChunkBuffer);
-                if (fmt != null)
-                {
-                    return fmt.readChunkData(dsd, fc);
-                }
-                else
-                {
-                    throw new CannotReadException(file + " Not a valid dsf file. Content does not include 'fmt ' chunk");
-                }
+                return fmt.readChunkData(dsd, fc);
             }
             else
             {
-                throw new CannotReadException(file + " Not a valid dsf file. Content does not start with 'DSD '");
+                throw new CannotReadException(name + " Not a valid dsf file. Content does not include 'fmt ' chunk");
             }
         }
+        else
+        {
+            throw new CannotReadException(name + " Not a valid dsf file. Content does not start with 'DSD '");
+        }
     }
 
     @Override
-    protected Tag getTag(File file) throws CannotReadException, IOException
+    protected Tag getTag(FileChannel fc, String name) throws CannotReadException, IOException
     {
-        try(RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
+        if (dsd != null)
         {
-            FileChannel fc = raf.getChannel();
-            DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
-            if (dsd != null)
-            {
-                logger.config( file +":actualFileSize:" + fc.size()+":"+ dsd);
+            logger.config( name +":actualFileSize:" + fc.size()+":"+ dsd);
 
-                return readTag(fc, dsd, file.toString());
-            }
-            else
-            {
-                throw new CannotReadException(file +" Not a valid dsf file. Content does not start with 'DSD '.");
-            }
+            return readTag(fc, dsd, name);
+        }
+        else
+        {
+            throw new CannotReadException(name +" Not a valid dsf file. Content does not start with 'DSD '.");
+        }
+    }
+
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        AudioFile audioFile = super.read(fc, name, f);
+        //Artwork can only be left in the file until asked for if we know the file
+        AbstractID3v2Tag id3Tag = audioFile.getTag() instanceof AbstractID3v2Tag ? (AbstractID3v2Tag) audioFile.getTag() : null;
+        if (f != null && id3Tag != null && id3Tag.getStartLocationInFile() != null && TagOptions.current().isLazyArtwork())
+        {
+            id3Tag.leaveImageDataInFile(f, id3Tag.getStartLocationInFile());
         }
+        return audioFile;
     }
 
     /**
@@ -105,18 +111,24 @@ public class DsfFileReader extends AudioFileReader2
                     int version = id3Chunk.getDataBuffer().get(AbstractID3v2Tag.FIELD_TAG_MAJOR_VERSION_POS);
                     try
                     {
+                        AbstractID3v2Tag id3Tag;
                         switch (version)
                         {
                             case ID3v22Tag.MAJOR_VERSION:
-                                return new ID3v22Tag(id3Chunk.getDataBuffer(), fileName);
+                                id3Tag = new ID3v22Tag(id3Chunk.getDataBuffer(), fileName);
+                                break;
                             case ID3v23Tag.MAJOR_VERSION:
-                                return new ID3v23Tag(id3Chunk.getDataBuffer(), fileName);
+                                id3Tag = new ID3v23Tag(id3Chunk.getDataBuffer(), fileName);
+                                break;
                             case ID3v24Tag.MAJOR_VERSION:
-                                return new ID3v24Tag(id3Chunk.getDataBuffer(), fileName);
+                                id3Tag = new ID3v24Tag(id3Chunk.getDataBuffer(), fileName);
+                                break;
                             default:
                                 logger.log(Level.WARNING, fileName + " Unknown ID3v2 version " + version + ". Returning an empty ID3v2 Tag.");
                                 return null;
                         }
+                        id3Tag.setStartLocationInFile(dsd.getMetadataOffset());
+                        return id3Tag;
                     }
                     catch (TagException e)
                     {
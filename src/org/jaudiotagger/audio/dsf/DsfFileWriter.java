@@ -18,6 +18,7 @@
  */
 package org.jaudiotagger.audio.dsf;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter2;
 import org.jaudiotagger.audio.generic.Utils;
@@ -41,36 +42,51 @@ public class DsfFileWriter extends AudioFileWriter2
     {
         try(RandomAccessFile raf = new RandomAccessFile(file, "rw"))
         {
-            FileChannel fc = raf.getChannel();
-            DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
-            if (dsd != null)
+            writeTag(tag, raf.getChannel(), file.toString());
+        }
+        catch(IOException ioe)
+        {
+            throw new CannotWriteException(ioe.getMessage());
+        }
+    }
+
+    /**
+     * The tag is always at the end of the file, so is written within the channel
+     */
+    @Override
+    protected boolean writeTagToChannel(AudioFile af, Tag tag, FileChannel fc) throws CannotWriteException, IOException
+    {
+        fileWillBeModifiedInPlace(af);
+        writeTag(tag, fc, getLoggingName(af));
+        return true;
+    }
+
+    /**
+     * Replace the ID3 tag at the end of the file open on the channel, then update the size and metadata offset in
+     * the DSD chunk
+     *
+     * @param tag
+     * @param fc
+     * @param loggingName
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    private void writeTag(Tag tag, FileChannel fc, String loggingName) throws CannotWriteException, IOException
+    {
+        fc.position(0);
+        DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
+        if (dsd != null)
+        {
+            if (dsd.getMetadataOffset() > 0)
             {
-                if (dsd.getMetadataOffset() > 0)
+                fc.position(dsd.getMetadataOffset());
+                //If room for an ID3 tag
+                if((fc.size() - fc.position())>=DsfChunkType.ID3.getCode().length())
                 {
-                    fc.position(dsd.getMetadataOffset());
-                    //If room for an ID3 tag
-                    if((fc.size() - fc.position())>=DsfChunkType.ID3.getCode().length())
-                    {
-                        ID3Chunk id3Chunk = ID3Chunk.readChunk(Utils.readFileDataIntoBufferLE(fc, (int) (fc.size() - fc.position())));
-                        if (id3Chunk != null)
-                        {
-                            //Remove Existing tag
-                            fc.position(dsd.getMetadataOffset());
-                            fc.truncate(fc.position());
-                            ByteBuffer bb = convert((AbstractID3v2Tag) tag);
-                            fc.write(bb);
-                            dsd.setFileLength(fc.size());
-                            fc.position(0);
-                            fc.write(dsd.write());
-                        }
-                        else
-                        {
-                            throw new CannotWriteException(file + "Could not find existing ID3v2 Tag (1)");
-                        }
-                    }
-                    //Remove Existing nonetag (must be at/near end of file)
-                    else
+                    ID3Chunk id3Chunk = ID3Chunk.readChunk(Utils.readFileDataIntoBufferLE(fc, (int) (fc.size() - fc.position())));
+                    if (id3Chunk != null)
                     {
+                        //Remove Existing tag
                         fc.position(dsd.getMetadataOffset());
                         fc.truncate(fc.position());
                         ByteBuffer bb = convert((AbstractID3v2Tag) tag);
@@ -79,12 +95,16 @@ public class DsfFileWriter extends AudioFileWriter2
                         fc.position(0);
                         fc.write(dsd.write());
                     }
+                    else
+                    {
+                        throw new CannotWriteException(loggingName + "Could not find existing ID3v2 Tag (1)");
+                    }
                 }
+                //Remove Existing nonetag (must be at/near end of file)
                 else
                 {
-                    //Write new tag and new offset and size
-                    fc.position(fc.size());
-                    dsd.setMetadataOffset(fc.size());
+                    fc.position(dsd.getMetadataOffset());
+                    fc.truncate(fc.position());
                     ByteBuffer bb = convert((AbstractID3v2Tag) tag);
                     fc.write(bb);
                     dsd.setFileLength(fc.size());
@@ -92,10 +112,17 @@ public class DsfFileWriter extends AudioFileWriter2
                     fc.write(dsd.write());
                 }
             }
-        }
-        catch(IOException ioe)
-        {
-            throw new CannotWriteException(ioe.getMessage());
+            else
+            {
+                //Write new tag and new offset and size
+                fc.position(fc.size());
+                dsd.setMetadataOffset(fc.size());
+                ByteBuffer bb = convert((AbstractID3v2Tag) tag);
+                fc.write(bb);
+                dsd.setFileLength(fc.size());
+                fc.position(0);
+                fc.write(dsd.write());
+            }
         }
     }
 
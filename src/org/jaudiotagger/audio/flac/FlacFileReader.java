@@ -18,6 +18,7 @@
  */
 package org.jaudiotagger.audio.flac;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
@@ -25,6 +26,7 @@ import org.jaudiotagger.tag.Tag;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 /**
  * Read encoding and tag info for Flac file (open source lossless encoding)
@@ -35,11 +37,21 @@ public class FlacFileReader extends AudioFileReader2
     private final FlacInfoReader ir = new FlacInfoReader();
     private final FlacTagReader tr = new FlacTagReader();
 
-    protected GenericAudioHeader getEncodingInfo(File file) throws CannotReadException, IOException {
-        return ir.read(file);
+    protected GenericAudioHeader getEncodingInfo(FileChannel fc, String name) throws CannotReadException, IOException {
+        return ir.read(fc, name);
     }
 
-    protected Tag getTag(File file) throws CannotReadException, IOException {
-        return tr.read(file);
+    protected Tag getTag(FileChannel fc, String name) throws CannotReadException, IOException {
+        return tr.read(fc, name, null);
+    }
+
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = getEncodingInfo(fc, name);
+        fc.position(0);
+        //Artwork can only be left in the file until asked for if we know the file
+        Tag tag = tr.read(fc, name, f);
+        return new AudioFile(f, info, tag);
     }
 }
@@ -18,11 +18,13 @@
  */
 package org.jaudiotagger.audio.flac;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter2;
 import org.jaudiotagger.tag.Tag;
 
 import java.io.File;
+import java.nio.channels.FileChannel;
 
 
 /**
@@ -45,6 +47,14 @@ public class FlacFileWriter extends AudioFileWriter2
         tw.delete(tag, file);
     }
 
+    @Override
+    protected boolean writeTagToChannel(AudioFile af, Tag tag, FileChannel fc) throws CannotWriteException
+    {
+        fileWillBeModifiedInPlace(af);
+        tw.write(tag, fc, getLoggingName(af));
+        return true;
+    }
+
 
 }
 
@@ -43,68 +43,81 @@ public class FlacInfoReader
 
     public FlacAudioHeader read(File path) throws CannotReadException, IOException
     {
-        logger.config(path + ":start");
         try(RandomAccessFile raf = new RandomAccessFile(path, "r"))
         {
-            FileChannel fc = raf.getChannel();
-            FlacStreamReader flacStream = new FlacStreamReader(fc, path.toString() + " ");
-            flacStream.findStream();
+            return read(raf.getChannel(), path.toString());
+        }
+    }
 
-            MetadataBlockDataStreamInfo mbdsi = null;
-            boolean isLastBlock = false;
+    /**
+     * Read the encoding info from the channel of a flac file
+     *
+     * @param fc channel positioned at the start of the file
+     * @param name name of the file used in log and error messages
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public FlacAudioHeader read(FileChannel fc, String name) throws CannotReadException, IOException
+    {
+        logger.config(name + ":start");
+        FlacStreamReader flacStream = new FlacStreamReader(fc, name + " ");
+        flacStream.findStream();
 
-            //Search for StreamInfo Block, but even after we found it we still have to continue through all
-            //the metadata blocks so that we can find the start of the audio frames which we need to calculate
-            //the bitrate
-            while (!isLastBlock)
+        MetadataBlockDataStreamInfo mbdsi = null;
+        boolean isLastBlock = false;
+
+        //Search for StreamInfo Block, but even after we found it we still have to continue through all
+        //the metadata blocks so that we can find the start of the audio frames which we need to calculate
+        //the bitrate
+        while (!isLastBlock)
+        {
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            logger.info(name + " "  + mbh);
+            if (mbh.getBlockType() == BlockType.STREAMINFO)
             {
-                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                logger.info(path + " "  + mbh);
-                if (mbh.getBlockType() == BlockType.STREAMINFO)
+                //See #253:MetadataBlockDataStreamInfo exception when bytes length is 0
+                if(mbh.getDataLength()==0)
                 {
-                    //See #253:MetadataBlockDataStreamInfo exception when bytes length is 0
-                    if(mbh.getDataLength()==0)
-                    {
-                        throw new CannotReadException(path + ":FLAC StreamInfo has zeo data length");
-                    }
-
-                    mbdsi = new MetadataBlockDataStreamInfo(mbh, fc);
-                    if (!mbdsi.isValid())
-                    {
-                        throw new CannotReadException(path + ":FLAC StreamInfo not valid");
-                    }
+                    throw new CannotReadException(name + ":FLAC StreamInfo has zeo data length");
                 }
-                else
+
+                mbdsi = new MetadataBlockDataStreamInfo(mbh, fc);
+                if (!mbdsi.isValid())
                 {
-                    fc.position(fc.position() + mbh.getDataLength());
+                    throw new CannotReadException(name + ":FLAC StreamInfo not valid");
                 }
-                isLastBlock = mbh.isLastBlock();
             }
-
-            //Audio continues from this point to end of file (normally - TODO might need to allow for an ID3v1 tag at file end ?)
-            long streamStart = fc.position();
-
-            if (mbdsi == null)
+            else
             {
-                throw new CannotReadException(path + ":Unable to find Flac StreamInfo");
+                fc.position(fc.position() + mbh.getDataLength());
             }
+            isLastBlock = mbh.isLastBlock();
+        }
 
-            FlacAudioHeader info = new FlacAudioHeader();
-            info.setNoOfSamples(mbdsi.getNoOfSamples());
-            info.setPreciseLength(mbdsi.getPreciseLength());
-            info.setChannelNumber(mbdsi.getNoOfChannels());
-            info.setSamplingRate(mbdsi.getSamplingRate());
-            info.setBitsPerSample(mbdsi.getBitsPerSample());
-            info.setEncodingType(mbdsi.getEncodingType());
-            info.setFormat(SupportedFileFormat.FLAC.getDisplayName());
-            info.setLossless(true);
-            info.setMd5(mbdsi.getMD5Signature());
-            info.setAudioDataLength(fc.size() - streamStart);
-            info.setAudioDataStartPosition(streamStart);
-            info.setAudioDataEndPosition(fc.size());
-            info.setBitRate(computeBitrate(info.getAudioDataLength(), mbdsi.getPreciseLength()));
-            return info;
+        //Audio continues from this point to end of file (normally - TODO might need to allow for an ID3v1 tag at file end ?)
+        long streamStart = fc.position();
+
+        if (mbdsi == null)
+        {
+            throw new CannotReadException(name + ":Unable to find Flac StreamInfo");
         }
+
+        FlacAudioHeader info = new FlacAudioHeader();
+        info.setNoOfSamples(mbdsi.getNoOfSamples());
+        info.setPreciseLength(mbdsi.getPreciseLength());
+        info.setChannelNumber(mbdsi.getNoOfChannels());
+        info.setSamplingRate(mbdsi.getSamplingRate());
+        info.setBitsPerSample(mbdsi.getBitsPerSample());
+        info.setEncodingType(mbdsi.getEncodingType());
+        info.setFormat(SupportedFileFormat.FLAC.getDisplayName());
+        info.setLossless(true);
+        info.setMd5(mbdsi.getMD5Signature());
+        info.setAudioDataLength(fc.size() - streamStart);
+        info.setAudioDataStartPosition(streamStart);
+        info.setAudioDataEndPosition(fc.size());
+        info.setBitRate(computeBitrate(info.getAudioDataLength(), mbdsi.getPreciseLength()));
+        return info;
     }
 
     private int computeBitrate(long size, float length )
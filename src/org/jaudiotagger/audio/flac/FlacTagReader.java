@@ -24,6 +24,7 @@ import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
 import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockHeader;
 import org.jaudiotagger.logging.Hex;
 import org.jaudiotagger.tag.InvalidFrameException;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.flac.FlacTag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentFieldKey;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentReader;
@@ -55,97 +56,118 @@ public class FlacTagReader
     {
         try(RandomAccessFile raf = new RandomAccessFile(path, "r"))
         {
-            FileChannel fc = raf.getChannel();
-            FlacStreamReader flacStream = new FlacStreamReader(fc, path.toString() + " ");
-            flacStream.findStream();
-
-            //Hold the metadata
-            String cueSheet = null;
-            VorbisCommentTag tag = null;
-            List<MetadataBlockDataPicture> images = new ArrayList<>();
-
-            //Seems like we have a valid stream
-            boolean isLastBlock = false;
-            while (!isLastBlock)
+            return read(raf.getChannel(), path.toString(), path);
+        }
+    }
+
+    /**
+     * Read the tag from the channel of a flac file
+     *
+     * @param fc channel positioned at the start of the file
+     * @param name name of the file used in log and error messages
+     * @param file the file the channel belongs to, or null if it is not known in which case artwork is always loaded
+     * straight away because it cannot be read later
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public FlacTag read(FileChannel fc, String name, File file) throws CannotReadException, IOException
+    {
+        FlacStreamReader flacStream = new FlacStreamReader(fc, name + " ");
+        flacStream.findStream();
+
+        //Hold the metadata
+        String cueSheet = null;
+        VorbisCommentTag tag = null;
+        List<MetadataBlockDataPicture> images = new ArrayList<>();
+
+        //Seems like we have a valid stream
+        boolean isLastBlock = false;
+        while (!isLastBlock)
+        {
+            if (logger.isLoggable(Level.CONFIG))
             {
-                if (logger.isLoggable(Level.CONFIG))
-                {
-                    logger.config(path + " Looking for MetaBlockHeader at:" + fc.position());
-                }
+                logger.config(name + " Looking for MetaBlockHeader at:" + fc.position());
+            }
 
-                //Read the header
-                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                if (mbh == null)
-                {
-                    break;
-                }
+            //Read the header
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            if (mbh == null)
+            {
+                break;
+            }
 
-                if (logger.isLoggable(Level.CONFIG))
-                {
-                    logger.config(path + " Reading MetadataBlockHeader:" + mbh + " ending at " + fc.position());
-                }
+            if (logger.isLoggable(Level.CONFIG))
+            {
+                logger.config(name + " Reading MetadataBlockHeader:" + mbh + " ending at " + fc.position());
+            }
 
-                //Is it one containing some sort of metadata, therefore interested in it?
+            //Is it one containing some sort of metadata, therefore interested in it?
 
-                //JAUDIOTAGGER-466:CBlocktype can be null
-                if (mbh.getBlockType() != null)
+            //JAUDIOTAGGER-466:CBlocktype can be null
+            if (mbh.getBlockType() != null)
+            {
+                switch (mbh.getBlockType())
                 {
-                    switch (mbh.getBlockType())
-                    {
-                        //We got a vorbiscomment comment block, parse it
-                        case VORBIS_COMMENT:
-                            ByteBuffer commentHeaderRawPacket = ByteBuffer.allocate(mbh.getDataLength());
-                            fc.read(commentHeaderRawPacket);
-                            tag = vorbisCommentReader.read(commentHeaderRawPacket.array(), false);
-                            break;
-
-                        case CUESHEET:
-                            try
+                    //We got a vorbiscomment comment block, parse it
+                    case VORBIS_COMMENT:
+                        ByteBuffer commentHeaderRawPacket = ByteBuffer.allocate(mbh.getDataLength());
+                        fc.read(commentHeaderRawPacket);
+                        tag = vorbisCommentReader.read(commentHeaderRawPacket.array(), false);
+                        break;
+
+                    case CUESHEET:
+                        try
+                        {
+                            ByteBuffer data = ByteBuffer.allocate(mbh.getDataLength());
+                            fc.read(data);
+                            cueSheet = new String(data.array(), StandardCharsets.UTF_8);
+                        }
+                        catch (Exception ioe)
+                        {
+                            logger.warning(name + "Unable to read cuesheet, ignoring: " + ioe.getMessage());
+                        }
+                        break;
+
+                    case PICTURE:
+                        try
+                        {
+                            if (file != null && TagOptions.current().isLazyArtwork())
                             {
-                                ByteBuffer data = ByteBuffer.allocate(mbh.getDataLength());
-                                fc.read(data);
-                                cueSheet = new String(data.array(), StandardCharsets.UTF_8);
+                                images.add(new MetadataBlockDataPicture(mbh, fc, file));
                             }
-                            catch (Exception ioe)
-                            {
-                                logger.warning(path + "Unable to read cuesheet, ignoring: " + ioe.getMessage());
-                            }
-                            break;
-
-                        case PICTURE:
-                            try
+                            else
                             {
                                 images.add(new MetadataBlockDataPicture(mbh, fc));
                             }
-                            catch (Exception ioe)
-                            {
-                                logger.warning(path + "Unable to read picture metablock, ignoring: " + ioe.getMessage());
-                            }
-                            break;
-
-
-                        //This is not a metadata block we are interested in so we skip to next block
-                        default:
-                            if (logger.isLoggable(Level.CONFIG))
-                            {
-                                logger.config(path + "Ignoring MetadataBlock:" + mbh.getBlockType());
-                            }
-                            fc.position(fc.position() + mbh.getDataLength());
-                            break;
-                    }
+                        }
+                        catch (Exception ioe)
+                        {
+                            logger.warning(name + "Unable to read picture metablock, ignoring: " + ioe.getMessage());
+                        }
+                        break;
+
+
+                    //This is not a metadata block we are interested in so we skip to next block
+                    default:
+                        if (logger.isLoggable(Level.CONFIG))
+                        {
+                            logger.config(name + "Ignoring MetadataBlock:" + mbh.getBlockType());
+                        }
+                        fc.position(fc.position() + mbh.getDataLength());
+                        break;
                 }
-                isLastBlock = mbh.isLastBlock();
             }
-            logger.config("Audio should start at:"+ Hex.asHex(fc.position()));
-
-            //Note there may not be either a tag or any images, no problem this is valid however to make it easier we
-            //just initialize Flac with an empty VorbisTag
-            if (tag == null)
-                tag = VorbisCommentTag.createNewTag();
-            if (cueSheet != null)
-                tag.addField(VorbisCommentFieldKey.CUESHEET.getFieldName(), cueSheet);
-            return new FlacTag(tag, images);
+            isLastBlock = mbh.isLastBlock();
         }
+        logger.config("Audio should start at:"+ Hex.asHex(fc.position()));
+
+        //Note there may not be either a tag or any images, no problem this is valid however to make it easier we
+        //just initialize Flac with an empty VorbisTag
+        if (tag == null)
+            tag = VorbisCommentTag.createNewTag();
+        if (cueSheet != null)
+            tag.addField(VorbisCommentFieldKey.CUESHEET.getFieldName(), cueSheet);
+        return new FlacTag(tag, images);
     }
 }
-
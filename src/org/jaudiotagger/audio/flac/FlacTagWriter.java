@@ -21,7 +21,13 @@ package org.jaudiotagger.audio.flac;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.flac.metadatablock.*;
+import org.jaudiotagger.audio.generic.AudioFileWriter;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.generic.WritePlan;
+import org.jaudiotagger.audio.generic.WritePlanner;
+import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.flac.FlacTag;
 import org.jaudiotagger.utils.ShiftData;
 
@@ -164,111 +170,177 @@ public class FlacTagWriter
     public void write(Tag tag, File file) throws CannotWriteException
     {
         logger.config(file + " Writing tag");
+        File newFile;
         try(RandomAccessFile raf = new RandomAccessFile(file, "rw"))
         {
-            FileChannel fc = raf.getChannel();
-            MetadataBlockInfo blockInfo = new MetadataBlockInfo();
+            newFile = write(tag, raf.getChannel(), file, file.toString());
+        }
+        catch (IOException ioe)
+        {
+            logger.log(Level.SEVERE, ioe.getMessage(), ioe);
+            throw new CannotWriteException(file + ":" + ioe.getMessage());
+        }
 
-            //Read existing data
-            FlacStreamReader flacStream = new FlacStreamReader(fc, file.toString() + " ");
-            try
-            {
-                flacStream.findStream();
-            }
-            catch (CannotReadException cre)
-            {
-                throw new CannotWriteException(cre.getMessage());
-            }
+        //Original file has to be closed before it can be replaced
+        if (newFile != null)
+        {
+            AudioFileWriter.transferNewFileToOriginalFile(newFile, file, TagOptions.current().isPreserveFileIdentity());
+        }
+    }
 
-            boolean isLastBlock = false;
-            while (!isLastBlock)
+    /**
+     * Write the tag within the channel, as there is no file that a new file could replace the audio is moved
+     * within the channel if the metadata does not fit.
+     *
+     * @param tag
+     * @param fc          channel holding the Flac file, open for reading and writing
+     * @param loggingName
+     * @throws CannotWriteException
+     */
+    public void write(Tag tag, FileChannel fc, String loggingName) throws CannotWriteException
+    {
+        logger.config(loggingName + " Writing tag");
+        try
+        {
+            write(tag, fc, null, loggingName);
+        }
+        catch (IOException ioe)
+        {
+            logger.log(Level.SEVERE, ioe.getMessage(), ioe);
+            throw new CannotWriteException(loggingName + ":" + ioe.getMessage());
+        }
+    }
+
+    /**
+     * @param tag
+     * @param fc
+     * @param file        the file being written, or null if the metadata cannot be written to a new file
+     * @param loggingName
+     * @return the new file holding the result if one was written, which has to replace file once it is closed
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    private File write(Tag tag, FileChannel fc, File file, String loggingName) throws CannotWriteException, IOException
+    {
+        File newFile = null;
+        MetadataBlockInfo blockInfo = new MetadataBlockInfo();
+
+        //Read existing data
+        FlacStreamReader flacStream = new FlacStreamReader(fc, loggingName + " ");
+        try
+        {
+            flacStream.findStream();
+        }
+        catch (CannotReadException cre)
+        {
+            throw new CannotWriteException(cre.getMessage());
+        }
+
+        boolean isLastBlock = false;
+        while (!isLastBlock)
+        {
+            try
             {
-                try
+                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+                if (mbh.getBlockType() != null)
                 {
-                    MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                    if (mbh.getBlockType() != null)
+                    switch (mbh.getBlockType())
                     {
-                        switch (mbh.getBlockType())
+                        case STREAMINFO:
+                        {
+                            blockInfo.streamInfoBlock = new MetadataBlock(mbh, new MetadataBlockDataStreamInfo(mbh, fc));
+                            break;
+                        }
+
+                        case CUESHEET:
+                        case VORBIS_COMMENT:
+                        case PADDING:
+                        case PICTURE:
+                        {
+                            //All these will be replaced by the new metadata so we just treat as padding in order
+                            //to determine how much space is already allocated in the file
+                            fc.position(fc.position() + mbh.getDataLength());
+                            MetadataBlockData mbd = new MetadataBlockDataPadding(mbh.getDataLength());
+                            blockInfo.metadataBlockPadding.add(new MetadataBlock(mbh, mbd));
+                            break;
+                        }
+
+                        case SEEKTABLE:
                         {
-                            case STREAMINFO:
-                            {
-                                blockInfo.streamInfoBlock = new MetadataBlock(mbh, new MetadataBlockDataStreamInfo(mbh, fc));
-                                break;
-                            }
-
-                            case CUESHEET:
-                            case VORBIS_COMMENT:
-                            case PADDING:
-                            case PICTURE:
-                            {
-                                //All these will be replaced by the new metadata so we just treat as padding in order
-                                //to determine how much space is already allocated in the file
-                                fc.position(fc.position() + mbh.getDataLength());
-                                MetadataBlockData mbd = new MetadataBlockDataPadding(mbh.getDataLength());
-                                blockInfo.metadataBlockPadding.add(new MetadataBlock(mbh, mbd));
-                                break;
-                            }
-
-                            case SEEKTABLE:
-                            {
-                                MetadataBlockData mbd = new MetadataBlockDataSeekTable(mbh, fc);
-                                blockInfo.metadataBlockSeekTable.add(new MetadataBlock(mbh, mbd));
-                                break;
-                            }
-
-                            default:
-                            {
-                                // AI: the MetadataBlockDataApplication stores original data "as is"
-                                MetadataBlockData mbd = new MetadataBlockDataApplication(mbh, fc);
-                                blockInfo.metadataBlockApplication.add(new MetadataBlock(mbh, mbd));
-                                break;
-                            }
+                            MetadataBlockData mbd = new MetadataBlockDataSeekTable(mbh, fc);
+                            blockInfo.metadataBlockSeekTable.add(new MetadataBlock(mbh, mbd));
+                            break;
+                        }
+
+                        default:
+                        {
+                            // AI: the MetadataBlockDataApplication stores original data "as is"
+                            MetadataBlockData mbd = new MetadataBlockDataApplication(mbh, fc);
+                            blockInfo.metadataBlockApplication.add(new MetadataBlock(mbh, mbd));
+                            break;
                         }
                     }
-                    isLastBlock = mbh.isLastBlock();
-                }
-                catch (CannotReadException cre)
-                {
-                    throw new CannotWriteException(cre.getMessage());
                 }
+                isLastBlock = mbh.isLastBlock();
             }
+            catch (CannotReadException cre)
+            {
+                throw new CannotWriteException(cre.getMessage());
+            }
+        }
 
-            //Number of bytes in the existing file available before audio data
-            int availableRoom = blockInfo.computeAvailableRoom();
+        //Number of bytes in the existing file available before audio data
+        int availableRoom = blockInfo.computeAvailableRoom();
 
-            //Minimum Size of the New tag data without padding
-            int newTagSize = tc.convertMetadata(tag).limit();
+        //Minimum Size of the New tag data without padding
+        int newTagSize = tc.convertMetadata(tag).limit();
 
-            //Other blocks required size
-            int otherBlocksRequiredSize = blockInfo.computeNeededRoom();
+        //Other blocks required size
+        int otherBlocksRequiredSize = blockInfo.computeNeededRoom();
 
-            //Number of bytes required for new tagdata and other metadata blocks
-            int neededRoom = newTagSize + otherBlocksRequiredSize;
+        //Number of bytes required for new tagdata and other metadata blocks
+        int neededRoom = newTagSize + otherBlocksRequiredSize;
 
-            //Go to start of Flac within file
-            fc.position(flacStream.getStartOfFlacInFile());
+        //Go to start of Flac within file
+        fc.position(flacStream.getStartOfFlacInFile());
 
-            //There is enough room to fit the tag without moving the audio just need to
-            //adjust padding accordingly need to allow space for padding header if padding required
-            logger.config(file + ":Writing tag available bytes:" + availableRoom + ":needed bytes:" + neededRoom);
-            if ((availableRoom == neededRoom) || (availableRoom > neededRoom + MetadataBlockHeader.HEADER_LENGTH))
-            {
-                logger.config(file + ":Room to Rewrite");
-                writeAllNonAudioData(tag, fc, blockInfo, flacStream, availableRoom - neededRoom);
-            }
-            //Need to move audio
-            else
-            {
-                logger.config(file + ":Audio must be shifted "+ "NewTagSize:" + newTagSize + ":AvailableRoom:" + availableRoom + ":MinimumAdditionalRoomRequired:"+(neededRoom - availableRoom));
-                //As we are having to move both anyway may as well put in the default padding
-                insertUsingChunks(file, tag, fc, blockInfo, flacStream, neededRoom + FlacTagCreator.DEFAULT_PADDING, availableRoom);
-            }
-        }
-        catch (IOException ioe)
+        //There is enough room to fit the tag without moving the audio just need to
+        //adjust padding accordingly need to allow space for padding header if padding required,
+        //otherwise the audio has to be moved and as we are having to move it anyway may as well put in the default padding
+        logger.config(loggingName + ":Writing tag available bytes:" + availableRoom + ":needed bytes:" + neededRoom);
+        WritePlanner planner = new WritePlanner(MetadataBlockHeader.HEADER_LENGTH + 1, FlacTagCreator.DEFAULT_PADDING, Long.MAX_VALUE);
+        WritePlan plan = planner.plan(fc.size(), getMetadataStart(flacStream), availableRoom, neededRoom, file != null);
+        switch (plan.getStrategy())
         {
-            logger.log(Level.SEVERE, ioe.getMessage(), ioe);
-            throw new CannotWriteException(file + ":" + ioe.getMessage());
+            case USE_PADDING:
+                logger.config(loggingName + ":Room to Rewrite");
+                writeAllNonAudioData(tag, fc, blockInfo, flacStream, availableRoom - neededRoom);
+                break;
+
+            case REWRITE:
+                logger.config(loggingName + ":Audio must be copied to new file " + "NewTagSize:" + newTagSize + ":AvailableRoom:" + availableRoom + ":MinimumAdditionalRoomRequired:" + (neededRoom - availableRoom));
+                newFile = WritePlanner.createRewriteFile(file);
+                writeToNewFile(newFile, tag, fc, blockInfo, flacStream, availableRoom);
+                break;
+
+            default:
+                logger.config(loggingName + ":Audio must be shifted " + "NewTagSize:" + newTagSize + ":AvailableRoom:" + availableRoom + ":MinimumAdditionalRoomRequired:" + (neededRoom - availableRoom));
+                insertUsingChunks(loggingName, tag, fc, blockInfo, flacStream, (int) plan.getNewRoom(), availableRoom);
+                break;
         }
+        return newFile;
+    }
+
+    /**
+     * @param flacStream
+     * @return position of the first metadata block after STREAMINFO, which is always written first
+     */
+    private long getMetadataStart(FlacStreamReader flacStream)
+    {
+        return flacStream.getStartOfFlacInFile()
+                + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH
+                + MetadataBlockHeader.HEADER_LENGTH
+                + MetadataBlockDataStreamInfo.STREAM_INFO_DATA_LENGTH;
     }
 
     /**Add Padding Block
@@ -352,7 +424,7 @@ public class FlacTagWriter
      *
      * We do this by reading/writing chunks of data allowing it to work on low memory systems
      *
-     * Chunk size defined by TagOptionSingleton.getInstance().getWriteChunkSize()
+     * Chunk size defined by TagOptions.current().getWriteChunkSize()
      *
      * @param tag
      * @param fc
@@ -363,19 +435,15 @@ public class FlacTagWriter
      * @throws IOException
      * @throws UnsupportedEncodingException
      */
-    private void insertUsingChunks(File file, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom) throws IOException, UnsupportedEncodingException
+    private void insertUsingChunks(String loggingName, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom) throws IOException, UnsupportedEncodingException
     {
         //Find end of metadata blocks (start of Audio), i.e start of Flac + 4 bytes for 'fLaC', 4 bytes for streaminfo header and
         //34 bytes for streaminfo and then size of all the other existing blocks
-        long audioStart =flacStream.getStartOfFlacInFile()
-                + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH
-                + MetadataBlockHeader.HEADER_LENGTH
-                + MetadataBlockDataStreamInfo.STREAM_INFO_DATA_LENGTH
-                + availableRoom;
+        long audioStart = getMetadataStart(flacStream) + availableRoom;
 
         //Extra Space Required for larger metadata block
         int extraSpaceRequired = neededRoom - availableRoom;
-        logger.config(file + " Audio needs shifting:"+extraSpaceRequired);
+        logger.config(loggingName + " Audio needs shifting:"+extraSpaceRequired);
 
         fc.position(audioStart);
         ShiftData.shiftDataByOffsetToMakeSpace(fc, extraSpaceRequired);
@@ -385,6 +453,40 @@ public class FlacTagWriter
         writeAllNonAudioData(tag, fc, blockInfo, flacStream, FlacTagCreator.DEFAULT_PADDING);
     }
 
+    /**
+     * Write the metadata followed by the audio of the original file to a new file
+     *
+     * Anything before the Flac stream (such as an ID3 tag) is copied as is
+     *
+     * @param newFile
+     * @param tag
+     * @param fc
+     * @param blockInfo
+     * @param flacStream
+     * @param availableRoom
+     * @throws IOException
+     */
+    private void writeToNewFile(File newFile, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int availableRoom) throws IOException
+    {
+        long audioStart = getMetadataStart(flacStream) + availableRoom;
+        try(RandomAccessFile rafTemp = new RandomAccessFile(newFile, "rw"))
+        {
+            FileChannel fcTemp = rafTemp.getChannel();
+            Utils.transferFully(fc, 0, flacStream.getStartOfFlacInFile() + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH, fcTemp);
+            writeAllNonAudioData(tag, fcTemp, blockInfo, flacStream, FlacTagCreator.DEFAULT_PADDING);
+            Utils.transferFully(fc, audioStart, fc.size() - audioStart, fcTemp);
+            fcTemp.force(false);
+        }
+        catch (IOException ioe)
+        {
+            if (!newFile.delete())
+            {
+                logger.warning(ErrorMessage.GENERAL_WRITE_FAILED_TO_DELETE_TEMPORARY_FILE.getMsg(newFile.getPath()));
+            }
+            throw ioe;
+        }
+    }
+
     private void writeStreamBlock(FileChannel fc, MetadataBlockInfo blockInfo) throws IOException
     {
         //Write StreamInfo, we always write this first even if wasn't first in original spec
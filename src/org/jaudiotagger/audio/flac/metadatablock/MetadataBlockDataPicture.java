@@ -5,10 +5,15 @@ import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.InvalidFrameException;
 import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.images.FileImageData;
+import org.jaudiotagger.tag.images.ImageDataNotAvailableException;
 import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.logging.Logger;
@@ -57,6 +62,14 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
     private int lengthOfPictureInBytes;
     private byte[] imageData;
 
+    //Location of the image data when it has not been read from file yet
+    private FileImageData imageDataInFile;
+
+    //Lengths of the fixed size fields, read separately when the image data is not loaded
+    private static final int TYPE_AND_MIME_TYPE_SIZE_LENGTH = 8;
+    private static final int DESCRIPTION_SIZE_LENGTH = 4;
+    private static final int FIELDS_AFTER_DESCRIPTION_LENGTH = 20;
+
     // Logger Object
     public static final Logger logger = Logger.getLogger("org.jaudiotagger.audio.flac.MetadataBlockDataPicture");
 
@@ -121,6 +134,57 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
         initFromByteBuffer(rawdata);
     }
 
+    /**
+     * Initialize MetaBlockDataPicture from a stream of the block data, such as the decoded data of a VorbisComment
+     * METADATA_BLOCK_PICTURE field, so the image data is read straight into its own array
+     *
+     * @param in stream of the block data, available() must never be less than the number of bytes left
+     * @throws IOException
+     * @throws InvalidFrameException
+     */
+    public MetadataBlockDataPicture(InputStream in) throws IOException, InvalidFrameException
+    {
+        DataInputStream rawdata = new DataInputStream(in);
+
+        //Picture Type
+        pictureType = rawdata.readInt();
+        if (pictureType >= PictureTypes.getInstanceOf().getSize())
+        {
+            throw new InvalidFrameException("PictureType was:" + pictureType + "but the maximum allowed is " + (PictureTypes.getInstanceOf().getSize() - 1));
+        }
+
+        //MimeType
+        mimeTypeSize = rawdata.readInt();
+        if(mimeTypeSize < 0 || mimeTypeSize > rawdata.available())
+        {
+            throw new InvalidFrameException("PictureType mimeType size was invalid:" + mimeTypeSize);
+        }
+        mimeType = getString(rawdata, mimeTypeSize, StandardCharsets.ISO_8859_1.name());
+
+        //Description
+        descriptionSize = rawdata.readInt();
+        if(descriptionSize < 0 || descriptionSize > rawdata.available())
+        {
+            throw new InvalidFrameException("PictureType descriptionSize size was invalid:" + descriptionSize);
+        }
+        description = getString(rawdata, descriptionSize, StandardCharsets.UTF_8.name());
+
+        width = rawdata.readInt();
+        height = rawdata.readInt();
+        colourDepth = rawdata.readInt();
+        indexedColouredCount = rawdata.readInt();
+        lengthOfPictureInBytes = rawdata.readInt();
+
+        //ImageData
+        if(lengthOfPictureInBytes < 0 || lengthOfPictureInBytes > rawdata.available())
+        {
+            throw new InvalidFrameException("PictureType Size was:" + lengthOfPictureInBytes + " but remaining bytes size " + rawdata.available());
+        }
+        imageData = new byte[lengthOfPictureInBytes];
+        rawdata.readFully(imageData);
+        logger.config("Read image:" + this);
+    }
+
     /**
      * Construct picture block by reading from file, the header informs us how many bytes we should be reading from
      *
@@ -149,6 +213,109 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
 
     }
 
+    /**
+     * Construct picture block by reading from file but without reading the image data, only its location is recorded
+     * and the data is read from the file when it is first asked for. Linked images are read straight away because
+     * the data is only the url.
+     *
+     * On return the channel is positioned at the end of the block even if the block is invalid.
+     *
+     * @param header
+     * @param fc
+     * @param file the file the channel belongs to, used to read the image data later
+     * @throws IOException
+     * @throws InvalidFrameException
+     */
+    public MetadataBlockDataPicture(MetadataBlockHeader header, FileChannel fc, File file) throws IOException, InvalidFrameException
+    {
+        if (header.getDataLength()==0)
+        {
+            throw new IOException("MetadataBlockDataPicture HeaderDataSize is zero");
+        }
+
+        long endOfBlock = fc.position() + header.getDataLength();
+        try
+        {
+            //Picture Type and MimeType
+            ByteBuffer rawdata = readFields(fc, TYPE_AND_MIME_TYPE_SIZE_LENGTH, endOfBlock);
+            pictureType = rawdata.getInt();
+            if (pictureType >= PictureTypes.getInstanceOf().getSize())
+            {
+                throw new InvalidFrameException("PictureType was:" + pictureType + "but the maximum allowed is " + (PictureTypes.getInstanceOf().getSize() - 1));
+            }
+            mimeTypeSize = rawdata.getInt();
+            if(mimeTypeSize < 0)
+            {
+                throw new InvalidFrameException("PictureType mimeType size was invalid:" + mimeTypeSize);
+            }
+            rawdata = readFields(fc, (long) mimeTypeSize + DESCRIPTION_SIZE_LENGTH, endOfBlock);
+            mimeType = getString(rawdata, mimeTypeSize, StandardCharsets.ISO_8859_1.name());
+
+            //Description
+            descriptionSize = rawdata.getInt();
+            if(descriptionSize < 0)
+            {
+                throw new InvalidFrameException("PictureType descriptionSize size was invalid:" + mimeTypeSize);
+            }
+            rawdata = readFields(fc, (long) descriptionSize + FIELDS_AFTER_DESCRIPTION_LENGTH, endOfBlock);
+            description = getString(rawdata, descriptionSize, StandardCharsets.UTF_8.name());
+
+            width = rawdata.getInt();
+            height = rawdata.getInt();
+            colourDepth = rawdata.getInt();
+            indexedColouredCount = rawdata.getInt();
+            lengthOfPictureInBytes =  rawdata.getInt();
+
+            //ImageData
+            if(lengthOfPictureInBytes < 0 || lengthOfPictureInBytes > endOfBlock - fc.position())
+            {
+                throw new InvalidFrameException("PictureType Size was:" + lengthOfPictureInBytes + " but remaining bytes size " + (endOfBlock - fc.position()));
+            }
+            if (isImageUrl())
+            {
+                imageData = readFields(fc, lengthOfPictureInBytes, endOfBlock).array();
+            }
+            else
+            {
+                //The description and the fields after it come immediately before the image data
+                imageDataInFile = new FileImageData(file, fc.position(), lengthOfPictureInBytes, rawdata.array());
+            }
+            logger.config("Read image:" + this);
+        }
+        finally
+        {
+            fc.position(endOfBlock);
+        }
+    }
+
+    /**
+     * Read the next length bytes of the block
+     *
+     * @param fc
+     * @param length
+     * @param endOfBlock
+     * @return buffer holding the bytes positioned at the start
+     * @throws IOException
+     * @throws InvalidFrameException if the bytes would extend beyond the end of the block
+     */
+    private static ByteBuffer readFields(FileChannel fc, long length, long endOfBlock) throws IOException, InvalidFrameException
+    {
+        if (length > endOfBlock - fc.position())
+        {
+            throw new InvalidFrameException("PictureType fields need:" + length + " but remaining bytes size " + (endOfBlock - fc.position()));
+        }
+        ByteBuffer rawdata = ByteBuffer.allocate((int) length);
+        while (rawdata.hasRemaining())
+        {
+            if (fc.read(rawdata) < 0)
+            {
+                throw new IOException("Unable to read required number of databytes read:" + rawdata.position() + ":required:" + length);
+            }
+        }
+        rawdata.flip();
+        return rawdata;
+    }
+
     /**
      * Construct new MetadataPicture block
      *
@@ -183,6 +350,13 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
         return new String(tempbuffer, charset);
     }
 
+    private String getString(DataInputStream rawdata, int length, String charset) throws IOException
+    {
+        byte[] tempbuffer = new byte[length];
+        rawdata.readFully(tempbuffer);
+        return new String(tempbuffer, charset);
+    }
+
     public ByteBuffer getBytes()
     {
         try
@@ -197,6 +371,7 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
             baos.write(Utils.getSizeBEInt32(height));
             baos.write(Utils.getSizeBEInt32(colourDepth));
             baos.write(Utils.getSizeBEInt32(indexedColouredCount));
+            byte[] imageData = getImageData();
             baos.write(Utils.getSizeBEInt32(imageData.length));
             baos.write(imageData);
             return ByteBuffer.wrap(baos.toByteArray());
@@ -248,11 +423,38 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
         return indexedColouredCount;
     }
 
+    /**
+     * The image data, if it has not been read from file yet it is read now and kept
+     *
+     * @return the image data
+     * @throws ImageDataNotAvailableException if the image data has to be read from the file but the file cannot be
+     * read or has changed since the tag was read
+     */
     public byte[] getImageData()
     {
+        if (imageDataInFile != null)
+        {
+            try
+            {
+                imageData = imageDataInFile.read();
+                imageDataInFile = null;
+            }
+            catch (IOException ioe)
+            {
+                throw new ImageDataNotAvailableException(ioe);
+            }
+        }
         return imageData;
     }
 
+    /**
+     * @return location of the image data if it has not been read from file yet, otherwise null
+     */
+    public FileImageData getImageDataInFile()
+    {
+        return imageDataInFile;
+    }
+
     /**
      * @return true if imagedata  is held as a url rather than actually being imagedata
      */
@@ -285,7 +487,7 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
                 + "\t\theight:"+ height +"\n"
                 + "\t\tcolourdepth:" + colourDepth+"\n"
                 + "\t\tindexedColourCount:" + indexedColouredCount+"\n"
-                + "\t\timage size in bytes:" + lengthOfPictureInBytes + "/" + imageData.length+"\n";
+                + "\t\timage size in bytes:" + lengthOfPictureInBytes + "/" + (imageData != null ? imageData.length : lengthOfPictureInBytes)+"\n";
     }
 
     /**
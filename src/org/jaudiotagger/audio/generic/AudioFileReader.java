@@ -19,6 +19,7 @@
 package org.jaudiotagger.audio.generic;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.NoReadPermissionsException;
@@ -30,6 +31,7 @@ import org.jaudiotagger.tag.TagException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -83,32 +85,14 @@ public abstract class AudioFileReader
       */
     public AudioFile read(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
     {
-        if(logger.isLoggable(Level.CONFIG))
-        {
-            logger.config(ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()));
-        }
-
-        if (!f.canRead())
-        {
-            throw new NoReadPermissionsException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f.getPath()));
-        }
-
-        if (f.length() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
-        {
-            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(f.getAbsolutePath()));
-        }
+        checkCanRead(f);
 
         RandomAccessFile raf = null;
         try
         {
             raf = new RandomAccessFile(f, "r");
             raf.seek(0);
-
-            GenericAudioHeader info = getEncodingInfo(raf);
-            raf.seek(0);
-            Tag tag = getTag(raf);
-            return new AudioFile(f, info, tag);
-
+            return read(f, raf);
         }
         catch (CannotReadException cre)
         {
@@ -134,4 +118,129 @@ public abstract class AudioFileReader
             }
         }
     }
+
+    /**
+     * Read the encoding info and then the tag from the open file, subclasses that would otherwise load the same
+     * data for both may override this to share it.
+     *
+     * @param f The file being read
+     * @param raf The RandomAccessFile associated with the file, positioned at the first byte
+     * @return the audio file
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     */
+    protected AudioFile read(File f, RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = getEncodingInfo(raf);
+        raf.seek(0);
+        Tag tag = getTag(raf);
+        return new AudioFile(f, info, tag);
+    }
+
+    /**
+     * Reads the audio file open on the given channel, the same as {@link #read(File)} but for a file that is only
+     * available as an open channel, such as one opened from a file descriptor.
+     *
+     * @param fc channel of the file to read, it is left open and its position is undefined afterwards
+     * @param name name of the file used in log and error messages
+     * @return the audio file, it has no {@link File} so it can only be written to a channel
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     */
+    public AudioFile read(FileChannel fc, String name) throws CannotReadException, IOException
+    {
+        if(logger.isLoggable(Level.CONFIG))
+        {
+            logger.config(ErrorMessage.GENERAL_READ.getMsg(name));
+        }
+
+        if (fc.size() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
+        {
+            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(name));
+        }
+
+        try
+        {
+            fc.position(0);
+            return read(fc, name, null);
+        }
+        catch (CannotReadException cre)
+        {
+            throw cre;
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_READ.getMsg(name),e);
+            throw new CannotReadException(name + ":" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read the encoding info and then the tag from the open channel, formats that can be read from a channel
+     * override this, by default the format cannot be.
+     *
+     * @param fc The channel of the file being read, positioned at the first byte
+     * @param name name of the file used in log and error messages
+     * @param f The file being read, or null if only the channel is available
+     * @return the audio file
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     */
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        throw new CannotReadException(ErrorMessage.CHANNEL_READ_NOT_SUPPORTED.getMsg(name));
+    }
+
+    /**
+     * Reads only the encoding info of the given file, the tags are not read or parsed at all. Formats that keep
+     * the encoding info and the tags apart only read as far as needed to find the encoding info.
+     *
+     * @param f The file to read
+     * @return the audio header
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     * @throws InvalidAudioFrameException
+     */
+    public AudioHeader readAudioHeader(File f) throws CannotReadException, IOException, InvalidAudioFrameException
+    {
+        checkCanRead(f);
+
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r"))
+        {
+            return getEncodingInfo(raf);
+        }
+        catch (CannotReadException cre)
+        {
+            throw cre;
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()),e);
+            throw new CannotReadException(f.getAbsolutePath()+":" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Check the file can be read and is big enough to hold any audio
+     *
+     * @param f
+     * @throws CannotReadException
+     */
+    protected void checkCanRead(File f) throws CannotReadException
+    {
+        if(logger.isLoggable(Level.CONFIG))
+        {
+            logger.config(ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()));
+        }
+
+        if (!f.canRead())
+        {
+            throw new NoReadPermissionsException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f.getPath()));
+        }
+
+        if (f.length() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
+        {
+            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(f.getAbsolutePath()));
+        }
+    }
 }
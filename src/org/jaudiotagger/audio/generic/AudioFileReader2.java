@@ -1,6 +1,7 @@
 package org.jaudiotagger.audio.generic;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.NoReadPermissionsException;
 import org.jaudiotagger.logging.ErrorMessage;
@@ -9,6 +10,7 @@ import org.jaudiotagger.tag.Tag;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.logging.Level;
 
 /**
@@ -42,21 +44,60 @@ public abstract class AudioFileReader2 extends AudioFileReader
             throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(f.getPath()));
         }
 
-        GenericAudioHeader info = getEncodingInfo(f);
-        Tag tag = getTag(f);
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r"))
+        {
+            return read(raf.getChannel(), f.getPath(), f);
+        }
+    }
+
+    /**
+     * Read the encoding info and then the tag from the channel
+     *
+     * @param fc The channel of the file being read, positioned at the first byte
+     * @param name name of the file used in log and error messages
+     * @param f The file being read, or null if only the channel is available
+     * @return the audio file
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     */
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = getEncodingInfo(fc, name);
+        fc.position(0);
+        Tag tag = getTag(fc, name);
         return new AudioFile(f, info, tag);
     }
 
+    /**
+     * Reads only the encoding info of the given file
+     *
+     * @param f The file to read
+     * @return the audio header
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     */
+    @Override
+    public AudioHeader readAudioHeader(File f) throws CannotReadException, IOException
+    {
+        checkCanRead(f);
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r"))
+        {
+            return getEncodingInfo(raf.getChannel(), f.getPath());
+        }
+    }
+
     /**
      *
      * Read Encoding Information
      *
-     * @param file
+     * @param fc channel of the file, positioned at the first byte
+     * @param name name of the file used in log and error messages
      * @return
      * @throws CannotReadException
      * @throws IOException
      */
-    protected abstract GenericAudioHeader getEncodingInfo(File file) throws CannotReadException, IOException;
+    protected abstract GenericAudioHeader getEncodingInfo(FileChannel fc, String name) throws CannotReadException, IOException;
 
     protected GenericAudioHeader getEncodingInfo(RandomAccessFile raf) throws IOException
     {
@@ -66,12 +107,13 @@ public abstract class AudioFileReader2 extends AudioFileReader
     /**
      * Read tag Information
      *
-     * @param file
+     * @param fc channel of the file, positioned at the first byte
+     * @param name name of the file used in log and error messages
      * @return
      * @throws CannotReadException
      * @throws IOException
      */
-    protected abstract Tag getTag(File file) throws CannotReadException, IOException;
+    protected abstract Tag getTag(FileChannel fc, String name) throws CannotReadException, IOException;
 
     protected Tag getTag(RandomAccessFile file) throws IOException
     {
@@ -12,7 +12,7 @@ import org.jaudiotagger.logging.Hex;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
 import org.jaudiotagger.tag.TagNotFoundException;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.ape.APEv2Tag;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 import org.jaudiotagger.tag.id3.ID3v11Tag;
@@ -27,6 +27,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * This is basic class for physical file formats that may contain ID3v1, ID3v2 or APEv2 tags
@@ -44,6 +45,8 @@ public abstract class AudioFileWithCommonTags extends AudioFile
     /* Load APEv2 tag if exists */
     public static final int LOAD_APEv2TAG = 16;
     public static final int LOAD_ALL = LOAD_IDV1TAG | LOAD_IDV2TAG | LOAD_LYRICS3 | LOAD_APEv2TAG;
+    /* Only read the audio header, no tags are loaded */
+    public static final int LOAD_NONE = 0;
 
     @Nullable
     protected APEv2Tag apev2Tag;
@@ -52,6 +55,9 @@ public abstract class AudioFileWithCommonTags extends AudioFile
     @Nullable
     protected AbstractID3v2Tag id3v2tag;
 
+    /* Name of the file used in log messages */
+    protected String loggingName;
+
     public AudioFileWithCommonTags()
     {
     }
@@ -59,36 +65,62 @@ public abstract class AudioFileWithCommonTags extends AudioFile
     public AudioFileWithCommonTags(File file, boolean readOnly, int options) throws IOException, ReadOnlyFileException, CannotReadException, TagException
     {
         this.file = file;
-
-        // Read ID3v2 tag size (if tag exists) to allow audioHeader parsing to skip over tag
-        long id3v2size = AbstractID3v2Tag.getV2TagSizeIfExists(file);
-        logger.config("ID3v2.size:" + Hex.asHex(id3v2size));
+        this.loggingName = file.getName();
 
         try (RandomAccessFile raf = checkFilePermissions(file, readOnly))
         {
-            audioHeader = readAudioHeader(raf, id3v2size);
-
-            if ((options & LOAD_IDV2TAG) != 0)
-                readID3V2Tag(raf, (int) id3v2size);
-            if ((options & LOAD_IDV1TAG) != 0)
-                readID3V1Tag(raf);
-            if ((options & LOAD_APEv2TAG) != 0)
-                readAPEv2Tag(raf);
-
-            if (apev2Tag != null && isAPEv2priority())
-                tag = apev2Tag;
-            else if (id3v2tag != null)
-                tag = id3v2tag;
-            else if (apev2Tag != null && !isAPEv2priority())
-                tag = apev2Tag;
-            else
-                tag = id3v1tag;
+            read(raf.getChannel(), options);
         }
     }
 
+    /**
+     * Read from an open channel, there is no {@link File} so the tags can only be written back to a channel
+     *
+     * @param fc channel of the file, it is left open
+     * @param name name of the file used in log messages
+     * @param options decide what tags to load
+     */
+    public AudioFileWithCommonTags(FileChannel fc, String name, int options) throws IOException, CannotReadException, TagException
+    {
+        this.loggingName = name;
+        read(fc, options);
+    }
+
+    private void read(FileChannel fc, int options) throws IOException, CannotReadException, TagException
+    {
+        // The file is read once, the head and tail windows are shared by all the parsers below
+        //The tail is only needed for the tags stored at the end of the file
+        int tailWindowSize = (options & (LOAD_IDV1TAG | LOAD_APEv2TAG)) != 0 ? PrefetchedFileRegions.DEFAULT_TAIL_WINDOW_SIZE : 0;
+        PrefetchedFileRegions regions = new PrefetchedFileRegions(fc, PrefetchedFileRegions.DEFAULT_HEAD_WINDOW_SIZE, tailWindowSize);
+
+        // Read ID3v2 tag size (if tag exists) to allow audioHeader parsing to skip over tag
+        long id3v2size = AbstractID3v2Tag.getV2TagSizeIfExists(regions.getHead());
+        logger.config("ID3v2.size:" + Hex.asHex(id3v2size));
+
+        audioHeader = readAudioHeader(regions, id3v2size);
+
+        if ((options & LOAD_IDV2TAG) != 0)
+            readID3V2Tag(regions, (int) id3v2size);
+        if ((options & LOAD_IDV1TAG) != 0)
+            readID3V1Tag(regions);
+        if ((options & LOAD_APEv2TAG) != 0)
+            readAPEv2Tag(regions);
+
+        if (apev2Tag != null && isAPEv2priority())
+            tag = apev2Tag;
+        else if (id3v2tag != null)
+            tag = id3v2tag;
+        else if (apev2Tag != null && !isAPEv2priority())
+            tag = apev2Tag;
+        else
+            tag = id3v1tag;
+    }
+
     @Override
     public void commit() throws CannotWriteException
     {
+        //Written with the options of the AudioFileIO that read the file
+        TagOptions previous = TagOptions.bind(getAudioFileIO().getTagOptions());
         try
         {
             save();
@@ -97,6 +129,10 @@ public abstract class AudioFileWithCommonTags extends AudioFile
         {
             throw new CannotWriteException(e.getMessage());
         }
+        finally
+        {
+            TagOptions.bind(previous);
+        }
     }
 
     /**
@@ -120,7 +156,7 @@ public abstract class AudioFileWithCommonTags extends AudioFile
     public void save(@NonNull File file) throws IOException
     {
         // write or remove ID3v2
-        if (TagOptionSingleton.getInstance().isId3v2Save())
+        if (TagOptions.current().isId3v2Save())
         {
             if (id3v2tag != null)
                 id3v2tag.write(file, audioHeader.getAudioDataStartPosition());
@@ -138,21 +174,58 @@ public abstract class AudioFileWithCommonTags extends AudioFile
 
         try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
         {
-            // write or remove APEv2
-            if (apev2Tag != null)
-                apev2Tag.write(raf);
-            else
-                APEv2Tag.delete(raf);
+            saveTagsAtEnd(raf.getChannel());
+        }
+    }
 
-            if (TagOptionSingleton.getInstance().isId3v1Save())
+    /**
+     * Saves the tags to an open channel holding the whole file, such as one opened from a file descriptor. All the
+     * changes are made within the channel, if the ID3v2 tag does not fit before the audio the audio is moved.
+     *
+     * @param fc channel open for reading and writing, it is left open
+     * @throws IOException on any I/O error
+     */
+    public void save(@NonNull FileChannel fc) throws IOException
+    {
+        // write or remove ID3v2
+        if (TagOptions.current().isId3v2Save())
+        {
+            if (id3v2tag != null)
+                id3v2tag.writeToChannel(fc, audioHeader.getAudioDataStartPosition());
+            else
             {
-                // write ID3v1
-                if (id3v1tag != null)
-                    id3v1tag.write(raf);
-                else
-                    (new ID3v1Tag()).delete(raf);
+                logger.config("Deleting ID3v2 tag:"+loggingName);
+                (new ID3v24Tag()).delete(fc);
+                (new ID3v23Tag()).delete(fc);
+                (new ID3v22Tag()).delete(fc);
             }
         }
+
+        saveTagsAtEnd(fc);
+    }
+
+    /**
+     * Write or remove the APEv2 and ID3v1 tags at the end of the file
+     *
+     * @param fc
+     * @throws IOException
+     */
+    private void saveTagsAtEnd(@NonNull FileChannel fc) throws IOException
+    {
+        // write or remove APEv2
+        if (apev2Tag != null)
+            apev2Tag.write(fc);
+        else
+            APEv2Tag.delete(fc);
+
+        if (TagOptions.current().isId3v1Save())
+        {
+            // write ID3v1
+            if (id3v1tag != null)
+                id3v1tag.write(fc);
+            else
+                (new ID3v1Tag()).delete(fc);
+        }
     }
 
     @Override
@@ -160,11 +233,11 @@ public abstract class AudioFileWithCommonTags extends AudioFile
     {
         if (isAPEv2priority())
             return new APEv2Tag();
-        if (TagOptionSingleton.getInstance().getID3V2Version() == ID3V2Version.ID3_V24)
+        if (TagOptions.current().getID3V2Version() == ID3V2Version.ID3_V24)
             return new ID3v24Tag();
-        if (TagOptionSingleton.getInstance().getID3V2Version() == ID3V2Version.ID3_V23)
+        if (TagOptions.current().getID3V2Version() == ID3V2Version.ID3_V23)
             return new ID3v23Tag();
-        if (TagOptionSingleton.getInstance().getID3V2Version() == ID3V2Version.ID3_V22)
+        if (TagOptions.current().getID3V2Version() == ID3V2Version.ID3_V22)
             return new ID3v22Tag();
         return new ID3v24Tag();
     }
@@ -238,14 +311,19 @@ public abstract class AudioFileWithCommonTags extends AudioFile
     }
 
     @NonNull
-    protected abstract AudioHeader readAudioHeader(@NonNull RandomAccessFile file, long id3v2size) throws CannotReadException, IOException;
+    protected abstract AudioHeader readAudioHeader(@NonNull PrefetchedFileRegions regions, long id3v2size) throws CannotReadException, IOException;
 
-    private void readAPEv2Tag(@NonNull RandomAccessFile file) throws IOException
+    private void readAPEv2Tag(@NonNull PrefetchedFileRegions regions) throws IOException
     {
         logger.finer("Attempting to read APEv2 tags");
+        if (!APEv2Tag.hasFooter(regions.getTail()))
+        {
+            logger.config("No APEv2 tag found");
+            return;
+        }
         try
         {
-            setAPEv2Tag(new APEv2Tag(file));
+            setAPEv2Tag(new APEv2Tag(regions));
         }
         catch (TagNotFoundException e)
         {
@@ -257,19 +335,25 @@ public abstract class AudioFileWithCommonTags extends AudioFile
         }
     }
 
-    private void readID3V1Tag(@NonNull RandomAccessFile newFile) throws IOException
+    private void readID3V1Tag(@NonNull PrefetchedFileRegions regions) throws IOException
     {
         logger.finer("Attempting to read ID3v1 tags");
+        if (regions.getFileSize() < ID3v1Tag.TAG_LENGTH)
+        {
+            throw new IOException("File not large enough to contain a tag");
+        }
+
+        ByteBuffer bb = regions.read(regions.getFileSize() - ID3v1Tag.TAG_LENGTH, ID3v1Tag.TAG_LENGTH);
         try
         {
-            setID3v1Tag(new ID3v11Tag(newFile, file.getName()));
+            setID3v1Tag(new ID3v11Tag(bb.duplicate(), loggingName));
         }
         catch (TagNotFoundException e1)
         {
             logger.config("No ID3v11 tag found");
             try
             {
-                setID3v1Tag(new ID3v1Tag(newFile, file.getName()));
+                setID3v1Tag(new ID3v1Tag(bb.duplicate(), loggingName));
             }
             catch (TagNotFoundException e2)
             {
@@ -278,8 +362,7 @@ public abstract class AudioFileWithCommonTags extends AudioFile
         }
     }
 
-    @SuppressWarnings("ChannelOpenedButNotSafelyClosed")
-    private void readID3V2Tag(@NonNull RandomAccessFile newFile, int size) throws IOException, TagException
+    private void readID3V2Tag(@NonNull PrefetchedFileRegions regions, int size) throws IOException, TagException
     {
         if (size < AbstractID3v2Tag.TAG_HEADER_LENGTH)
         {
@@ -289,15 +372,18 @@ public abstract class AudioFileWithCommonTags extends AudioFile
 
         logger.finer("Attempting to read ID3v2 tags");
 
-        ByteBuffer bb = ByteBuffer.allocateDirect(size);
-        newFile.seek(0);
-        newFile.getChannel().read(bb, 0);
-        bb.rewind();
+        ByteBuffer bb = regions.read(0, size);
+        if (bb.limit() < size)
+        {
+            // Tag claims to be larger than the file, pad with zeros as if read into a buffer of the full size
+            bb = ByteBuffer.allocate(size).put(bb);
+            bb.rewind();
+        }
 
         logger.config("Attempting to read ID3v2 tags");
         try
         {
-            setID3v2Tag(new ID3v24Tag(bb, file.getName()));
+            setID3v2Tag(new ID3v24Tag(bb, loggingName));
         }
         catch (TagNotFoundException ex)
         {
@@ -307,7 +393,7 @@ public abstract class AudioFileWithCommonTags extends AudioFile
         try
         {
             if (id3v2tag == null)
-                setID3v2Tag(new ID3v23Tag(bb, file.getName()));
+                setID3v2Tag(new ID3v23Tag(bb, loggingName));
         }
         catch (TagNotFoundException ex)
         {
@@ -317,11 +403,17 @@ public abstract class AudioFileWithCommonTags extends AudioFile
         try
         {
             if (id3v2tag == null)
-                setID3v2Tag(new ID3v22Tag(bb, file.getName()));
+                setID3v2Tag(new ID3v22Tag(bb, loggingName));
         }
         catch (TagNotFoundException ex)
         {
             logger.config("No id3v22 tag found");
         }
+
+        //The image data can only be left in the file when there is a file to read it from later
+        if (id3v2tag != null && file != null && TagOptions.current().isLazyArtwork())
+        {
+            id3v2tag.leaveImageDataInFile(file, 0);
+        }
     }
 }
\ No newline at end of file
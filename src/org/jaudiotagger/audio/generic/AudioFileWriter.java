@@ -26,7 +26,7 @@ import org.jaudiotagger.audio.exceptions.ModifyVetoException;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 
 import java.io.*;
 import java.nio.channels.FileChannel;
@@ -76,7 +76,7 @@ public abstract class AudioFileWriter {
      */
     public void delete(AudioFile af) throws CannotWriteException {
         File file = af.getFile();
-        if (TagOptionSingleton.getInstance().isCheckIsWritable() && !file.canWrite()) {
+        if (TagOptions.current().isCheckIsWritable() && !file.canWrite()) {
             throw new CannotWriteException(ErrorMessage.GENERAL_DELETE_FAILED.getMsg(file.getPath()));
         }
 
@@ -105,6 +105,7 @@ public abstract class AudioFileWriter {
                     this.modificationListener.fileWillBeModified(af, true);
                 }
                 deleteTag(af.getTag(), raf, rafTemp);
+                syncIfUsed(rafTemp);
                 if (this.modificationListener != null) {
                     this.modificationListener.fileModified(af, tempF);
                 }
@@ -226,7 +227,7 @@ public abstract class AudioFileWriter {
         }
 
         File file = af.getFile();
-        if (TagOptionSingleton.getInstance().isCheckIsWritable() && !file.canWrite()) {
+        if (TagOptions.current().isCheckIsWritable() && !file.canWrite()) {
             logger.severe(ErrorMessage.GENERAL_WRITE_FAILED.getMsg(af.getFile().getPath()));
             throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getPath()));
         }
@@ -240,12 +241,14 @@ public abstract class AudioFileWriter {
     /**
      * Write the tag (if not empty) present in the AudioFile in the associated
      * File
+     * <p/>
+     * The tag is written straight into the file if the format can fit it in the space used by the existing tag,
+     * see {@link #writeTagInPlace(AudioFile, Tag, RandomAccessFile)}. Otherwise the new file is built in a
+     * temporary file in the same folder, which is flushed to disk before it replaces the original file.
      *
      * @param af The file we want to process
      * @throws CannotWriteException if anything went wrong
      */
-    // TODO Creates temp file in same folder as the original file, this is safe
-    // but would impose a performance overhead if the original file is on a networked drive
     public void write(AudioFile af) throws CannotWriteException {
         logger.config("Started writing tag data for file:" + af.getFile().getName());
 
@@ -258,6 +261,13 @@ public abstract class AudioFileWriter {
             return;
         }
 
+        if (writeInPlace(af)) {
+            if (this.modificationListener != null) {
+                this.modificationListener.fileOperationFinished(af.getFile());
+            }
+            return;
+        }
+
         RandomAccessFile raf = null;
         RandomAccessFile rafTemp = null;
         File newFile;
@@ -325,10 +335,12 @@ public abstract class AudioFileWriter {
             raf.seek(0);
             rafTemp.seek(0);
             try {
+                //The format declined to write in place without telling the listener, so it is told only once
                 if (this.modificationListener != null) {
                     this.modificationListener.fileWillBeModified(af, false);
                 }
                 writeTag(af, af.getTag(), raf, rafTemp);
+                syncIfUsed(rafTemp);
                 if (this.modificationListener != null) {
                     this.modificationListener.fileModified(af, newFile);
                 }
@@ -378,7 +390,7 @@ public abstract class AudioFileWriter {
 
         // If the temporary file was used
         if (newFile.length() > 0) {
-            transferNewFileToOriginalFile(newFile, af.getFile(), TagOptionSingleton.getInstance().isPreserveFileIdentity());
+            transferNewFileToOriginalFile(newFile, af.getFile(), TagOptions.current().isPreserveFileIdentity());
         } else {
             // Delete the temporary file that wasn't ever used
             if (!newFile.delete()) {
@@ -392,6 +404,136 @@ public abstract class AudioFileWriter {
         }
     }
 
+    /**
+     * Write the tag present in the AudioFile to the given channel, such as one opened from a file descriptor,
+     * instead of the file it was read from
+     * <p/>
+     * The channel must be open for reading and writing and hold the same data the AudioFile was read from. The tag is
+     * written within the channel by {@link #writeTagToChannel(AudioFile, Tag, FileChannel)}, moving the data after
+     * it if it does not fit, as there is no file that a temporary copy could replace. Formats that can only be
+     * written by building a new file cannot be written to a channel.
+     *
+     * @param af The file we want to process
+     * @param fc channel holding the audio data
+     * @throws CannotWriteException if anything went wrong, or the format cannot be written to a channel
+     */
+    public void write(AudioFile af, FileChannel fc) throws CannotWriteException {
+        String name = getLoggingName(af);
+        try {
+            if (!writeTagToChannel(af, af.getTag(), fc)) {
+                throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_CHANNEL_NOT_SUPPORTED.getMsg(name));
+            }
+            //Make sure the change is on the disk before telling anyone it is done
+            fc.force(false);
+            logger.config("Written tag to channel for:" + name);
+            if (this.modificationListener != null) {
+                this.modificationListener.fileModified(af, af.getFile());
+            }
+        } catch (CannotWriteException cwe) {
+            throw cwe;
+        } catch (IOException ioe) {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_WRITE_FAILED.getMsg(name), ioe);
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED.getMsg(name), ioe);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE.getMsg(name, e.getMessage()), e);
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE.getMsg(name, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Write the tag within the channel, without a temporary file. If the tag does not fit in the space used by the
+     * existing tag the data after it is moved within the channel, which may grow or be truncated. The format should
+     * call {@link #fileWillBeModifiedInPlace(AudioFile)} before it changes the channel.
+     * <p/>
+     * The default implementation writes nothing, for formats that can only be written by building a new file.
+     *
+     * @param af
+     * @param tag
+     * @param fc channel open for reading and writing, holding the data the AudioFile was read from
+     * @return true if the tag has been written, false if the format cannot be written to a channel
+     * @throws CannotReadException
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    protected boolean writeTagToChannel(AudioFile af, Tag tag, FileChannel fc) throws CannotReadException, CannotWriteException, IOException {
+        return false;
+    }
+
+    /**
+     * @param af
+     * @return name of the file the AudioFile was read from, or "channel" if it was read from a channel
+     */
+    protected String getLoggingName(AudioFile af) {
+        return af.getFile() != null ? af.getFile().getName() : "channel";
+    }
+
+    /**
+     * Give the format a chance to write the tag into the original file without using a temporary file, the
+     * listener is told the file will be modified once the format has decided to write in place, see
+     * {@link #fileWillBeModifiedInPlace(AudioFile)}.
+     *
+     * @param af
+     * @return true if the tag has been written, false if it has to be written using a temporary file
+     * @throws CannotWriteException if the change was vetoed or the write failed
+     */
+    private boolean writeInPlace(AudioFile af) throws CannotWriteException {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(af.getFile(), WRITE_MODE);
+            if (!writeTagInPlace(af, af.getTag(), raf)) {
+                return false;
+            }
+            //Make sure the change is on the disk before telling anyone it is done
+            raf.getChannel().force(false);
+            logger.config("Written tag in place for file:" + af.getFile().getName());
+            if (this.modificationListener != null) {
+                this.modificationListener.fileModified(af, af.getFile());
+            }
+            return true;
+        } catch (CannotWriteException cwe) {
+            throw cwe;
+        } catch (IOException ioe) {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(af.getFile().getAbsolutePath()), ioe);
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(af.getFile().getAbsolutePath()), ioe);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE.getMsg(af.getFile(), e.getMessage()), e);
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE.getMsg(af.getFile(), e.getMessage()), e);
+        } finally {
+            AudioFileIO.closeQuietly(raf);
+        }
+    }
+
+    /**
+     * Called by {@link #writeTagInPlace(AudioFile, Tag, RandomAccessFile)} once it has decided to write the tag in
+     * place and before it changes the file, so the listener is only told the file will be modified in place if it
+     * really is.
+     *
+     * @param af
+     * @throws CannotWriteException if the listener vetoed the change
+     */
+    protected void fileWillBeModifiedInPlace(AudioFile af) throws CannotWriteException {
+        if (this.modificationListener != null) {
+            try {
+                this.modificationListener.fileWillBeModified(af, false);
+            } catch (ModifyVetoException veto) {
+                throw new CannotWriteException(veto);
+            }
+        }
+    }
+
+    /**
+     * Flush a temporary file that has been written to the disk, so that it is complete before it replaces the
+     * original file. Otherwise after a crash the file could be left renamed but with some of its data missing.
+     *
+     * @param rafTemp
+     * @throws IOException
+     */
+    private void syncIfUsed(RandomAccessFile rafTemp) throws IOException {
+        if (rafTemp.length() > 0) {
+            rafTemp.getFD().sync();
+        }
+    }
+
     /**
      * <p>
      * Transfers the content from {@code newFile} to a file named {@code originalFile}.
@@ -410,7 +552,7 @@ public abstract class AudioFileWriter {
      * @param reuseExistingOriginalFile {@code true} or {@code false}
      * @throws CannotWriteException If the file cannot be written
      */
-    private void transferNewFileToOriginalFile(File newFile, File originalFile, boolean reuseExistingOriginalFile) throws CannotWriteException {
+    public static void transferNewFileToOriginalFile(File newFile, File originalFile, boolean reuseExistingOriginalFile) throws CannotWriteException {
         if (reuseExistingOriginalFile) {
             transferNewFileContentToOriginalFile(newFile, originalFile);
         } else {
@@ -441,7 +583,7 @@ public abstract class AudioFileWriter {
      *                     After execution it denotes the name of the file with the modified content and new inode/fileIndex.
      * @throws CannotWriteException if the file cannot be written
      */
-    private void transferNewFileContentToOriginalFile(File newFile, File originalFile) throws CannotWriteException {
+    private static void transferNewFileContentToOriginalFile(File newFile, File originalFile) throws CannotWriteException {
         // try to obtain exclusive lock on the file
         RandomAccessFile raf = null;
         try {
@@ -488,7 +630,7 @@ public abstract class AudioFileWriter {
         }
     }
 
-    private void transferNewFileContentToOriginalFile(File newFile, File originalFile, RandomAccessFile raf, FileChannel outChannel) throws CannotWriteException {
+    private static void transferNewFileContentToOriginalFile(File newFile, File originalFile, RandomAccessFile raf, FileChannel outChannel) throws CannotWriteException {
         FileInputStream in = null;
         try {
             in = new FileInputStream(newFile);
@@ -496,12 +638,10 @@ public abstract class AudioFileWriter {
             // copy contents of newFile to originalFile,
             // overwriting the old content in that file
             long size = inChannel.size();
-            long position = 0;
-            while (position < size) {
-                position += inChannel.transferTo(position, 1024L * 1024L, outChannel);
-            }
+            Utils.transferFully(inChannel, 0, size, outChannel);
             // truncate raf, in case it used to be longer
             raf.setLength(size);
+            outChannel.force(true);
         } catch (FileNotFoundException e) {
             logger.warning(ErrorMessage.GENERAL_WRITE_FAILED_NEW_FILE_DOESNT_EXIST.getMsg(newFile.getAbsolutePath()));
             throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_NEW_FILE_DOESNT_EXIST.getMsg(newFile.getName()), e);
@@ -541,7 +681,7 @@ public abstract class AudioFileWriter {
      *                     After execution it denotes the name of the file with the modified content and new inode/fileIndex.
      * @throws CannotWriteException if the file cannot be written
      */
-    private void transferNewFileToNewOriginalFile(File newFile, File originalFile) throws CannotWriteException {
+    private static void transferNewFileToNewOriginalFile(File newFile, File originalFile) throws CannotWriteException {
         // Rename Original File
         // Can fail on Vista if have Special Permission 'Delete' set Deny
         File originalFileBackup = new File(originalFile.getAbsoluteFile().getParentFile().getPath(), AudioFile.getBaseFilename(originalFile) + ".old");
@@ -630,4 +770,26 @@ public abstract class AudioFileWriter {
      * @throws org.jaudiotagger.audio.exceptions.CannotReadException
      */
     protected abstract void writeTag(AudioFile audioFile, Tag tag, RandomAccessFile raf, RandomAccessFile rafTemp) throws CannotReadException, CannotWriteException, IOException;
+
+    /**
+     * This is called before {@link #writeTag(AudioFile, Tag, RandomAccessFile, RandomAccessFile)} so that formats
+     * which can fit the new tag into the existing file, for example into padding or into the space taken by the
+     * old tag, can write it without a temporary file and without copying the audio.
+     * <p/>
+     * The method must decide whether the tag fits before changing anything, if it returns false the file must be
+     * unmodified and writeTag is then called as usual. Once it has decided it must call
+     * {@link #fileWillBeModifiedInPlace(AudioFile)} before changing the file. The file is flushed to the disk when it
+     * returns true. The default implementation always returns false.
+     *
+     * @param audioFile
+     * @param tag
+     * @param raf       the file, opened in r-write mode and pointing to the first byte
+     * @return true if the tag has been written
+     * @throws IOException
+     * @throws CannotWriteException
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException
+     */
+    protected boolean writeTagInPlace(AudioFile audioFile, Tag tag, RandomAccessFile raf) throws CannotReadException, CannotWriteException, IOException {
+        return false;
+    }
 }
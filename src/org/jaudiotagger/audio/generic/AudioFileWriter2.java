@@ -4,7 +4,7 @@ import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,7 +27,7 @@ public abstract class AudioFileWriter2 extends AudioFileWriter
     {
         File file = af.getFile();
 
-        if (TagOptionSingleton.getInstance().isCheckIsWritable() && !file.canWrite())
+        if (TagOptions.current().isCheckIsWritable() && !file.canWrite())
         {
             throw new CannotWriteException(ErrorMessage.GENERAL_DELETE_FAILED
                     .getMsg(file));
@@ -52,7 +52,7 @@ public abstract class AudioFileWriter2 extends AudioFileWriter
     {
         File file = af.getFile();
 
-        if (TagOptionSingleton.getInstance().isCheckIsWritable() && !file.canWrite())
+        if (TagOptions.current().isCheckIsWritable() && !file.canWrite())
         {
             logger.severe(ErrorMessage.GENERAL_WRITE_FAILED.getMsg(af.getFile()
                     .getPath()));
@@ -0,0 +1,113 @@
+package org.jaudiotagger.audio.generic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A range of bytes within a file
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public final class ByteRange
+{
+    private final long start;
+    private final long end;
+
+    /**
+     * @param start position of the first byte
+     * @param end   position after the last byte
+     */
+    public ByteRange(long start, long end)
+    {
+        if (start < 0 || end < start)
+        {
+            throw new IllegalArgumentException("Invalid range " + start + "-" + end);
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart()
+    {
+        return start;
+    }
+
+    public long getEnd()
+    {
+        return end;
+    }
+
+    public long getLength()
+    {
+        return end - start;
+    }
+
+    /**
+     * Merge ranges that overlap or are separated by no more than maxGap bytes, reading the bytes in a small gap
+     * costs less than a separate read
+     *
+     * @param ranges ranges in any order
+     * @param maxGap largest gap to read across
+     * @return merged ranges in file order
+     */
+    public static List<ByteRange> coalesce(List<ByteRange> ranges, long maxGap)
+    {
+        List<ByteRange> sorted = new ArrayList<>(ranges);
+        Collections.sort(sorted, new Comparator<ByteRange>()
+        {
+            public int compare(ByteRange r1, ByteRange r2)
+            {
+                return r1.start < r2.start ? -1 : (r1.start == r2.start ? 0 : 1);
+            }
+        });
+
+        List<ByteRange> merged = new ArrayList<>();
+        ByteRange current = null;
+        for (ByteRange range : sorted)
+        {
+            if (range.getLength() == 0)
+            {
+                continue;
+            }
+            if (current != null && range.start <= current.end + maxGap)
+            {
+                current = new ByteRange(current.start, Math.max(current.end, range.end));
+            }
+            else
+            {
+                if (current != null)
+                {
+                    merged.add(current);
+                }
+                current = range;
+            }
+        }
+        if (current != null)
+        {
+            merged.add(current);
+        }
+        return merged;
+    }
+
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof ByteRange))
+        {
+            return false;
+        }
+        ByteRange range = (ByteRange) obj;
+        return start == range.start && end == range.end;
+    }
+
+    public int hashCode()
+    {
+        return (int) (start ^ (start >>> 32)) * 31 + (int) (end ^ (end >>> 32));
+    }
+
+    public String toString()
+    {
+        return start + "-" + end;
+    }
+}
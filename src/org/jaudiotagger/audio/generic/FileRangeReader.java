@@ -0,0 +1,105 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * RangeReader over a local file
+ *
+ * <p>Each read can be delayed by a fixed latency to stand in for a remote store, and the number of reads and bytes
+ * read are counted, so the effect of read planning can be measured without one.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class FileRangeReader implements RangeReader
+{
+    private final RandomAccessFile raf;
+    private final FileChannel fc;
+    private final long latencyMillis;
+    private int readCount;
+    private long bytesRead;
+
+    /**
+     * @param file the file to read
+     * @throws IOException
+     */
+    public FileRangeReader(File file) throws IOException
+    {
+        this(file, 0);
+    }
+
+    /**
+     * @param file          the file to read
+     * @param latencyMillis delay added to every read
+     * @throws IOException
+     */
+    public FileRangeReader(File file, long latencyMillis) throws IOException
+    {
+        this.raf = new RandomAccessFile(file, "r");
+        this.fc = raf.getChannel();
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long size() throws IOException
+    {
+        return fc.size();
+    }
+
+    public int read(ByteBuffer dst, long position) throws IOException
+    {
+        if (latencyMillis > 0)
+        {
+            try
+            {
+                Thread.sleep(latencyMillis);
+            }
+            catch (InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+        readCount++;
+        int read = 0;
+        while (dst.hasRemaining())
+        {
+            int count = fc.read(dst, position + read);
+            if (count < 0)
+            {
+                break;
+            }
+            read += count;
+        }
+        if (read == 0 && position >= fc.size())
+        {
+            return -1;
+        }
+        bytesRead += read;
+        return read;
+    }
+
+    /**
+     * @return number of reads made so far
+     */
+    public int getReadCount()
+    {
+        return readCount;
+    }
+
+    /**
+     * @return number of bytes read so far
+     */
+    public long getBytesRead()
+    {
+        return bytesRead;
+    }
+
+    public void close() throws IOException
+    {
+        raf.close();
+    }
+}
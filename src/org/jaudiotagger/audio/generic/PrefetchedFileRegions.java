@@ -0,0 +1,207 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Holds the single channel opened for a file together with prefetched copies of its head and tail.
+ * <br>
+ * The parsers that need to look at the start of the file (ID3v2 tag, audio header detection) and at the end of
+ * the file (ID3v1, Lyrics3, APEv2) take their data from here, so a file is opened once and the small reads
+ * they issue are served from memory. Requests that do not fit completely in one of the windows are read
+ * from the channel.
+ * <br>
+ * @author Artem Izmaylov (www.aimp.ru)
+ **/
+public class PrefetchedFileRegions
+{
+    /**
+     * Big enough for most ID3v2 tags without artwork, plus the first few audio frames
+     */
+    public static final int DEFAULT_HEAD_WINDOW_SIZE = 64 * 1024;
+
+    /**
+     * Big enough for ID3v1, a Lyrics3v2 tag and a typical APEv2 tag
+     */
+    public static final int DEFAULT_TAIL_WINDOW_SIZE = 8 * 1024;
+
+    private final FileChannel fc;
+    private final long fileSize;
+    private final ByteBuffer head;
+    private final ByteBuffer tail;
+    private final long tailStart;
+
+    /**
+     * Prefetch the default head and tail windows of the file
+     *
+     * @param fc channel of the file, the caller is responsible for closing it
+     * @throws IOException
+     */
+    public PrefetchedFileRegions(FileChannel fc) throws IOException
+    {
+        this(fc, DEFAULT_HEAD_WINDOW_SIZE, DEFAULT_TAIL_WINDOW_SIZE);
+    }
+
+    /**
+     * Prefetch the head and tail windows of the file, a window size of zero disables prefetching for that end
+     *
+     * @param fc channel of the file, the caller is responsible for closing it
+     * @param headWindowSize
+     * @param tailWindowSize
+     * @throws IOException
+     */
+    public PrefetchedFileRegions(FileChannel fc, int headWindowSize, int tailWindowSize) throws IOException
+    {
+        this.fc = fc;
+        this.fileSize = fc.size();
+        this.head = readFully(0, (int) Math.min(headWindowSize, fileSize));
+
+        long start = Math.max(0, fileSize - tailWindowSize);
+        if (tailWindowSize <= 0)
+        {
+            this.tailStart = fileSize;
+            this.tail = ByteBuffer.allocate(0);
+        }
+        else if (fileSize <= head.limit())
+        {
+            //Whole file is already in the head window
+            this.tailStart = start;
+            this.tail = slice(head, (int) start, (int) (fileSize - start));
+        }
+        else
+        {
+            this.tailStart = start;
+            this.tail = readFully(start, (int) (fileSize - start));
+        }
+    }
+
+    public FileChannel getChannel()
+    {
+        return fc;
+    }
+
+    public long getFileSize()
+    {
+        return fileSize;
+    }
+
+    /**
+     * @return view of the prefetched start of the file
+     */
+    public ByteBuffer getHead()
+    {
+        return head.duplicate();
+    }
+
+    /**
+     * @return view of the prefetched end of the file
+     */
+    public ByteBuffer getTail()
+    {
+        return tail.duplicate();
+    }
+
+    /**
+     * Return the bytes from position of the file, the buffer is positioned at zero and its limit is less than
+     * length only if the end of the file has been reached.
+     * <br>
+     * If the range is held in one of the prefetched windows the result is a view of that window, which is shared
+     * with the other parsers so must not be modified, otherwise the range is read from the channel into a new buffer.
+     *
+     * @param position
+     * @param length
+     * @return
+     * @throws IOException
+     */
+    public ByteBuffer read(long position, int length) throws IOException
+    {
+        if (position < 0 || length < 0)
+        {
+            throw new IllegalArgumentException("Invalid range:" + position + ":" + length);
+        }
+
+        int available = (int) Math.max(0, Math.min(length, fileSize - position));
+        if (available == 0)
+        {
+            return ByteBuffer.allocate(0);
+        }
+        if (position + available <= head.limit())
+        {
+            return slice(head, (int) position, available);
+        }
+        if (position >= tailStart)
+        {
+            return slice(tail, (int) (position - tailStart), available);
+        }
+        return readFully(position, available);
+    }
+
+    /**
+     * Fill dst with the bytes from position of the file, copying from one of the prefetched windows if the range
+     * is held in it, otherwise reading from the channel. Allows the caller to reuse its own buffer between reads.
+     *
+     * @param position
+     * @param dst
+     * @return the number of bytes transferred, less than dst.remaining() only if the end of the file has been reached
+     * @throws IOException
+     */
+    public int read(long position, ByteBuffer dst) throws IOException
+    {
+        int available = (int) Math.max(0, Math.min(dst.remaining(), fileSize - position));
+        if (available == 0)
+        {
+            return 0;
+        }
+        if (position + available <= head.limit())
+        {
+            dst.put(slice(head, (int) position, available));
+            return available;
+        }
+        if (position >= tailStart)
+        {
+            dst.put(slice(tail, (int) (position - tailStart), available));
+            return available;
+        }
+
+        int start = dst.position();
+        while (dst.position() - start < available)
+        {
+            if (fc.read(dst, position + dst.position() - start) < 0)
+            {
+                break;
+            }
+        }
+        return dst.position() - start;
+    }
+
+    /**
+     * Read length bytes from position of the channel into a new buffer, without changing the channel position
+     *
+     * @param position
+     * @param length
+     * @return buffer positioned at zero, limited to the number of bytes actually read
+     * @throws IOException
+     */
+    private ByteBuffer readFully(long position, int length) throws IOException
+    {
+        ByteBuffer bb = ByteBuffer.allocate(length);
+        while (bb.hasRemaining())
+        {
+            if (fc.read(bb, position + bb.position()) < 0)
+            {
+                break;
+            }
+        }
+        bb.flip();
+        return bb;
+    }
+
+    private static ByteBuffer slice(ByteBuffer source, int offset, int length)
+    {
+        ByteBuffer view = source.duplicate();
+        view.position(offset);
+        view.limit(offset + length);
+        return view.slice();
+    }
+}
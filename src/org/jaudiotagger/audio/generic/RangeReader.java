@@ -0,0 +1,33 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Source of the bytes of an audio file that is read by position, such as a file held in a remote store
+ *
+ * <p>Each call may be a separate request to the store, so callers should ask for a few large ranges rather than many
+ * small ones, see {@link ReadPlanner} and {@link RangeReaderChannel} which read audio files through a RangeReader.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public interface RangeReader extends Closeable
+{
+    /**
+     * @return length of the file in bytes
+     * @throws IOException
+     */
+    long size() throws IOException;
+
+    /**
+     * Read bytes from the file into the remaining space of the buffer
+     *
+     * @param dst      buffer to read into, its position is advanced by the number of bytes read
+     * @param position position in the file of the first byte to read
+     * @return number of bytes read, which may be less than the space in the buffer, or -1 if position is at or
+     *         beyond the end of the file
+     * @throws IOException
+     */
+    int read(ByteBuffer dst, long position) throws IOException;
+}
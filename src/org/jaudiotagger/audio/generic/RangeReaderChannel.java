@@ -0,0 +1,317 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read only FileChannel over a {@link RangeReader}, so the audio file readers can read from it as they would from a
+ * local file
+ *
+ * <p>The bytes fetched from the reader are kept, so the many small reads the audio file readers make are served from
+ * memory. Ranges known to be needed can be fetched up front with {@link #prefetch(List)}, see {@link ReadPlanner},
+ * anything else is fetched when it is first read together with the bytes that follow it. The read ahead doubles each
+ * time reading carries on from where the last fetch ended, so reading through a large region takes few fetches.
+ *
+ * <p>Instances are not thread safe, closing the channel closes the reader.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class RangeReaderChannel extends FileChannel
+{
+    private static final int MIN_READ_AHEAD = 64 * 1024;
+    private static final int MAX_READ_AHEAD = 1024 * 1024;
+
+    //Ranges longer than this are left to be fetched as they are read
+    private static final int MAX_PREFETCH_LENGTH = 32 * 1024 * 1024;
+
+    private final RangeReader reader;
+    private final long size;
+
+    //Fetched bytes keyed by their position in the file, the blocks never overlap
+    private final TreeMap<Long, byte[]> blocks = new TreeMap<>();
+
+    private long position;
+    private long lastFetchEnd = -1;
+    private int readAhead = MIN_READ_AHEAD;
+
+    /**
+     * @param reader source of the bytes
+     * @throws IOException if the size of the file cannot be found
+     */
+    public RangeReaderChannel(RangeReader reader) throws IOException
+    {
+        this.reader = reader;
+        this.size = reader.size();
+    }
+
+    /**
+     * Fetch the given ranges, one fetch is made for each range that is not already held
+     *
+     * @param ranges ranges to fetch, usually coalesced with {@link ByteRange#coalesce(List, long)}
+     * @throws IOException
+     */
+    public void prefetch(List<ByteRange> ranges) throws IOException
+    {
+        ensureOpen();
+        for (ByteRange range : ranges)
+        {
+            long start = range.getStart();
+            long end = Math.min(size, range.getEnd());
+
+            //Trim the parts at either end that are already held
+            while (start < end)
+            {
+                Map.Entry<Long, byte[]> entry = blocks.floorEntry(start);
+                if (entry == null || entry.getKey() + entry.getValue().length <= start)
+                {
+                    break;
+                }
+                start = entry.getKey() + entry.getValue().length;
+            }
+            while (start < end)
+            {
+                Map.Entry<Long, byte[]> entry = blocks.floorEntry(end - 1);
+                if (entry == null || entry.getKey() + entry.getValue().length < end)
+                {
+                    break;
+                }
+                end = entry.getKey();
+            }
+
+            if (start >= end || end - start > MAX_PREFETCH_LENGTH || isHeld(start, end))
+            {
+                continue;
+            }
+
+            //Any blocks left inside the range are fetched again as part of it rather than splitting the fetch
+            blocks.subMap(start, end).clear();
+            fetch(start, end);
+        }
+    }
+
+    /**
+     * @param start
+     * @param end
+     * @return true if every byte from start to end is already held
+     */
+    private boolean isHeld(long start, long end)
+    {
+        long next = start;
+        for (Map.Entry<Long, byte[]> entry : blocks.subMap(start, end).entrySet())
+        {
+            if (entry.getKey() != next)
+            {
+                return false;
+            }
+            next = entry.getKey() + entry.getValue().length;
+        }
+        return next >= end;
+    }
+
+    private void fetch(long start, long end) throws IOException
+    {
+        byte[] data = new byte[(int) (end - start)];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining())
+        {
+            if (reader.read(buffer, start + buffer.position()) <= 0)
+            {
+                throw new IOException("Range reader ended at " + (start + buffer.position()) + " before the end of the file at " + size);
+            }
+        }
+        blocks.put(start, data);
+        lastFetchEnd = end;
+    }
+
+    /**
+     * Fetch the bytes at position that are not held, together with the bytes that follow them up to the next held
+     * block
+     */
+    private void fetchMissing(long position, int needed) throws IOException
+    {
+        if (position == lastFetchEnd)
+        {
+            readAhead = Math.min(readAhead * 2, MAX_READ_AHEAD);
+        }
+        else
+        {
+            readAhead = MIN_READ_AHEAD;
+        }
+        long end = Math.min(size, position + Math.max(needed, readAhead));
+        Long next = blocks.higherKey(position);
+        if (next != null && next < end)
+        {
+            end = next;
+        }
+        fetch(position, end);
+    }
+
+    private void ensureOpen() throws IOException
+    {
+        if (!isOpen())
+        {
+            throw new ClosedChannelException();
+        }
+    }
+
+    public int read(ByteBuffer dst, long position) throws IOException
+    {
+        ensureOpen();
+        if (position >= size)
+        {
+            return -1;
+        }
+        int total = 0;
+        while (dst.hasRemaining() && position < size)
+        {
+            Map.Entry<Long, byte[]> entry = blocks.floorEntry(position);
+            if (entry != null && entry.getKey() + entry.getValue().length > position)
+            {
+                int offset = (int) (position - entry.getKey());
+                int count = Math.min(dst.remaining(), entry.getValue().length - offset);
+                dst.put(entry.getValue(), offset, count);
+                position += count;
+                total += count;
+            }
+            else
+            {
+                fetchMissing(position, dst.remaining());
+            }
+        }
+        return total;
+    }
+
+    public int read(ByteBuffer dst) throws IOException
+    {
+        int read = read(dst, position);
+        if (read > 0)
+        {
+            position += read;
+        }
+        return read;
+    }
+
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException
+    {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++)
+        {
+            int read = read(dsts[i]);
+            if (read < 0)
+            {
+                return total == 0 ? -1 : total;
+            }
+            total += read;
+            if (dsts[i].hasRemaining())
+            {
+                break;
+            }
+        }
+        return total;
+    }
+
+    public long position() throws IOException
+    {
+        ensureOpen();
+        return position;
+    }
+
+    public FileChannel position(long newPosition) throws IOException
+    {
+        ensureOpen();
+        if (newPosition < 0)
+        {
+            throw new IllegalArgumentException();
+        }
+        position = newPosition;
+        return this;
+    }
+
+    public long size() throws IOException
+    {
+        ensureOpen();
+        return size;
+    }
+
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, MIN_READ_AHEAD));
+        long transferred = 0;
+        while (transferred < count)
+        {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+            if (read(buffer, position + transferred) <= 0)
+            {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                transferred += target.write(buffer);
+            }
+        }
+        return transferred;
+    }
+
+    public int write(ByteBuffer src)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public long write(ByteBuffer[] srcs, int offset, int length)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public int write(ByteBuffer src, long position)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public FileChannel truncate(long size)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public long transferFrom(ReadableByteChannel src, long position, long count)
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public void force(boolean metaData)
+    {
+        //Nothing is ever written
+    }
+
+    public MappedByteBuffer map(MapMode mode, long position, long size)
+    {
+        throw new UnsupportedOperationException("Range reader channels cannot be mapped");
+    }
+
+    public FileLock lock(long position, long size, boolean shared)
+    {
+        throw new UnsupportedOperationException("Range reader channels cannot be locked");
+    }
+
+    public FileLock tryLock(long position, long size, boolean shared)
+    {
+        throw new UnsupportedOperationException("Range reader channels cannot be locked");
+    }
+
+    protected void implCloseChannel() throws IOException
+    {
+        blocks.clear();
+        reader.close();
+    }
+}
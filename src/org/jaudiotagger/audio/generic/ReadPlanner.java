@@ -0,0 +1,301 @@
+package org.jaudiotagger.audio.generic;
+
+import org.jaudiotagger.StandardCharsets;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Works out which ranges of an audio file the readers will need so they can be fetched in a few large reads
+ *
+ * <p>The plan is made in two steps. The initial ranges only depend on the format and size of the file, the head of
+ * the file and for formats whose tags may be at the end the tail of the file. The dependent ranges are found from the
+ * bytes of the initial ranges, such as the end of an ID3v2 tag, an APEv2 tag before the end of the file, the FLAC
+ * metadata blocks, the MP4 moov atom or the ASF header object. Ranges that are close together are read as one, and
+ * anything the plan misses is still read on demand by {@link RangeReaderChannel}.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class ReadPlanner
+{
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.generic");
+
+    /** Bytes read from the start of every file, and after an ID3v2 tag for the first audio frames */
+    public static final int HEAD_WINDOW = 64 * 1024;
+
+    /** Bytes read from the end of files that may hold tags there */
+    public static final int TAIL_WINDOW = 64 * 1024;
+
+    /** Ranges separated by no more than this are read as one */
+    public static final int MAX_GAP = 64 * 1024;
+
+    private static final int ID3V2_HEADER_LENGTH = 10;
+    private static final int APE_FOOTER_LENGTH = 32;
+    private static final int ID3V1_LENGTH = 128;
+    private static final int ASF_HEADER_SIZE_OFFSET = 16;
+    private static final int DSF_METADATA_OFFSET = 20;
+
+    //Stop walking FLAC blocks or MP4 atoms in a damaged file
+    private static final int MAX_WALK = 1024;
+
+    /**
+     * Ranges that can be planned from the format and size alone
+     *
+     * @param ext  extension of the format
+     * @param size length of the file
+     * @return the ranges, not coalesced
+     */
+    public List<ByteRange> planInitial(String ext, long size)
+    {
+        List<ByteRange> ranges = new ArrayList<>();
+        ranges.add(new ByteRange(0, Math.min(size, HEAD_WINDOW)));
+        if (hasTagsAtEnd(ext))
+        {
+            ranges.add(new ByteRange(Math.max(0, size - TAIL_WINDOW), size));
+        }
+        return ranges;
+    }
+
+    /**
+     * Ranges found from the bytes of the initial ranges, reading the channel for anything the initial ranges did not
+     * cover
+     *
+     * @param ext extension of the format
+     * @param fc  channel to read
+     * @return the ranges, not coalesced
+     * @throws IOException
+     */
+    public List<ByteRange> planDependent(String ext, FileChannel fc) throws IOException
+    {
+        List<ByteRange> ranges = new ArrayList<>();
+        long size = fc.size();
+        switch (ext)
+        {
+            case "mp3":
+            {
+                //The whole ID3v2 tag, which may extend past the head window, then the first audio frames after it
+                long audioStart = getId3v2End(fc, 0);
+                if (audioStart > 0)
+                {
+                    ranges.add(new ByteRange(0, audioStart));
+                }
+                ranges.add(new ByteRange(audioStart, Math.min(size, audioStart + HEAD_WINDOW)));
+                addApeTag(fc, ranges);
+                break;
+            }
+
+            case "ape":
+                addApeTag(fc, ranges);
+                break;
+
+            case "flac":
+                addFlacMetadata(fc, ranges);
+                break;
+
+            case "mp4":
+            case "m4a":
+            case "m4b":
+            case "m4p":
+                addMp4Moov(fc, ranges);
+                break;
+
+            case "wma":
+            {
+                ByteBuffer buffer = read(fc, ASF_HEADER_SIZE_OFFSET, 8);
+                if (buffer != null)
+                {
+                    long headerSize = buffer.order(ByteOrder.LITTLE_ENDIAN).getLong();
+                    if (headerSize > 0 && headerSize <= size)
+                    {
+                        ranges.add(new ByteRange(0, headerSize));
+                    }
+                }
+                break;
+            }
+
+            case "dsf":
+            {
+                ByteBuffer buffer = read(fc, DSF_METADATA_OFFSET, 8);
+                if (buffer != null)
+                {
+                    long metadataOffset = buffer.order(ByteOrder.LITTLE_ENDIAN).getLong();
+                    if (metadataOffset > 0 && metadataOffset < size)
+                    {
+                        ranges.add(new ByteRange(metadataOffset, size));
+                    }
+                }
+                break;
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Fetch the initial ranges and then the dependent ranges of the file
+     *
+     * @param fc  channel to fetch into
+     * @param ext extension of the format
+     * @throws IOException
+     */
+    public void prefetch(RangeReaderChannel fc, String ext) throws IOException
+    {
+        List<ByteRange> initial = ByteRange.coalesce(planInitial(ext, fc.size()), MAX_GAP);
+        logger.config("Initial read plan for " + ext + ":" + initial);
+        fc.prefetch(initial);
+
+        List<ByteRange> dependent = ByteRange.coalesce(planDependent(ext, fc), MAX_GAP);
+        logger.config("Dependent read plan for " + ext + ":" + dependent);
+        fc.prefetch(dependent);
+    }
+
+    private boolean hasTagsAtEnd(String ext)
+    {
+        switch (ext)
+        {
+            case "mp3":
+            case "ape":
+            case "wav":
+            case "aif":
+            case "aifc":
+            case "aiff":
+            case "dff":
+            case "ogg":
+            case "oga":
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return position after the ID3v2 tag at position, or position if there is none
+     */
+    private long getId3v2End(FileChannel fc, long position) throws IOException
+    {
+        ByteBuffer header = read(fc, position, ID3V2_HEADER_LENGTH);
+        if (header == null || header.get(0) != 'I' || header.get(1) != 'D' || header.get(2) != '3')
+        {
+            return position;
+        }
+        int tagSize = ((header.get(6) & 0x7F) << 21) | ((header.get(7) & 0x7F) << 14) | ((header.get(8) & 0x7F) << 7) | (header.get(9) & 0x7F);
+        boolean hasFooter = (header.get(5) & 0x10) != 0;
+        return Math.min(fc.size(), position + ID3V2_HEADER_LENGTH + tagSize + (hasFooter ? ID3V2_HEADER_LENGTH : 0));
+    }
+
+    /**
+     * Add the APEv2 tag at the end of the file or before an ID3v1 tag
+     */
+    private void addApeTag(FileChannel fc, List<ByteRange> ranges) throws IOException
+    {
+        long size = fc.size();
+        for (long footerEnd : new long[]{size, size - ID3V1_LENGTH})
+        {
+            ByteBuffer footer = read(fc, footerEnd - APE_FOOTER_LENGTH, APE_FOOTER_LENGTH);
+            if (footer != null && "APETAGEX".equals(new String(footer.array(), 0, 8, StandardCharsets.ISO_8859_1)))
+            {
+                footer.order(ByteOrder.LITTLE_ENDIAN);
+                long tagSize = footer.getInt(12) & 0xFFFFFFFFL;
+                boolean hasHeader = (footer.getInt(20) & 0x80000000) != 0;
+                long start = footerEnd - tagSize - (hasHeader ? APE_FOOTER_LENGTH : 0);
+                if (start >= 0)
+                {
+                    ranges.add(new ByteRange(start, footerEnd));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Add the metadata blocks, walking their headers to find where they end
+     */
+    private void addFlacMetadata(FileChannel fc, List<ByteRange> ranges) throws IOException
+    {
+        long start = getId3v2End(fc, 0);
+        ByteBuffer marker = read(fc, start, 4);
+        if (marker == null || !"fLaC".equals(new String(marker.array(), 0, 4, StandardCharsets.ISO_8859_1)))
+        {
+            return;
+        }
+        long position = start + 4;
+        for (int i = 0; i < MAX_WALK; i++)
+        {
+            ByteBuffer header = read(fc, position, 4);
+            if (header == null)
+            {
+                break;
+            }
+            int length = ((header.get(1) & 0xFF) << 16) | ((header.get(2) & 0xFF) << 8) | (header.get(3) & 0xFF);
+            position += 4 + length;
+            if ((header.get(0) & 0x80) != 0)
+            {
+                break;
+            }
+        }
+        ranges.add(new ByteRange(start, Math.min(fc.size(), position)));
+    }
+
+    /**
+     * Add the moov atom, walking the top level atoms to find it
+     */
+    private void addMp4Moov(FileChannel fc, List<ByteRange> ranges) throws IOException
+    {
+        long size = fc.size();
+        long position = 0;
+        for (int i = 0; i < MAX_WALK && position + 8 <= size; i++)
+        {
+            ByteBuffer header = read(fc, position, (int) Math.min(16, size - position));
+            if (header == null)
+            {
+                break;
+            }
+            long atomSize = header.getInt(0) & 0xFFFFFFFFL;
+            String type = new String(header.array(), 4, 4, StandardCharsets.ISO_8859_1);
+            if (atomSize == 1 && header.limit() == 16)
+            {
+                atomSize = header.getLong(8);
+            }
+            else if (atomSize == 0)
+            {
+                atomSize = size - position;
+            }
+            if (atomSize < 8)
+            {
+                break;
+            }
+            if ("moov".equals(type))
+            {
+                ranges.add(new ByteRange(position, Math.min(size, position + atomSize)));
+                break;
+            }
+            position += atomSize;
+        }
+    }
+
+    /**
+     * @return buffer holding length bytes from position, or null if they are not all within the file
+     */
+    private ByteBuffer read(FileChannel fc, long position, int length) throws IOException
+    {
+        if (position < 0 || position + length > fc.size())
+        {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+        {
+            if (fc.read(buffer, position + buffer.position()) <= 0)
+            {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
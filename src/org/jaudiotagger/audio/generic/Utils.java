@@ -77,6 +77,18 @@ public class Utils
 		return FileTypeUtil.getMagicExt(fileType);
 	}
 
+    /**
+     * Returns the extension of the file open on the given channel based on the file signature.
+     * The extension is empty if the file signature is not recognized.
+     *
+     * @param fc The channel of the file whose extension is requested, its position is not changed
+     * @return The extension of the file
+     */
+	public static String getMagicExtension(FileChannel fc) throws IOException{
+		String fileType = FileTypeUtil.getMagicFileType(fc);
+		return FileTypeUtil.getMagicExt(fileType);
+	}
+
     /**
      * Computes a number whereby the 1st byte is the least signifcant and the last
      * byte is the most significant.
@@ -425,6 +437,95 @@ public class Utils
         }
     }
 
+    /**
+     * Copy a region of one file to the current position of another with {@link FileChannel#transferTo}, so the
+     * data can be moved by the operating system without passing through the Java heap. transferTo may copy less
+     * than requested so it is repeated until the whole region has been copied.
+     *
+     * @param source   channel to copy from, its position is not changed
+     * @param position start of the region in source
+     * @param count    number of bytes to copy
+     * @param target   channel to copy to, its position is advanced by count
+     * @throws IOException if source ends before count bytes have been copied
+     */
+    public static void transferFully(FileChannel source, long position, long count, FileChannel target) throws IOException
+    {
+        long transferred = 0;
+        while (transferred < count)
+        {
+            long copied = source.transferTo(position + transferred, count - transferred, target);
+            if (copied <= 0)
+            {
+                throw new IOException("Source ended with " + (count - transferred) + " bytes still to copy");
+            }
+            transferred += copied;
+        }
+    }
+
+    /**
+     * Read from the current position of the channel into the array, reading until the array is full or the channel
+     * ends just like {@link RandomAccessFile#read(byte[])}, so readers working on a channel behave the same as those
+     * working on a file. Any part of the array not read into is left unchanged.
+     *
+     * @param fc channel to read from, its position is advanced by the number of bytes read
+     * @param b array to read into
+     * @return number of bytes read, or -1 if the channel was already at its end
+     * @throws IOException
+     */
+    public static int read(FileChannel fc, byte[] b) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(b);
+        while (buffer.hasRemaining())
+        {
+            if (fc.read(buffer) < 0)
+            {
+                break;
+            }
+        }
+        if (buffer.position() == 0 && b.length > 0)
+        {
+            return -1;
+        }
+        return buffer.position();
+    }
+
+    /**
+     * Read from the current position of the channel until the buffer is full
+     *
+     * @param fc channel to read from, its position is advanced by the number of bytes read
+     * @param buffer buffer to fill from its position to its limit
+     * @throws EOFException if the channel ends before the buffer is full
+     * @throws IOException
+     */
+    public static void readFully(FileChannel fc, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (fc.read(buffer) < 0)
+            {
+                throw new EOFException("Unexpected end of file at:" + fc.position());
+            }
+        }
+    }
+
+    /**
+     * Read one byte from the current position of the channel, like {@link RandomAccessFile#readByte()}
+     *
+     * @param fc channel to read from, its position is advanced by one
+     * @return the byte
+     * @throws EOFException if the channel is at its end
+     * @throws IOException
+     */
+    public static byte readByte(FileChannel fc) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        if (fc.read(buffer) <= 0)
+        {
+            throw new EOFException();
+        }
+        return buffer.get(0);
+    }
+
     /**
      * Reads 4 bytes and concatenates them into a String.
      * This pattern is used for ID's of various kinds.
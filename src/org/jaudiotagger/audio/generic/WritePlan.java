@@ -0,0 +1,114 @@
+package org.jaudiotagger.audio.generic;
+
+/**
+ * The way a tag is to be written to a file as chosen by {@link WritePlanner}, with the space the metadata will take
+ * and the number of bytes that are expected to be moved
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class WritePlan
+{
+    private final WriteStrategy strategy;
+    private final long fileSize;
+    private final long metadataStart;
+    private final long availableRoom;
+    private final long neededRoom;
+    private final long newRoom;
+    private final long bytesMoved;
+    private final double cost;
+
+    public WritePlan(WriteStrategy strategy, long fileSize, long metadataStart, long availableRoom, long neededRoom, long newRoom, long bytesMoved, double cost)
+    {
+        this.strategy = strategy;
+        this.fileSize = fileSize;
+        this.metadataStart = metadataStart;
+        this.availableRoom = availableRoom;
+        this.neededRoom = neededRoom;
+        this.newRoom = newRoom;
+        this.bytesMoved = bytesMoved;
+        this.cost = cost;
+    }
+
+    public WriteStrategy getStrategy()
+    {
+        return strategy;
+    }
+
+    /**
+     * @return length of the file before writing
+     */
+    public long getFileSize()
+    {
+        return fileSize;
+    }
+
+    /**
+     * @return position of the metadata in the file, the bytes before it are not changed
+     */
+    public long getMetadataStart()
+    {
+        return metadataStart;
+    }
+
+    /**
+     * @return space taken by the existing metadata including its padding
+     */
+    public long getAvailableRoom()
+    {
+        return availableRoom;
+    }
+
+    /**
+     * @return space needed by the new metadata without padding
+     */
+    public long getNeededRoom()
+    {
+        return neededRoom;
+    }
+
+    /**
+     * @return space the new metadata will take including its padding
+     */
+    public long getNewRoom()
+    {
+        return newRoom;
+    }
+
+    /**
+     * @return padding left after the new metadata
+     */
+    public long getPadding()
+    {
+        return newRoom - neededRoom;
+    }
+
+    /**
+     * @return position of the data that follows the metadata before writing
+     */
+    public long getDataStart()
+    {
+        return metadataStart + availableRoom;
+    }
+
+    /**
+     * @return number of bytes that are expected to be read and written again, not counting the metadata itself
+     */
+    public long getBytesMoved()
+    {
+        return bytesMoved;
+    }
+
+    /**
+     * @return estimated cost of the plan, in bytes copied forwards to a new file
+     */
+    public double getCost()
+    {
+        return cost;
+    }
+
+    public String toString()
+    {
+        return strategy + ":fileSize:" + fileSize + ":metadataStart:" + metadataStart + ":availableRoom:" + availableRoom
+                + ":neededRoom:" + neededRoom + ":newRoom:" + newRoom + ":bytesMoved:" + bytesMoved + ":cost:" + (long) cost;
+    }
+}
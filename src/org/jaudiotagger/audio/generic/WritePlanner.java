@@ -0,0 +1,126 @@
+package org.jaudiotagger.audio.generic;
+
+import org.jaudiotagger.tag.TagOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Chooses how to write a changed tag to a file
+ *
+ * <p>The format describes the padding it can hold when the planner is created, the plan is then made from the size of
+ * the file and of the existing and new metadata. The new metadata is written into the existing space if it fits
+ * leaving padding the format can hold. Otherwise the data after the metadata has to be moved, either in place or by
+ * copying the whole file to a new file, and the one expected to cost less is chosen. Shifting data towards the end of
+ * the file reads and writes it backwards, which costs {@link TagOptions#getShiftCostFactor()} times as much per byte as
+ * copying forwards, while a new file has to copy the bytes before the metadata as well and has a fixed cost for
+ * creating, flushing and renaming it. If the file identity is to be preserved the new file is copied back into the
+ * original file, which doubles its cost.
+ *
+ * <p>The last plan made on a thread can be inspected with {@link #getLastPlan()}.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class WritePlanner
+{
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.generic");
+
+    /**
+     * Fixed cost of writing a new file, in bytes copied
+     */
+    public static final long REWRITE_OVERHEAD = 1024 * 1024;
+
+    private static final String TEMP_FILENAME_SUFFIX = ".tmp";
+
+    private static final ThreadLocal<WritePlan> lastPlan = new ThreadLocal<>();
+
+    private final int minimumPadding;
+    private final int growthPadding;
+    private final long maximumPadding;
+
+    /**
+     * @param minimumPadding smallest padding the format can hold, less than this has to be none at all
+     * @param growthPadding  padding to add when the data after the metadata has to be moved anyway
+     * @param maximumPadding most padding to keep, more than this is removed by moving the data after the metadata
+     */
+    public WritePlanner(int minimumPadding, int growthPadding, long maximumPadding)
+    {
+        this.minimumPadding = minimumPadding;
+        this.growthPadding = growthPadding;
+        this.maximumPadding = maximumPadding;
+    }
+
+    /**
+     * @return the last plan made on the calling thread, or null if none has been made
+     */
+    public static WritePlan getLastPlan()
+    {
+        return lastPlan.get();
+    }
+
+    /**
+     * Plan writing new metadata over the existing metadata of a file
+     *
+     * @param fileSize        length of the file
+     * @param metadataStart   position of the existing metadata
+     * @param availableRoom   space taken by the existing metadata including its padding
+     * @param neededRoom      space needed by the new metadata without padding
+     * @param rewriteAllowed  false if the file cannot be replaced by a new file
+     * @return the plan
+     */
+    public WritePlan plan(long fileSize, long metadataStart, long availableRoom, long neededRoom, boolean rewriteAllowed)
+    {
+        long leftover = availableRoom - neededRoom;
+        long dataLength = fileSize - (metadataStart + availableRoom);
+
+        WritePlan plan;
+        if (leftover == 0 || (leftover >= minimumPadding && leftover <= maximumPadding))
+        {
+            plan = new WritePlan(WriteStrategy.USE_PADDING, fileSize, metadataStart, availableRoom, neededRoom, availableRoom, 0, 0);
+        }
+        else
+        {
+            long newRoom = neededRoom + Math.min(growthPadding, maximumPadding);
+            WriteStrategy inPlaceStrategy;
+            double inPlaceCost;
+            if (newRoom > availableRoom)
+            {
+                inPlaceStrategy = WriteStrategy.SHIFT_IN_PLACE;
+                inPlaceCost = dataLength * TagOptions.current().getShiftCostFactor();
+            }
+            else
+            {
+                inPlaceStrategy = WriteStrategy.SHRINK_PADDING;
+                inPlaceCost = dataLength;
+            }
+
+            long rewriteMoved = metadataStart + dataLength;
+            double rewriteCost = (rewriteMoved + newRoom) * (TagOptions.current().isPreserveFileIdentity() ? 2 : 1) + REWRITE_OVERHEAD;
+            if (rewriteAllowed && rewriteCost < inPlaceCost)
+            {
+                plan = new WritePlan(WriteStrategy.REWRITE, fileSize, metadataStart, availableRoom, neededRoom, newRoom, rewriteMoved, rewriteCost);
+            }
+            else
+            {
+                plan = new WritePlan(inPlaceStrategy, fileSize, metadataStart, availableRoom, neededRoom, newRoom, dataLength, inPlaceCost);
+            }
+        }
+        logger.config("Write plan:" + plan);
+        lastPlan.set(plan);
+        return plan;
+    }
+
+    /**
+     * Create the new file for a {@link WriteStrategy#REWRITE} plan, in the same folder as the original so it can be
+     * renamed over it
+     *
+     * @param file the original file
+     * @return an empty file
+     * @throws IOException
+     */
+    public static File createRewriteFile(File file) throws IOException
+    {
+        return File.createTempFile(file.getName().replace('.', '_'), TEMP_FILENAME_SUFFIX, file.getAbsoluteFile().getParentFile());
+    }
+}
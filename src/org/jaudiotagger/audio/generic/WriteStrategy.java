@@ -0,0 +1,33 @@
+package org.jaudiotagger.audio.generic;
+
+/**
+ * How a changed tag is written to a file, see {@link WritePlanner}
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public enum WriteStrategy
+{
+    /**
+     * The tag fits in the space of the existing tag, any space left over is kept as padding and nothing else in the
+     * file is moved
+     */
+    USE_PADDING,
+
+    /**
+     * The tag leaves more padding than the format wants to keep, so the data after it is moved towards the start
+     * of the file and the file is truncated
+     */
+    SHRINK_PADDING,
+
+    /**
+     * The tag does not fit, so the data after it is shifted towards the end of the file, working backwards from the
+     * end of the file
+     */
+    SHIFT_IN_PLACE,
+
+    /**
+     * The tag does not fit or leaves too much padding, so the whole file is copied to a new file with the new tag
+     * which then replaces the original
+     */
+    REWRITE
+}
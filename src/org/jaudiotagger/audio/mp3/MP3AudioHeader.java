@@ -22,6 +22,7 @@ package org.jaudiotagger.audio.mp3;
 import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.jaudiotagger.audio.generic.PrefetchedFileRegions;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.logging.Hex;
@@ -145,6 +146,24 @@ public class MP3AudioHeader implements AudioHeader
         }
     }
 
+    /**
+     * Search for the first MP3Header in the file starting from location startByte, reading through the
+     * regions already opened and prefetched for the file rather than opening it again.
+     *
+     * @param regions   open file with its prefetched head and tail
+     * @param startByte
+     * @param fileName  used for logging
+     * @throws IOException
+     * @throws InvalidAudioFrameException
+     */
+    public MP3AudioHeader(PrefetchedFileRegions regions, long startByte, String fileName) throws IOException, InvalidAudioFrameException
+    {
+        if (!seek(regions, startByte, fileName))
+        {
+            throw new InvalidAudioFrameException(ErrorMessage.NO_AUDIO_HEADER_FOUND.getMsg(fileName));
+        }
+    }
+
     /**
      * Returns true if the first MP3 frame can be found for the MP3 file
      *
@@ -156,6 +175,34 @@ public class MP3AudioHeader implements AudioHeader
      * @throws IOException on any I/O error
      */
     public boolean seek(File seekFile, long startByte) throws IOException
+    {
+        FileInputStream fis = new FileInputStream(seekFile);
+        FileChannel fc = fis.getChannel();
+        try
+        {
+            //Nothing is prefetched, every chunk is read from the channel as required
+            return seek(new PrefetchedFileRegions(fc, 0, 0), startByte, seekFile.getName());
+        }
+        finally
+        {
+            fc.close();
+            fis.close();
+        }
+    }
+
+    /**
+     * Returns true if the first MP3 frame can be found for the MP3 file
+     *
+     * This is the first byte of  music data and not the ID3 Tag Frame, chunks that lie within the prefetched
+     * head of the file are taken from there rather than being read again.
+     *
+     * @param regions   open file with its prefetched head and tail
+     * @param startByte if there is an ID3v2tag we dont want to start reading from the start of the tag
+     * @param fileName  used for logging
+     * @return true if the first MP3 frame can be found
+     * @throws IOException on any I/O error
+     */
+    public boolean seek(PrefetchedFileRegions regions, long startByte, String fileName) throws IOException
     {
         //References to Xing/VRbi Header
         ByteBuffer header;
@@ -163,109 +210,98 @@ public class MP3AudioHeader implements AudioHeader
         //This is substantially faster than updating the filechannels position
         long filePointerCount;
 
-        FileInputStream fis = new FileInputStream(seekFile);
-        FileChannel fc = fis.getChannel();
-
-        //Read into Byte Buffer in Chunks
-        ByteBuffer bb = ByteBuffer.allocateDirect(FILE_BUFFER_SIZE);
-
-        //Move FileChannel to the starting position (skipping over tag if any)
-        fc.position(startByte);
-
         //Update filePointerCount
         filePointerCount = startByte;
 
-        //Read from here into the byte buffer , doesn't move location of filepointer
-        fc.read(bb, startByte);
-        bb.flip();
+        //Read into Byte Buffer in Chunks, starting after the tag if any
+        MPEGFrameSyncScanner scanner = new MPEGFrameSyncScanner(regions);
+        ByteBuffer bb = scanner.getBuffer();
+        int available = scanner.fill(filePointerCount);
+        int offset = 0;
 
         boolean syncFound = false;
         try
         {
             do
             {
-                //TODO remaining() is quite an expensive operation, isn't there a way we can work this out without
-                //interrogating the bytebuffer. Also this is rarely going to be true, and could be made less true
-                //by increasing FILE_BUFFER_SIZE
-                if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED)
+                //Only positions that leave enough of the chunk to read a header and Xing frame are checked
+                if (available <= MIN_BUFFER_REMAINING_REQUIRED)
                 {
-                    bb.clear();
-                    fc.position(filePointerCount);
-                    fc.read(bb, fc.position());
-                    bb.flip();
-                    if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED)
-                    {
-                        //No mp3 exists
-                        return false;
-                    }
+                    //No mp3 exists
+                    return false;
                 }
-                //MP3File.logger.finest("fc:"+fc.position() + "bb"+bb.position());
-                if (MPEGFrameHeader.isMPEGFrame(bb))
+                int end = available - MIN_BUFFER_REMAINING_REQUIRED;
+                int candidate = scanner.findCandidate(offset, end);
+                if (candidate < 0)
                 {
-                    try
+                    filePointerCount += end - offset;
+                    available = scanner.fill(filePointerCount);
+                    offset = 0;
+                    continue;
+                }
+                filePointerCount += candidate - offset;
+                offset = candidate;
+                bb.position(offset);
+
+                try
+                {
+                    if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
                     {
-                        if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
-                        {
-                            MP3AudioHeader.logger.finest("Found Possible header at:" + filePointerCount);
-                        }
+                        MP3AudioHeader.logger.finest("Found Possible header at:" + filePointerCount);
+                    }
 
-                        mp3FrameHeader = MPEGFrameHeader.parseMPEGHeader(bb);
-                        syncFound = true;
-                        //if(2==1) use this line when you want to test getting the next frame without using xing
+                    mp3FrameHeader = MPEGFrameHeader.parseMPEGHeader(bb);
+                    syncFound = true;
+                    //if(2==1) use this line when you want to test getting the next frame without using xing
 
-                        if ((header = XingFrame.isXingFrame(bb, mp3FrameHeader)) != null)
+                    if ((header = XingFrame.isXingFrame(bb, mp3FrameHeader)) != null)
+                    {
+                        if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
                         {
-                            if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
-                            {
-                                MP3AudioHeader.logger.finest("Found Possible XingHeader");
-                            }
-                            //Parses Xing frame without modifying position of main buffer
-                            mp3XingFrame = XingFrame.parseXingFrame(header);
-
-                            break;
+                            MP3AudioHeader.logger.finest("Found Possible XingHeader");
                         }
-                        else if ((header = VbriFrame.isVbriFrame(bb, mp3FrameHeader)) != null)
-                        {
-                            if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
-                            {
-                                MP3AudioHeader.logger.finest("Found Possible VbriHeader");
-                            }
-                            //Parses Vbri frame without modifying position of main buffer
-                            mp3VbriFrame = VbriFrame.parseVBRIFrame(header);
+                        //Parses Xing frame without modifying position of main buffer
+                        mp3XingFrame = XingFrame.parseXingFrame(header);
 
-                            break;
-                        }
-                        // There is a small but real chance that an unsynchronised ID3 Frame could fool the MPEG
-                        // Parser into thinking it was an MPEG Header. If this happens the chances of the next bytes
-                        // forming a Xing frame header are very remote. On the basis that  most files these days have
-                        // Xing headers we do an additional check for when an apparent frame header has been found
-                        // but is not followed by a Xing Header:We check the next header this wont impose a large
-                        // overhead because wont apply to most Mpegs anyway ( Most likely to occur if audio
-                        // has an  APIC frame which should have been unsynchronised but has not been) , or if the frame
-                        // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
-                        else
+                        break;
+                    }
+                    else if ((header = VbriFrame.isVbriFrame(bb, mp3FrameHeader)) != null)
+                    {
+                        if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
                         {
-                            syncFound = isNextFrameValid(seekFile, filePointerCount, bb, fc);
-                            if (syncFound)
-                            {
-                                break;
-                            }
+                            MP3AudioHeader.logger.finest("Found Possible VbriHeader");
                         }
+                        //Parses Vbri frame without modifying position of main buffer
+                        mp3VbriFrame = VbriFrame.parseVBRIFrame(header);
 
+                        break;
                     }
-                    catch (InvalidAudioFrameException ex)
+                    // There is a small but real chance that an unsynchronised ID3 Frame could fool the MPEG
+                    // Parser into thinking it was an MPEG Header. If this happens the chances of the next bytes
+                    // forming a Xing frame header are very remote. On the basis that  most files these days have
+                    // Xing headers we do an additional check for when an apparent frame header has been found
+                    // but is not followed by a Xing Header:We check the next header this wont impose a large
+                    // overhead because wont apply to most Mpegs anyway ( Most likely to occur if audio
+                    // has an  APIC frame which should have been unsynchronised but has not been) , or if the frame
+                    // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
+                    else
                     {
-                        // We Ignore because likely to be incorrect sync bits ,
-                        // will just continue in loop
+                        syncFound = isNextFrameValid(fileName, filePointerCount, bb, regions);
+                        if (syncFound)
+                        {
+                            break;
+                        }
                     }
+
+                }
+                catch (InvalidAudioFrameException ex)
+                {
+                    // We Ignore because likely to be incorrect sync bits ,
+                    // will just continue in loop
                 }
 
-                //TODO position() is quite an expensive operation, isn't there a way we can work this out without
-                //interrogating the bytebuffer
-                bb.position(bb.position() + 1);
+                offset++;
                 filePointerCount++;
-
-
             }
             while (!syncFound);
         }
@@ -274,25 +310,13 @@ public class MP3AudioHeader implements AudioHeader
             MP3AudioHeader.logger.log(Level.SEVERE, "IOException occurred whilst trying to find sync", iox);
             throw iox;
         }
-        finally
-        {
-            if (fc != null)
-            {
-                fc.close();
-            }
-
-            if (fis != null)
-            {
-                fis.close();
-            }
-        }
 
         //Return to start of audio header
         if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
         {
             MP3AudioHeader.logger.finer("Return found matching mp3 header starting at" + filePointerCount);
         }
-        setFileSize(seekFile.length());
+        setFileSize(regions.getFileSize());
         setMp3StartByte(filePointerCount);
         setTimePerFrame();
         setNumberOfFrames();
@@ -301,7 +325,7 @@ public class MP3AudioHeader implements AudioHeader
         setEncoder();
         /*if((filePointerCount - startByte )>0)
         {
-            logger.severe(seekFile.getName()+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
+            logger.severe(fileName+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
         }
         */
         return syncFound;
@@ -310,22 +334,23 @@ public class MP3AudioHeader implements AudioHeader
     /**
      * Called in some circumstances to check the next frame to ensure we have the correct audio header
      *
-     * @param seekFile
+     * @param fileName
      * @param filePointerCount
      * @param bb
-     * @param fc
+     * @param regions
      * @return true if frame is valid
      * @throws java.io.IOException
      */
-    private boolean isNextFrameValid(File seekFile, long filePointerCount, ByteBuffer bb, FileChannel fc) throws IOException
+    private boolean isNextFrameValid(String fileName, long filePointerCount, ByteBuffer bb, PrefetchedFileRegions regions) throws IOException
     {
         if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
         {
-            MP3AudioHeader.logger.finer("Checking next frame" + seekFile.getName() + ":fpc:" + filePointerCount + "skipping to:" + (filePointerCount + mp3FrameHeader.getFrameLength()));
+            MP3AudioHeader.logger.finer("Checking next frame" + fileName + ":fpc:" + filePointerCount + "skipping to:" + (filePointerCount + mp3FrameHeader.getFrameLength()));
         }
         boolean result = false;
 
-        int currentPosition = bb.position();
+        //Work on our own view so the position of the main buffer is left alone
+        ByteBuffer frames = bb.duplicate();
 
         //Our buffer is not large enough to fit in the whole of this frame, something must
         //have gone wrong because frames are not this large, so just return false
@@ -337,17 +362,13 @@ public class MP3AudioHeader implements AudioHeader
         }
 
         //Check for end of buffer if not enough room get some more
-        if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength())
-        {
-            MP3AudioHeader.logger.finer("Buffer too small, need to reload, buffer size:" + bb.remaining());
-            bb.clear();
-            fc.position(filePointerCount);
-            fc.read(bb, fc.position());
-            bb.flip();
-            //So now original buffer has been replaced, so set current position to start of buffer
-            currentPosition = 0;
+        if (frames.remaining() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength())
+        {
+            MP3AudioHeader.logger.finer("Buffer too small, need to reload, buffer size:" + frames.remaining());
+            //Starts at the current frame, the main buffer may be a view of the shared head so is not refilled
+            frames = regions.read(filePointerCount, FILE_BUFFER_SIZE);
             //Not enough left
-            if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED)
+            if (frames.limit() <= MIN_BUFFER_REMAINING_REQUIRED)
             {
                 //No mp3 exists
                 MP3AudioHeader.logger.finer("Nearly at end of file, no header found:");
@@ -355,7 +376,7 @@ public class MP3AudioHeader implements AudioHeader
             }
 
             //Still Not enough left for next alleged frame size so giving up
-            if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength())
+            if (frames.limit() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength())
             {
                 //No mp3 exists
                 MP3AudioHeader.logger.finer("Nearly at end of file, no room for next frame, no header found:");
@@ -363,13 +384,13 @@ public class MP3AudioHeader implements AudioHeader
             }
         }
 
-        //Position bb to the start of the alleged next frame
-        bb.position(bb.position() + mp3FrameHeader.getFrameLength());
-        if (MPEGFrameHeader.isMPEGFrame(bb))
+        //Position to the start of the alleged next frame
+        frames.position(frames.position() + mp3FrameHeader.getFrameLength());
+        if (MPEGFrameHeader.isMPEGFrame(frames))
         {
             try
             {
-                MPEGFrameHeader.parseMPEGHeader(bb);
+                MPEGFrameHeader.parseMPEGHeader(frames);
                 MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
                 result = true;
             }
@@ -383,8 +404,6 @@ public class MP3AudioHeader implements AudioHeader
         {
             MP3AudioHeader.logger.finer("isMPEGFrame has identified this is not an audio header");
         }
-        //Set back to the start of the previous frame
-        bb.position(currentPosition);
         return result;
     }
 
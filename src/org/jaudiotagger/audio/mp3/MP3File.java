@@ -28,6 +28,7 @@ import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
 import org.jaudiotagger.audio.generic.AudioFileWithCommonTags;
+import org.jaudiotagger.audio.generic.PrefetchedFileRegions;
 import org.jaudiotagger.logging.AbstractTagDisplayFormatter;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.logging.Hex;
@@ -36,7 +37,7 @@ import org.jaudiotagger.logging.XMLTagDisplayFormatter;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
 import org.jaudiotagger.tag.TagNotFoundException;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 import org.jaudiotagger.tag.id3.AbstractTag;
 import org.jaudiotagger.tag.id3.ID3v1Tag;
@@ -102,6 +103,7 @@ public class MP3File extends AudioFileWithCommonTags
 
     /**
      *
+     * @param regions
      * @param startByte
      * @param endByte
      * @return
@@ -110,20 +112,15 @@ public class MP3File extends AudioFileWithCommonTags
      * @return true if all the bytes between in the file between startByte and endByte are null, false
      * otherwise
      */
-    private boolean isFilePortionNull(int startByte, int endByte) throws IOException
+    private boolean isFilePortionNull(PrefetchedFileRegions regions, int startByte, int endByte) throws IOException
     {
         logger.config("Checking file portion:" + Hex.asHex(startByte) + ":" + Hex.asHex(endByte));
-        try (FileInputStream fis = new FileInputStream(file); FileChannel fc = fis.getChannel())
+        ByteBuffer bb = regions.read(startByte, endByte - startByte);
+        while (bb.hasRemaining())
         {
-            fc.position(startByte);
-            ByteBuffer bb = ByteBuffer.allocateDirect(endByte - startByte);
-            fc.read(bb);
-            while (bb.hasRemaining())
+            if (bb.get() != 0)
             {
-                if (bb.get() != 0)
-                {
-                    return false;
-                }
+                return false;
             }
         }
         return true;
@@ -132,23 +129,24 @@ public class MP3File extends AudioFileWithCommonTags
      * Regets the audio header starting from start of file, and write appropriate logging to indicate
      * potential problem to user.
      *
+     * @param regions
      * @param startByte
      * @param firstHeaderAfterTag
      * @return
      * @throws IOException
      * @throws InvalidAudioFrameException
      */
-    private MP3AudioHeader checkAudioStart(long startByte, MP3AudioHeader firstHeaderAfterTag) throws IOException, InvalidAudioFrameException
+    private MP3AudioHeader checkAudioStart(PrefetchedFileRegions regions, long startByte, MP3AudioHeader firstHeaderAfterTag) throws IOException, InvalidAudioFrameException
     {
         MP3AudioHeader headerOne;
         MP3AudioHeader headerTwo;
 
-        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(file.getPath(), Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
+        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(loggingName, Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
 
         //because we cant agree on start location we reread the audioheader from the start of the file, at least
         //this way we cant overwrite the audio although we might overwrite part of the tag if we write this file
         //back later
-        headerOne = new MP3AudioHeader(file, 0);
+        headerOne = new MP3AudioHeader(regions, 0, loggingName);
         logger.config("Checking from start:" + headerOne);
 
         //Although the id3 tag size appears to be incorrect at least we have found the same location for the start
@@ -156,7 +154,7 @@ public class MP3File extends AudioFileWithCommonTags
         //problem
         if (firstHeaderAfterTag.getMp3StartByte() == headerOne.getMp3StartByte())
         {
-            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(loggingName,
                     Hex.asHex(headerOne.getMp3StartByte())));
             return firstHeaderAfterTag;
         }
@@ -164,13 +162,13 @@ public class MP3File extends AudioFileWithCommonTags
         {
 
             //We get a different value if read from start, can't guarantee 100% correct lets do some more checks
-            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(loggingName,
                             Hex.asHex(headerOne.getMp3StartByte()))));
 
             //Same frame count so probably both audio headers with newAudioHeader being the first one
             if (firstHeaderAfterTag.getNumberOfFrames() == headerOne.getNumberOfFrames())
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingName,
                                 Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
@@ -178,20 +176,20 @@ public class MP3File extends AudioFileWithCommonTags
             //If the size reported by the tag header is a little short and there is only nulls between the recorded value
             //and the start of the first audio found then we stick with the original header as more likely that currentHeader
             //DataInputStream not really a header
-            if(isFilePortionNull((int) startByte,(int) firstHeaderAfterTag.getMp3StartByte()))
+            if(isFilePortionNull(regions, (int) startByte,(int) firstHeaderAfterTag.getMp3StartByte()))
             {
                 return firstHeaderAfterTag;
             }
 
             //Skip to the next header (header 2, counting from start of file)
-            headerTwo = new MP3AudioHeader(file, headerOne.getMp3StartByte()
-                    + headerOne.mp3FrameHeader.getFrameLength());
+            headerTwo = new MP3AudioHeader(regions, headerOne.getMp3StartByte()
+                    + headerOne.mp3FrameHeader.getFrameLength(), loggingName);
 
             //It matches the header we found when doing the original search from after the ID3Tag therefore it
             //seems that newAudioHeader was a false match and the original header was correct
             if (headerTwo.getMp3StartByte() == firstHeaderAfterTag.getMp3StartByte())
             {
-                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(loggingName,
                                 Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -200,14 +198,14 @@ public class MP3File extends AudioFileWithCommonTags
             //however it maybe that neither are really headers and just contain the same data being misrepresented as headers.
             if (headerTwo.getNumberOfFrames() == headerOne.getNumberOfFrames())
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingName,
                                 Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
             ///Doesnt match the frameCount lets go back to the original header
             else
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingName,
                                 Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -231,6 +229,22 @@ public class MP3File extends AudioFileWithCommonTags
         super(file, readOnly, loadOptions);
     }
 
+    /**
+     * Creates a new MP3File dataType and parse the tag from the given open channel, the tags can only be written
+     * back to a channel because there is no file.
+     *
+     * @param fc          channel of the MP3 file, it is left open
+     * @param name        name of the file used in log messages
+     * @param loadOptions decide what tags to load
+     * @throws IOException  on any I/O error
+     * @throws TagException on any exception generated by this library.
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public MP3File(FileChannel fc, String name, int loadOptions) throws IOException, TagException, CannotReadException, InvalidAudioFrameException
+    {
+        super(fc, name, loadOptions);
+    }
+
     /**
      * Used by tags when writing to calculate the location of the music file
      *
@@ -241,16 +255,21 @@ public class MP3File extends AudioFileWithCommonTags
      */
     public long getMP3StartByte(File file) throws InvalidAudioFrameException, IOException
     {
-        //Read ID3v2 tag size (if tag exists) to allow audio header parsing to skip over tag
-        long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(file);
-
-        MP3AudioHeader audioHeader = new MP3AudioHeader(file, startByte);
-        if (startByte != audioHeader.getMp3StartByte())
+        try (FileInputStream fis = new FileInputStream(file); FileChannel fc = fis.getChannel())
         {
-            logger.config("First header found after tag:" + audioHeader);
-            audioHeader = checkAudioStart(startByte, audioHeader);
+            PrefetchedFileRegions regions = new PrefetchedFileRegions(fc, PrefetchedFileRegions.DEFAULT_HEAD_WINDOW_SIZE, 0);
+
+            //Read ID3v2 tag size (if tag exists) to allow audio header parsing to skip over tag
+            long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(regions.getHead());
+
+            MP3AudioHeader audioHeader = new MP3AudioHeader(regions, startByte, file.getName());
+            if (startByte != audioHeader.getMp3StartByte())
+            {
+                logger.config("First header found after tag:" + audioHeader);
+                audioHeader = checkAudioStart(regions, startByte, audioHeader);
+            }
+            return audioHeader.getMp3StartByte();
         }
-        return audioHeader.getMp3StartByte();
     }
 
     /**
@@ -445,7 +464,7 @@ public class MP3File extends AudioFileWithCommonTags
             throw new IOException(ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE_FILE_NOT_FOUND.getMsg(file.getName()));
         }
 
-        if (TagOptionSingleton.getInstance().isCheckIsWritable() && !file.canWrite())
+        if (TagOptions.current().isCheckIsWritable() && !file.canWrite())
         {
             logger.severe(ErrorMessage.GENERAL_WRITE_FAILED.getMsg(file.getName()));
             throw new IOException(ErrorMessage.GENERAL_WRITE_FAILED.getMsg(file.getName()));
@@ -476,22 +495,21 @@ public class MP3File extends AudioFileWithCommonTags
 
     @NonNull
     @Override
-    protected AudioHeader readAudioHeader(@NonNull RandomAccessFile file, long id3v2size) throws CannotReadException, IOException
+    protected AudioHeader readAudioHeader(@NonNull PrefetchedFileRegions regions, long id3v2size) throws CannotReadException, IOException
     {
         try
         {
-            MP3AudioHeader header = new MP3AudioHeader(getFile(), id3v2size);
+            MP3AudioHeader header = new MP3AudioHeader(regions, id3v2size, loggingName);
             //If the audio header is not straight after the end of the tag then search from start of file
             if (id3v2size != header.getMp3StartByte())
             {
                 // AI: probable, the file is MP4 with audio stream encoded by MP3 codec. Checking it.
-                file.seek(0);
-                file.readInt(); // atom size
-                if (file.readInt() == 0x66747970) // "ftyp" atom
+                ByteBuffer head = regions.getHead();
+                if (head.limit() >= 8 && head.getInt(4) == 0x66747970) // "ftyp" atom
                     throw new CannotReadException("The file is not valid MP3!");
 
                 logger.config("First header found after tag:" + header);
-                header = checkAudioStart(id3v2size, header);
+                header = checkAudioStart(regions, id3v2size, header);
             }
             return header;
         }
@@ -579,7 +597,7 @@ public class MP3File extends AudioFileWithCommonTags
     public Tag getTagAndConvertOrCreateDefault()
     {
         Tag tag          = getTagOrCreateDefault();
-        Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, TagOptionSingleton.getInstance().getID3V2Version());
+        Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, TagOptions.current().getID3V2Version());
         if(convertedTag!=null)
         {
             return convertedTag;
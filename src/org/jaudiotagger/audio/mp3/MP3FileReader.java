@@ -1,6 +1,7 @@
 package org.jaudiotagger.audio.mp3;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
@@ -12,6 +13,7 @@ import org.jaudiotagger.tag.TagException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 /**
  * Read Mp3 Info (retrofitted to entagged ,done differently to entagged which is why some methods throw RuntimeException)
@@ -39,6 +41,41 @@ public class MP3FileReader extends AudioFileReader
         return new MP3File(f, MP3File.LOAD_ALL, true);
     }
 
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        try
+        {
+            MP3File mp3File = new MP3File(fc, name, MP3File.LOAD_ALL);
+            mp3File.setFile(f);
+            return mp3File;
+        }
+        catch (TagException | InvalidAudioFrameException e)
+        {
+            throw new CannotReadException(name + ":" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Only the audio header is read, the ID3 and APE tags are skipped over without being parsed
+     *
+     * @param f
+     * @return
+     */
+    @Override
+    public AudioHeader readAudioHeader(File f) throws IOException, CannotReadException, InvalidAudioFrameException
+    {
+        try
+        {
+            return new MP3File(f, MP3File.LOAD_NONE, true).getAudioHeader();
+        }
+        catch (TagException | ReadOnlyFileException e)
+        {
+            //No tags are loaded and the file is opened read only, so should not happen
+            throw new CannotReadException(f.getPath() + ":" + e.getMessage(), e);
+        }
+    }
+
     /**
      * Read
      *
@@ -7,6 +7,7 @@ import org.jaudiotagger.tag.Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 /**
  * Write Mp3 Info (retrofitted to entagged ,done differently to entagged which is why some methods throw RuntimeException)
@@ -41,6 +42,16 @@ public class MP3FileWriter extends AudioFileWriter
         af.commit();
     }
 
+    @Override
+    protected boolean writeTagToChannel(AudioFile af, Tag tag, FileChannel fc) throws CannotWriteException, IOException
+    {
+        //As with commit the tags held by the MP3File are saved, moving the audio within the channel if the ID3v2 tag
+        //does not fit
+        fileWillBeModifiedInPlace(af);
+        ((MP3File) af).save(fc);
+        return true;
+    }
+
     protected void writeTag(AudioFile audioFile, Tag tag, RandomAccessFile raf, RandomAccessFile rafTemp) throws IOException
     {
         throw new RuntimeException("MP3FileReader.writeTag should not be called");
@@ -42,8 +42,6 @@ public final class MPEGFrameHeader
     public static final int SYNC_BYTE2 = 0xE0;
     public static final int SYNC_BIT_ANDSAMPING_BYTE3 = 0xFC;
 
-    private static final byte[] header = new byte[HEADER_SIZE];
-
 
     /**
      * Constants for MPEG Version
@@ -851,6 +849,8 @@ public final class MPEGFrameHeader
      */
     public static MPEGFrameHeader parseMPEGHeader(ByteBuffer bb) throws InvalidAudioFrameException
     {
+        //Each header keeps its own copy of the bytes, so they cannot be shared between calls or threads
+        byte[] header = new byte[HEADER_SIZE];
         int position = bb.position();
         bb.get(header, 0, HEADER_SIZE);
         bb.position(position);
@@ -0,0 +1,144 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.jaudiotagger.audio.generic.PrefetchedFileRegions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Searches a file for the possible start of an MPEG frame
+ *
+ * <p>The file is loaded in large chunks into a single heap array that is reused for every chunk. The array is
+ * scanned eight bytes at a time for 0xFF bytes, by treating each group of eight as a long, and the bits of the
+ * two bytes that follow a 0xFF are then looked up in a table of the version, layer, bitrate and sampling rate
+ * combinations that {@link MPEGFrameHeader} accepts. Only positions that pass are returned to the caller for
+ * a full parse, so junk or unsynchronised data before the audio is skipped over without any per byte calls.
+ */
+final class MPEGFrameSyncScanner
+{
+    /**
+     * Size of the chunks the file is read in
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long LOW_BITS  = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * Indexed by the version, layer and protection bits of the second header byte followed by the bitrate and
+     * sampling rate bits of the third header byte, true if MPEGFrameHeader would accept the combination
+     */
+    private static final boolean[] validHeaderBits = new boolean[2048];
+
+    static
+    {
+        byte[] header = new byte[MPEGFrameHeader.HEADER_SIZE];
+        for (int i = 0; i < validHeaderBits.length; i++)
+        {
+            header[0] = (byte) MPEGFrameHeader.SYNC_BYTE1;
+            header[1] = (byte) (MPEGFrameHeader.SYNC_BYTE2 | (i >>> 6));
+            header[2] = (byte) ((i & 0x3F) << 2);
+            //Fourth byte only holds mode, mode extension and emphasis, all zero values are valid for any frame
+            header[3] = 0;
+            try
+            {
+                MPEGFrameHeader.parseMPEGHeader(ByteBuffer.wrap(header));
+                validHeaderBits[i] = true;
+            }
+            catch (InvalidAudioFrameException ex)
+            {
+                validHeaderBits[i] = false;
+            }
+        }
+    }
+
+    private final PrefetchedFileRegions regions;
+    private final byte[] data = new byte[BUFFER_SIZE];
+    private final ByteBuffer buffer = ByteBuffer.wrap(data);
+    private final ByteBuffer words = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+
+    MPEGFrameSyncScanner(PrefetchedFileRegions regions)
+    {
+        this.regions = regions;
+    }
+
+    /**
+     * Load the chunk of the file starting at filePosition, replacing the current one
+     *
+     * @param filePosition
+     * @return number of bytes loaded, less than BUFFER_SIZE only at the end of the file
+     * @throws IOException
+     */
+    int fill(long filePosition) throws IOException
+    {
+        buffer.clear();
+        int available = regions.read(filePosition, buffer);
+        buffer.flip();
+        return available;
+    }
+
+    /**
+     * @return the current chunk, positioned at zero and limited to the bytes loaded. Its position may be moved
+     * by the caller but the content must not be modified.
+     */
+    ByteBuffer getBuffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Find the first possible frame header within the current chunk
+     *
+     * @param from offset in the chunk to start from
+     * @param end  offset in the chunk to stop at, at least two bytes before the end of the chunk
+     * @return offset of the possible header or -1 if none found before end
+     */
+    int findCandidate(int from, int end)
+    {
+        int offset = from;
+        while (offset + 8 <= end)
+        {
+            //Inverting turns 0xFF into zero bytes, the lowest zero byte of a little endian long is the first one
+            //in the file and is flagged exactly, false flags can only occur above it
+            long inverted = ~words.getLong(offset);
+            long zeroBytes = (inverted - LOW_BITS) & ~inverted & HIGH_BITS;
+            if (zeroBytes == 0)
+            {
+                offset += 8;
+                continue;
+            }
+
+            int candidate = offset + (Long.numberOfTrailingZeros(zeroBytes) >>> 3);
+            if (isValidHeaderStart(candidate))
+            {
+                return candidate;
+            }
+            offset = candidate + 1;
+        }
+
+        for (; offset < end; offset++)
+        {
+            if (data[offset] == (byte) MPEGFrameHeader.SYNC_BYTE1 && isValidHeaderStart(offset))
+            {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param offset of a 0xFF byte
+     * @return true if the bytes that follow it could form a frame header
+     */
+    private boolean isValidHeaderStart(int offset)
+    {
+        int second = data[offset + 1];
+        if ((second & MPEGFrameHeader.SYNC_BYTE2) != MPEGFrameHeader.SYNC_BYTE2)
+        {
+            return false;
+        }
+        return validHeaderBits[((second & 0x1F) << 6) | ((data[offset + 2] & 0xFC) >>> 2)];
+    }
+}
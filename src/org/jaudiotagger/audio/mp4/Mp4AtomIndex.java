@@ -0,0 +1,314 @@
+package org.jaudiotagger.audio.mp4;
+
+import org.jaudiotagger.audio.mp4.atom.Mp4BoxHeader;
+import org.jaudiotagger.audio.mp4.atom.NullPadding;
+
+import java.util.Arrays;
+
+/**
+ * Flat index of the atoms in an mp4 file
+ *
+ * The file position, length, identifier and parent of each atom are held in parallel primitive arrays, in the
+ * order the atoms are found in the file so a parent always comes before its children. Atoms are referred to by
+ * their position in the index, and can be looked up by path, i.e moov/udta/meta/ilst, so the writer can plan its
+ * changes without a tree of node objects.
+ *
+ * The length is the 32 bit length held in the atom header, so is 1 for an atom with a 64 bit length.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class Mp4AtomIndex
+{
+    /**
+     * Parent of the top level atoms, and returned by lookups that find nothing
+     */
+    public static final int NONE = -1;
+
+    //Identifier recorded for the null padding that can be found at the end of a file
+    private static final int NULL_PADDING = 0;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] filePositions = new long[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int[] identifiers = new int[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Add an atom, must be called in file order
+     *
+     * @param header of the atom, with its file position set
+     * @param parent index of the parent atom or NONE if top level
+     * @return index of the atom
+     */
+    int add(Mp4BoxHeader header, int parent)
+    {
+        if (size == lengths.length)
+        {
+            int capacity = size * 2;
+            filePositions = Arrays.copyOf(filePositions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            identifiers = Arrays.copyOf(identifiers, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+        }
+        filePositions[size] = header.getFilePos();
+        lengths[size] = header.getLength();
+        identifiers[size] = header instanceof NullPadding ? NULL_PADDING : toIdentifier(header.getId());
+        parents[size] = parent;
+        return size++;
+    }
+
+    /**
+     * @return number of atoms in the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param index
+     * @return location in file of the start of the atom header
+     */
+    public long getFilePos(int index)
+    {
+        return filePositions[index];
+    }
+
+    /**
+     * @param index
+     * @return length of the atom including the header, as held in the header
+     */
+    public int getLength(int index)
+    {
+        return lengths[index];
+    }
+
+    /**
+     * @param index
+     * @return the atom identifier
+     */
+    public String getId(int index)
+    {
+        int identifier = identifiers[index];
+        char[] chars = new char[Mp4BoxHeader.IDENTIFIER_LENGTH];
+        for (int i = 0; i < chars.length; i++)
+        {
+            chars[i] = (char) ((identifier >>> (24 - i * 8)) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param index
+     * @return index of the parent atom or NONE if top level
+     */
+    public int getParent(int index)
+    {
+        return parents[index];
+    }
+
+    /**
+     * @param index
+     * @return true if the atom is the null padding found at the end of some files
+     */
+    public boolean isNullPadding(int index)
+    {
+        return identifiers[index] == NULL_PADDING;
+    }
+
+    /**
+     * @param index
+     * @return index of the atom immediately before this one with the same parent, or NONE
+     */
+    public int getPreviousSibling(int index)
+    {
+        int parent = parents[index];
+        for (int i = index - 1; i > parent; i--)
+        {
+            if (parents[i] == parent)
+            {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @param index
+     * @return index of the atom immediately after this one with the same parent, or NONE
+     */
+    public int getNextSibling(int index)
+    {
+        int parent = parents[index];
+        for (int i = index + 1; i < size; i++)
+        {
+            if (parents[i] == parent)
+            {
+                return i;
+            }
+            //Past the children of this atom without finding a sibling, so we have left the parent
+            if (!isDescendant(i, index))
+            {
+                return NONE;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Create a header for the atom, changes to it do not affect the index
+     *
+     * @param index of the atom or NONE
+     * @return header with the file position set, or null if index is NONE
+     */
+    public Mp4BoxHeader getBoxHeader(int index)
+    {
+        if (index == NONE)
+        {
+            return null;
+        }
+        if (isNullPadding(index))
+        {
+            return new NullPadding(filePositions[index], filePositions[index] + lengths[index]);
+        }
+        Mp4BoxHeader header = new Mp4BoxHeader(getId(index));
+        header.setLength(lengths[index]);
+        header.setFilePos(filePositions[index]);
+        return header;
+    }
+
+    /**
+     * Find the first atom with the given path from the top level, i.e moov/udta/meta/ilst
+     *
+     * @param path identifiers separated by /
+     * @return index of the atom or NONE
+     */
+    public int find(String path)
+    {
+        int[] pathIdentifiers = toPath(path);
+        for (int i = 0; i < size; i++)
+        {
+            if (matches(i, pathIdentifiers))
+            {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Find the last atom with the given path from the top level
+     *
+     * @param path identifiers separated by /
+     * @return index of the atom or NONE
+     */
+    public int findLast(String path)
+    {
+        int[] pathIdentifiers = toPath(path);
+        for (int i = size - 1; i >= 0; i--)
+        {
+            if (matches(i, pathIdentifiers))
+            {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Find all atoms with the given path from the top level, i.e moov/trak/mdia/minf/stbl/stco
+     *
+     * @param path identifiers separated by /
+     * @return indexes of the atoms in file order
+     */
+    public int[] findAll(String path)
+    {
+        int[] pathIdentifiers = toPath(path);
+        int count = 0;
+        for (int i = 0; i < size; i++)
+        {
+            if (matches(i, pathIdentifiers))
+            {
+                count++;
+            }
+        }
+        int[] found = new int[count];
+        count = 0;
+        for (int i = 0; i < size && count < found.length; i++)
+        {
+            if (matches(i, pathIdentifiers))
+            {
+                found[count++] = i;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find the first child of an atom with the given identifier
+     *
+     * @param parent index of the parent or NONE for the top level
+     * @param id
+     * @return index of the atom or NONE
+     */
+    public int findChild(int parent, String id)
+    {
+        int identifier = toIdentifier(id);
+        for (int i = parent + 1; i < size; i++)
+        {
+            if (parents[i] == parent && identifiers[i] == identifier)
+            {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean isDescendant(int index, int ancestor)
+    {
+        for (int i = parents[index]; i != NONE; i = parents[i])
+        {
+            if (i == ancestor)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(int index, int[] pathIdentifiers)
+    {
+        int atom = index;
+        for (int i = pathIdentifiers.length - 1; i >= 0; i--)
+        {
+            if (atom == NONE || identifiers[atom] != pathIdentifiers[i])
+            {
+                return false;
+            }
+            atom = parents[atom];
+        }
+        return atom == NONE;
+    }
+
+    private static int[] toPath(String path)
+    {
+        String[] ids = path.split("/");
+        int[] pathIdentifiers = new int[ids.length];
+        for (int i = 0; i < ids.length; i++)
+        {
+            pathIdentifiers[i] = toIdentifier(ids[i]);
+        }
+        return pathIdentifiers;
+    }
+
+    private static int toIdentifier(String id)
+    {
+        if (id.length() != Mp4BoxHeader.IDENTIFIER_LENGTH)
+        {
+            throw new IllegalArgumentException("Invalid atom identifier:" + id);
+        }
+        return ((id.charAt(0) & 0xFF) << 24) | ((id.charAt(1) & 0xFF) << 16) | ((id.charAt(2) & 0xFF) << 8) | (id.charAt(3) & 0xFF);
+    }
+}
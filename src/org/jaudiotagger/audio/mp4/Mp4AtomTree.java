@@ -2,14 +2,17 @@ package org.jaudiotagger.audio.mp4;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.NullBoxIdException;
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.mp4.atom.Mp4BoxHeader;
+import org.jaudiotagger.audio.mp4.atom.Mp4Co64Box;
 import org.jaudiotagger.audio.mp4.atom.Mp4MetaBox;
 import org.jaudiotagger.audio.mp4.atom.Mp4StcoBox;
 import org.jaudiotagger.audio.mp4.atom.NullPadding;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.mp4.Mp4FieldKey;
+import org.jaudiotagger.tag.mp4.atom.Mp4DataBox;
 import org.jaudiotagger.utils.tree.DefaultMutableTreeNode;
 import org.jaudiotagger.utils.tree.DefaultTreeModel;
-import org.jaudiotagger.utils.tree.TreeNode;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
@@ -17,7 +20,6 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -28,33 +30,46 @@ import java.util.logging.Logger;
  * it would be impossible to create a complete tree for any file without understanding all the nodes because
  * some atoms such as meta contain data and children and therefore need to be specially preprocessed)
  *
- * This class is currently only used when writing tags because it better handles the difficulties of mdat and free
- * atoms being optional/multiple places then the older sequential method. It is expected this class will eventually
- * be used when reading tags as well.
+ * This class is used when reading and writing tags because it better handles the difficulties of mdat and free
+ * atoms being optional/multiple places then the older sequential method.
  *
- * Uses a TreeModel for the tree, with convenience methods holding onto references to most common nodes so they
- * can be used without having to traverse the tree again.
+ * The atoms are recorded in a flat {@link Mp4AtomIndex}, with the index of the most common atoms held onto so they
+ * can be used without having to search again. A TreeModel of the atoms is only created if one of the node methods
+ * is called.
  */
 public class Mp4AtomTree
 {
-    private DefaultMutableTreeNode<Object> rootNode;
+    private final Mp4AtomIndex atomIndex = new Mp4AtomIndex();
+    private int moovIndex = Mp4AtomIndex.NONE;
+    private int mdatIndex = Mp4AtomIndex.NONE;
+    private int ilstIndex = Mp4AtomIndex.NONE;
+    private int metaIndex = Mp4AtomIndex.NONE;
+    private int tagsIndex = Mp4AtomIndex.NONE;
+    private int udtaIndex = Mp4AtomIndex.NONE;
+    private int hdlrWithinMdiaIndex = Mp4AtomIndex.NONE;
+    private int hdlrWithinMetaIndex = Mp4AtomIndex.NONE;
+
+    //Tree of nodes, only created from the index if asked for
     private DefaultTreeModel<Object> dataTree;
-    private DefaultMutableTreeNode<Object> moovNode;
-    private DefaultMutableTreeNode<Object> mdatNode;
-    private DefaultMutableTreeNode<Object> ilstNode;
-    private DefaultMutableTreeNode<Object> metaNode;
-    private DefaultMutableTreeNode<Object> tagsNode;
-    private DefaultMutableTreeNode<Object> udtaNode;
-    private DefaultMutableTreeNode<Object> hdlrWithinMdiaNode;
-    private DefaultMutableTreeNode<Object> hdlrWithinMetaNode;
-    private final List<DefaultMutableTreeNode<Object>> stcoNodes = new ArrayList<>();
-    private final List<DefaultMutableTreeNode<Object>> freeNodes = new ArrayList<>();
-//    private final List<DefaultMutableTreeNode<Object>> mdatNodes = new ArrayList<>();
-    private final List<DefaultMutableTreeNode<Object>> trakNodes = new ArrayList<>();
+    private List<DefaultMutableTreeNode<Object>> nodes;
 
     private final List<Mp4StcoBox> stcos = new ArrayList<>();
-    private ByteBuffer moovBuffer; //Contains all the data under moov
+    private final List<Mp4Co64Box> co64s = new ArrayList<>();
+    private ByteBuffer moovBuffer; //Contains all the data under moov, less any that was skipped
     private Mp4BoxHeader moovHeader;
+    private boolean loadSampleTables = true;
+    private boolean loadArtwork = true;
+
+    //Number of data bytes kept for each sample table when they are not loaded, enough for the version, flags,
+    //number of entries and first entry of an stco or co64 table
+    private static final int SAMPLE_TABLE_PREFIX_LENGTH = 16;
+
+    //Size the moov buffer starts at when it only holds what is kept, it grows if more is needed
+    private static final int INITIAL_MOOV_BUFFER_SIZE = 64 * 1024;
+
+    //Positions in the moov buffer where data was left out, and the total left out up to and including each
+    private final List<Integer> skippedPositions = new ArrayList<>();
+    private final List<Long> skippedTotals = new ArrayList<>();
 
     //Logger Object
     public static final Logger logger = Logger.getLogger("org.jaudiotagger.audio.mp4");
@@ -85,6 +100,66 @@ public class Mp4AtomTree
         buildTree(raf, closeOnExit);
     }
 
+    /**
+     * Create Atom Tree and maintain open channel to raf, optionally without loading the contents of the sample
+     * tables.
+     *
+     * The sample tables (stts, stsc, stsz, stco ...) make up most of the moov atom in long files but are not needed
+     * to read the audio header or the metadata, when they are not loaded only the start of each is read, so the
+     * first chunk offset of an stco is still available but the rest of its offsets are left out of the
+     * moov buffer, which then only holds what was kept. A tree built this way must not be used to modify the file.
+     *
+     * @param raf
+     * @param closeOnExit to keep randomfileaccess open, only used when randomaccessfile already being used
+     * @param loadSampleTables false to skip loading the contents of the sample tables
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    public Mp4AtomTree(RandomAccessFile raf, boolean closeOnExit, boolean loadSampleTables) throws IOException, CannotReadException
+    {
+        this.loadSampleTables = loadSampleTables;
+        buildTree(raf, closeOnExit);
+    }
+
+    /**
+     * Create Atom Tree without loading the contents of the sample tables, and optionally without loading the image
+     * data of the artwork.
+     *
+     * When the artwork is not loaded only the header, type and locale of each data atom within covr is read and
+     * the image data is left out of the moov buffer, so the tag has to be read with the location of the images
+     * in the file instead.
+     *
+     * @param raf
+     * @param closeOnExit to keep randomfileaccess open, only used when randomaccessfile already being used
+     * @param loadSampleTables false to skip loading the contents of the sample tables
+     * @param loadArtwork false to skip loading the image data of the artwork, only used when loadSampleTables is false
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    public Mp4AtomTree(RandomAccessFile raf, boolean closeOnExit, boolean loadSampleTables, boolean loadArtwork) throws IOException, CannotReadException
+    {
+        this.loadSampleTables = loadSampleTables;
+        this.loadArtwork = loadArtwork;
+        buildTree(raf, closeOnExit);
+    }
+
+    /**
+     * Create Atom Tree from a channel that is left open, optionally without loading the contents of the sample
+     * tables or the image data of the artwork.
+     *
+     * @param fc
+     * @param loadSampleTables false to skip the contents of the sample tables
+     * @param loadArtwork false to skip the image data of the artwork
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    public Mp4AtomTree(FileChannel fc, boolean loadSampleTables, boolean loadArtwork) throws IOException, CannotReadException
+    {
+        this.loadSampleTables = loadSampleTables;
+        this.loadArtwork = loadArtwork;
+        buildTree(fc, false);
+    }
+
     /**
      * Build a tree of the atoms in the file
      *
@@ -95,16 +170,24 @@ public class Mp4AtomTree
      */
     public void buildTree(RandomAccessFile raf, boolean closeExit) throws IOException, CannotReadException
     {
-        FileChannel fc = raf.getChannel();
+        buildTree(raf.getChannel(), closeExit);
+    }
+
+    /**
+     * Build a tree of the atoms in the file open on the channel
+     *
+     * @param fc
+     * @param closeExit false to keep the channel open
+     * @throws IOException
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException
+     */
+    public void buildTree(FileChannel fc, boolean closeExit) throws IOException, CannotReadException
+    {
         try
         {
             //make sure at start of file
             fc.position(0);
 
-            //Build up map of nodes
-            rootNode = new DefaultMutableTreeNode<>();
-            dataTree = new DefaultTreeModel<>(rootNode);
-
             //Iterate though all the top level Nodes
             ByteBuffer headerBuffer = ByteBuffer.allocate(Mp4BoxHeader.HEADER_LENGTH);
             // we need to have at least enough data in the file left
@@ -123,11 +206,10 @@ public class Mp4AtomTree
                 catch(NullBoxIdException ne)
                 {
                     //If we only get this error after all the expected data has been found we allow it
-                    if(moovNode!=null&mdatNode!=null)
+                    if(moovIndex!=Mp4AtomIndex.NONE&mdatIndex!=Mp4AtomIndex.NONE)
                     {
                         NullPadding np = new NullPadding(fc.position() - Mp4BoxHeader.HEADER_LENGTH,fc.size());
-                        DefaultMutableTreeNode<Object> trailingPaddingNode = new DefaultMutableTreeNode<>(np);
-                        rootNode.add(trailingPaddingNode);
+                        atomIndex.add(np, Mp4AtomIndex.NONE);
                         logger.warning(ErrorMessage.NULL_PADDING_FOUND_AT_END_OF_MP4.getMsg(np.getFilePos()));
                         break;
                     }
@@ -139,24 +221,36 @@ public class Mp4AtomTree
                 }
                                    
                 boxHeader.setFilePos(fc.position() - Mp4BoxHeader.HEADER_LENGTH);
-                DefaultMutableTreeNode<Object> newAtom = new DefaultMutableTreeNode<>(boxHeader);
+
+                //A second Moov atom, this is illegal but may just be mess at the end of the file so ignore
+                //and finish
+                if (boxHeader.getId().equals(Mp4AtomIdentifier.MOOV.getFieldName()) && moovIndex!=Mp4AtomIndex.NONE&mdatIndex!=Mp4AtomIndex.NONE)
+                {
+                    logger.warning(ErrorMessage.ADDITIONAL_MOOV_ATOM_AT_END_OF_MP4.getMsg(fc.position() - Mp4BoxHeader.HEADER_LENGTH));
+                    break;
+                }
+                int newAtom = atomIndex.add(boxHeader, Mp4AtomIndex.NONE);
 
                 //Go down moov
                 if (boxHeader.getId().equals(Mp4AtomIdentifier.MOOV.getFieldName()))
                 {
-                    //A second Moov atom, this is illegal but may just be mess at the end of the file so ignore
-                    //and finish
-                    if(moovNode!=null&mdatNode!=null)
-                    {
-                        logger.warning(ErrorMessage.ADDITIONAL_MOOV_ATOM_AT_END_OF_MP4.getMsg(fc.position() - Mp4BoxHeader.HEADER_LENGTH));
-                        break;
-                    }
-                    moovNode    = newAtom;
+                    moovIndex   = newAtom;
                     moovHeader  = boxHeader;
 
                     long filePosStart = fc.position();
-                    moovBuffer = ByteBuffer.allocate(boxHeader.getDataLength());
-                    int bytesRead = fc.read(moovBuffer);
+                    long bytesRead;
+                    if(loadSampleTables)
+                    {
+                        moovBuffer = ByteBuffer.allocate(boxHeader.getDataLength());
+                        bytesRead = fc.read(moovBuffer);
+                    }
+                    else
+                    {
+                        moovBuffer = ByteBuffer.allocate(Math.min(boxHeader.getDataLength(), INITIAL_MOOV_BUFFER_SIZE));
+                        bytesRead = loadChildrenSkippingSampleTables(fc, filePosStart, filePosStart + boxHeader.getDataLength(), Mp4AtomIdentifier.MOOV.getFieldName()) - filePosStart;
+                        moovBuffer.flip();
+                        moovBuffer = moovBuffer.slice();
+                    }
 
                     //If Moov atom is incomplete we are not going to be able to read this file properly
                     if(bytesRead < boxHeader.getDataLength())
@@ -165,14 +259,9 @@ public class Mp4AtomTree
                         throw new CannotReadException(msg);
                     }
                     moovBuffer.rewind();
-                    buildChildrenOfNode(moovBuffer, newAtom);
+                    buildChildren(moovBuffer, newAtom, boxHeader, moovBuffer.limit());
                     fc.position(filePosStart);
                 }
-                else if (boxHeader.getId().equals(Mp4AtomIdentifier.FREE.getFieldName()))
-                {
-                    //Might be multiple in different locations
-                    freeNodes.add(newAtom);
-                }
                 else if (boxHeader.getId().equals(Mp4AtomIdentifier.MDAT.getFieldName()))
                 {
                     //mdatNode always points to the last mDatNode, normally there is just one mdatnode but do have
@@ -182,10 +271,8 @@ public class Mp4AtomTree
                     //{
                     //    throw new CannotReadException(ErrorMessage.MP4_FILE_CONTAINS_MULTIPLE_DATA_ATOMS.getMsg());
                     //}
-                    mdatNode = newAtom;
-//                    mdatNodes.add(newAtom);
+                    mdatIndex = newAtom;
                 }
-                rootNode.add(newAtom);
 
                 //64bit data length
                 if(boxHeader.getLength() == 1)
@@ -217,7 +304,7 @@ public class Mp4AtomTree
 
             //If we cant find the audio then we cannot modify this file so better to throw exception
             //now rather than later when try and write to it.
-            if(mdatNode==null)
+            if(mdatIndex==Mp4AtomIndex.NONE)
             {
                 throw new CannotReadException(ErrorMessage.MP4_CANNOT_FIND_AUDIO.getMsg());
             }
@@ -232,63 +319,271 @@ public class Mp4AtomTree
         }
     }
 
+    /**
+     * Load the children of a container atom within moov onto the end of the moov buffer, only loading the start of
+     * any sample tables, and if the artwork is not being loaded only the start of the data atoms within covr.
+     *
+     * The length of each atom that is cut short, and of the atoms containing it, is changed in the buffer to what
+     * was loaded so the buffer can be parsed as normal, and the data left out is recorded so positions within the
+     * buffer can be mapped back to the file with {@link #getFilePos(int)}.
+     *
+     * @param fc
+     * @param start file position of the first child
+     * @param end file position of the end of the container
+     * @param parentId identifier of the container atom
+     * @return file position up to which the children have been accounted for, less than end only if the end of the
+     * file was reached
+     * @throws IOException
+     */
+    private long loadChildrenSkippingSampleTables(FileChannel fc, long start, long end, String parentId) throws IOException
+    {
+        long pos = start;
+        while (end - pos >= Mp4BoxHeader.HEADER_LENGTH)
+        {
+            int headerPos = moovBuffer.position();
+            int headerRead = loadIntoMoovBuffer(fc, pos, Mp4BoxHeader.HEADER_LENGTH);
+            if (headerRead < Mp4BoxHeader.HEADER_LENGTH)
+            {
+                return pos + headerRead;
+            }
+            int length = moovBuffer.getInt(headerPos);
+            ByteBuffer idBuffer = moovBuffer.duplicate();
+            idBuffer.position(headerPos + Mp4BoxHeader.OFFSET_LENGTH);
+            String id = Utils.readFourBytesAsChars(idBuffer);
+
+            long dataStart = pos + Mp4BoxHeader.HEADER_LENGTH;
+
+            //Anything unexpected, such as a 64bit length, is left to the normal parsing so just load the rest
+            if (length < Mp4BoxHeader.HEADER_LENGTH || length > end - pos)
+            {
+                return dataStart + loadIntoMoovBuffer(fc, dataStart, (int) (end - dataStart));
+            }
+
+            long boxEnd = pos + length;
+            long loaded;
+            if (isSampleTableContainer(id))
+            {
+                loaded = loadChildrenSkippingSampleTables(fc, dataStart, boxEnd, id);
+            }
+            else if (isSampleTable(id))
+            {
+                loaded = loadPrefixIntoMoovBuffer(fc, dataStart, SAMPLE_TABLE_PREFIX_LENGTH, boxEnd);
+            }
+            else if (!loadArtwork && isArtworkContainer(parentId, id))
+            {
+                if (id.equals(Mp4AtomIdentifier.META.getFieldName()))
+                {
+                    //Meta has flags before its children
+                    long flagsEnd = Math.min(dataStart + Mp4MetaBox.FLAGS_LENGTH, boxEnd);
+                    loaded = dataStart + loadIntoMoovBuffer(fc, dataStart, (int) (flagsEnd - dataStart));
+                    if (loaded == flagsEnd)
+                    {
+                        loaded = loadChildrenSkippingSampleTables(fc, flagsEnd, boxEnd, id);
+                    }
+                }
+                else
+                {
+                    loaded = loadChildrenSkippingSampleTables(fc, dataStart, boxEnd, id);
+                }
+            }
+            else if (!loadArtwork && parentId.equals(Mp4FieldKey.ARTWORK.getFieldName()) && id.equals(Mp4DataBox.IDENTIFIER))
+            {
+                loaded = loadPrefixIntoMoovBuffer(fc, dataStart, Mp4DataBox.PRE_DATA_LENGTH, boxEnd);
+            }
+            else
+            {
+                loaded = dataStart + loadIntoMoovBuffer(fc, dataStart, length - Mp4BoxHeader.HEADER_LENGTH);
+            }
+            if (loaded < boxEnd)
+            {
+                return loaded;
+            }
+            moovBuffer.putInt(headerPos, moovBuffer.position() - headerPos);
+            pos = boxEnd;
+        }
+        return pos + loadIntoMoovBuffer(fc, pos, (int) (end - pos));
+    }
+
+    /**
+     * Load only the start of an atom's data onto the end of the moov buffer, recording the rest as left out
+     *
+     * @param fc
+     * @param dataStart file position of the atom data
+     * @param prefixLength number of bytes to load
+     * @param boxEnd file position of the end of the atom
+     * @return file position up to which the atom has been accounted for, less than boxEnd only if the end of the
+     * file was reached
+     * @throws IOException
+     */
+    private long loadPrefixIntoMoovBuffer(FileChannel fc, long dataStart, int prefixLength, long boxEnd) throws IOException
+    {
+        long prefixEnd = Math.min(dataStart + prefixLength, boxEnd);
+        long loaded = dataStart + loadIntoMoovBuffer(fc, dataStart, (int) (prefixEnd - dataStart));
+        if (loaded == prefixEnd && prefixEnd < boxEnd)
+        {
+            //Can't tell if the rest is actually in the file without reading it, so check against the size
+            loaded = Math.min(boxEnd, fc.size());
+            if (loaded == boxEnd)
+            {
+                long skippedBefore = skippedTotals.isEmpty() ? 0 : skippedTotals.get(skippedTotals.size() - 1);
+                skippedPositions.add(moovBuffer.position());
+                skippedTotals.add(skippedBefore + boxEnd - prefixEnd);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Load from the file onto the end of the moov buffer, growing the buffer if it is full
+     *
+     * @param fc
+     * @param filePos
+     * @param length
+     * @return number of bytes read, less than length only if the end of the file was reached
+     * @throws IOException
+     */
+    private int loadIntoMoovBuffer(FileChannel fc, long filePos, int length) throws IOException
+    {
+        if (moovBuffer.remaining() < length)
+        {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(moovBuffer.capacity() * 2, moovBuffer.position() + length));
+            moovBuffer.flip();
+            larger.put(moovBuffer);
+            moovBuffer = larger;
+        }
+        int start = moovBuffer.position();
+        int end = start + length;
+        ByteBuffer range = moovBuffer.duplicate();
+        range.limit(end);
+        while (range.hasRemaining())
+        {
+            if (fc.read(range, filePos + range.position() - start) < 0)
+            {
+                break;
+            }
+        }
+        moovBuffer.position(range.position());
+        return range.position() - start;
+    }
+
+    /**
+     * When the sample tables have not been loaded parts of the moov data are left out of the moov buffer, so
+     * positions within it have to be mapped to the file.
+     *
+     * @param moovBufferPos position within the moov buffer
+     * @return position in the file of the data at that position in the moov buffer
+     */
+    public long getFilePos(int moovBufferPos)
+    {
+        long filePos = moovHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH + moovBufferPos;
+        for (int i = skippedPositions.size() - 1; i >= 0; i--)
+        {
+            if (skippedPositions.get(i) <= moovBufferPos)
+            {
+                return filePos + skippedTotals.get(i);
+            }
+        }
+        return filePos;
+    }
+
+    /**
+     * @param id
+     * @return true if the atom is on the path from moov down to the sample tables
+     */
+    private static boolean isSampleTableContainer(String id)
+    {
+        return id.equals(Mp4AtomIdentifier.TRAK.getFieldName())
+                || id.equals(Mp4AtomIdentifier.MDIA.getFieldName())
+                || id.equals(Mp4AtomIdentifier.MINF.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STBL.getFieldName());
+    }
+
+    /**
+     * @param parentId
+     * @param id
+     * @return true if the atom is on the path moov/udta/meta/ilst/covr down to the artwork
+     */
+    private static boolean isArtworkContainer(String parentId, String id)
+    {
+        return (parentId.equals(Mp4AtomIdentifier.MOOV.getFieldName()) && id.equals(Mp4AtomIdentifier.UDTA.getFieldName()))
+                || (parentId.equals(Mp4AtomIdentifier.UDTA.getFieldName()) && id.equals(Mp4AtomIdentifier.META.getFieldName()))
+                || (parentId.equals(Mp4AtomIdentifier.META.getFieldName()) && id.equals(Mp4AtomIdentifier.ILST.getFieldName()))
+                || (parentId.equals(Mp4AtomIdentifier.ILST.getFieldName()) && id.equals(Mp4FieldKey.ARTWORK.getFieldName()));
+    }
+
+    /**
+     * @param id
+     * @return true if the atom is one of the per sample or per chunk tables found within stbl
+     */
+    private static boolean isSampleTable(String id)
+    {
+        return id.equals(Mp4AtomIdentifier.STTS.getFieldName())
+                || id.equals(Mp4AtomIdentifier.CTTS.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STSC.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STSZ.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STZ2.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STSS.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STSH.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STDP.getFieldName())
+                || id.equals(Mp4AtomIdentifier.SDTP.getFieldName())
+                || id.equals(Mp4AtomIdentifier.STCO.getFieldName())
+                || id.equals(Mp4AtomIdentifier.CO64.getFieldName());
+    }
+
     /**
      * Display atom tree
      */
     public void printAtomTree()
     {
-        Enumeration<TreeNode<Object>> e = rootNode.preorderEnumeration();
-        DefaultMutableTreeNode<Object> nextNode;
-        while (e.hasMoreElements())
+        for (int next = 0; next < atomIndex.size(); next++)
         {
-            nextNode = (DefaultMutableTreeNode<Object>)e.nextElement();
-            Mp4BoxHeader header = (Mp4BoxHeader) nextNode.getUserObject();
-            if (header != null)
+            Mp4BoxHeader header = atomIndex.getBoxHeader(next);
+
+            StringBuilder tabbing = new StringBuilder();
+            for (int i = atomIndex.getParent(next); i != Mp4AtomIndex.NONE; i = atomIndex.getParent(i))
             {
-                StringBuilder tabbing = new StringBuilder();
-                for (int i = 1; i < nextNode.getLevel(); i++)
+                tabbing.append("\t");
+            }
+
+            if(header instanceof NullPadding)
+            {
+                if(header.getLength()==1)
                 {
-                    tabbing.append("\t");
+                    System.out.println(tabbing + "Null pad " + " @ " + header.getFilePos() + " 64bitDataSize" + " ,ends @ " + (header.getFilePos() + header.getLength()));
                 }
-
-                if(header instanceof NullPadding)
+                else
                 {
-                    if(header.getLength()==1)
-                    {
-                        System.out.println(tabbing + "Null pad " + " @ " + header.getFilePos() + " 64bitDataSize" + " ,ends @ " + (header.getFilePos() + header.getLength()));
-                    }
-                    else
-                    {
-                        System.out.println(tabbing + "Null pad " + " @ " + header.getFilePos() + " of size:" + header.getLength() + " ,ends @ " + (header.getFilePos() + header.getLength()));
-                    }
+                    System.out.println(tabbing + "Null pad " + " @ " + header.getFilePos() + " of size:" + header.getLength() + " ,ends @ " + (header.getFilePos() + header.getLength()));
+                }
+            }
+            else
+            {
+                if(header.getLength()==1)
+                {
+                    System.out.println(tabbing + "Atom " + header.getId() + " @ " + header.getFilePos() + " 64BitDataSize"  + " ,ends @ " + (header.getFilePos() + header.getLength()));
                 }
                 else
                 {
-                    if(header.getLength()==1)
-                    {
-                        System.out.println(tabbing + "Atom " + header.getId() + " @ " + header.getFilePos() + " 64BitDataSize"  + " ,ends @ " + (header.getFilePos() + header.getLength()));
-                    }
-                    else
-                    {
-                        System.out.println(tabbing + "Atom " + header.getId() + " @ " + header.getFilePos() + " of size:" + header.getLength() + " ,ends @ " + (header.getFilePos() + header.getLength()));
-                    }
+                    System.out.println(tabbing + "Atom " + header.getId() + " @ " + header.getFilePos() + " of size:" + header.getLength() + " ,ends @ " + (header.getFilePos() + header.getLength()));
                 }
             }
         }
     }
 
     /**
+     * Add the children of an atom within moov to the index
      *
      * @param moovBuffer
-     * @param parentNode
+     * @param parentAtom index of the parent atom
+     * @param parentBoxHeader header of the parent atom
+     * @param parentDataLength length of the parent atom's data within the moov buffer
      * @throws CannotReadException
      */
-    public void buildChildrenOfNode(ByteBuffer moovBuffer, DefaultMutableTreeNode<Object> parentNode) throws CannotReadException
+    private void buildChildren(ByteBuffer moovBuffer, int parentAtom, Mp4BoxHeader parentBoxHeader, int parentDataLength) throws CannotReadException
     {
         Mp4BoxHeader boxHeader;
 
         //Preprocessing for nodes that contain data before their children atoms
-        Mp4BoxHeader parentBoxHeader = (Mp4BoxHeader) parentNode.getUserObject();
 
         //We set the buffers position back to this after processing the children
         int justAfterHeaderPos = moovBuffer.position();
@@ -318,66 +613,57 @@ public class Mp4AtomTree
 
         //Defines where to start looking for the first child node
         int startPos = moovBuffer.position();        
-        while (moovBuffer.position() < ((startPos + parentBoxHeader.getDataLength()) - Mp4BoxHeader.HEADER_LENGTH))
+        while (moovBuffer.position() < ((startPos + parentDataLength) - Mp4BoxHeader.HEADER_LENGTH))
         {
             boxHeader = new Mp4BoxHeader(moovBuffer);
 //            if (boxHeader != null)
             {
-                boxHeader.setFilePos(moovHeader.getFilePos() + moovBuffer.position());
+                //Atoms cut short when loaded are indexed with their position and length in the file
+                int dataLength = boxHeader.getDataLength();
+                boxHeader.setFilePos(getFilePos(moovBuffer.position() - Mp4BoxHeader.HEADER_LENGTH));
+                boxHeader.setLength((int) (getFilePos(moovBuffer.position() + dataLength) - boxHeader.getFilePos()));
                 logger.finest("Atom " + boxHeader.getId() + " @ " + boxHeader.getFilePos() + " of size:" + boxHeader.getLength() + " ,ends @ " + (boxHeader.getFilePos() + boxHeader.getLength()));
-                DefaultMutableTreeNode<Object> newAtom = new DefaultMutableTreeNode<>(boxHeader);
-                parentNode.add(newAtom);
+                int newAtom = atomIndex.add(boxHeader, parentAtom);
 
                 if (boxHeader.getId().equals(Mp4AtomIdentifier.UDTA.getFieldName()))
                 {
-                    udtaNode = newAtom;
+                    udtaIndex = newAtom;
                 }
                 //only interested in metaNode that is child of udta node
                 else if (boxHeader.getId().equals(Mp4AtomIdentifier.META.getFieldName())&&parentBoxHeader.getId().equals(Mp4AtomIdentifier.UDTA.getFieldName()))
                 {
-                    metaNode = newAtom;
+                    metaIndex = newAtom;
                 }
                 else if (boxHeader.getId().equals(Mp4AtomIdentifier.HDLR.getFieldName())&&parentBoxHeader.getId().equals(Mp4AtomIdentifier.META.getFieldName()))
                 {
-                    hdlrWithinMetaNode = newAtom;
+                    hdlrWithinMetaIndex = newAtom;
                 }
                 else if (boxHeader.getId().equals(Mp4AtomIdentifier.HDLR.getFieldName()))
                 {
-                    hdlrWithinMdiaNode = newAtom;
+                    hdlrWithinMdiaIndex = newAtom;
                 }
                 else if (boxHeader.getId().equals(Mp4AtomIdentifier.TAGS.getFieldName()))
                 {
-                    tagsNode = newAtom;
+                    tagsIndex = newAtom;
                 }
                 else if (boxHeader.getId().equals(Mp4AtomIdentifier.STCO.getFieldName()))
                 {
                     stcos.add(new Mp4StcoBox(boxHeader, moovBuffer));
-                    stcoNodes.add(newAtom);
+                }
+                else if (boxHeader.getId().equals(Mp4AtomIdentifier.CO64.getFieldName()))
+                {
+                    co64s.add(new Mp4Co64Box(boxHeader, moovBuffer));
                 }
                 else if (boxHeader.getId().equals(Mp4AtomIdentifier.ILST.getFieldName()))
                 {
-                    DefaultMutableTreeNode<Object> parent = (DefaultMutableTreeNode<Object>)parentNode.getParent();
-                    if(parent!=null)
+                    int parentsParent = atomIndex.getParent(parentAtom);
+                    if(parentsParent!=Mp4AtomIndex.NONE)
                     {
-                        Mp4BoxHeader parentsParent = (Mp4BoxHeader)(parent).getUserObject();
-                        if(parentsParent!=null)
+                        if(parentBoxHeader.getId().equals(Mp4AtomIdentifier.META.getFieldName())&&atomIndex.getId(parentsParent).equals(Mp4AtomIdentifier.UDTA.getFieldName()))
                         {
-                            if(parentBoxHeader.getId().equals(Mp4AtomIdentifier.META.getFieldName())&&parentsParent.getId().equals(Mp4AtomIdentifier.UDTA.getFieldName()))
-                            {
-                                ilstNode = newAtom;
-                            }
+                            ilstIndex = newAtom;
                         }
-                    }    
-                }
-                else if (boxHeader.getId().equals(Mp4AtomIdentifier.FREE.getFieldName()))
-                {
-                    //Might be multiple in different locations
-                    freeNodes.add(newAtom);
-                }
-                else if (boxHeader.getId().equals(Mp4AtomIdentifier.TRAK.getFieldName()))
-                {
-                    //Might be multiple in different locations, although only one should be audio track
-                    trakNodes.add(newAtom);
+                    }
                 }
 
                 //For these atoms iterate down to build their children
@@ -389,10 +675,10 @@ public class Mp4AtomTree
                         (boxHeader.getId().equals(Mp4AtomIdentifier.META.getFieldName())) ||
                         (boxHeader.getId().equals(Mp4AtomIdentifier.ILST.getFieldName())))
                 {                
-                    buildChildrenOfNode(moovBuffer, newAtom);
+                    buildChildren(moovBuffer, newAtom, boxHeader, dataLength);
                 }
                 //Now  adjust buffer for the next atom header at this level
-                moovBuffer.position(moovBuffer.position() + boxHeader.getDataLength());
+                moovBuffer.position(moovBuffer.position() + dataLength);
 
             }
         }
@@ -400,12 +686,69 @@ public class Mp4AtomTree
     }
 
 
+    /**
+     * @return flat index of the atoms in the file
+     */
+    public Mp4AtomIndex getAtomIndex()
+    {
+        return atomIndex;
+    }
+
+    /**
+     * Create the tree of nodes from the index the first time it is needed
+     *
+     * @return the node for each atom in the index
+     */
+    private List<DefaultMutableTreeNode<Object>> getNodes()
+    {
+        if (nodes == null)
+        {
+            DefaultMutableTreeNode<Object> rootNode = new DefaultMutableTreeNode<>();
+            dataTree = new DefaultTreeModel<>(rootNode);
+            nodes = new ArrayList<>(atomIndex.size());
+            for (int i = 0; i < atomIndex.size(); i++)
+            {
+                DefaultMutableTreeNode<Object> node = new DefaultMutableTreeNode<Object>(atomIndex.getBoxHeader(i));
+                int parent = atomIndex.getParent(i);
+                if (parent == Mp4AtomIndex.NONE)
+                {
+                    rootNode.add(node);
+                }
+                else
+                {
+                    nodes.get(parent).add(node);
+                }
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private DefaultMutableTreeNode<Object> getNode(int index)
+    {
+        return index == Mp4AtomIndex.NONE ? null : getNodes().get(index);
+    }
+
+    private List<DefaultMutableTreeNode<Object>> getNodes(String id)
+    {
+        List<DefaultMutableTreeNode<Object>> found = new ArrayList<>();
+        for (int i = 0; i < atomIndex.size(); i++)
+        {
+            if (!atomIndex.isNullPadding(i) && atomIndex.getId(i).equals(id))
+            {
+                found.add(getNodes().get(i));
+            }
+        }
+        return found;
+    }
+
     /**
      *
      * @return
      */
     public DefaultTreeModel<Object> getDataTree()
     {
+        getNodes();
         return dataTree;
     }
 
@@ -416,7 +759,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getMoovNode()
     {
-        return moovNode;
+        return getNode(moovIndex);
     }
 
     /**
@@ -425,7 +768,7 @@ public class Mp4AtomTree
      */
     public List<DefaultMutableTreeNode<Object>> getStcoNodes()
     {
-        return stcoNodes;
+        return getNodes(Mp4AtomIdentifier.STCO.getFieldName());
     }
 
     /**
@@ -434,7 +777,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getIlstNode()
     {
-        return ilstNode;
+        return getNode(ilstIndex);
     }
 
     /**
@@ -457,7 +800,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getMdatNode()
     {
-        return mdatNode;
+        return getNode(mdatIndex);
     }
 
     /**
@@ -466,7 +809,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getUdtaNode()
     {
-        return udtaNode;
+        return getNode(udtaIndex);
     }
 
     /**
@@ -475,7 +818,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getMetaNode()
     {
-        return metaNode;
+        return getNode(metaIndex);
     }
 
     /**
@@ -484,7 +827,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getHdlrWithinMetaNode()
     {
-        return hdlrWithinMetaNode;
+        return getNode(hdlrWithinMetaIndex);
     }
 
     /**
@@ -493,7 +836,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getHdlrWithinMdiaNode()
     {
-        return hdlrWithinMdiaNode;
+        return getNode(hdlrWithinMdiaIndex);
     }
 
     /**
@@ -502,7 +845,7 @@ public class Mp4AtomTree
      */
     public DefaultMutableTreeNode<Object> getTagsNode()
     {
-        return tagsNode;
+        return getNode(tagsIndex);
     }
 
     /**
@@ -511,7 +854,7 @@ public class Mp4AtomTree
      */
     public List<DefaultMutableTreeNode<Object>> getFreeNodes()
     {
-        return freeNodes;
+        return getNodes(Mp4AtomIdentifier.FREE.getFieldName());
     }
 
     /**
@@ -520,7 +863,7 @@ public class Mp4AtomTree
      */
     public List<DefaultMutableTreeNode<Object>> getTrakNodes()
     {
-        return trakNodes;
+        return getNodes(Mp4AtomIdentifier.TRAK.getFieldName());
     }
 
     /**
@@ -532,6 +875,14 @@ public class Mp4AtomTree
         return stcos;
     }
 
+    /**
+     * @return the 64 bit chunk offset atoms, used instead of stco atoms by some large files
+     */
+    public List<Mp4Co64Box> getCo64s()
+    {
+        return co64s;
+    }
+
     /**
      *
      * @return
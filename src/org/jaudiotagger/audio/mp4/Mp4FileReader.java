@@ -18,13 +18,18 @@
  */
 package org.jaudiotagger.audio.mp4;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.mp4.atom.Mp4FtypBox;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptions;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 /**
  * Mp4 File Reader
@@ -36,6 +41,39 @@ public class Mp4FileReader extends AudioFileReader
     private final Mp4InfoReader ir = new Mp4InfoReader();
     private final Mp4TagReader tr = new Mp4TagReader();
 
+    /**
+     * Read through the channel of the open file
+     */
+    @Override
+    protected AudioFile read(File f, RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return read(raf.getChannel(), f.getPath(), f);
+    }
+
+    /**
+     * Read the encoding info and the tag from a single load of the moov box, skipping the sample tables because
+     * they are not needed for either, and the artwork if it is to be read lazily. Artwork can only be left in the
+     * file when the file is known.
+     */
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        Mp4FtypBox ftyp = ir.readFileType(fc);
+        boolean lazyArtwork = f != null && TagOptions.current().isLazyArtwork();
+        Mp4AtomTree atomTree = new Mp4AtomTree(fc, false, !lazyArtwork);
+        GenericAudioHeader info = ir.read(ftyp, atomTree, fc.size());
+        Tag tag;
+        if (lazyArtwork)
+        {
+            tag = tr.read(atomTree.getMoovBuffer().duplicate(), f, atomTree);
+        }
+        else
+        {
+            tag = tr.read(atomTree.getMoovBuffer().duplicate());
+        }
+        return new AudioFile(f, info, tag);
+    }
+
     protected GenericAudioHeader getEncodingInfo(RandomAccessFile raf) throws CannotReadException, IOException
     {
         return ir.read(raf);
@@ -26,6 +26,7 @@ import org.jaudiotagger.tag.mp4.Mp4Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 /**
  * Mp4 File Writer
@@ -45,4 +46,15 @@ public class Mp4FileWriter extends AudioFileWriter
     {
         tw.write(new Mp4Tag(), raf);
     }
+
+    /**
+     * Mp4 files are always modified in place, so can be written to a channel in the same way
+     */
+    @Override
+    protected boolean writeTagToChannel(AudioFile audioFile, Tag tag, FileChannel fc) throws CannotWriteException
+    {
+        fileWillBeModifiedInPlace(audioFile);
+        tw.write(tag, fc);
+        return true;
+    }
 }
@@ -84,35 +84,77 @@ public class Mp4InfoReader
     }
 
     public GenericAudioHeader read(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        Mp4FtypBox ftyp = readFileType(raf);
+        //Build AtomTree to ensure it is valid, this means we can detect any problems early on, it also loads the
+        //moov box which holds everything else we are interested in
+        Mp4AtomTree atomTree = new Mp4AtomTree(raf, false, false);
+        return read(ftyp, atomTree, raf.length());
+    }
+
+    /**
+     * Read the ftyp box, which must be the first box in the file
+     *
+     * @param raf
+     * @return the ftyp box
+     * @throws CannotReadException if the file is not an mp4 container
+     * @throws IOException
+     */
+    Mp4FtypBox readFileType(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return readFileType(raf.getChannel());
+    }
+
+    /**
+     * Read the ftyp box, which must be the first box in the file
+     *
+     * @param fc positioned at the start of the file
+     * @return the ftyp box
+     * @throws CannotReadException if the file is not an mp4 container
+     * @throws IOException
+     */
+    Mp4FtypBox readFileType(FileChannel fc) throws CannotReadException, IOException
+    {
+        //File Identification
+        Mp4BoxHeader ftypHeader = Mp4BoxHeader.seekWithinLevel(fc, Mp4AtomIdentifier.FTYP.getFieldName());
+        if (ftypHeader == null)
+        {
+            throw new CannotReadException(ErrorMessage.MP4_FILE_NOT_CONTAINER.getMsg());
+        }
+        ByteBuffer ftypBuffer = ByteBuffer.allocate(ftypHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
+        fc.read(ftypBuffer);
+        ftypBuffer.rewind();
+        Mp4FtypBox ftyp = new Mp4FtypBox(ftypHeader, ftypBuffer);
+        ftyp.processData();
+        return ftyp;
+    }
+
+    /**
+     * Read the audio info from the moov box already loaded by the atom tree, the sample tables do not need to
+     * have been loaded
+     *
+     * @param ftyp
+     * @param atomTree
+     * @param fileSize
+     * @return the audio header
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    GenericAudioHeader read(Mp4FtypBox ftyp, Mp4AtomTree atomTree, long fileSize) throws CannotReadException, IOException
     {
         //try
         {
-            FileChannel fc = raf.getChannel();
             Mp4AudioHeader info = new Mp4AudioHeader();
-    
-            //File Identification
-            Mp4BoxHeader ftypHeader = Mp4BoxHeader.seekWithinLevel(fc, Mp4AtomIdentifier.FTYP.getFieldName());
-            if (ftypHeader == null)
-            {
-                throw new CannotReadException(ErrorMessage.MP4_FILE_NOT_CONTAINER.getMsg());
-            }
-            ByteBuffer ftypBuffer = ByteBuffer.allocate(ftypHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
-            fc.read(ftypBuffer);
-            ftypBuffer.rewind();
-            Mp4FtypBox ftyp = new Mp4FtypBox(ftypHeader, ftypBuffer);
-            ftyp.processData();
             info.setBrand(ftyp.getMajorBrand());
     
-            //Get to the facts everything we are interested in is within the moov box, so just load data from file
-            //once so no more file I/O needed
-            Mp4BoxHeader moovHeader = Mp4BoxHeader.seekWithinLevel(fc, Mp4AtomIdentifier.MOOV.getFieldName());
-            if (moovHeader == null)
+            //Get to the facts everything we are interested in is within the moov box, which has already been loaded
+            //so no more file I/O needed
+            if (atomTree.getMoovBuffer() == null)
             {
                 throw new CannotReadException(ErrorMessage.MP4_FILE_NOT_AUDIO.getMsg());
             }
-            ByteBuffer moovBuffer = ByteBuffer.allocate(moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
+            ByteBuffer moovBuffer = atomTree.getMoovBuffer().duplicate();
             moovBuffer.order(ByteOrder.LITTLE_ENDIAN);
-            fc.read(moovBuffer);
             moovBuffer.rewind();
     
             //Level 2-Searching for "mvhd" somewhere within "moov", we make a slice after finding header
@@ -298,8 +340,21 @@ public class Mp4InfoReader
             {
                 Mp4StcoBox stco = new Mp4StcoBox(boxHeader, mvhdBuffer);
                 info.setAudioDataStartPosition((long)stco.getFirstOffSet());
-                info.setAudioDataEndPosition((long)fc.size());
-                info.setAudioDataLength(fc.size() - stco.getFirstOffSet());
+                info.setAudioDataEndPosition(fileSize);
+                info.setAudioDataLength(fileSize - stco.getFirstOffSet());
+            }
+            else
+            {
+                //Level 6-Searching for "co64" within "stbl" instead, used by large files
+                mvhdBuffer.position(positionBeforeStsdSearch);
+                boxHeader = Mp4BoxHeader.seekWithinLevel(mvhdBuffer, Mp4AtomIdentifier.CO64.getFieldName());
+                if (boxHeader != null)
+                {
+                    Mp4Co64Box co64 = new Mp4Co64Box(boxHeader, mvhdBuffer);
+                    info.setAudioDataStartPosition(co64.getFirstOffSet());
+                    info.setAudioDataEndPosition(fileSize);
+                    info.setAudioDataLength(fileSize - co64.getFirstOffSet());
+                }
             }
     
             //Set default channels if couldn't calculate it
@@ -350,9 +405,6 @@ public class Mp4InfoReader
     
             //Because Mp4 is container format we set format to encoder
             info.setFormat(info.getEncodingType());
-    
-            //Build AtomTree to ensure it is valid, this means we can detect any problems early on
-            new Mp4AtomTree(raf,false);
             return info;
         }
     }
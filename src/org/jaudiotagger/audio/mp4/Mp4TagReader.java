@@ -31,6 +31,7 @@ import org.jaudiotagger.tag.mp4.Mp4Tag;
 import org.jaudiotagger.tag.mp4.atom.Mp4DataBox;
 import org.jaudiotagger.tag.mp4.field.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
@@ -86,7 +87,6 @@ public class Mp4TagReader
     public Mp4Tag read(RandomAccessFile raf) throws CannotReadException, IOException
     {
         FileChannel fc = raf.getChannel();
-        Mp4Tag tag = new Mp4Tag();
 
         //Get to the facts everything we are interested in is within the moov box, so just load data from file
         //once so no more file I/O needed
@@ -98,6 +98,37 @@ public class Mp4TagReader
         ByteBuffer moovBuffer = ByteBuffer.allocate(moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
         raf.getChannel().read(moovBuffer);
         moovBuffer.rewind();
+        return read(moovBuffer);
+    }
+
+    /**
+     * Read the tag from the data of the moov box, the sample tables do not need to have been loaded
+     *
+     * @param moovBuffer the data of the moov box positioned at the first child box
+     * @return the tag
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    Mp4Tag read(ByteBuffer moovBuffer) throws CannotReadException, IOException
+    {
+        return read(moovBuffer, null, null);
+    }
+
+    /**
+     * Read the tag from the data of the moov box, if a file is given the image data of the artwork is not read from
+     * the buffer so does not need to have been loaded, only its location in the file is recorded
+     *
+     * @param moovBuffer the data of the moov box positioned at the first child box
+     * @param file the audio file, or null to read the artwork from the buffer
+     * @param atomTree the tree the moov buffer was loaded by, used to find positions in the file, only used if file
+     * is given
+     * @return the tag
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    Mp4Tag read(ByteBuffer moovBuffer, File file, Mp4AtomTree atomTree) throws CannotReadException, IOException
+    {
+        Mp4Tag tag = new Mp4Tag();
 
         //Level 2-Searching for "udta" within "moov"
         Mp4BoxHeader boxHeader = Mp4BoxHeader.seekWithinLevel(moovBuffer, Mp4AtomIdentifier.UDTA.getFieldName());
@@ -148,6 +179,7 @@ public class Mp4TagReader
         //Size of metadata (exclude the size of the ilst parentHeader), take a slice starting at
         //metadata children to make things safer
         int length = boxHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH;
+        int metadataPos = moovBuffer.position();
         ByteBuffer metadataBuffer = moovBuffer.slice();
         //Datalength is longer are there boxes after ilst at this level?
         logger.config("headerlengthsays:" + length + "datalength:" + metadataBuffer.limit());
@@ -161,7 +193,7 @@ public class Mp4TagReader
             //Create the corresponding datafield from the id, and slice the buffer so position of main buffer
             //wont get affected
             logger.config("Next position is at:" + metadataBuffer.position());
-            createMp4Field(tag, boxHeader, metadataBuffer.slice());
+            createMp4Field(tag, boxHeader, metadataBuffer.slice(), file, atomTree, metadataPos + metadataBuffer.position());
 
             //Move position in buffer to the start of the next parentHeader
             metadataBuffer.position(metadataBuffer.position() + boxHeader.getDataLength());
@@ -179,10 +211,13 @@ public class Mp4TagReader
      * @param tag
      * @param header
      * @param raw
+     * @param file the audio file if artwork is to be left in the file, otherwise null
+     * @param atomTree the tree the moov buffer was loaded by, only used if file is given
+     * @param moovBufferPos position of raw in the moov buffer
      * @return
      * @throws UnsupportedEncodingException
      */
-    private void createMp4Field(Mp4Tag tag, Mp4BoxHeader header, ByteBuffer raw) throws UnsupportedEncodingException
+    private void createMp4Field(Mp4Tag tag, Mp4BoxHeader header, ByteBuffer raw, File file, Mp4AtomTree atomTree, int moovBufferPos) throws UnsupportedEncodingException
     {
         //Header with no data #JAUDIOTAGGER-463
          if(header.getDataLength()==0)
@@ -249,9 +284,24 @@ public class Mp4TagReader
                                     processedDataSize + Mp4DataBox.TYPE_POS_INCLUDING_HEADER + Mp4DataBox.TYPE_LENGTH - 1);
                             fieldType = Mp4FieldType.getFieldType(type);
                         }
-                        Mp4TagCoverField field = new Mp4TagCoverField(raw,fieldType);
+                        Mp4TagCoverField field;
+                        if (file != null)
+                        {
+                            //The image data may have been left out of the buffer, so its length is found from the
+                            //position of the data atom and of the end of the data atom in the file
+                            int dataAtomPos = moovBufferPos + processedDataSize;
+                            long dataAtomFilePos = atomTree.getFilePos(dataAtomPos);
+                            long dataAtomFileEnd = atomTree.getFilePos(dataAtomPos + raw.getInt(processedDataSize));
+                            int imageLength = (int) (dataAtomFileEnd - dataAtomFilePos) - Mp4DataBox.DATA_HEADER_LENGTH;
+                            field = new Mp4TagCoverField(raw, fieldType, file, dataAtomFilePos, imageLength);
+                        }
+                        else
+                        {
+                            field = new Mp4TagCoverField(raw,fieldType);
+                        }
                         tag.addField(field);
-                        processedDataSize += field.getDataAndHeaderSize();
+                        //Position is after the data atom, which may be shorter in the buffer than in the file
+                        processedDataSize = raw.position();
                         imageCount++;
                     }
                 }
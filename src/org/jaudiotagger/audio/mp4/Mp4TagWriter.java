@@ -20,13 +20,14 @@ package org.jaudiotagger.audio.mp4;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.audio.exceptions.InvalidBoxHeaderException;
+import org.jaudiotagger.audio.exceptions.NullBoxIdException;
 import org.jaudiotagger.audio.mp4.atom.*;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.mp4.Mp4TagCreator;
 import org.jaudiotagger.utils.ShiftData;
-import org.jaudiotagger.utils.tree.DefaultMutableTreeNode;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
@@ -106,6 +107,16 @@ public class Mp4TagWriter
     // Logger Object
     public static final Logger logger = Logger.getLogger("org.jaudiotagger.tag.mp4");
 
+    //Paths of the atoms used to plan the changes
+    private static final String MOOV_PATH = "moov";
+    private static final String MDAT_PATH = "mdat";
+    private static final String TRAK_PATH = "moov/trak";
+    private static final String UDTA_PATH = "moov/udta";
+    private static final String META_PATH = "moov/udta/meta";
+    private static final String HDLR_WITHIN_META_PATH = "moov/udta/meta/hdlr";
+    private static final String ILST_PATH = "moov/udta/meta/ilst";
+    private static final String TAGS_PATH = "moov/udta/tags";
+
     private final Mp4TagCreator tc = new Mp4TagCreator();
 
     //For logging
@@ -183,11 +194,12 @@ public class Mp4TagWriter
      * @param moovBuffer
      * @param newIlstData
      * @param stcos
+     * @param co64s
      * @param sizeOfExistingMetaLevelFreeAtom
      * @throws IOException
      * @throws CannotWriteException
      */
-    private void writeOldMetadataLargerThanNewMetadata(FileChannel fc,  Mp4BoxHeader moovHeader, Mp4BoxHeader udtaHeader, Mp4BoxHeader metaHeader, Mp4BoxHeader ilstHeader, Mp4BoxHeader mdatHeader, Mp4BoxHeader neroTagsHeader, ByteBuffer moovBuffer, ByteBuffer newIlstData, List<Mp4StcoBox> stcos, int sizeOfExistingMetaLevelFreeAtom) throws IOException
+    private void writeOldMetadataLargerThanNewMetadata(FileChannel fc,  Mp4BoxHeader moovHeader, Mp4BoxHeader udtaHeader, Mp4BoxHeader metaHeader, Mp4BoxHeader ilstHeader, Mp4BoxHeader mdatHeader, Mp4BoxHeader neroTagsHeader, ByteBuffer moovBuffer, ByteBuffer newIlstData, List<Mp4StcoBox> stcos, List<Mp4Co64Box> co64s, int sizeOfExistingMetaLevelFreeAtom) throws IOException
     {
         logger.config("Writing:Option 1:Smaller Size");
 
@@ -244,9 +256,7 @@ public class Mp4TagWriter
                 //unless mdat is at start of file
                 if (mdatHeader.getFilePos() > moovHeader.getFilePos())
                 {
-                    for (Mp4StcoBox stoc : stcos) {
-                        stoc.adjustOffsets(-sizeReducedBy);
-                    }
+                    adjustChunkOffsets(stcos, co64s, -sizeReducedBy);
                 }
 
                 //Edit and rewrite the moov, udta and meta header in moov buffer
@@ -287,21 +297,8 @@ public class Mp4TagWriter
     {
         //Position for reading after the tag
         fc.position(startDeleteFrom);
-
-        ByteBuffer buffer = ByteBuffer.allocate((int) TagOptionSingleton.getInstance().getWriteChunkSize());
-        while (fc.read(buffer) >= 0 || buffer.position() != 0)
-        {
-            buffer.flip();
-            long readPosition = fc.position();
-            fc.position(readPosition - deleteSize - buffer.limit());
-            fc.write(buffer);
-            fc.position(readPosition);
-            buffer.compact();
-        }
-        //Truncate the file after the last chunk
-        long newLength = fc.size() - deleteSize;
-        logger.config(loggingName + "-------------Setting new length to:" + newLength);
-        fc.truncate(newLength);
+        logger.config(loggingName + "-------------Setting new length to:" + (fc.size() - deleteSize));
+        ShiftData.shiftDataByOffsetToShrinkSpace(fc, deleteSize);
     }
     /**
      * We can fit the metadata in under the meta item just by using some of the padding available in the {@code free}
@@ -332,22 +329,33 @@ public class Mp4TagWriter
      * Write tag to file.
      *
      * @param tag     tag data
-     * @param file     current file
+     * @param raf     current file
      * @throws CannotWriteException
-     * @throws IOException
      */
     public void write(Tag tag, RandomAccessFile raf) throws CannotWriteException
+    {
+        write(tag, raf.getChannel());
+    }
+
+    /**
+     * Write tag within the channel, the file is always modified in place so this is the same as writing a file.
+     *
+     * @param tag     tag data
+     * @param fc      channel holding the file, open for reading and writing
+     * @throws CannotWriteException
+     */
+    public void write(Tag tag, FileChannel fc) throws CannotWriteException
     {
         logger.config("Started writing tag data");
         try
         {
-            FileChannel fc = raf.getChannel();
+            long originalFileSize = fc.size();
             int sizeOfExistingIlstAtom = 0;
             int sizeRequiredByNewIlstAtom;
             int positionOfNewIlstAtomRelativeToMoovAtom;
-            int positionOfStartOfIlstAtomInMoovBuffer;
+            long positionOfStartOfIlstAtomInMoovBuffer;
             int sizeOfExistingMetaLevelFreeAtom;
-            int positionOfTopLevelFreeAtom;
+            long positionOfTopLevelFreeAtom;
             int sizeOfExistingTopLevelFreeAtom;
             //Found top level free atom that comes after moov and before mdat, (also true if no free atom ?)
             boolean topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata;
@@ -357,14 +365,16 @@ public class Mp4TagWriter
             //Build AtomTree based on existing metadata
             try
             {
-                atomTree = new Mp4AtomTree(raf, false);
+                atomTree = new Mp4AtomTree(fc, true, true);
             }
             catch (CannotReadException cre)
             {
                 throw new CannotWriteException(cre.getMessage());
             }
 
-            Mp4BoxHeader mdatHeader = atomTree.getBoxHeader(atomTree.getMdatNode());
+            //Plan the changes from the flat atom index rather than walking a tree
+            Mp4AtomIndex atomIndex = atomTree.getAtomIndex();
+            Mp4BoxHeader mdatHeader = atomIndex.getBoxHeader(atomIndex.findLast(MDAT_PATH));
             //Unable to find audio so no chance of saving any changes
             if (mdatHeader == null)
             {
@@ -377,14 +387,16 @@ public class Mp4TagWriter
             sizeRequiredByNewIlstAtom = newIlstData.limit();
 
             //Moov Box header
-            Mp4BoxHeader moovHeader = atomTree.getBoxHeader(atomTree.getMoovNode());
+            Mp4BoxHeader moovHeader = atomIndex.getBoxHeader(atomIndex.find(MOOV_PATH));
             List<Mp4StcoBox> stcos = atomTree.getStcos();
-            Mp4BoxHeader ilstHeader = atomTree.getBoxHeader(atomTree.getIlstNode());
-            Mp4BoxHeader udtaHeader = atomTree.getBoxHeader(atomTree.getUdtaNode());
-            Mp4BoxHeader metaHeader = atomTree.getBoxHeader(atomTree.getMetaNode());
-            Mp4BoxHeader hdlrMetaHeader = atomTree.getBoxHeader(atomTree.getHdlrWithinMetaNode());
-            Mp4BoxHeader neroTagsHeader = atomTree.getBoxHeader(atomTree.getTagsNode());
-            Mp4BoxHeader trakHeader = atomTree.getBoxHeader(atomTree.getTrakNodes().get(atomTree.getTrakNodes().size() - 1));
+            List<Mp4Co64Box> co64s = atomTree.getCo64s();
+            int ilstAtom = atomIndex.find(ILST_PATH);
+            Mp4BoxHeader ilstHeader = atomIndex.getBoxHeader(ilstAtom);
+            Mp4BoxHeader udtaHeader = atomIndex.getBoxHeader(atomIndex.find(UDTA_PATH));
+            Mp4BoxHeader metaHeader = atomIndex.getBoxHeader(atomIndex.find(META_PATH));
+            Mp4BoxHeader hdlrMetaHeader = atomIndex.getBoxHeader(atomIndex.find(HDLR_WITHIN_META_PATH));
+            Mp4BoxHeader neroTagsHeader = atomIndex.getBoxHeader(atomIndex.find(TAGS_PATH));
+            Mp4BoxHeader trakHeader = atomIndex.getBoxHeader(atomIndex.findLast(TRAK_PATH));
             ByteBuffer moovBuffer = atomTree.getMoovBuffer();
 
 
@@ -401,7 +413,7 @@ public class Mp4TagWriter
                         sizeOfExistingIlstAtom = ilstHeader.getLength();
 
                         //Relative means relative to moov buffer after moov header
-                        positionOfStartOfIlstAtomInMoovBuffer = (int) ilstHeader.getFilePos();
+                        positionOfStartOfIlstAtomInMoovBuffer = ilstHeader.getFilePos();
                         positionOfNewIlstAtomRelativeToMoovAtom = (int) (positionOfStartOfIlstAtomInMoovBuffer - (moovHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH));
                     }
                     else
@@ -409,14 +421,14 @@ public class Mp4TagWriter
                         //Place ilst immediately after existing hdlr atom
                         if (hdlrMetaHeader != null)
                         {
-                            positionOfStartOfIlstAtomInMoovBuffer = (int) hdlrMetaHeader.getFileEndPos();
+                            positionOfStartOfIlstAtomInMoovBuffer = hdlrMetaHeader.getFileEndPos();
                             positionOfNewIlstAtomRelativeToMoovAtom = (int) (positionOfStartOfIlstAtomInMoovBuffer - (moovHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH));
                         }
                         //Place ilst after data fields in meta atom
                         //TODO Should we create a hdlr atom
                         else
                         {
-                            positionOfStartOfIlstAtomInMoovBuffer = (int) metaHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH + Mp4MetaBox.FLAGS_LENGTH;
+                            positionOfStartOfIlstAtomInMoovBuffer = metaHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH + Mp4MetaBox.FLAGS_LENGTH;
                             positionOfNewIlstAtomRelativeToMoovAtom = (int) ((positionOfStartOfIlstAtomInMoovBuffer) - (moovHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH));
                         }
                     }
@@ -425,7 +437,7 @@ public class Mp4TagWriter
                 {
                     //There no ilst or meta header so we set to position where it would be if it existed
                     positionOfNewIlstAtomRelativeToMoovAtom = moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH;
-                    positionOfStartOfIlstAtomInMoovBuffer = (int) (moovHeader.getFileEndPos());
+                    positionOfStartOfIlstAtomInMoovBuffer = moovHeader.getFileEndPos();
                 }
             }
             //There no udta header so we are going to create a new structure, but we have to be aware that there might be
@@ -437,35 +449,30 @@ public class Mp4TagWriter
                 // as part of the moov atom (and not just bulk copied via writeDataAfterIlst())
                 if (metaHeader != null)
                 {
-                    positionOfStartOfIlstAtomInMoovBuffer = (int) trakHeader.getFileEndPos();
+                    positionOfStartOfIlstAtomInMoovBuffer = trakHeader.getFileEndPos();
                     positionOfNewIlstAtomRelativeToMoovAtom = (int) (positionOfStartOfIlstAtomInMoovBuffer - (moovHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH));
                 }
                 else
                 {
                     //There no udta,ilst or meta header so we set to position where it would be if it existed
-                    positionOfStartOfIlstAtomInMoovBuffer = (int) (moovHeader.getFileEndPos());
+                    positionOfStartOfIlstAtomInMoovBuffer = moovHeader.getFileEndPos();
                     positionOfNewIlstAtomRelativeToMoovAtom = moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH;
                 }
             }
 
             //Find size of Level-4 Free atom (if any) immediately after ilst atom
-            sizeOfExistingMetaLevelFreeAtom = getMetaLevelFreeAtomSize(atomTree);
+            sizeOfExistingMetaLevelFreeAtom = getMetaLevelFreeAtomSize(atomIndex, ilstAtom);
 
 
             //Level-1 free atom
             positionOfTopLevelFreeAtom = 0;
             sizeOfExistingTopLevelFreeAtom = 0;
             topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata = true;
-            for (DefaultMutableTreeNode<?> freeNode : atomTree.getFreeNodes())
+            topLevelFreeHeader = atomIndex.getBoxHeader(atomIndex.find(Mp4AtomIdentifier.FREE.getFieldName()));
+            if (topLevelFreeHeader != null)
             {
-                DefaultMutableTreeNode<?> parentNode = (DefaultMutableTreeNode<?>) freeNode.getParent();
-                if (parentNode.isRoot())
-                {
-                    topLevelFreeHeader = ((Mp4BoxHeader) freeNode.getUserObject());
-                    sizeOfExistingTopLevelFreeAtom = topLevelFreeHeader.getLength();
-                    positionOfTopLevelFreeAtom = (int) topLevelFreeHeader.getFilePos();
-                    break;
-                }
+                sizeOfExistingTopLevelFreeAtom = topLevelFreeHeader.getLength();
+                positionOfTopLevelFreeAtom = topLevelFreeHeader.getFilePos();
             }
 
             if (sizeOfExistingTopLevelFreeAtom > 0)
@@ -481,7 +488,7 @@ public class Mp4TagWriter
             }
             else
             {
-                positionOfTopLevelFreeAtom = (int) mdatHeader.getFilePos();
+                positionOfTopLevelFreeAtom = mdatHeader.getFilePos();
             }
 
             logger.config("Read header successfully ready for writing");
@@ -506,6 +513,7 @@ public class Mp4TagWriter
                         moovBuffer,
                         newIlstData,
                         stcos,
+                        co64s,
                         sizeOfExistingMetaLevelFreeAtom);
             }
             //Size of metadata has increased, the most complex situation, more atoms affected
@@ -540,6 +548,7 @@ public class Mp4TagWriter
                                 moovBuffer,
                                 mdatHeader,
                                 stcos,
+                                co64s,
                                 sizeOfExistingTopLevelFreeAtom,
                                 topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
                                 neroTagsHeader
@@ -555,12 +564,13 @@ public class Mp4TagWriter
                                 moovBuffer,
                                 mdatHeader,
                                 stcos,
+                                co64s,
                                 sizeOfExistingTopLevelFreeAtom,
                                 topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
                                 neroTagsHeader,
-                                positionOfStartOfIlstAtomInMoovBuffer,
+                                positionOfNewIlstAtomRelativeToMoovAtom,
                                 sizeOfExistingIlstAtom,
-                                positionOfTopLevelFreeAtom,
+                                sizeOfExistingTopLevelFreeAtom,
                                 additionalMetaSizeThatWontFitWithinMetaAtom);
                     }
                     //Has Existing Metadata
@@ -574,6 +584,7 @@ public class Mp4TagWriter
                                 moovBuffer,
                                 mdatHeader,
                                 stcos,
+                                co64s,
                                 sizeOfExistingTopLevelFreeAtom,
                                 topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
                                 newIlstData,
@@ -583,11 +594,11 @@ public class Mp4TagWriter
                 }
             }
             //Ensure we have written correctly, reject if not
-            checkFileWrittenCorrectly(mdatHeader, raf, stcos);
+            checkFileWrittenCorrectly(fc, moovHeader, mdatHeader, stcos, co64s, originalFileSize, sizeRequiredByNewIlstAtom);
         }
         catch(IOException ioe)
         {
-            throw new CannotWriteException(raf + ":" + ioe.getMessage());
+            throw new CannotWriteException(loggingName + ":" + ioe.getMessage());
         }
 
     }
@@ -611,140 +622,360 @@ public class Mp4TagWriter
      * Determine the size of the {@code free} atom immediately after {@code ilst} atom at the same level (if any),
      * we can use this if {@code ilst} needs to grow or shrink because of more less metadata.
      *
-     * @param atomTree
+     * @param atomIndex
+     * @param ilstAtom index of the ilst atom, or NONE if there isn't one
      * @return
      */
-    private int getMetaLevelFreeAtomSize(Mp4AtomTree atomTree)
+    private int getMetaLevelFreeAtomSize(Mp4AtomIndex atomIndex, int ilstAtom)
     {
-        int oldMetaLevelFreeAtomSize;//Level 4 - Free
-        oldMetaLevelFreeAtomSize = 0;
-
-        for (DefaultMutableTreeNode<?> freeNode : atomTree.getFreeNodes())
+        if (ilstAtom == Mp4AtomIndex.NONE)
         {
-            DefaultMutableTreeNode<?> parentNode = (DefaultMutableTreeNode<?>) freeNode.getParent();
-            DefaultMutableTreeNode<?> brotherNode = freeNode.getPreviousSibling();
-            if (!parentNode.isRoot())
-            {
-                Mp4BoxHeader parentHeader = ((Mp4BoxHeader) parentNode.getUserObject());
-                Mp4BoxHeader freeHeader = ((Mp4BoxHeader) freeNode.getUserObject());
-
-                //We are only interested in free atoms at this level if they come after the ilst node
-                if (brotherNode != null)
-                {
-                    Mp4BoxHeader brotherHeader = ((Mp4BoxHeader) brotherNode.getUserObject());
+            return 0;
+        }
 
-                    if (parentHeader.getId().equals(Mp4AtomIdentifier.META.getFieldName()) && brotherHeader.getId().equals(Mp4AtomIdentifier.ILST.getFieldName()))
-                    {
-                        oldMetaLevelFreeAtomSize = freeHeader.getLength();
-                        break;
-                    }
-                }
-            }
+        //We are only interested in a free atom at this level if it comes after the ilst node
+        int freeAtom = atomIndex.getNextSibling(ilstAtom);
+        if (freeAtom != Mp4AtomIndex.NONE && atomIndex.getId(freeAtom).equals(Mp4AtomIdentifier.FREE.getFieldName()))
+        {
+            return atomIndex.getLength(freeAtom);
         }
-        return oldMetaLevelFreeAtomSize;
+        return 0;
     }
 
     /**
-     * Check file written correctly.
+     * Check file written correctly, how much of the file is checked depends on {@link Mp4VerifyOptions}
      *
-     * @param mdatHeader
      * @param fc
+     * @param moovHeader
+     * @param mdatHeader
      * @param stcos
+     * @param co64s
+     * @param originalFileSize size of the file before it was written to
+     * @param sizeOfNewIlstAtom
      * @throws CannotWriteException
      * @throws IOException
      */
-    private void checkFileWrittenCorrectly(Mp4BoxHeader mdatHeader, RandomAccessFile raf, List<Mp4StcoBox> stcos) throws CannotWriteException, IOException
+    private void checkFileWrittenCorrectly(FileChannel fc, Mp4BoxHeader moovHeader, Mp4BoxHeader mdatHeader, List<Mp4StcoBox> stcos, List<Mp4Co64Box> co64s, long originalFileSize, int sizeOfNewIlstAtom) throws CannotWriteException, IOException
     {
+        Mp4VerifyOptions verifyOptions = TagOptions.current().getMp4VerifyOptions();
+        if (verifyOptions == Mp4VerifyOptions.VERIFY_NONE)
+        {
+            return;
+        }
 
         logger.config("Checking file has been written correctly");
 
         try
         {
-            //Create a tree from the new file
-            Mp4AtomTree newAtomTree;
-            newAtomTree = new Mp4AtomTree(raf, false);
+            //The only data moved by the writer is that after moov, and everything after mdat moves with it so if mdat
+            //comes after moov it moves by the change in file size, and if it comes before it doesn't move at all
+            long mdatShift = 0;
+            if (mdatHeader.getFilePos() > moovHeader.getFilePos())
+            {
+                mdatShift = fc.size() - originalFileSize;
+            }
 
-            //Check we still have audio data file, and check length
-            Mp4BoxHeader newMdatHeader = newAtomTree.getBoxHeader(newAtomTree.getMdatNode());
-            if (newMdatHeader == null)
+            //The shift the writer applied to the chunk offsets held in memory must match how far mdat has moved
+            long chunkOffsetShift = getChunkOffsetShift(stcos, co64s);
+            if ((!stcos.isEmpty() || !co64s.isEmpty()) && chunkOffsetShift != mdatShift)
             {
-                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_DATA.getMsg());
+                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_OFFSETS.getMsg(chunkOffsetShift - mdatShift));
             }
-            if (newMdatHeader.getLength() != mdatHeader.getLength())
+
+            if (verifyOptions == Mp4VerifyOptions.VERIFY_ALL)
             {
-                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_DATA_CORRUPT.getMsg());
+                checkAllAtomsWrittenCorrectly(fc, mdatHeader, mdatShift, stcos, co64s);
             }
+            else
+            {
+                checkChangedAtomsWrittenCorrectly(fc, moovHeader, mdatHeader, mdatShift, sizeOfNewIlstAtom);
+            }
+        }
+        catch (Exception e)
+        {
+            if (e instanceof CannotWriteException)
+            {
+                throw (CannotWriteException) e;
+            }
+            else
+            {
+                e.printStackTrace();
+                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED.getMsg() + ":" + e.getMessage());
+            }
+        }
+        logger.config("File has been written correctly");
+    }
 
-            //Should always have udta atom after writing to file
-            Mp4BoxHeader newUdtaHeader = newAtomTree.getBoxHeader(newAtomTree.getUdtaNode());
-            if (newUdtaHeader == null)
+    /**
+     * The amount the writer has adjusted the chunk offsets by, all the tables are adjusted by the same amount
+     *
+     * @param stcos
+     * @param co64s
+     * @return the adjustment, or zero if there are no chunk offset tables
+     */
+    private long getChunkOffsetShift(List<Mp4StcoBox> stcos, List<Mp4Co64Box> co64s)
+    {
+        for (Mp4StcoBox stco : stcos)
+        {
+            if (stco.getNoOfOffSets() > 0)
             {
-                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_TAG_DATA.getMsg());
+                return stco.getAdjustedFirstOffSet() - stco.getFirstOffSet();
             }
+        }
+        for (Mp4Co64Box co64 : co64s)
+        {
+            if (co64.getNoOfOffSets() > 0)
+            {
+                return co64.getAdjustedFirstOffSet() - co64.getFirstOffSet();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Read back only the headers of the atoms the writer could have changed, moov never moves so we start from there
+     * and follow the udta/meta/ilst path down, then check mdat is where we expect it to be. The chunk offset tables
+     * are written with the rest of the moov data so they are not read back.
+     *
+     * @param fc
+     * @param moovHeader
+     * @param mdatHeader
+     * @param mdatShift
+     * @param sizeOfNewIlstAtom
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    private void checkChangedAtomsWrittenCorrectly(FileChannel fc, Mp4BoxHeader moovHeader, Mp4BoxHeader mdatHeader, long mdatShift, int sizeOfNewIlstAtom) throws CannotWriteException, IOException
+    {
+        //Check we still have audio data, and check length
+        Mp4BoxHeader newMdatHeader = readBoxHeader(fc, mdatHeader.getFilePos() + mdatShift);
+        if (newMdatHeader == null || !newMdatHeader.getId().equals(Mp4AtomIdentifier.MDAT.getFieldName()))
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_DATA.getMsg());
+        }
+        if (newMdatHeader.getLength() != mdatHeader.getLength())
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_DATA_CORRUPT.getMsg());
+        }
+
+        Mp4BoxHeader newMoovHeader = readBoxHeader(fc, moovHeader.getFilePos());
+        if (newMoovHeader == null || !newMoovHeader.getId().equals(Mp4AtomIdentifier.MOOV.getFieldName()))
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED.getMsg());
+        }
+        //Moov must not run into the audio data that follows it
+        if (newMdatHeader.getFilePos() > newMoovHeader.getFilePos() && newMoovHeader.getFileEndPos() > newMdatHeader.getFilePos())
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_DATA_CORRUPT.getMsg());
+        }
+
+        //Should always have udta and meta atoms after writing to file
+        Mp4BoxHeader newUdtaHeader = findChildHeader(fc, newMoovHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH, newMoovHeader.getFileEndPos(), Mp4AtomIdentifier.UDTA.getFieldName());
+        if (newUdtaHeader == null)
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_TAG_DATA.getMsg());
+        }
+        Mp4BoxHeader newMetaHeader = findChildHeader(fc, newUdtaHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH, newUdtaHeader.getFileEndPos(), Mp4AtomIdentifier.META.getFieldName());
+        if (newMetaHeader == null)
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_TAG_DATA.getMsg());
+        }
 
-            //Should always have meta atom after writing to file
-            Mp4BoxHeader newMetaHeader = newAtomTree.getBoxHeader(newAtomTree.getMetaNode());
-            if (newMetaHeader == null)
+        //Meta normally has 4 bytes of flags before its children, but in QuickTime style files it does not, in which
+        //case reading from after the flags finds no ilst or fails, so then read from straight after the meta header
+        Mp4BoxHeader newIlstHeader = null;
+        try
+        {
+            newIlstHeader = findChildHeader(fc, newMetaHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH + Mp4MetaBox.FLAGS_LENGTH, newMetaHeader.getFileEndPos(), Mp4AtomIdentifier.ILST.getFieldName());
+        }
+        catch (NullBoxIdException | InvalidBoxHeaderException | CannotWriteException e)
+        {
+            logger.config("No ilst after meta flags, looking for it without flags:" + e.getMessage());
+        }
+        if (newIlstHeader == null)
+        {
+            newIlstHeader = findChildHeader(fc, newMetaHeader.getFilePos() + Mp4BoxHeader.HEADER_LENGTH, newMetaHeader.getFileEndPos(), Mp4AtomIdentifier.ILST.getFieldName());
+        }
+        if (newIlstHeader == null || newIlstHeader.getLength() != sizeOfNewIlstAtom)
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_TAG_DATA.getMsg());
+        }
+
+        //Any free atom after ilst must fit within meta
+        if (newIlstHeader.getFileEndPos() < newMetaHeader.getFileEndPos())
+        {
+            Mp4BoxHeader newFreeHeader = readBoxHeader(fc, newIlstHeader.getFileEndPos());
+            if (newFreeHeader != null
+                    && newFreeHeader.getId().equals(Mp4AtomIdentifier.FREE.getFieldName())
+                    && (newFreeHeader.getLength() < Mp4BoxHeader.HEADER_LENGTH || newFreeHeader.getFileEndPos() > newMetaHeader.getFileEndPos()))
+            {
+                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_DATA_CORRUPT.getMsg());
+            }
+        }
+    }
+
+    /**
+     * Reread and parse the whole moov atom, and compare every chunk offset table with the tables adjusted in memory
+     *
+     * @param fc
+     * @param mdatHeader
+     * @param mdatShift
+     * @param stcos
+     * @param co64s
+     * @throws CannotWriteException
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    private void checkAllAtomsWrittenCorrectly(FileChannel fc, Mp4BoxHeader mdatHeader, long mdatShift, List<Mp4StcoBox> stcos, List<Mp4Co64Box> co64s) throws CannotWriteException, CannotReadException, IOException
+    {
+        //Create a tree from the new file
+        Mp4AtomTree newAtomTree = new Mp4AtomTree(fc, true, true);
+
+        //Check we still have audio data file, and check length and position
+        Mp4AtomIndex newAtomIndex = newAtomTree.getAtomIndex();
+        Mp4BoxHeader newMdatHeader = newAtomIndex.getBoxHeader(newAtomIndex.findLast(MDAT_PATH));
+        if (newMdatHeader == null)
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_DATA.getMsg());
+        }
+        if (newMdatHeader.getLength() != mdatHeader.getLength())
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_DATA_CORRUPT.getMsg());
+        }
+        if (newMdatHeader.getFilePos() != mdatHeader.getFilePos() + mdatShift)
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_OFFSETS.getMsg(newMdatHeader.getFilePos() - (mdatHeader.getFilePos() + mdatShift)));
+        }
+
+        //Should always have udta atom after writing to file
+        if (newAtomIndex.find(UDTA_PATH) == Mp4AtomIndex.NONE)
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_TAG_DATA.getMsg());
+        }
+
+        //Should always have meta atom after writing to file
+        if (newAtomIndex.find(META_PATH) == Mp4AtomIndex.NONE)
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_TAG_DATA.getMsg());
+        }
+
+        //Check that we have the same number of chunk offset tables, and that each one was written as adjusted
+        List<Mp4StcoBox> newStcos = newAtomTree.getStcos();
+        if (newStcos.size() != stcos.size())
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_NUMBER_OF_TRACKS.getMsg(stcos.size(), newStcos.size()));
+        }
+        for (int i = 0; i < newStcos.size(); i++)
+        {
+            Mp4StcoBox newStco = newStcos.get(i);
+            Mp4StcoBox stco = stcos.get(i);
+            logger.finer("stco:Original First Offset" + stco.getFirstOffSet());
+            logger.finer("stco:Adjusted First Offset" + stco.getAdjustedFirstOffSet());
+            logger.finer("stco:New First Offset" + newStco.getFirstOffSet());
+            if (!isSameData(newStco, stco))
             {
-                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_NO_TAG_DATA.getMsg());
+                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_OFFSETS.getMsg(newStco.getFirstOffSet() - stco.getAdjustedFirstOffSet()));
             }
+        }
 
-            // Check that we at the very least have the same number of chunk offsets
-            List<Mp4StcoBox> newStcos = newAtomTree.getStcos();
-            if (newStcos.size() != stcos.size())
+        List<Mp4Co64Box> newCo64s = newAtomTree.getCo64s();
+        if (newCo64s.size() != co64s.size())
+        {
+            throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_NUMBER_OF_TRACKS.getMsg(co64s.size(), newCo64s.size()));
+        }
+        for (int i = 0; i < newCo64s.size(); i++)
+        {
+            Mp4Co64Box newCo64 = newCo64s.get(i);
+            Mp4Co64Box co64 = co64s.get(i);
+            if (!isSameData(newCo64, co64))
             {
-                // at the very least, we have to have the same number of 'stco' atoms
-                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_NUMBER_OF_TRACKS.getMsg(stcos.size(), newStcos.size()));
+                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_OFFSETS.getMsg(newCo64.getFirstOffSet() - co64.getAdjustedFirstOffSet()));
             }
-            //Check offsets are correct, may not match exactly in original file so just want to make
-            //sure that the discrepancy if any is preserved
+        }
+    }
 
-            // compare the first new stco offset with mdat,
-            // and ensure that all following ones have a constant shift
+    /**
+     * @param written box read back from file
+     * @param expected box held in memory
+     * @return true if the data of both boxes is the same
+     */
+    private boolean isSameData(AbstractMp4Box written, AbstractMp4Box expected)
+    {
+        int dataLength = expected.getHeader().getDataLength();
+        if (written.getHeader().getDataLength() != dataLength)
+        {
+            return false;
+        }
+        //The data buffers may extend beyond the end of the box so only compare the box data
+        ByteBuffer writtenData = written.getData().duplicate();
+        writtenData.clear();
+        writtenData.limit(dataLength);
+        ByteBuffer expectedData = expected.getData().duplicate();
+        expectedData.clear();
+        expectedData.limit(dataLength);
+        return writtenData.equals(expectedData);
+    }
 
-            int shift = 0;
-            for (int i=0; i<newStcos.size(); i++)
+    /**
+     * Read an atom header from file without moving the channel position
+     *
+     * @param fc
+     * @param position
+     * @return the header, or null if there is no room for a header at this position
+     * @throws IOException
+     */
+    private Mp4BoxHeader readBoxHeader(FileChannel fc, long position) throws IOException
+    {
+        if (position < 0 || position + Mp4BoxHeader.HEADER_LENGTH > fc.size())
+        {
+            return null;
+        }
+        ByteBuffer headerBuffer = ByteBuffer.allocate(Mp4BoxHeader.HEADER_LENGTH);
+        while (headerBuffer.hasRemaining())
+        {
+            if (fc.read(headerBuffer, position + headerBuffer.position()) < 0)
             {
-                Mp4StcoBox newStco = newStcos.get(i);
-                Mp4StcoBox stco = stcos.get(i);
-                logger.finer("stco:Original First Offset" + stco.getFirstOffSet());
-                logger.finer("stco:Original Diff" + (int) (stco.getFirstOffSet() - mdatHeader.getFilePos()));
-                logger.finer("stco:Original Mdat Pos" + mdatHeader.getFilePos());
-                logger.finer("stco:New First Offset" + newStco.getFirstOffSet());
-                logger.finer("stco:New Diff" + (int) ((newStco.getFirstOffSet() - newMdatHeader.getFilePos())));
-                logger.finer("stco:New Mdat Pos" + newMdatHeader.getFilePos());
-
-                if (i == 0)
-                {
-                    int diff = (int) (stco.getFirstOffSet() - mdatHeader.getFilePos());
-                    if ((newStco.getFirstOffSet() - newMdatHeader.getFilePos()) != diff)
-                    {
-                        int discrepancy = (int) ((newStco.getFirstOffSet() - newMdatHeader.getFilePos()) - diff);
-                        throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_OFFSETS.getMsg(discrepancy));
-                    }
-                    shift = stco.getFirstOffSet() - newStco.getFirstOffSet();
-                }
-                else {
-                    if (shift != stco.getFirstOffSet() - newStco.getFirstOffSet())
-                    {
-                        throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_INCORRECT_OFFSETS.getMsg(shift));
-                    }
-                }
+                return null;
             }
         }
-        catch (Exception e)
+        headerBuffer.flip();
+        Mp4BoxHeader header = new Mp4BoxHeader(headerBuffer);
+        header.setFilePos(position);
+        return header;
+    }
+
+    /**
+     * Find an atom with the given id between start and end by reading the headers of the atoms at that level
+     *
+     * @param fc
+     * @param start file position of the first atom at this level
+     * @param end file position of the end of the parent
+     * @param id
+     * @return the header, or null if not found
+     * @throws CannotWriteException if an atom does not fit within the parent
+     * @throws IOException
+     */
+    private Mp4BoxHeader findChildHeader(FileChannel fc, long start, long end, String id) throws CannotWriteException, IOException
+    {
+        long position = start;
+        while (position + Mp4BoxHeader.HEADER_LENGTH <= end)
         {
-            if (e instanceof CannotWriteException)
+            Mp4BoxHeader header = readBoxHeader(fc, position);
+            if (header == null)
             {
-                throw (CannotWriteException) e;
+                return null;
             }
-            else
+            if (header.getLength() < Mp4BoxHeader.HEADER_LENGTH || header.getFileEndPos() > end)
             {
-                e.printStackTrace();
-                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED.getMsg() + ":" + e.getMessage());
+                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_DATA_CORRUPT.getMsg());
+            }
+            if (header.getId().equals(id))
+            {
+                return header;
             }
+            position = header.getFileEndPos();
         }
-        logger.config("File has been written correctly");
+        return null;
     }
 
     /**
@@ -762,6 +993,7 @@ public class Mp4TagWriter
      * @param moovBuffer
      * @param mdatHeader
      * @param stcos
+     * @param co64s
      * @param sizeOfExistingTopLevelFreeAtom
      * @param topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata
      * @throws IOException
@@ -774,6 +1006,7 @@ public class Mp4TagWriter
             ByteBuffer moovBuffer,
             Mp4BoxHeader mdatHeader,
             List<Mp4StcoBox> stcos,
+            List<Mp4Co64Box> co64s,
             int sizeOfExistingTopLevelFreeAtom,
             boolean topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
             Mp4BoxHeader neroTagsHeader)
@@ -788,7 +1021,7 @@ public class Mp4TagWriter
         udtaHeader.setLength(Mp4BoxHeader.HEADER_LENGTH + metaBox.getHeader().getLength());
 
         //If we can fit in top level free atom we dont have to move mdat data
-        boolean isMdatDataMoved = adjustStcosIfNoSuitableTopLevelAtom(sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, udtaHeader.getLength(), stcos, moovHeader, mdatHeader);
+        boolean isMdatDataMoved = adjustStcosIfNoSuitableTopLevelAtom(sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, udtaHeader.getLength(), stcos, co64s, moovHeader, mdatHeader);
 
         //Edit the Moov header to length and rewrite to account for new udta atom
         moovHeader.setLength(moovHeader.getLength() + udtaHeader.getLength());
@@ -856,6 +1089,7 @@ public class Mp4TagWriter
      * @param moovBuffer
      * @param mdatHeader
      * @param stcos
+     * @param co64s
      * @param sizeOfExistingTopLevelFreeAtom
      * @param topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata
      * @throws IOException
@@ -868,6 +1102,7 @@ public class Mp4TagWriter
                                          ByteBuffer moovBuffer,
                                          Mp4BoxHeader mdatHeader,
                                          List<Mp4StcoBox> stcos,
+                                         List<Mp4Co64Box> co64s,
                                          int sizeOfExistingTopLevelFreeAtom,
                                          boolean topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
                                          Mp4BoxHeader neroTagsHeader,
@@ -893,7 +1128,7 @@ public class Mp4TagWriter
 
         int increaseInSizeOfUdtaAtom = udtaHeader.getDataLength() - existingUdtaDataLength;
 
-        boolean isMdatDataMoved = adjustStcosIfNoSuitableTopLevelAtom(sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, increaseInSizeOfUdtaAtom, stcos, moovHeader, mdatHeader);
+        boolean isMdatDataMoved = adjustStcosIfNoSuitableTopLevelAtom(sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, increaseInSizeOfUdtaAtom, stcos, co64s, moovHeader, mdatHeader);
 
         //Edit and rewrite the Moov header upto start of Udta
         moovHeader.setLength(moovHeader.getLength() + increaseInSizeOfUdtaAtom);
@@ -978,6 +1213,7 @@ public class Mp4TagWriter
      * @param moovBuffer
      * @param mdatHeader
      * @param stcos
+     * @param co64s
      * @param topLevelFreeSize
      * @param topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata
      * @throws IOException
@@ -991,6 +1227,7 @@ public class Mp4TagWriter
                                             ByteBuffer moovBuffer,
                                             Mp4BoxHeader mdatHeader,
                                             List<Mp4StcoBox> stcos,
+                                            List<Mp4Co64Box> co64s,
                                             int topLevelFreeSize,
                                             boolean topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
                                             ByteBuffer newIlstData,
@@ -1004,7 +1241,7 @@ public class Mp4TagWriter
         //Since we know we cant fit the data into the meta/free atom we dont try to use it, instead we leave it available for future smaller data additions
         //So we just decide if we can fit the extra data into any available toplevel free atom
         int additionalMetaSizeThatWontFitWithinMetaAtom  = sizeRequiredByNewIlstAtom - existingSizeOfIlstData;
-        boolean isMdatDataMoved     = adjustStcosIfNoSuitableTopLevelAtom(topLevelFreeSize, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, additionalMetaSizeThatWontFitWithinMetaAtom, stcos, moovHeader, mdatHeader);
+        boolean isMdatDataMoved     = adjustStcosIfNoSuitableTopLevelAtom(topLevelFreeSize, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, additionalMetaSizeThatWontFitWithinMetaAtom, stcos, co64s, moovHeader, mdatHeader);
 
         //Edit and rewrite the Moov header inc udta and meta headers)
         adjustSizeOfMoovHeader(moovHeader, moovBuffer, additionalMetaSizeThatWontFitWithinMetaAtom, udtaHeader, metaHeader);
@@ -1157,12 +1394,33 @@ public class Mp4TagWriter
     }
 
     /**
-     * May need to rewrite the {@code stco} offsets, if the location of {@code mdat} (audio) header is going to move.
+     * Adjust every chunk offset held in the {@code stco} and {@code co64} atoms, the offset tables are patched in
+     * place within the moov buffer they were read from, ready for the moov atom to be written back.
+     *
+     * @param stcos
+     * @param co64s
+     * @param adjustment can be negative
+     */
+    private void adjustChunkOffsets(List<Mp4StcoBox> stcos, List<Mp4Co64Box> co64s, int adjustment)
+    {
+        for (Mp4StcoBox stco : stcos)
+        {
+            stco.adjustOffsets(adjustment);
+        }
+        for (Mp4Co64Box co64 : co64s)
+        {
+            co64.adjustOffsets(adjustment);
+        }
+    }
+
+    /**
+     * May need to rewrite the {@code stco} and {@code co64} offsets, if the location of {@code mdat} (audio) header is going to move.
      *
      * @param topLevelFreeSize
      * @param topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata
      * @param additionalSizeRequired
      * @param stcos
+     * @param co64s
      * @param moovHeader
      * @param mdatHeader
      *
@@ -1173,6 +1431,7 @@ public class Mp4TagWriter
                                                         boolean topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
                                                         int additionalSizeRequired,
                                                         List<Mp4StcoBox> stcos,
+                                                        List<Mp4Co64Box> co64s,
                                                         Mp4BoxHeader moovHeader,
                                                         Mp4BoxHeader mdatHeader)
     {
@@ -1193,10 +1452,7 @@ public class Mp4TagWriter
                     )
             )
             {
-                for (Mp4StcoBox stoc : stcos)
-                {
-                    stoc.adjustOffsets(additionalSizeRequired);
-                }
+                adjustChunkOffsets(stcos, co64s, additionalSizeRequired);
                 return true;
             }
         }
@@ -0,0 +1,24 @@
+package org.jaudiotagger.audio.mp4;
+
+/**
+ * After writing changes to an Mp4 file we check the file has been written correctly before returning, here we define
+ * how much of the file is checked.
+ *
+ * If VERIFY_NONE is selected no checks are made.
+ *
+ * If VERIFY_CHANGED_ATOMS is selected only the headers of the atoms the writer could have changed (moov, udta, meta,
+ * ilst and the free atom after it, mdat) are read back from file, and the shift applied to the chunk offset tables
+ * in memory is checked against where mdat has actually moved to. The chunk offset tables are written as part of the
+ * moov data so are not read back.
+ *
+ * If VERIFY_ALL is selected the whole moov atom is reread and parsed, and every chunk offset table in the file is
+ * compared with the tables the writer adjusted in memory. This is the slowest option.
+ *
+ * This option should be set using TagOptionSingleton.setMp4VerifyOptions()
+ */
+public enum Mp4VerifyOptions
+{
+    VERIFY_NONE,
+    VERIFY_CHANGED_ATOMS,
+    VERIFY_ALL,
+}
@@ -0,0 +1,91 @@
+package org.jaudiotagger.audio.mp4.atom;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Co64Box, holds 64 bit offsets into the Audio data
+ *
+ * Used instead of an stco box when the audio data extends beyond the range of a 32 bit offset, so is usually
+ * found in large files such as audiobooks.
+ */
+public class Mp4Co64Box extends AbstractMp4Box
+{
+    public static final int VERSION_FLAG_LENGTH = 1;
+    public static final int OTHER_FLAG_LENGTH = 3;
+    public static final int NO_OF_OFFSETS_LENGTH = 4;
+    public static final int OFFSET_LENGTH = 8;
+
+    //Position of the first offset within the data
+    private static final int OFFSETS_POS = VERSION_FLAG_LENGTH + OTHER_FLAG_LENGTH + NO_OF_OFFSETS_LENGTH;
+
+    private final int noOfOffSets;
+    private final long firstOffSet;
+
+    /**
+     * Construct box from data, the offsets are read and adjusted in place so changes are made directly to the
+     * buffer this box was read from
+     *
+     * @param header header info
+     * @param buffer data of box (doesnt include header data)
+     */
+    public Mp4Co64Box(Mp4BoxHeader header, ByteBuffer buffer)
+    {
+        this.header = header;
+
+        //Make a slice of databuffer then we can work with relative or absolute methods safetly
+        dataBuffer = buffer.slice();
+        dataBuffer.order(ByteOrder.BIG_ENDIAN);
+
+        //No of offsets
+        this.noOfOffSets = dataBuffer.getInt(VERSION_FLAG_LENGTH + OTHER_FLAG_LENGTH);
+
+        //First Offset, useful for sanity checks
+        firstOffSet = noOfOffSets > 0 ? dataBuffer.getLong(OFFSETS_POS) : 0;
+    }
+
+    /**
+     * Add adjustment to every offset
+     *
+     * @param adjustment can be negative
+     */
+    public void adjustOffsets(long adjustment)
+    {
+        //Never beyond the end of this box, even if the number of offsets is wrong
+        int end = (int) Math.min(OFFSETS_POS + (long) noOfOffSets * OFFSET_LENGTH, header.getDataLength());
+        for (int pos = OFFSETS_POS; pos + OFFSET_LENGTH <= end; pos += OFFSET_LENGTH)
+        {
+            dataBuffer.putLong(pos, dataBuffer.getLong(pos) + adjustment);
+        }
+    }
+
+    /**
+     * The number of offsets
+     *
+     * @return
+     */
+    public int getNoOfOffSets()
+    {
+        return noOfOffSets;
+    }
+
+    /**
+     * The value of the first offset
+     *
+     * @return
+     */
+    public long getFirstOffSet()
+    {
+        return firstOffSet;
+    }
+
+    /**
+     * The value of the first offset as now held in the data, so includes any adjustment made since the box was read
+     *
+     * @return
+     */
+    public long getAdjustedFirstOffSet()
+    {
+        return noOfOffSets > 0 ? dataBuffer.getLong(OFFSETS_POS) : 0;
+    }
+}
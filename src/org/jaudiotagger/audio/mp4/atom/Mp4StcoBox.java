@@ -85,17 +85,11 @@ public class Mp4StcoBox extends AbstractMp4Box
 
     public void adjustOffsets(int adjustment)
     {
-        //Skip the flags
-        dataBuffer.rewind();
-        dataBuffer.position(dataBuffer.position() + VERSION_FLAG_LENGTH + OTHER_FLAG_LENGTH + NO_OF_OFFSETS_LENGTH);
-        for (int i = 0; i < noOfOffSets; i++)
+        //Skip the flags, then update each offset in place
+        int pos = VERSION_FLAG_LENGTH + OTHER_FLAG_LENGTH + NO_OF_OFFSETS_LENGTH;
+        for (int i = 0; i < noOfOffSets; i++, pos += OFFSET_LENGTH)
         {
-            int offset = dataBuffer.getInt();
-
-            //Calculate new offset and update buffer
-            offset = offset + adjustment;
-            dataBuffer.position(dataBuffer.position() - OFFSET_LENGTH);
-            dataBuffer.putInt(offset);
+            dataBuffer.putInt(pos, dataBuffer.getInt(pos) + adjustment);
         }
     }
 
@@ -150,6 +144,16 @@ public class Mp4StcoBox extends AbstractMp4Box
         return firstOffSet;
     }
 
+    /**
+     * The value of the first offset as now held in the data, so includes any adjustment made since the box was read
+     *
+     * @return
+     */
+    public int getAdjustedFirstOffSet()
+    {
+        return dataBuffer.getInt(VERSION_FLAG_LENGTH + OTHER_FLAG_LENGTH + NO_OF_OFFSETS_LENGTH);
+    }
+
     public static Mp4StcoBox getStco(RandomAccessFile raf) throws IOException, CannotReadException
     {
         FileChannel fc = raf.getChannel();
@@ -18,6 +18,7 @@
  */
 package org.jaudiotagger.audio.ogg;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
@@ -28,6 +29,7 @@ import org.jaudiotagger.tag.Tag;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.logging.Logger;
 
 /**
@@ -59,6 +61,15 @@ public class OggFileReader extends AudioFileReader
         return vtr.read(raf);
     }
 
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = ir.read(fc);
+        fc.position(0);
+        Tag tag = vtr.read(fc);
+        return new AudioFile(f, info, tag);
+    }
+
     /**
      * Return count Ogg Page header, count starts from zero
      *
@@ -26,6 +26,7 @@ import org.jaudiotagger.tag.Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.logging.Logger;
 
 /**
@@ -45,6 +46,36 @@ public class OggFileWriter extends AudioFileWriter
         vtw.write(tag, raf, rafTemp);
     }
 
+    @Override
+    protected boolean writeTagInPlace(AudioFile audioFile, Tag tag, RandomAccessFile raf) throws CannotReadException, CannotWriteException, IOException
+    {
+        OggVorbisTagWriter.InPlaceSecondPage page = vtw.createInPlaceSecondPage(tag, raf);
+        if (page == null)
+        {
+            return false;
+        }
+        fileWillBeModifiedInPlace(audioFile);
+        vtw.writeInPlace(page, raf);
+        return true;
+    }
+
+    /**
+     * Ogg pages cannot be renumbered within the channel, so only a tag whose comment and setup header fit on the
+     * second page can be written
+     */
+    @Override
+    protected boolean writeTagToChannel(AudioFile audioFile, Tag tag, FileChannel fc) throws CannotReadException, CannotWriteException, IOException
+    {
+        OggVorbisTagWriter.InPlaceSecondPage page = vtw.createInPlaceSecondPage(tag, fc, false);
+        if (page == null)
+        {
+            return false;
+        }
+        fileWillBeModifiedInPlace(audioFile);
+        vtw.writeInPlace(page, fc);
+        return true;
+    }
+
     protected void deleteTag(Tag tag, RandomAccessFile raf, RandomAccessFile tempRaf) throws CannotReadException, CannotWriteException, IOException
     {
         vtw.delete(raf, tempRaf);
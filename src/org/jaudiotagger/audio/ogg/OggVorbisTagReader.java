@@ -21,6 +21,7 @@ package org.jaudiotagger.audio.ogg;
 
 import org.jaudiotagger.StandardCharsets;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
 import org.jaudiotagger.audio.ogg.util.VorbisHeader;
 import org.jaudiotagger.audio.ogg.util.VorbisPacketType;
@@ -32,6 +33,7 @@ import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -66,9 +68,22 @@ public class OggVorbisTagReader
      * @throws IOException
      */
     public Tag read(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return read(raf.getChannel());
+    }
+
+    /**
+     * Read the Logical VorbisComment Tag from the current position of the channel
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public Tag read(FileChannel fc) throws CannotReadException, IOException
     {
         logger.config("Starting to read ogg vorbis tag from file:");
-        byte[] rawVorbisCommentData = readRawPacketData(raf);
+        byte[] rawVorbisCommentData = readRawPacketData(fc);
 
         //Begin tag reading
         VorbisCommentTag tag = vorbisCommentReader.read(rawVorbisCommentData, true);
@@ -99,27 +114,41 @@ public class OggVorbisTagReader
      * @throws IOException
      */
     public byte[] readRawPacketData(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return readRawPacketData(raf.getChannel());
+    }
+
+    /**
+     * Retrieve the raw VorbisComment packet data from the current position of the channel, does not include the
+     * OggVorbis header
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException if unable to find vorbiscomment header
+     * @throws IOException
+     */
+    public byte[] readRawPacketData(FileChannel fc) throws CannotReadException, IOException
     {
         logger.fine("Read 1st page");
         //1st page = codec infos
-        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        OggPageHeader pageHeader = OggPageHeader.read(fc);
         //Skip over data to end of page header 1
-        raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
+        fc.position(fc.position() + pageHeader.getPageLength());
 
         logger.fine("Read 2nd page");
         //2nd page = comment, may extend to additional pages or not , may also have setup header
-        pageHeader = OggPageHeader.read(raf);
+        pageHeader = OggPageHeader.read(fc);
 
         //Now at start of packets on page 2 , check this is the vorbis comment header 
         byte[] b = new byte[VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH];
-        raf.read(b);
+        Utils.read(fc, b);
         if (!isVorbisCommentHeader(b))
         {
             throw new CannotReadException("Cannot find comment block (no vorbiscomment header)");
         }
 
         //Convert the comment raw data which maybe over many pages back into raw packet
-        byte[] rawVorbisCommentData = convertToVorbisCommentPacket(pageHeader, raf);
+        byte[] rawVorbisCommentData = convertToVorbisCommentPacket(pageHeader, fc);
         return rawVorbisCommentData;
     }
 
@@ -154,16 +183,16 @@ public class OggVorbisTagReader
      * The Vorbis Comment may span multiple pages so we we need to identify the pages they contain and then
      * extract the packet data from the pages
      * @param startVorbisCommentPage
-     * @param raf
+     * @param fc
      * @throws org.jaudiotagger.audio.exceptions.CannotReadException
      * @throws java.io.IOException
      * @return
      */
-    private byte[] convertToVorbisCommentPacket(OggPageHeader startVorbisCommentPage, RandomAccessFile raf) throws IOException, CannotReadException
+    private byte[] convertToVorbisCommentPacket(OggPageHeader startVorbisCommentPage, FileChannel fc) throws IOException, CannotReadException
     {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         byte[] b = new byte[startVorbisCommentPage.getPacketList().get(0).getLength() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH)];
-        raf.read(b);
+        Utils.read(fc, b);
         baos.write(b);
 
         //Because there is at least one other packet (SetupHeaderPacket) this means the Comment Packet has finished
@@ -186,9 +215,9 @@ public class OggVorbisTagReader
         while (true)
         {
             logger.config("Reading next page");
-            OggPageHeader nextPageHeader = OggPageHeader.read(raf);
+            OggPageHeader nextPageHeader = OggPageHeader.read(fc);
             b = new byte[nextPageHeader.getPacketList().get(0).getLength()];
-            raf.read(b);
+            Utils.read(fc, b);
             baos.write(b);
 
             //Because there is at least one other packet (SetupHeaderPacket) this means the Comment Packet has finished
@@ -399,11 +428,25 @@ public class OggVorbisTagReader
      * @throws IOException
      */
     public OggVorbisHeaderSizes readOggVorbisHeaderSizes(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return readOggVorbisHeaderSizes(raf.getChannel());
+    }
+
+    /**
+     * Calculate the size of the packet data for the comment and setup headers, reading from the current position
+     * of the channel, which is left unchanged
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public OggVorbisHeaderSizes readOggVorbisHeaderSizes(FileChannel fc) throws CannotReadException, IOException
     {
         logger.fine("Started to read comment and setup header sizes:");
 
         //Stores filepointers so return file in same state
-        long filepointer = raf.getFilePointer();
+        long filepointer = fc.position();
 
         //Extra Packets on same page as setup header
         List<OggPageHeader.PacketStartAndLength> extraPackets = new ArrayList<>();
@@ -413,75 +456,75 @@ public class OggVorbisTagReader
         int commentHeaderSize = 0;
         int setupHeaderSize;
         //1st page = codec infos
-        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        OggPageHeader pageHeader = OggPageHeader.read(fc);
         //Skip over data to end of page header 1
-        raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
+        fc.position(fc.position() + pageHeader.getPageLength());
 
         //2nd page = comment, may extend to additional pages or not , may also have setup header
-        pageHeader = OggPageHeader.read(raf);
-        commentHeaderStartPosition = raf.getFilePointer() - (OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length);
+        pageHeader = OggPageHeader.read(fc);
+        commentHeaderStartPosition = fc.position() - (OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length);
 
         //Now at start of packets on page 2 , check this is the vorbis comment header
         byte[] b = new byte[VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH];
-        raf.read(b);
+        Utils.read(fc, b);
         if (!isVorbisCommentHeader(b))
         {
             throw new CannotReadException("Cannot find comment block (no vorbiscomment header)");
         }
-        raf.seek(raf.getFilePointer() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH));
-        logger.config("Found start of comment header at:" + raf.getFilePointer());
+        fc.position(fc.position() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH));
+        logger.config("Found start of comment header at:" + fc.position());
 
         //Calculate Comment Size (not inc header)
         while (true)
         {
             List<OggPageHeader.PacketStartAndLength> packetList = pageHeader.getPacketList();
             commentHeaderSize += packetList.get(0).getLength();
-            raf.skipBytes(packetList.get(0).getLength());
+            fc.position(fc.position() + packetList.get(0).getLength());
 
             //If this page contains multiple packets or if this last packet is complete then the Comment header
             //end son this page and we can break
             if (packetList.size() > 1 || !pageHeader.isLastPacketIncomplete())
             {
                 //done comment size
-                logger.config("Found end of comment:size:" + commentHeaderSize + "finishes at file position:" + raf.getFilePointer());
+                logger.config("Found end of comment:size:" + commentHeaderSize + "finishes at file position:" + fc.position());
                 break;
             }
-            pageHeader = OggPageHeader.read(raf);
+            pageHeader = OggPageHeader.read(fc);
         }
 
         //If there are no more packets on this page we need to go to next page to get the setup header
         OggPageHeader.PacketStartAndLength       packet;
         if(pageHeader.getPacketList().size()==1)
         {
-            pageHeader = OggPageHeader.read(raf);
+            pageHeader = OggPageHeader.read(fc);
             List<OggPageHeader.PacketStartAndLength> packetList = pageHeader.getPacketList();                       
             packet     = pageHeader.getPacketList().get(0);
 
             //Now at start of next packet , check this is the vorbis setup header
             b = new byte[VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH];
-            raf.read(b);
+            Utils.read(fc, b);
             if (!isVorbisSetupHeader(b))
             {
                 throw new CannotReadException(ErrorMessage.OGG_VORBIS_NO_VORBIS_HEADER_FOUND.getMsg());
             }
-            raf.seek(raf.getFilePointer() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH));
-            logger.config("Found start of vorbis setup header at file position:" + raf.getFilePointer());
+            fc.position(fc.position() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH));
+            logger.config("Found start of vorbis setup header at file position:" + fc.position());
 
             //Set this to the  start of the OggPage that setupheader was found on
-            setupHeaderStartPosition = raf.getFilePointer() - (OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length);
+            setupHeaderStartPosition = fc.position() - (OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length);
 
             //Add packet data to size to the setup header size
             setupHeaderSize = packet.getLength();
             logger.fine("Adding:" + packet.getLength() + " to setup header size");
 
             //Skip over the packet data
-            raf.skipBytes(packet.getLength());
+            fc.position(fc.position() + packet.getLength());
 
             //If there are other packets that follow this one, or if the last packet is complete then we must have
             //got the size of the setup header.
             if (packetList.size() > 1 || !pageHeader.isLastPacketIncomplete())
             {
-                logger.config("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + raf.getFilePointer());
+                logger.config("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + fc.position());
                 if (packetList.size() > 1)
                 {
                     extraPackets = packetList.subList(1, packetList.size());
@@ -490,17 +533,17 @@ public class OggVorbisTagReader
             //The setup header continues onto the next page
             else
             {
-                pageHeader = OggPageHeader.read(raf);
+                pageHeader = OggPageHeader.read(fc);
                 packetList = pageHeader.getPacketList();
                 while (true)
                 {
                     setupHeaderSize += packetList.get(0).getLength();
                     logger.fine("Adding:" + packetList.get(0).getLength() + " to setup header size");
-                    raf.skipBytes(packetList.get(0).getLength());
+                    fc.position(fc.position() + packetList.get(0).getLength());
                     if (packetList.size() > 1 || !pageHeader.isLastPacketIncomplete())
                     {
                         //done setup size
-                        logger.fine("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + raf.getFilePointer());
+                        logger.fine("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + fc.position());
                         if (packetList.size() > 1)
                         {
                             extraPackets = packetList.subList(1, packetList.size());
@@ -508,7 +551,7 @@ public class OggVorbisTagReader
                         break;
                     }
                     //Continues onto another page
-                    pageHeader = OggPageHeader.read(raf);
+                    pageHeader = OggPageHeader.read(fc);
                 }
             }
         }
@@ -520,17 +563,17 @@ public class OggVorbisTagReader
 
             //Now at start of next packet , check this is the vorbis setup header
             b = new byte[VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH];
-            raf.read(b);
+            Utils.read(fc, b);
             if (!isVorbisSetupHeader(b))
             {
-                logger.warning("Expecting but got:"+new String(b)+ "at "+(raf.getFilePointer()  - b.length));
+                logger.warning("Expecting but got:"+new String(b)+ "at "+(fc.position()  - b.length));
                 throw new CannotReadException(ErrorMessage.OGG_VORBIS_NO_VORBIS_HEADER_FOUND.getMsg());
             }
-            raf.seek(raf.getFilePointer() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH));
-            logger.config("Found start of vorbis setup header at file position:" + raf.getFilePointer());
+            fc.position(fc.position() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH));
+            logger.config("Found start of vorbis setup header at file position:" + fc.position());
 
             //Set this to the  start of the OggPage that setupheader was found on
-            setupHeaderStartPosition = raf.getFilePointer() - (OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length)
+            setupHeaderStartPosition = fc.position() - (OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length)
                     - pageHeader.getPacketList().get(0).getLength();
 
             //Add packet data to size to the setup header size
@@ -538,13 +581,13 @@ public class OggVorbisTagReader
             logger.fine("Adding:" + packet.getLength() + " to setup header size");
 
             //Skip over the packet data
-            raf.skipBytes(packet.getLength());
+            fc.position(fc.position() + packet.getLength());
 
              //If there are other packets that follow this one, or if the last packet is complete then we must have
             //got the size of the setup header.
             if (packetList.size() > 2 || !pageHeader.isLastPacketIncomplete())
             {
-                logger.fine("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + raf.getFilePointer());
+                logger.fine("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + fc.position());
                 if (packetList.size() > 2)
                 {
                     extraPackets = packetList.subList(2, packetList.size());
@@ -553,17 +596,17 @@ public class OggVorbisTagReader
             //The setup header continues onto the next page
             else
             {
-                pageHeader = OggPageHeader.read(raf);
+                pageHeader = OggPageHeader.read(fc);
                 packetList = pageHeader.getPacketList();
                 while (true)
                 {
                     setupHeaderSize += packetList.get(0).getLength();
                     logger.fine("Adding:" + packetList.get(0).getLength() + " to setup header size");
-                    raf.skipBytes(packetList.get(0).getLength());
+                    fc.position(fc.position() + packetList.get(0).getLength());
                     if (packetList.size() > 1 || !pageHeader.isLastPacketIncomplete())
                     {
                         //done setup size
-                        logger.fine("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + raf.getFilePointer());
+                        logger.fine("Found end of setupheader:size:" + setupHeaderSize + "finishes at:" + fc.position());
                         if (packetList.size() > 1)
                         {
                             extraPackets = packetList.subList(1, packetList.size());
@@ -571,13 +614,13 @@ public class OggVorbisTagReader
                         break;
                     }
                     //Continues onto another page
-                    pageHeader = OggPageHeader.read(raf);
+                    pageHeader = OggPageHeader.read(fc);
                 }
             }
         }
 
         //Reset filepointer to location that it was in at start of method
-        raf.seek(filepointer);
+        fc.position(filepointer);
         return new OggVorbisHeaderSizes(commentHeaderStartPosition, setupHeaderStartPosition, commentHeaderSize, setupHeaderSize, extraPackets);
     }
 
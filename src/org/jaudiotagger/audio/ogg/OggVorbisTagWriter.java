@@ -22,17 +22,23 @@ package org.jaudiotagger.audio.ogg;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.generic.WritePlan;
+import org.jaudiotagger.audio.generic.WritePlanner;
+import org.jaudiotagger.audio.generic.WriteStrategy;
 import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.id3.AbstractID3v1Tag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
+import org.jaudiotagger.utils.ShiftData;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -46,6 +52,11 @@ public class OggVorbisTagWriter
     // Logger Object
     public static final Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg");
 
+    /**
+     * Size of the window used to renumber the pages following the comment, holds many pages of the maximum size
+     */
+    private static final int REMAINING_PAGES_WINDOW_SIZE = 1024 * 1024;
+
     private final OggVorbisCommentTagCreator tc = new OggVorbisCommentTagCreator();
     private final OggVorbisTagReader reader = new OggVorbisTagReader();
 
@@ -122,7 +133,7 @@ public class OggVorbisTagWriter
             //   OR
             //There are more than the packets in which case have complete setup header and some audio packets
             //we dont care if the last audio packet is split on next page as long as we preserve it
-            if ((secondPageHeader.getPageLength() < OggPageHeader.MAXIMUM_PAGE_DATA_SIZE) && (((secondPageHeader.getPacketList().size() == 2) && (!secondPageHeader.isLastPacketIncomplete())) || (secondPageHeader.getPacketList().size() > 2)))
+            if (isSecondPageOnlyReplaceable(secondPageHeader))
             {
                 logger.fine("Header and Setup remain on single page:");
                 replaceSecondPageOnly(vorbisHeaderSizes, newCommentLength, newSecondPageDataLength, secondPageHeader, newComment, secondPageHeaderEndPos, raf, rafTemp);
@@ -143,21 +154,167 @@ public class OggVorbisTagWriter
     }
 
     /**
-     * Calculate checkSum over the Page
+     * Build the new second page for writing the tag over the existing comment header without using a temporary file.
+     * This is possible if the comment and setup header fitted on the second page and still do, as then none of the
+     * following pages have to be renumbered. If the page changes size the following pages are moved within the file,
+     * unless the {@link WritePlanner} expects a new file to be cheaper.
+     *
+     * @param tag
+     * @param raf
+     * @return the new page, or null if the tag has to be written to a new file
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public InPlaceSecondPage createInPlaceSecondPage(Tag tag, RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return createInPlaceSecondPage(tag, raf.getChannel(), true);
+    }
+
+    /**
+     * Build the new second page for writing the tag over the existing comment header of the file open on the channel.
+     *
+     * @param tag
+     * @param fc
+     * @param rewriteAllowed false if the file cannot be replaced by a new file, so the following pages are moved
+     *                       however much it costs
+     * @return the new page, or null if the tag has to be written to a new file, which is always so if the following
+     * pages would have to be renumbered
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public InPlaceSecondPage createInPlaceSecondPage(Tag tag, FileChannel fc, boolean rewriteAllowed) throws CannotReadException, IOException
+    {
+        //Skip 1st Page:Identification Header
+        fc.position(0);
+        OggPageHeader pageHeader = OggPageHeader.read(fc);
+        fc.position(pageHeader.getStartByte() + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length + pageHeader.getPageLength());
+
+        OggPageHeader secondPageHeader = OggPageHeader.read(fc);
+        long secondPageHeaderEndPos = fc.position();
+        long secondPageLength = secondPageHeaderEndPos - secondPageHeader.getStartByte() + secondPageHeader.getPageLength();
+
+        fc.position(0);
+        OggVorbisTagReader.OggVorbisHeaderSizes vorbisHeaderSizes = reader.readOggVorbisHeaderSizes(fc);
+        ByteBuffer newComment = tc.convert(tag);
+        int newCommentLength = newComment.capacity();
+        int newSecondPageDataLength = vorbisHeaderSizes.getSetupHeaderSize() + newCommentLength + vorbisHeaderSizes.getExtraPacketDataSize();
+        if (!isCommentAndSetupHeaderFitsOnASinglePage(newCommentLength, vorbisHeaderSizes.getSetupHeaderSize(), vorbisHeaderSizes.getExtraPacketList()) || !isSecondPageOnlyReplaceable(secondPageHeader))
+        {
+            return null;
+        }
+
+        ByteBuffer secondPageBuffer = startCreateBasicSecondPage(vorbisHeaderSizes, newCommentLength, newSecondPageDataLength, secondPageHeader, newComment);
+
+        //Ogg pages cannot be padded, so any change in size means moving the following pages
+        WritePlanner planner = new WritePlanner(1, 0, 0);
+        WritePlan plan = planner.plan(fc.size(), secondPageHeader.getStartByte(), secondPageLength, secondPageBuffer.capacity(), rewriteAllowed);
+        if (plan.getStrategy() == WriteStrategy.REWRITE)
+        {
+            return null;
+        }
+
+        //Read in setup header and extra packets
+        fc.position(secondPageHeaderEndPos + vorbisHeaderSizes.getCommentHeaderSize());
+        Utils.readFully(fc, secondPageBuffer);
+        calculateChecksumOverPage(secondPageBuffer);
+        return new InPlaceSecondPage(secondPageHeader.getStartByte(), secondPageLength, secondPageBuffer);
+    }
+
+    /**
+     * Write the page created by {@link #createInPlaceSecondPage(Tag, RandomAccessFile)} over the existing second page,
+     * moving the following pages if it has changed size. They keep their sequence numbers so are moved as they are.
      *
      * @param page
+     * @param raf
+     * @throws IOException
      */
-    private void calculateChecksumOverPage(ByteBuffer page)
-    {           
-        //CRC should be zero before calculating it
-        page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+    public void writeInPlace(InPlaceSecondPage page, RandomAccessFile raf) throws IOException
+    {
+        writeInPlace(page, raf.getChannel());
+    }
+
+    /**
+     * Write the page created by {@link #createInPlaceSecondPage(Tag, FileChannel, boolean)} over the existing second
+     * page of the file open on the channel.
+     *
+     * @param page
+     * @param fc
+     * @throws IOException
+     */
+    public void writeInPlace(InPlaceSecondPage page, FileChannel fc) throws IOException
+    {
+        long sizeChange = page.buffer.capacity() - page.existingLength;
+        if (sizeChange != 0)
+        {
+            logger.fine("Second page changes size from " + page.existingLength + " to " + page.buffer.capacity());
+            fc.position(page.start + page.existingLength);
+            if (sizeChange > 0)
+            {
+                ShiftData.shiftDataByOffsetToMakeSpace(fc, (int) sizeChange);
+            }
+            else
+            {
+                ShiftData.shiftDataByOffsetToShrinkSpace(fc, (int) -sizeChange);
+            }
+        }
+        fc.position(page.start);
+        while (page.buffer.hasRemaining())
+        {
+            fc.write(page.buffer);
+        }
+        logger.fine("Replaced second page in place");
+    }
+
+    /**
+     * New second page to be written in place of the existing one
+     */
+    public static class InPlaceSecondPage
+    {
+        private final long start;
+        private final long existingLength;
+        private final ByteBuffer buffer;
 
-        //Compute CRC over the  page  //TODO shouldnt really use array();
-        byte[] crc = OggCRCFactory.computeCRC(page.array());
-        for (int i = 0; i < crc.length; i++)
+        InPlaceSecondPage(long start, long existingLength, ByteBuffer buffer)
         {
-            page.put(OggPageHeader.FIELD_PAGE_CHECKSUM_POS + i, crc[i]);
+            this.start = start;
+            this.existingLength = existingLength;
+            this.buffer = buffer;
         }
+    }
+
+    /**
+     * @param secondPageHeader
+     * @return true if comment and setup header originally fitted on the 2nd page, so if they still do only this
+     * page has to be replaced and the following pages can be kept as they are
+     */
+    private boolean isSecondPageOnlyReplaceable(OggPageHeader secondPageHeader)
+    {
+        return (secondPageHeader.getPageLength() < OggPageHeader.MAXIMUM_PAGE_DATA_SIZE) && (((secondPageHeader.getPacketList().size() == 2) && (!secondPageHeader.isLastPacketIncomplete())) || (secondPageHeader.getPacketList().size() > 2));
+    }
+
+    /**
+     * Calculate checkSum over a Page held within a larger buffer
+     *
+     * @param buffer little endian buffer holding the page
+     * @param pageStart
+     * @param pageLength
+     */
+    private void calculateChecksumOverPage(ByteBuffer buffer, int pageStart, int pageLength)
+    {
+        //CRC should be zero before calculating it
+        buffer.putInt(pageStart + OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+        int crc = OggCRCFactory.computeCRC(buffer, pageStart, pageLength);
+        buffer.putInt(pageStart + OggPageHeader.FIELD_PAGE_CHECKSUM_POS, crc);
+    }
+
+    /**
+     * Calculate checkSum over the Page
+     *
+     * @param page little endian buffer holding just the page
+     */
+    private void calculateChecksumOverPage(ByteBuffer page)
+    {
+        calculateChecksumOverPage(page, 0, page.capacity());
 
         //Rewind to start of Page
         page.rewind();
@@ -240,10 +397,11 @@ public class OggVorbisTagWriter
         //Skip comment header
         raf.skipBytes(vorbisHeaderSizes.getCommentHeaderSize());
         //Read in setup header and extra packets
-        raf.getChannel().read(secondPageBuffer);
+        Utils.readFully(raf.getChannel(), secondPageBuffer);
         calculateChecksumOverPage(secondPageBuffer);
         rafTemp.getChannel().write(secondPageBuffer);
-        rafTemp.getChannel().transferFrom(raf.getChannel(), rafTemp.getFilePointer(), raf.length() - raf.getFilePointer());
+        //Following pages are unchanged so are copied in one go
+        Utils.transferFully(raf.getChannel(), raf.getFilePointer(), raf.length() - raf.getFilePointer(), rafTemp.getChannel());
     }
 
     /**
@@ -436,6 +594,11 @@ public class OggVorbisTagWriter
     /**
      * Write all the remaining pages as they are except that the page sequence needs to be modified.
      *
+     * <p>The pages are streamed through a fixed size window that is reused until the end of the file, so memory
+     * use does not depend on the size of the file. Each time the window is filled the complete pages within it
+     * have their sequence number and checksum updated in place and are written out together, a page that
+     * continues past the end of the window is moved to its start and completed by the next read.
+     *
      * @param pageSequence
      * @param raf
      * @param rafTemp
@@ -447,65 +610,136 @@ public class OggVorbisTagWriter
     {
         long startAudio = raf.getFilePointer();
         long startAudioWritten = rafTemp.getFilePointer();
+        long fileLength = raf.length();
+        FileChannel in = raf.getChannel();
+        FileChannel out = rafTemp.getChannel();
 
-        //TODO there is a risk we wont have enough memory to create these buffers
-        ByteBuffer bb       = ByteBuffer.allocate((int) (raf.length() - raf.getFilePointer()));
-        ByteBuffer bbTemp   = ByteBuffer.allocate((int)(raf.length() - raf.getFilePointer()));
+        ByteBuffer window = ByteBuffer.allocate((int) Math.min(REMAINING_PAGES_WINDOW_SIZE, fileLength - startAudio));
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        window.flip();
 
-        //Read in the rest of the data into bytebuffer and rewind it to start
-        raf.getChannel().read(bb);
-        bb.rewind();
+        //File position of the start of the window
+        long windowStart = startAudio;
         long bytesToDiscard = 0;
-        while(bb.hasRemaining())
+        boolean endOfFile = false;
+        while (!endOfFile)
         {
-            OggPageHeader nextPage;
-            try
+            //Keep any partial page and fill the rest of the window
+            windowStart += window.position();
+            window.compact();
+            while (window.hasRemaining())
             {
-                nextPage = OggPageHeader.read(bb);
+                if (in.read(window) < 0)
+                {
+                    break;
+                }
             }
-            catch(CannotReadException cre)
+            window.flip();
+            endOfFile = windowStart + window.limit() >= fileLength;
+
+            int pageStart = window.position();
+            while (pageStart < window.limit())
             {
-                //Go back to where were
-                bb.position(bb.position() - OggPageHeader.CAPTURE_PATTERN.length);
-                //#117:Ogg file with invalid ID3v1 tag at end remove and save
-                if(Utils.readThreeBytesAsChars(bb).equals(AbstractID3v1Tag.TAG))
+                int pageLength = getCompletePageLength(window, pageStart);
+                if (pageLength == 0)
                 {
-                    bytesToDiscard = bb.remaining() + AbstractID3v1Tag.TAG.length();
-                    break;
+                    if (!endOfFile)
+                    {
+                        //Rest of page is read in with next window
+                        break;
+                    }
+                    //#117:Ogg file with invalid ID3v1 tag at end remove and save
+                    if (window.limit() - pageStart >= AbstractID3v1Tag.TAG.length() && isTag(window, pageStart))
+                    {
+                        bytesToDiscard = window.limit() - pageStart;
+                        break;
+                    }
+                    throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg("at " + (windowStart + pageStart)));
                 }
-                else
+                else if (pageLength < 0)
                 {
-                    throw cre;
+                    if (isTag(window, pageStart))
+                    {
+                        bytesToDiscard = fileLength - (windowStart + pageStart);
+                        endOfFile = true;
+                        break;
+                    }
+                    throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg("at " + (windowStart + pageStart)));
                 }
+                window.putInt(pageStart + OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS, ++pageSequence);
+                calculateChecksumOverPage(window, pageStart, pageLength);
+                pageStart += pageLength;
             }
-            //Create buffer large enough for next page (header and data) and set byte order to LE so we can use
-            //putInt method
-            ByteBuffer nextPageHeaderBuffer = ByteBuffer.allocate(nextPage.getRawHeaderData().length + nextPage.getPageLength());
-            nextPageHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
-            nextPageHeaderBuffer.put(nextPage.getRawHeaderData());
-            ByteBuffer data = bb.slice();
-            data.limit(nextPage.getPageLength());
-            nextPageHeaderBuffer.put(data);
-            nextPageHeaderBuffer.putInt(OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS, ++pageSequence);
-            calculateChecksumOverPage(nextPageHeaderBuffer);
-            bb.position(bb.position() + nextPage.getPageLength());
-
-            nextPageHeaderBuffer.rewind();
-            bbTemp.put(nextPageHeaderBuffer);
-        }
-        //Now just write as a single IO operation
-        bbTemp.flip();
-        rafTemp.getChannel().write(bbTemp);
+
+            //Write all the renumbered pages in the window as a single IO operation
+            ByteBuffer pages = window.duplicate();
+            pages.limit(pageStart);
+            while (pages.hasRemaining())
+            {
+                out.write(pages);
+            }
+            window.position(pageStart);
+        }
+
         //Check we have written all the data (minus any invalid Tag at end)
-        if ((raf.length() - startAudio) != ((rafTemp.length() + bytesToDiscard) - startAudioWritten))
+        if ((fileLength - startAudio) != ((rafTemp.length() + bytesToDiscard) - startAudioWritten))
         {
             throw new CannotWriteException("File written counts don't match, file not written:"
-                    +"origAudioLength:"+(raf.length() - startAudio)
+                    +"origAudioLength:"+(fileLength - startAudio)
                     +":newAudioLength:"+((rafTemp.length() + bytesToDiscard) - startAudioWritten)
                     +":bytesDiscarded:"+bytesToDiscard);
         }
     }
 
+    /**
+     * @param window
+     * @param pageStart offset of page within window
+     * @return length of the page including its header, zero if the page is not completely held in the window, or
+     * -1 if there is no page at pageStart
+     */
+    private int getCompletePageLength(ByteBuffer window, int pageStart)
+    {
+        int available = window.limit() - pageStart;
+        if (available < OggPageHeader.CAPTURE_PATTERN.length)
+        {
+            return 0;
+        }
+        for (int i = 0; i < OggPageHeader.CAPTURE_PATTERN.length; i++)
+        {
+            if (window.get(pageStart + i) != OggPageHeader.CAPTURE_PATTERN[i])
+            {
+                return -1;
+            }
+        }
+        if (available < OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH)
+        {
+            return 0;
+        }
+        int pageSegments = window.get(pageStart + OggPageHeader.FIELD_PAGE_SEGMENTS_POS) & 0xFF;
+        int pageLength = OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments;
+        if (available < pageLength)
+        {
+            return 0;
+        }
+        for (int i = 0; i < pageSegments; i++)
+        {
+            pageLength += window.get(pageStart + OggPageHeader.FIELD_SEGMENT_TABLE_POS + i) & 0xFF;
+        }
+        return available < pageLength ? 0 : pageLength;
+    }
+
+    private boolean isTag(ByteBuffer window, int offset)
+    {
+        for (int i = 0; i < AbstractID3v1Tag.TAG.length(); i++)
+        {
+            if (window.get(offset + i) != AbstractID3v1Tag.TAG.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * This method creates a new segment table for the second page (header).
      *
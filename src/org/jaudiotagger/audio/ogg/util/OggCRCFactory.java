@@ -18,12 +18,17 @@
  */
 package org.jaudiotagger.audio.ogg.util;
 
+import java.nio.ByteBuffer;
 import java.util.logging.Logger;
 
 
 /**
  * OffCRC Calculations
  *
+ * <p>The CRC is computed eight bytes at a time using the slicing-by-8 method, a table for each of the eight byte
+ * positions gives the effect of that byte on the CRC at the end of the group. This is several times faster than one
+ * byte per step, which matters when every page of a long file has to be renumbered.
+ *
  * $Id$
  *
  * @author Raphael Slinckx (KiKiDonK)
@@ -34,21 +39,28 @@ public class OggCRCFactory
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg");
 
-    private static final long[] crc_lookup = new long[256];
-    private static boolean init = false;
+    private static final int POLYNOMIAL = 0x04c11db7;
 
+    //crc_lookup[0] is the usual byte table, crc_lookup[n] is the effect of a byte followed by n zero bytes
+    private static final int[][] crc_lookup = new int[8][256];
+
+    //Built up front so the table is safely published to every thread using it
+    static
+    {
+        init();
+    }
 
     public static void init()
     {
         for (int i = 0; i < 256; i++)
         {
-            long r = (long) i << 24;
+            int r = i << 24;
 
             for (int j = 0; j < 8; j++)
             {
-                if ((r & 0x80000000L) != 0)
+                if ((r & 0x80000000) != 0)
                 {
-                    r = (r << 1) ^ 0x04c11db7L;
+                    r = (r << 1) ^ POLYNOMIAL;
                 }
                 else
                 {
@@ -56,9 +68,16 @@ public class OggCRCFactory
                 }
             }
 
-            crc_lookup[i] = (r);
+            crc_lookup[0][i] = r;
+        }
+        for (int n = 1; n < crc_lookup.length; n++)
+        {
+            for (int i = 0; i < 256; i++)
+            {
+                int r = crc_lookup[n - 1][i];
+                crc_lookup[n][i] = (r << 8) ^ crc_lookup[0][r >>> 24];
+            }
         }
-        init = true;
     }
 
 
@@ -69,36 +88,112 @@ public class OggCRCFactory
 
     public static byte[] computeCRC(byte[] data)
     {
+        int crc_reg = computeCRC(data, 0, data.length);
 
-        if (!init)
-        {
-            init();
-        }
+        byte[] sum = new byte[4];
 
-        long crc_reg = 0;
+        sum[0] = (byte) (crc_reg & 0xff);
+        sum[1] = (byte) ((crc_reg >>> 8) & 0xff);
+        sum[2] = (byte) ((crc_reg >>> 16) & 0xff);
+        sum[3] = (byte) ((crc_reg >>> 24) & 0xff);
 
-        for (byte aData : data)
-        {
-            int tmp = (int) (((crc_reg >>> 24) & 0xff) ^ u(aData));
+        return sum;
+    }
 
-            crc_reg = (crc_reg << 8) ^ crc_lookup[tmp];
-            crc_reg &= 0xffffffff;
-        }
+    /**
+     * Compute the CRC of part of an array, so a page can be checked while held within a larger buffer
+     *
+     * @param data
+     * @param offset of the first byte
+     * @param length number of bytes
+     * @return the CRC, to be stored little endian in the page header
+     */
+    public static int computeCRC(byte[] data, int offset, int length)
+    {
+        return updateCRC(0, data, offset, length);
+    }
 
-        byte[] sum = new byte[4];
+    /**
+     * Compute the CRC of part of a buffer, without copying it or changing its position
+     *
+     * @param buffer
+     * @param offset absolute index of the first byte
+     * @param length number of bytes
+     * @return the CRC, to be stored little endian in the page header
+     */
+    public static int computeCRC(ByteBuffer buffer, int offset, int length)
+    {
+        return updateCRC(0, buffer, offset, length);
+    }
 
-        sum[0] = (byte) (crc_reg & 0xffL);
-        sum[1] = (byte) ((crc_reg >>> 8) & 0xffL);
-        sum[2] = (byte) ((crc_reg >>> 16) & 0xffL);
-        sum[3] = (byte) ((crc_reg >>> 24) & 0xffL);
+    /**
+     * Continue a CRC over more data, allowing a page to be checked in parts
+     *
+     * @param crc    CRC of the preceding data
+     * @param buffer
+     * @param offset absolute index of the first byte
+     * @param length number of bytes
+     * @return the CRC including the new data
+     */
+    public static int updateCRC(int crc, ByteBuffer buffer, int offset, int length)
+    {
+        if (buffer.hasArray())
+        {
+            return updateCRC(crc, buffer.array(), buffer.arrayOffset() + offset, length);
+        }
 
-        return sum;
+        int end = offset + length;
+        int i = offset;
+        for (; i + 8 <= end; i += 8)
+        {
+            crc ^= ((buffer.get(i) & 0xff) << 24) | ((buffer.get(i + 1) & 0xff) << 16) | ((buffer.get(i + 2) & 0xff) << 8) | (buffer.get(i + 3) & 0xff);
+            crc = slice8(crc, buffer.get(i + 4), buffer.get(i + 5), buffer.get(i + 6), buffer.get(i + 7));
+        }
+        for (; i < end; i++)
+        {
+            crc = (crc << 8) ^ crc_lookup[0][((crc >>> 24) ^ buffer.get(i)) & 0xff];
+        }
+        return crc;
     }
 
+    /**
+     * Continue a CRC over more data, allowing a page to be checked in parts
+     *
+     * @param crc    CRC of the preceding data
+     * @param data
+     * @param offset of the first byte
+     * @param length number of bytes
+     * @return the CRC including the new data
+     */
+    public static int updateCRC(int crc, byte[] data, int offset, int length)
+    {
+        int end = offset + length;
+        int i = offset;
+        for (; i + 8 <= end; i += 8)
+        {
+            crc ^= ((data[i] & 0xff) << 24) | ((data[i + 1] & 0xff) << 16) | ((data[i + 2] & 0xff) << 8) | (data[i + 3] & 0xff);
+            crc = slice8(crc, data[i + 4], data[i + 5], data[i + 6], data[i + 7]);
+        }
+        for (; i < end; i++)
+        {
+            crc = (crc << 8) ^ crc_lookup[0][((crc >>> 24) ^ data[i]) & 0xff];
+        }
+        return crc;
+    }
 
-    private static int u(int n)
+    /**
+     * @param crc CRC with the first four of the eight bytes already xored in
+     * @return CRC after all eight bytes
+     */
+    private static int slice8(int crc, byte b4, byte b5, byte b6, byte b7)
     {
-        return n & 0xff;
+        return crc_lookup[7][crc >>> 24]
+                ^ crc_lookup[6][(crc >>> 16) & 0xff]
+                ^ crc_lookup[5][(crc >>> 8) & 0xff]
+                ^ crc_lookup[4][crc & 0xff]
+                ^ crc_lookup[3][b4 & 0xff]
+                ^ crc_lookup[2][b5 & 0xff]
+                ^ crc_lookup[1][b6 & 0xff]
+                ^ crc_lookup[0][b7 & 0xff];
     }
 }
-
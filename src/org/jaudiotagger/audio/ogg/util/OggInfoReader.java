@@ -28,6 +28,8 @@ import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.logging.Logger;
 
@@ -39,84 +41,57 @@ public class OggInfoReader
     // Logger Object
     public static final Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg.atom");
 
+    /**
+     * Size of the end of the file first searched for the last page, big enough to hold a page of the maximum size
+     */
+    private static final int INITIAL_TAIL_WINDOW_SIZE = 64 * 1024;
+
+    /**
+     * The search window doubles in size each time the last page is not found, up to this size
+     */
+    private static final int MAXIMUM_TAIL_WINDOW_SIZE = 1024 * 1024;
+
     public GenericAudioHeader read(RandomAccessFile raf) throws CannotReadException, IOException
     {
-        long start = raf.getFilePointer();
+        return read(raf.getChannel());
+    }
+
+    public GenericAudioHeader read(FileChannel fc) throws CannotReadException, IOException
+    {
         GenericAudioHeader info = new GenericAudioHeader();
         logger.fine("Started");
-        long oldPos;
 
         //Check start of file does it have Ogg pattern
         byte[] b = new byte[OggPageHeader.CAPTURE_PATTERN.length];
-        raf.read(b);
+        Utils.read(fc, b);
         if (!(Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
         {
-            raf.seek(0);
-            if(AbstractID3v2Tag.isId3Tag(raf))
-            {
-                raf.read(b);
-                if ((Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
-                {
-                    start=raf.getFilePointer();
-                }
-            }
-            else
+            fc.position(0);
+            if(!AbstractID3v2Tag.isId3Tag(fc))
             {
                 throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg(new String(b)));
             }
         }
 
-        //Now work backwards from file looking for the last ogg page, it reads the granule position for this last page
-        //which must be set.
-        //TODO should do buffering to cut down the number of file reads
-        raf.seek(start);
-        double pcmSamplesNumber = -1;
-        raf.seek(raf.length() - 2);
-        while (raf.getFilePointer() >= 4)
-        {
-            if (raf.read() == OggPageHeader.CAPTURE_PATTERN[3])
-            {
-                raf.seek(raf.getFilePointer() - OggPageHeader.FIELD_CAPTURE_PATTERN_LENGTH);
-                byte[] ogg = new byte[3];
-                raf.readFully(ogg);
-                if (ogg[0] == OggPageHeader.CAPTURE_PATTERN[0] && ogg[1] == OggPageHeader.CAPTURE_PATTERN[1] && ogg[2] == OggPageHeader.CAPTURE_PATTERN[2])
-                {
-                    raf.seek(raf.getFilePointer() - 3);
-
-                    oldPos = raf.getFilePointer();
-                    raf.seek(raf.getFilePointer() + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
-                    int pageSegments = raf.readByte() & 0xFF; //Unsigned
-                    raf.seek(oldPos);
-
-                    b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments];
-                    raf.readFully(b);
-
-                    OggPageHeader pageHeader = new OggPageHeader(b);
-                    raf.seek(0);
-                    pcmSamplesNumber = pageHeader.getAbsoluteGranulePosition();
-                    break;
-                }
-            }
-            raf.seek(raf.getFilePointer() - 2);
-        }
-
-        if (pcmSamplesNumber == -1)
-        {
-            //According to spec a value of -1 indicates no packet finished on this page, this should not occur
-            throw new CannotReadException(ErrorMessage.OGG_VORBIS_NO_SETUP_BLOCK.getMsg());
-        }
-
-        //1st page = Identification Header
-        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        //1st page = Identification Header, an ID3 tag before it is skipped
+        fc.position(0);
+        OggPageHeader pageHeader = OggPageHeader.read(fc);
         byte[] vorbisData = new byte[pageHeader.getPageLength()];
 
         if(vorbisData.length < OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH)
         {
             throw new CannotReadException("Invalid Identification header for this Ogg File");
         }
-        raf.read(vorbisData);
+        Utils.read(fc, vorbisData);
         VorbisIdentificationHeader vorbisIdentificationHeader = new VorbisIdentificationHeader(vorbisData);
 
+        //Now find the last page of this stream, its granule position is the number of samples
+        double pcmSamplesNumber = findLastGranulePosition(fc, pageHeader.getSerialNumber());
+        if (pcmSamplesNumber == -1)
+        {
+            throw new CannotReadException(ErrorMessage.OGG_VORBIS_NO_SETUP_BLOCK.getMsg());
+        }
+
         //Map to generic encodingInfo
         info.setPreciseLength((float) (pcmSamplesNumber / vorbisIdentificationHeader.getSamplingRate()));
         info.setChannelNumber(vorbisIdentificationHeader.getChannelNumber());
@@ -144,12 +119,119 @@ public class OggInfoReader
         else
         {
             //TODO need to remove comment from raf.getLength()
-            info.setBitRate(computeBitrate(info.getTrackLength(), raf.length()));
+            info.setBitRate(computeBitrate(info.getTrackLength(), fc.size()));
             info.setVariableBitRate(true);
         }
         return info;
     }
 
+    /**
+     * Search backwards from the end of the file for the last page of the stream that has its granule position set.
+     *
+     * <p>The end of the file is read into memory and searched for the capture pattern, the window is moved back
+     * and grows if no such page is found in it. A candidate is only accepted if the whole page is present, its
+     * checksum is correct and it has the serial number of the stream, so junk or tags after the audio and the
+     * pages of other multiplexed or chained streams are skipped over.
+     *
+     * @param fc
+     * @param serialNumber of the stream
+     * @return the granule position of the last page, or -1 if no page could be found
+     * @throws IOException
+     */
+    private double findLastGranulePosition(FileChannel fc, int serialNumber) throws IOException
+    {
+        long windowEnd = fc.size();
+        int windowSize = INITIAL_TAIL_WINDOW_SIZE;
+
+        //Pages starting at or after this position have already been checked
+        long searchEnd = windowEnd;
+        while (searchEnd > 0)
+        {
+            long windowStart = Math.max(0, windowEnd - windowSize);
+            ByteBuffer window = ByteBuffer.allocate((int) (windowEnd - windowStart));
+            while (window.hasRemaining())
+            {
+                if (fc.read(window, windowStart + window.position()) < 0)
+                {
+                    break;
+                }
+            }
+
+            byte[] data = window.array();
+            int length = window.position();
+            for (int i = (int) Math.min(searchEnd - windowStart, length) - 1; i >= 0; i--)
+            {
+                if (data[i] == OggPageHeader.CAPTURE_PATTERN[0])
+                {
+                    OggPageHeader pageHeader = readPageHeader(data, i, length, serialNumber);
+                    if (pageHeader != null)
+                    {
+                        logger.fine("Found last page at:" + (windowStart + i));
+                        return pageHeader.getAbsoluteGranulePosition();
+                    }
+                }
+            }
+
+            //Next window overlaps this one by the maximum page size so a page starting before it is read in full
+            searchEnd = windowStart;
+            windowEnd = Math.min(windowEnd, windowStart + OggPageHeader.MAXIMUM_PAGE_SIZE);
+            windowSize = Math.min(windowSize * 2, MAXIMUM_TAIL_WINDOW_SIZE);
+        }
+        return -1;
+    }
+
+    /**
+     * @param data
+     * @param offset possible start of a page
+     * @param length of the valid data
+     * @param serialNumber of the stream
+     * @return the header of the page at offset if it is complete, valid, belongs to the stream and has a granule
+     * position, otherwise null
+     */
+    private OggPageHeader readPageHeader(byte[] data, int offset, int length, int serialNumber)
+    {
+        if (offset + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH > length)
+        {
+            return null;
+        }
+        for (int i = 1; i < OggPageHeader.CAPTURE_PATTERN.length; i++)
+        {
+            if (data[offset + i] != OggPageHeader.CAPTURE_PATTERN[i])
+            {
+                return null;
+            }
+        }
+        if (data[offset + OggPageHeader.FIELD_STREAM_STRUCTURE_VERSION_POS] != 0)
+        {
+            return null;
+        }
+
+        int headerLength = OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + (data[offset + OggPageHeader.FIELD_PAGE_SEGMENTS_POS] & 0xFF);
+        if (offset + headerLength > length)
+        {
+            return null;
+        }
+        OggPageHeader pageHeader = new OggPageHeader(Arrays.copyOfRange(data, offset, offset + headerLength));
+        if (pageHeader.getSerialNumber() != serialNumber || offset + headerLength + pageHeader.getPageLength() > length)
+        {
+            return null;
+        }
+        if (!pageHeader.isChecksumValid(ByteBuffer.wrap(data), offset + headerLength))
+        {
+            return null;
+        }
+
+        //A granule position of -1 means no packet finishes on this page
+        for (int i = 0; i < OggPageHeader.FIELD_ABSOLUTE_GRANULE_LENGTH; i++)
+        {
+            if (data[offset + OggPageHeader.FIELD_ABSOLUTE_GRANULE_POS + i] != (byte) 0xFF)
+            {
+                return pageHeader;
+            }
+        }
+        return null;
+    }
+
     private int computeBitrate(int length, long size)
     {
         //Protect against audio less than 0.5 seconds that can be rounded to zero causing Arithmetic Exception
@@ -21,11 +21,13 @@ package org.jaudiotagger.audio.ogg.util;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -88,6 +90,8 @@ public class OggPageHeader
     public static final int FIELD_PAGE_CHECKSUM_LENGTH = 4;
     public static final int FIELD_PAGE_SEGMENTS_LENGTH = 1;
 
+    private static final byte[] EMPTY_CHECKSUM = new byte[FIELD_PAGE_CHECKSUM_LENGTH];
+
     private final byte[] rawHeaderData;
     private double absoluteGranulePosition;
     private int checksum;
@@ -132,6 +136,15 @@ public class OggPageHeader
            byteBuffer.get(b);
            OggPageHeader pageHeader = new OggPageHeader(b);
 
+           //Can only be checked if the whole page is in the buffer
+           if (TagOptions.current().isVerifyOggPageChecksums() && byteBuffer.remaining() >= pageHeader.getPageLength())
+           {
+               if (!pageHeader.isChecksumValid(byteBuffer, byteBuffer.position()))
+               {
+                   throw new CannotReadException(ErrorMessage.OGG_PAGE_CHECKSUM_INVALID.getMsg(start));
+               }
+           }
+
            //Now just after PageHeader, ready for Packet Data
            return pageHeader;
        }
@@ -145,22 +158,34 @@ public class OggPageHeader
      */
     public static OggPageHeader read(RandomAccessFile raf) throws IOException, CannotReadException
     {
-        long start = raf.getFilePointer();
+        return read(raf.getChannel());
+    }
+
+    /**
+     * Read next PageHeader from the current position of the channel
+     * @param fc
+     * @return
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    public static OggPageHeader read(FileChannel fc) throws IOException, CannotReadException
+    {
+        long start = fc.position();
         logger.fine("Trying to read OggPage at:" + start);
 
         byte[] b = new byte[OggPageHeader.CAPTURE_PATTERN.length];
-        raf.read(b);
+        Utils.read(fc, b);
         if (!(Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
         {
-            raf.seek(start);
-            if(AbstractID3v2Tag.isId3Tag(raf))
+            fc.position(start);
+            if(AbstractID3v2Tag.isId3Tag(fc))
             {
-                logger.warning(ErrorMessage.OGG_CONTAINS_ID3TAG.getMsg(raf.getFilePointer() - start));
-                raf.read(b);
+                logger.warning(ErrorMessage.OGG_CONTAINS_ID3TAG.getMsg(fc.position() - start));
+                Utils.read(fc, b);
                 if ((Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
                 {
                     //Go to the end of the ID3 header
-                    start=raf.getFilePointer() - OggPageHeader.CAPTURE_PATTERN.length;
+                    start=fc.position() - OggPageHeader.CAPTURE_PATTERN.length;
                 }
             }
             else
@@ -169,20 +194,48 @@ public class OggPageHeader
             }
         }
 
-        raf.seek(start + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
-        int pageSegments = raf.readByte() & 0xFF; //unsigned
-        raf.seek(start);
+        fc.position(start + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
+        int pageSegments = Utils.readByte(fc) & 0xFF; //unsigned
+        fc.position(start);
 
         b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments];
-        raf.read(b);
+        Utils.read(fc, b);
 
 
         OggPageHeader pageHeader = new OggPageHeader(b);
         pageHeader.setStartByte(start);
+
+        if (TagOptions.current().isVerifyOggPageChecksums())
+        {
+            long dataStart = fc.position();
+            ByteBuffer data = ByteBuffer.allocate(pageHeader.getPageLength());
+            fc.read(data, dataStart);
+            if (data.hasRemaining() || !pageHeader.isChecksumValid(data, 0))
+            {
+                throw new CannotReadException(ErrorMessage.OGG_PAGE_CHECKSUM_INVALID.getMsg(start));
+            }
+        }
         //Now just after PageHeader, ready for Packet Data
         return pageHeader;
     }
 
+    /**
+     * Check the checksum stored in this header against the page
+     *
+     * @param data   holding the data that follows this header
+     * @param offset absolute index of the start of the page data within data
+     * @return true if the checksum matches
+     */
+    public boolean isChecksumValid(ByteBuffer data, int offset)
+    {
+        //Checksum is calculated with the checksum field set to zero
+        int crc = OggCRCFactory.updateCRC(0, rawHeaderData, 0, FIELD_PAGE_CHECKSUM_POS);
+        crc = OggCRCFactory.updateCRC(crc, EMPTY_CHECKSUM, 0, FIELD_PAGE_CHECKSUM_LENGTH);
+        crc = OggCRCFactory.updateCRC(crc, rawHeaderData, FIELD_PAGE_SEGMENTS_POS, rawHeaderData.length - FIELD_PAGE_SEGMENTS_POS);
+        crc = OggCRCFactory.updateCRC(crc, data, offset, pageLength);
+        return crc == checksum;
+    }
+
     public OggPageHeader(byte[] b)
     {
         this.rawHeaderData = b;
@@ -1,5 +1,6 @@
 package org.jaudiotagger.audio.real;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
@@ -10,8 +11,10 @@ import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.Tag;
 
 import java.io.DataInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 /**
  * Real Media File Format: Major Chunks: .RMF PROP MDPR CONT DATA INDX
@@ -19,12 +22,17 @@ import java.io.RandomAccessFile;
 public class RealFileReader extends AudioFileReader
 {
 
-    @SuppressWarnings("unused")
-	@Override
+    @Override
     protected GenericAudioHeader getEncodingInfo(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return getEncodingInfo(raf.getChannel());
+    }
+
+    @SuppressWarnings("unused")
+    private GenericAudioHeader getEncodingInfo(FileChannel fc) throws CannotReadException, IOException
     {
         GenericAudioHeader info = new GenericAudioHeader();
-        RealChunk prop = findPropChunk(raf);
+        RealChunk prop = findPropChunk(fc);
         DataInputStream dis = prop.getDataInputStream();
         int objVersion = Utils.readUint16(dis);
         if (objVersion == 0)
@@ -48,26 +56,31 @@ public class RealFileReader extends AudioFileReader
         return info;
     }
 
-    private RealChunk findPropChunk(RandomAccessFile raf) throws IOException, CannotReadException
+    private RealChunk findPropChunk(FileChannel fc) throws IOException, CannotReadException
     {
-    	@SuppressWarnings("unused") RealChunk rmf = RealChunk.readChunk(raf);
-        RealChunk prop = RealChunk.readChunk(raf);
+    	@SuppressWarnings("unused") RealChunk rmf = RealChunk.readChunk(fc);
+        RealChunk prop = RealChunk.readChunk(fc);
         return prop;
     }
 
-    private RealChunk findContChunk(RandomAccessFile raf) throws IOException, CannotReadException
+    private RealChunk findContChunk(FileChannel fc) throws IOException, CannotReadException
     {
-    	@SuppressWarnings("unused") RealChunk rmf = RealChunk.readChunk(raf);
-    	@SuppressWarnings("unused") RealChunk prop = RealChunk.readChunk(raf);
-        RealChunk rv = RealChunk.readChunk(raf);
-        while (!rv.isCONT()) rv = RealChunk.readChunk(raf);
+    	@SuppressWarnings("unused") RealChunk rmf = RealChunk.readChunk(fc);
+    	@SuppressWarnings("unused") RealChunk prop = RealChunk.readChunk(fc);
+        RealChunk rv = RealChunk.readChunk(fc);
+        while (!rv.isCONT()) rv = RealChunk.readChunk(fc);
         return rv;
     }
 
     @Override
     protected Tag getTag(RandomAccessFile raf) throws CannotReadException, IOException
     {
-        RealChunk cont = findContChunk(raf);
+        return getTag(raf.getChannel());
+    }
+
+    private Tag getTag(FileChannel fc) throws CannotReadException, IOException
+    {
+        RealChunk cont = findContChunk(fc);
         DataInputStream dis = cont.getDataInputStream();
         String title = Utils.readString(dis, Utils.readUint16(dis));
         String author = Utils.readString(dis, Utils.readUint16(dis));
@@ -89,5 +102,13 @@ public class RealFileReader extends AudioFileReader
         return rv;
     }
 
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = getEncodingInfo(fc);
+        fc.position(0);
+        Tag tag = getTag(fc);
+        return new AudioFile(f, info, tag);
+    }
 }
 
@@ -18,15 +18,18 @@
  */
 package org.jaudiotagger.audio.wav;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.Tag;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 import org.jaudiotagger.tag.wav.WavTag;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 /**
  * Reads Audio and Metadata information contained in Wav file.
@@ -38,16 +41,16 @@ public class WavFileReader extends AudioFileReader2
 
     }
 
-    protected GenericAudioHeader getEncodingInfo(File file) throws CannotReadException, IOException
+    protected GenericAudioHeader getEncodingInfo(FileChannel fc, String name) throws CannotReadException, IOException
     {
-        return new WavInfoReader(file.getPath()).read(file);
+        return new WavInfoReader(name).read(fc);
     }
 
     @Override
-    protected Tag getTag(File file) throws IOException, CannotReadException
+    protected Tag getTag(FileChannel fc, String name) throws IOException, CannotReadException
     {           
-        WavTag tag =  new WavTagReader(file.getPath()).read(file);
-        switch (TagOptionSingleton.getInstance().getWavOptions())
+        WavTag tag =  new WavTagReader(name).read(fc);
+        switch (TagOptions.current().getWavOptions())
         {
             case READ_ID3_ONLY_AND_SYNC:
             case READ_ID3_UNLESS_ONLY_INFO_AND_SYNC:
@@ -57,4 +60,17 @@ public class WavFileReader extends AudioFileReader2
         }
         return tag;
     }
+
+    @Override
+    protected AudioFile read(FileChannel fc, String name, File f) throws CannotReadException, IOException
+    {
+        AudioFile audioFile = super.read(fc, name, f);
+        //Artwork can only be left in the file until asked for if we know the file
+        AbstractID3v2Tag id3Tag = ((WavTag) audioFile.getTag()).getID3Tag();
+        if (f != null && id3Tag != null && id3Tag.getStartLocationInFile() != null && TagOptions.current().isLazyArtwork())
+        {
+            id3Tag.leaveImageDataInFile(f, id3Tag.getStartLocationInFile());
+        }
+        return audioFile;
+    }
 }
\ No newline at end of file
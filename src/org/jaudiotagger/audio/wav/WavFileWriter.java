@@ -18,11 +18,14 @@
  */
 package org.jaudiotagger.audio.wav;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter2;
 import org.jaudiotagger.tag.Tag;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 public class WavFileWriter extends AudioFileWriter2
 {
@@ -37,4 +40,12 @@ public class WavFileWriter extends AudioFileWriter2
     {
         new WavTagWriter(file.getPath()).delete(tag, file);
     }
+
+    @Override
+    protected boolean writeTagToChannel(AudioFile af, Tag tag, FileChannel fc) throws CannotWriteException, IOException
+    {
+        fileWillBeModifiedInPlace(af);
+        new WavTagWriter(getLoggingName(af)).write(tag, fc);
+        return true;
+    }
 }
\ No newline at end of file
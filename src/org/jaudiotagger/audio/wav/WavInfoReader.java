@@ -57,25 +57,37 @@ public class WavInfoReader
 
     public GenericAudioHeader read(File path) throws CannotReadException, IOException
     {
-        GenericAudioHeader info = new GenericAudioHeader();
         try(RandomAccessFile raf = new RandomAccessFile(path, "r"))
         {
-            FileChannel fc = raf.getChannel();
-            if(WavRIFFHeader.isValidHeader(loggingName, fc))
+            return read(raf.getChannel());
+        }
+    }
+
+    /**
+     * Read the encoding info from the channel of a wav file
+     *
+     * @param fc channel positioned at the start of the file
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public GenericAudioHeader read(FileChannel fc) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = new GenericAudioHeader();
+        if(WavRIFFHeader.isValidHeader(loggingName, fc))
+        {
+            while (fc.position() < fc.size())
             {
-                while (fc.position() < fc.size())
+                //Problem reading chunk and no way to workround it so exit loop
+                if (!readChunk(fc, info))
                 {
-                    //Problem reading chunk and no way to workround it so exit loop
-                    if (!readChunk(fc, info))
-                    {
-                        break;
-                    }
+                    break;
                 }
             }
-            else
-            {
-                throw new CannotReadException(loggingName + " Wav RIFF Header not valid");
-            }
+        }
+        else
+        {
+            throw new CannotReadException(loggingName + " Wav RIFF Header not valid");
         }
 
         if(isFoundFormat && isFoundAudio)
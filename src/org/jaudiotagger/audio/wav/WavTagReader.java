@@ -25,7 +25,7 @@ import org.jaudiotagger.audio.wav.chunk.WavCorruptChunkType;
 import org.jaudiotagger.audio.wav.chunk.WavId3Chunk;
 import org.jaudiotagger.audio.wav.chunk.WavListChunk;
 import org.jaudiotagger.logging.Hex;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.wav.WavInfoTag;
 import org.jaudiotagger.tag.wav.WavTag;
 
@@ -61,25 +61,37 @@ public class WavTagReader
      */
     public WavTag read(File path) throws CannotReadException, IOException
     {
-        logger.config(loggingName + " Read Tag:start");
-        WavTag tag = new WavTag(TagOptionSingleton.getInstance().getWavOptions());
         try(RandomAccessFile raf = new RandomAccessFile(path, "r"))
         {
-            FileChannel fc = raf.getChannel();
-            if (WavRIFFHeader.isValidHeader(loggingName, fc))
+            return read(raf.getChannel());
+        }
+    }
+
+    /**
+     * Read tag metadata from the channel of a wav file
+     *
+     * @param fc channel positioned at the start of the file
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public WavTag read(FileChannel fc) throws CannotReadException, IOException
+    {
+        logger.config(loggingName + " Read Tag:start");
+        WavTag tag = new WavTag(TagOptions.current().getWavOptions());
+        if (WavRIFFHeader.isValidHeader(loggingName, fc))
+        {
+            while (fc.position() < fc.size())
             {
-                while (fc.position() < fc.size())
+                if (!readChunk(fc, tag))
                 {
-                    if (!readChunk(fc, tag))
-                    {
-                        break;
-                    }
+                    break;
                 }
             }
-            else
-            {
-                throw new CannotReadException(loggingName+ " Wav RIFF Header not valid");
-            }
+        }
+        else
+        {
+            throw new CannotReadException(loggingName+ " Wav RIFF Header not valid");
         }
         createDefaultMetadataTagsIfMissing(tag);
         logger.config(loggingName + " Read Tag:end");
@@ -31,6 +31,7 @@ import org.jaudiotagger.audio.wav.chunk.WavInfoIdentifier;
 import org.jaudiotagger.tag.*;
 import org.jaudiotagger.tag.wav.WavInfoTag;
 import org.jaudiotagger.tag.wav.WavTag;
+import org.jaudiotagger.utils.ShiftData;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -83,6 +84,33 @@ public class WavTagWriter
         }
     }
 
+    /**
+     * Read existing metadata from the channel, which is left at the start of the file
+     *
+     * @param fc
+     * @return tags within Tag wrapper
+     * @throws IOException
+     * @throws CannotWriteException
+     */
+    public WavTag getExistingMetadata(FileChannel fc) throws IOException, CannotWriteException
+    {
+        try
+        {
+            //Find WavTag (if any)
+            fc.position(0);
+            WavTagReader im = new WavTagReader(loggingName);
+            return im.read(fc);
+        }
+        catch (CannotReadException ex)
+        {
+            throw new CannotWriteException("Failed to read "+loggingName);
+        }
+        finally
+        {
+            fc.position(0);
+        }
+    }
+
     /**
      * Seek in file to start of LIST Metadata chunk
      *
@@ -335,8 +363,7 @@ public class WavTagWriter
      * <p/>
      * Can be used when chunk is not the last chunk
      * <p/>
-     * Continually copy a 4mb chunk, write the chunk and repeat until the rest of the file after the tag
-     * is rewritten
+     * The rest of the file after the tag is moved down over it, see {@link ShiftData}
      *
      * @param fc
      * @param endOfExistingChunk
@@ -347,21 +374,8 @@ public class WavTagWriter
     {
         //Position for reading after the tag
         fc.position(endOfExistingChunk);
-
-        ByteBuffer buffer = ByteBuffer.allocate((int) TagOptionSingleton.getInstance().getWriteChunkSize());
-        while (fc.read(buffer) >= 0 || buffer.position() != 0)
-        {
-            buffer.flip();
-            long readPosition = fc.position();
-            fc.position(readPosition - lengthTagChunk - buffer.limit());
-            fc.write(buffer);
-            fc.position(readPosition);
-            buffer.compact();
-        }
-        //Truncate the file after the last chunk
-        long newLength = fc.size() - lengthTagChunk;
-        logger.severe(loggingName + "Shortening by:"+ lengthTagChunk + " Setting new length to:" + newLength);
-        fc.truncate(newLength);
+        logger.severe(loggingName + "Shortening by:"+ lengthTagChunk + " Setting new length to:" + (fc.size() - lengthTagChunk));
+        ShiftData.shiftDataByOffsetToShrinkSpace(fc, lengthTagChunk);
     }
 
     /**
@@ -374,7 +388,6 @@ public class WavTagWriter
     {
         logger.config(loggingName + " Writing tag to file:start");
 
-        WavSaveOptions wso = TagOptionSingleton.getInstance().getWavSaveOptions();
         WavTag existingTag;
         try
         {
@@ -385,6 +398,38 @@ public class WavTagWriter
             throw new CannotWriteException(file + ":" + ioe.getMessage());
         }
 
+        try(RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            write(tag, raf.getChannel(), existingTag);
+        }
+        catch(IOException ioe)
+        {
+            throw new CannotWriteException(file + ":" + ioe.getMessage());
+        }
+
+
+        logger.severe(loggingName + " Writing tag to file:Done");
+    }
+
+    /**
+     * Write tag within the channel, the chunks after the metadata are moved within the channel as needed
+     *
+     * @param tag
+     * @param fc channel holding the wav file, open for reading and writing
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    public void write(Tag tag, FileChannel fc) throws CannotWriteException, IOException
+    {
+        logger.config(loggingName + " Writing tag to channel:start");
+        write(tag, fc, getExistingMetadata(fc));
+        logger.config(loggingName + " Writing tag to channel:Done");
+    }
+
+    private void write(Tag tag, FileChannel fc, WavTag existingTag) throws CannotWriteException, IOException
+    {
+        WavSaveOptions wso = TagOptions.current().getWavSaveOptions();
+
         //TODO in some case we can fix the files, as we can only open the file if we have successfully
         //retrieved audio data
         if(existingTag.isBadChunkData())
@@ -392,78 +437,67 @@ public class WavTagWriter
             throw new CannotWriteException("Unable to make changes to this file because contains bad chunk data");
         }
 
-        try(RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        WavTag wavTag = (WavTag) tag;
+        if (wso == WavSaveOptions.SAVE_BOTH)
         {
-            FileChannel fc = raf.getChannel();
-            WavTag wavTag = (WavTag) tag;
-            if (wso == WavSaveOptions.SAVE_BOTH)
-            {
-                saveBoth(wavTag, fc, existingTag);
-            }
-            else if (wso == WavSaveOptions.SAVE_ACTIVE)
-            {
-                saveActive(wavTag, fc, existingTag);
-            }
-            else if (wso == WavSaveOptions.SAVE_EXISTING_AND_ACTIVE)
-            {
-                saveActiveExisting(wavTag, fc, existingTag);
-            }
-            else if (wso == WavSaveOptions.SAVE_BOTH_AND_SYNC)
-            {
-                wavTag.syncTagBeforeWrite();
-                saveBoth(wavTag, fc, existingTag);
-            }
-            else if (wso == WavSaveOptions.SAVE_EXISTING_AND_ACTIVE_AND_SYNC)
-            {
-                wavTag.syncTagBeforeWrite();
-                saveActiveExisting(wavTag, fc, existingTag);
-            }
-            //Invalid Option, should never happen
-            else
-            {
-                throw new RuntimeException(loggingName + " No setting for:WavSaveOptions");
-            }
+            saveBoth(wavTag, fc, existingTag);
+        }
+        else if (wso == WavSaveOptions.SAVE_ACTIVE)
+        {
+            saveActive(wavTag, fc, existingTag);
+        }
+        else if (wso == WavSaveOptions.SAVE_EXISTING_AND_ACTIVE)
+        {
+            saveActiveExisting(wavTag, fc, existingTag);
+        }
+        else if (wso == WavSaveOptions.SAVE_BOTH_AND_SYNC)
+        {
+            wavTag.syncTagBeforeWrite();
+            saveBoth(wavTag, fc, existingTag);
+        }
+        else if (wso == WavSaveOptions.SAVE_EXISTING_AND_ACTIVE_AND_SYNC)
+        {
+            wavTag.syncTagBeforeWrite();
+            saveActiveExisting(wavTag, fc, existingTag);
+        }
+        //Invalid Option, should never happen
+        else
+        {
+            throw new RuntimeException(loggingName + " No setting for:WavSaveOptions");
+        }
 
-            //If we had non-standard padding check it still exists and if so remove it
-            if(existingTag.isNonStandardPadding())
+        //If we had non-standard padding check it still exists and if so remove it
+        if(existingTag.isNonStandardPadding())
+        {
+            for(ChunkSummary cs: existingTag.getChunkSummaryList())
             {
-                for(ChunkSummary cs: existingTag.getChunkSummaryList())
+                //Note, can only delete a single padding section
+                if(cs instanceof PaddingChunkSummary)
                 {
-                    //Note, can only delete a single padding section
-                    if(cs instanceof PaddingChunkSummary)
+                    boolean isPaddingData = true;
+                    fc.position(cs.getFileStartLocation());
+                    ByteBuffer paddingData = ByteBuffer.allocate((int)cs.getChunkSize());
+                    fc.read(paddingData);
+                    paddingData.flip();
+                    while(paddingData.position() < paddingData.limit())
                     {
-                        boolean isPaddingData = true;
-                        fc.position(cs.getFileStartLocation());
-                        ByteBuffer paddingData = ByteBuffer.allocate((int)cs.getChunkSize());
-                        fc.read(paddingData);
-                        paddingData.flip();
-                        while(paddingData.position() < paddingData.limit())
+                        if(paddingData.get()!=0)
                         {
-                            if(paddingData.get()!=0)
-                            {
-                                isPaddingData =false;
-                            }
+                            isPaddingData =false;
                         }
+                    }
 
-                        if(isPaddingData)
-                        {
-                            fc.position(cs.getFileStartLocation());
-                            deletePaddingChunk(fc, (int)cs.getEndLocation(), (int)cs.getChunkSize() + ChunkHeader.CHUNK_HEADER_SIZE);
-                        }
-                        break;
+                    if(isPaddingData)
+                    {
+                        fc.position(cs.getFileStartLocation());
+                        deletePaddingChunk(fc, (int)cs.getEndLocation(), (int)cs.getChunkSize() + ChunkHeader.CHUNK_HEADER_SIZE);
                     }
+                    break;
                 }
             }
-
-            rewriteRiffHeaderSize(fc);
         }
-        catch(IOException ioe)
-        {
-            throw new CannotWriteException(file + ":" + ioe.getMessage());
-        }
-
 
-        logger.severe(loggingName + " Writing tag to file:Done");
+        rewriteRiffHeaderSize(fc);
     }
 
     private void deletePaddingChunk(FileChannel fc, int endOfExistingChunk, int lengthTagChunk) throws IOException
@@ -471,7 +505,7 @@ public class WavTagWriter
         //Position for reading after the tag
         fc.position(endOfExistingChunk);
 
-        ByteBuffer buffer = ByteBuffer.allocate((int) TagOptionSingleton.getInstance().getWriteChunkSize());
+        ByteBuffer buffer = ByteBuffer.allocate((int) TagOptions.current().getWriteChunkSize());
         while (fc.read(buffer) >= 0 || buffer.position() != 0)
         {
             buffer.flip();
@@ -655,7 +689,7 @@ public class WavTagWriter
             //Add a duplicated record for Twonky if option enabled
             if(wii==WavInfoIdentifier.TRACKNO)
             {
-                if(TagOptionSingleton.getInstance().isWriteWavForTwonky())
+                if(TagOptions.current().isWriteWavForTwonky())
                 {
                     isTrackRewritten =true;
                     writeField( next, WavInfoIdentifier.TWONKY_TRACKNO.getCode(), baos);
@@ -669,7 +703,7 @@ public class WavTagWriter
             if (next.getId().equals(WavInfoIdentifier.TWONKY_TRACKNO.getCode()))
             {
                 //Write only if has option set and not already written
-                if (!isTrackRewritten && TagOptionSingleton.getInstance().isWriteWavForTwonky())
+                if (!isTrackRewritten && TagOptions.current().isWriteWavForTwonky())
                 {
                     isTrackRewritten = true;
                     writeField(next, WavInfoIdentifier.TWONKY_TRACKNO.getCode(), baos);
@@ -902,7 +936,7 @@ public class WavTagWriter
         {
             deleteExistingMetadataTagsToEndOfFile(fc, existingTag);
 
-            if(TagOptionSingleton.getInstance().getWavSaveOrder()==WavSaveOrder.INFO_THEN_ID3)
+            if(TagOptions.current().getWavSaveOrder()==WavSaveOrder.INFO_THEN_ID3)
             {
                 writeInfoChunkAtFileEnd(fc, infoTagBuffer, newInfoTagSize);
                 writeId3ChunkAtFileEnd(fc, id3TagBuffer);
@@ -933,7 +967,7 @@ public class WavTagWriter
                     }
                 }
             }
-            if(TagOptionSingleton.getInstance().getWavSaveOrder()==WavSaveOrder.INFO_THEN_ID3)
+            if(TagOptions.current().getWavSaveOrder()==WavSaveOrder.INFO_THEN_ID3)
             {
                 writeInfoChunkAtFileEnd(fc, infoTagBuffer, newInfoTagSize);
                 writeId3ChunkAtFileEnd(fc, id3TagBuffer);
@@ -992,7 +1026,7 @@ public class WavTagWriter
     public void writeBothTags(FileChannel fc, ByteBuffer infoTagBuffer, ByteBuffer id3TagBuffer)
             throws IOException
     {
-        if(TagOptionSingleton.getInstance().getWavSaveOrder()==WavSaveOrder.INFO_THEN_ID3)
+        if(TagOptions.current().getWavSaveOrder()==WavSaveOrder.INFO_THEN_ID3)
         {
             writeInfoDataToFile(fc, infoTagBuffer);
             writeId3DataToFile(fc, id3TagBuffer);
@@ -85,6 +85,7 @@ public enum ErrorMessage
     WMA_LENGTH_OF_DATA_IS_TOO_LARGE("Trying to create field with {0} bytes of data but the maximum data allowed in WMA files is {1} for {2}."),
     WMA_LENGTH_OF_LANGUAGE_IS_TOO_LARGE("Trying to create language entry, but UTF-16LE representation is {0} and exceeds maximum allowed of 255."),
     WMA_LENGTH_OF_STRING_IS_TOO_LARGE("Trying to create field but UTF-16LE representation is {0} and exceeds maximum allowed of 65535."),
+    WMA_UINT64_TOO_LARGE("Unable to read 64 bit value from file because it exceeds the maximum of {0} supported"),
     WMA_ONLY_STRING_IN_CD ("Only Strings are allowed in content description objects"),
     ID3_EXTENDED_HEADER_SIZE_INVALID("{0} Invalid Extended Header Size of {0} assuming no extended header after all"),
     ID3_EXTENDED_HEADER_SIZE_TOO_SMALL("{0} Invalid Extended Header Size of {0} is too smal to be valid"),
@@ -104,6 +105,7 @@ public enum ErrorMessage
     VORBIS_COMMENT_LENGTH_LARGE_THAN_HEADER("Comment field length {0} is larger than remaining comment header {1} "),
     ARTWORK_CANNOT_BE_CREATED_WITH_THIS_METHOD("Cover Art cannot be created using this method"),
     ARTWORK_CANNOT_BE_RETRIEVED_WITH_THIS_METHOD("Cover Art cannot be retrieved using this method"),
+    IMAGE_DATA_NOT_AVAILABLE("Unable to read image data from {0}, the file has changed since the tag was read"),
     GENERIC_NOT_SUPPORTED("Not implemented for this format"),
     OPERATION_NOT_SUPPORTED_FOR_FIELD("Not available for this field {0}"),
     ID3_UNABLE_TO_DECOMPRESS_FRAME("Unable to decompress frame {0} in file {1} because {2}"),
@@ -114,6 +116,7 @@ public enum ErrorMessage
     NO_PERMISSIONS_TO_WRITE_TO_FILE("Unable to write to:{0}"),
     DO_NOT_KNOW_HOW_TO_CREATE_THIS_ATOM_TYPE("DO not know how to create this atom type {0}"),
     OGG_CONTAINS_ID3TAG("Ogg File contains invalid ID3 Tag, skipping ID3 Tag of length:{0}"),
+    OGG_PAGE_CHECKSUM_INVALID("Ogg page starting at {0} has an invalid checksum"),
     FLAC_CONTAINS_ID3TAG("Flac File contains invalid ID3 Tag, skipping ID3 Tag of length:{0}"),
     ADDITIONAL_MOOV_ATOM_AT_END_OF_MP4("Additional moov atom found at end of file starting at offset {0}"),
     ATOM_LENGTH_LARGER_THAN_DATA("The atom {0} states its data length to be {1} but there are only {2} bytes remaining in the file"),
@@ -121,7 +124,12 @@ public enum ErrorMessage
     NO_AUDIO_HEADER_FOUND("No audio header found within {0}"),
     NOT_STANDARD_MP$_GENRE("This is not a standard genre value, use custom genre field instead"),
     FLAC_NO_BLOCKTYPE("Flac file has invalid block type {0}"),
-    EXTRA_DATA_AT_END_OF_MP4("{0} byte(s) of extra data found at the end of MP4 file")
+    EXTRA_DATA_AT_END_OF_MP4("{0} byte(s) of extra data found at the end of MP4 file"),
+    CHANNEL_READ_NOT_SUPPORTED("Unable to read {0} because this format cannot be read from a channel"),
+    GENERAL_WRITE_FAILED_NO_FILE("Cannot write {0} because it was read from a channel, write it to a channel instead"),
+    GENERAL_WRITE_FAILED_CHANNEL_NOT_SUPPORTED("Cannot write {0} to a channel because the change can only be made by writing a new file"),
+    GENERAL_WRITE_FAILED_CACHED("Cannot write {0} because it was read from the metadata cache, read the file again to write it"),
+    DATA_MOVE_CANCELLED("Moving data was cancelled after {0} of {1} bytes, the file is incomplete")
     ;
 
 
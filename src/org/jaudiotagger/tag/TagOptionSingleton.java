@@ -24,6 +24,7 @@
  */
 package org.jaudiotagger.tag;
 
+import org.jaudiotagger.audio.mp4.Mp4VerifyOptions;
 import org.jaudiotagger.audio.wav.WavOptions;
 import org.jaudiotagger.audio.wav.WavSaveOptions;
 import org.jaudiotagger.audio.wav.WavSaveOrder;
@@ -46,6 +47,7 @@ import org.jaudiotagger.tag.vorbiscomment.VorbisAlbumArtistSaveOptions;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class TagOptionSingleton
 {
@@ -56,6 +58,7 @@ public final class TagOptionSingleton
     public void setWavOptions(WavOptions wavOptions)
     {
         this.wavOptions = wavOptions;
+        invalidateSnapshot();
     }
 
     public WavOptions getWavOptions()
@@ -68,6 +71,7 @@ public final class TagOptionSingleton
     public void setWavSaveOptions(WavSaveOptions wavSaveOptions)
     {
         this.wavSaveOptions = wavSaveOptions;
+        invalidateSnapshot();
     }
 
     public WavSaveOptions getWavSaveOptions()
@@ -80,6 +84,7 @@ public final class TagOptionSingleton
     public void setWavSaveOrder(WavSaveOrder wavSaveOrder)
     {
         this.wavSaveOrder = wavSaveOrder;
+        invalidateSnapshot();
     }
 
     public WavSaveOrder getWavSaveOrder()
@@ -92,6 +97,7 @@ public final class TagOptionSingleton
     public void setVorbisAlbumArtistSaveOptions(VorbisAlbumArtistSaveOptions vorbisAlbumArtistSaveOptions)
     {
         this.vorbisAlbumArtistSaveOptions = vorbisAlbumArtistSaveOptions;
+        invalidateSnapshot();
     }
 
     public VorbisAlbumArtistSaveOptions getVorbisAlbumArtistSaveOptions()
@@ -104,6 +110,7 @@ public final class TagOptionSingleton
     public void setVorbisAlbumArtistReadOptions(VorbisAlbumArtistReadOptions vorbisAlbumArtistReadOptions)
     {
         this.vorbisAlbumArtistReadOptions = vorbisAlbumArtistReadOptions;
+        invalidateSnapshot();
     }
 
     public VorbisAlbumArtistReadOptions getVorbisAlbumArtisReadOptions()
@@ -114,7 +121,7 @@ public final class TagOptionSingleton
     /**
      *
      */
-    private static final HashMap<String, TagOptionSingleton> tagOptionTable = new HashMap<>();
+    private static final ConcurrentHashMap<String, TagOptionSingleton> tagOptionTable = new ConcurrentHashMap<>();
 
     /**
      *
@@ -124,7 +131,12 @@ public final class TagOptionSingleton
     /**
      *
      */
-    private static String defaultOptions = DEFAULT;
+    private static volatile String defaultOptions = DEFAULT;
+
+    /**
+     * Instance for defaultOptions, cached so it is not looked up on every call to {@link TagOptions#current()}
+     */
+    private static volatile TagOptionSingleton defaultInstance;
 
     /**
      *
@@ -374,6 +386,36 @@ public final class TagOptionSingleton
      */
     private boolean preserveFileIdentity = true;
 
+    /**
+     * Only decode ID3v2 frame bodies when they are first accessed
+     */
+    private boolean id3v2LazyFrameBodies = false;
+
+    /**
+     * Check the checksum of each Ogg page as it is read
+     */
+    private boolean verifyOggPageChecksums = false;
+
+    /**
+     * How much of an Mp4 file is checked after writing changes to it
+     */
+    private Mp4VerifyOptions mp4VerifyOptions = Mp4VerifyOptions.VERIFY_CHANGED_ATOMS;
+
+    /**
+     * Leave artwork in the file until it is asked for
+     */
+    private boolean lazyArtwork = false;
+
+    /**
+     * Cost of moving a byte within a file to make room for a larger tag compared with copying it to a new file
+     */
+    private double shiftCostFactor = 1.0;
+
+    /**
+     * Immutable copy of the options above, discarded whenever one of them is changed
+     */
+    private volatile TagOptions snapshot;
+
     /**
      * 
      */
@@ -393,7 +435,20 @@ public final class TagOptionSingleton
      */
     public static TagOptionSingleton getInstance()
     {
-        return getInstance(defaultOptions);
+        TagOptionSingleton instance = defaultInstance;
+        if (instance == null)
+        {
+            synchronized (tagOptionTable)
+            {
+                instance = defaultInstance;
+                if (instance == null)
+                {
+                    instance = getInstance(defaultOptions);
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
     }
 
     /**
@@ -406,19 +461,60 @@ public final class TagOptionSingleton
 
         if (tagOptions == null)
         {
-            tagOptions = new TagOptionSingleton();
-            tagOptionTable.put(instanceKey, tagOptions);
+            TagOptionSingleton newOptions = new TagOptionSingleton();
+            tagOptions = tagOptionTable.putIfAbsent(instanceKey, newOptions);
+            if (tagOptions == null)
+            {
+                tagOptions = newOptions;
+            }
         }
 
         return tagOptions;
     }
 
+    /**
+     * The snapshot is cached until one of the options is next changed, so it can be called for every read or
+     * write. Options should not be changed while files are being read or written on other threads, use separate
+     * instances and bind their snapshots instead.
+     *
+     * @return immutable copy of the current options
+     * @see TagOptions#current()
+     */
+    public TagOptions getSnapshot()
+    {
+        TagOptions options = snapshot;
+        if (options == null)
+        {
+            //Built under the lock that invalidateSnapshot() takes, so a change made while the copy is being built
+            //discards it rather than the stale copy being cached until the next change
+            synchronized (this)
+            {
+                options = snapshot;
+                if (options == null)
+                {
+                    options = new TagOptions(this);
+                    snapshot = options;
+                }
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Discard the snapshot, called by each setter after the option has been changed
+     */
+    private synchronized void invalidateSnapshot()
+    {
+        snapshot = null;
+    }
+
     /**
      * @param filenameTagSave
      */
     public void setFilenameTagSave(boolean filenameTagSave)
     {
         this.filenameTagSave = filenameTagSave;
+        invalidateSnapshot();
     }
 
     /**
@@ -435,6 +531,7 @@ public final class TagOptionSingleton
     public void setID3V2Version(ID3V2Version  id3v2Version)
     {
         this.id3v2Version = id3v2Version;
+        invalidateSnapshot();
     }
 
     /**
@@ -451,7 +548,11 @@ public final class TagOptionSingleton
      */
     public void setInstanceKey(String instanceKey)
     {
-        TagOptionSingleton.defaultOptions = instanceKey;
+        synchronized (tagOptionTable)
+        {
+            TagOptionSingleton.defaultOptions = instanceKey;
+            defaultInstance = null;
+        }
     }
 
     /**
@@ -469,6 +570,7 @@ public final class TagOptionSingleton
     public void setId3v1Save(boolean id3v1Save)
     {
         this.id3v1Save = id3v1Save;
+        invalidateSnapshot();
     }
 
     /**
@@ -485,6 +587,7 @@ public final class TagOptionSingleton
     public void setId3v1SaveAlbum(boolean id3v1SaveAlbum)
     {
         this.id3v1SaveAlbum = id3v1SaveAlbum;
+        invalidateSnapshot();
     }
 
     /**
@@ -501,6 +604,7 @@ public final class TagOptionSingleton
     public void setId3v1SaveArtist(boolean id3v1SaveArtist)
     {
         this.id3v1SaveArtist = id3v1SaveArtist;
+        invalidateSnapshot();
     }
 
     /**
@@ -517,6 +621,7 @@ public final class TagOptionSingleton
     public void setId3v1SaveComment(boolean id3v1SaveComment)
     {
         this.id3v1SaveComment = id3v1SaveComment;
+        invalidateSnapshot();
     }
 
     /**
@@ -533,6 +638,7 @@ public final class TagOptionSingleton
     public void setId3v1SaveGenre(boolean id3v1SaveGenre)
     {
         this.id3v1SaveGenre = id3v1SaveGenre;
+        invalidateSnapshot();
     }
 
     /**
@@ -549,6 +655,7 @@ public final class TagOptionSingleton
     public void setId3v1SaveTitle(boolean id3v1SaveTitle)
     {
         this.id3v1SaveTitle = id3v1SaveTitle;
+        invalidateSnapshot();
     }
 
     /**
@@ -565,6 +672,7 @@ public final class TagOptionSingleton
     public void setId3v1SaveTrack(boolean id3v1SaveTrack)
     {
         this.id3v1SaveTrack = id3v1SaveTrack;
+        invalidateSnapshot();
     }
 
     /**
@@ -581,6 +689,7 @@ public final class TagOptionSingleton
     public void setId3v1SaveYear(boolean id3v1SaveYear)
     {
         this.id3v1SaveYear = id3v1SaveYear;
+        invalidateSnapshot();
     }
 
     /**
@@ -598,6 +707,7 @@ public final class TagOptionSingleton
     public void setId3v2PaddingCopyTag(boolean id3v2PaddingCopyTag)
     {
         this.id3v2PaddingCopyTag = id3v2PaddingCopyTag;
+        invalidateSnapshot();
     }
 
     /**
@@ -615,6 +725,7 @@ public final class TagOptionSingleton
     public void setId3v2PaddingWillShorten(boolean id3v2PaddingWillShorten)
     {
         this.id3v2PaddingWillShorten = id3v2PaddingWillShorten;
+        invalidateSnapshot();
     }
 
     /**
@@ -631,6 +742,7 @@ public final class TagOptionSingleton
     public void setId3v2Save(boolean id3v2Save)
     {
         this.id3v2Save = id3v2Save;
+        invalidateSnapshot();
     }
 
     /**
@@ -670,6 +782,7 @@ public final class TagOptionSingleton
             ID3v24Frames.getInstanceOf().setITunes12_6WorkGroupingMode(id3v2ITunes12_6WorkGroupingMode);
             this.id3v2ITunes12_6WorkGroupingMode = id3v2ITunes12_6WorkGroupingMode;
         }
+        invalidateSnapshot();
     }
 
     /**
@@ -702,6 +815,7 @@ public final class TagOptionSingleton
         {
             language = lang;
         }
+        invalidateSnapshot();
     }
 
     /**
@@ -720,6 +834,7 @@ public final class TagOptionSingleton
     public void setLyrics3KeepEmptyFieldIfRead(boolean lyrics3KeepEmptyFieldIfRead)
     {
         this.lyrics3KeepEmptyFieldIfRead = lyrics3KeepEmptyFieldIfRead;
+        invalidateSnapshot();
     }
 
     /**
@@ -736,6 +851,7 @@ public final class TagOptionSingleton
     public void setLyrics3Save(boolean lyrics3Save)
     {
         this.lyrics3Save = lyrics3Save;
+        invalidateSnapshot();
     }
 
     /**
@@ -752,6 +868,7 @@ public final class TagOptionSingleton
     public void setLyrics3SaveEmptyField(boolean lyrics3SaveEmptyField)
     {
         this.lyrics3SaveEmptyField = lyrics3SaveEmptyField;
+        invalidateSnapshot();
     }
 
     /**
@@ -771,6 +888,7 @@ public final class TagOptionSingleton
     public void setLyrics3SaveField(String id, boolean save)
     {
         this.lyrics3SaveFieldMap.put(id, save);
+        invalidateSnapshot();
     }
 
     /**
@@ -813,6 +931,7 @@ public final class TagOptionSingleton
     public void setNumberMP3SyncFrame(int numberMP3SyncFrame)
     {
         this.numberMP3SyncFrame = numberMP3SyncFrame;
+        invalidateSnapshot();
     }
 
     /**
@@ -860,6 +979,7 @@ public final class TagOptionSingleton
     public void setOriginalSavedAfterAdjustingID3v2Padding(boolean originalSavedAfterAdjustingID3v2Padding)
     {
         this.originalSavedAfterAdjustingID3v2Padding = originalSavedAfterAdjustingID3v2Padding;
+        invalidateSnapshot();
     }
 
     /**
@@ -889,6 +1009,7 @@ public final class TagOptionSingleton
         {
             timeStampFormat = tsf;
         }
+        invalidateSnapshot();
     }
 
     /**
@@ -952,6 +1073,11 @@ public final class TagOptionSingleton
         id3v2Version = ID3V2Version.ID3_V23;
         checkIsWritable = false;
         preserveFileIdentity = true;
+        id3v2LazyFrameBodies = false;
+        verifyOggPageChecksums = false;
+        mp4VerifyOptions = Mp4VerifyOptions.VERIFY_CHANGED_ATOMS;
+        lazyArtwork = false;
+        shiftCostFactor = 1.0;
         //default all lyrics3 fields to save. id3v1 fields are individual
         // settings. id3v2 fields are always looked at to save.
         Iterator<String> iterator = Lyrics3v2Fields.getInstanceOf().getIdToValueMap().keySet().iterator();
@@ -1036,6 +1162,7 @@ public final class TagOptionSingleton
         addParenthesis("[", "]");
         addParenthesis("{", "}");
         addParenthesis("<", ">");
+        invalidateSnapshot();
     }
 
 
@@ -1104,6 +1231,7 @@ public final class TagOptionSingleton
     public void setUnsyncTags(boolean unsyncTags)
     {
         this.unsyncTags = unsyncTags;
+        invalidateSnapshot();
     }
 
     /**
@@ -1125,6 +1253,7 @@ public final class TagOptionSingleton
     public void setRemoveTrailingTerminatorOnWrite(boolean removeTrailingTerminatorOnWrite)
     {
         this.removeTrailingTerminatorOnWrite = removeTrailingTerminatorOnWrite;
+        invalidateSnapshot();
     }
 
     /**
@@ -1150,6 +1279,7 @@ public final class TagOptionSingleton
         {
             this.id3v23DefaultTextEncoding = id3v23DefaultTextEncoding;
         }
+        invalidateSnapshot();
     }
 
     /**
@@ -1176,6 +1306,7 @@ public final class TagOptionSingleton
             this.id3v24DefaultTextEncoding = id3v24DefaultTextEncoding;
         }
 
+        invalidateSnapshot();
     }
 
     /**
@@ -1201,6 +1332,7 @@ public final class TagOptionSingleton
         {
             this.id3v24UnicodeTextEncoding = id3v24UnicodeTextEncoding;
         }
+        invalidateSnapshot();
     }
 
     /**
@@ -1226,6 +1358,7 @@ public final class TagOptionSingleton
     public void setResetTextEncodingForExistingFrames(boolean resetTextEncodingForExistingFrames)
     {
         this.resetTextEncodingForExistingFrames = resetTextEncodingForExistingFrames;
+        invalidateSnapshot();
     }
 
     /**
@@ -1245,6 +1378,7 @@ public final class TagOptionSingleton
     public void setTruncateTextWithoutErrors(boolean truncateTextWithoutErrors)
     {
         this.truncateTextWithoutErrors = truncateTextWithoutErrors;
+        invalidateSnapshot();
     }
 
     public boolean isPadNumbers()
@@ -1255,6 +1389,7 @@ public final class TagOptionSingleton
     public void setPadNumbers(boolean padNumbers)
     {
         this.padNumbers = padNumbers;
+        invalidateSnapshot();
     }
 
     /**
@@ -1270,6 +1405,7 @@ public final class TagOptionSingleton
     public void setPlayerCompatability(int playerCompatability)
     {
         this.playerCompatability = playerCompatability;
+        invalidateSnapshot();
     }
 
     /**
@@ -1284,6 +1420,7 @@ public final class TagOptionSingleton
     public void setEncodeUTF16BomAsLittleEndian(boolean encodeUTF16BomAsLittleEndian)
     {
         isEncodeUTF16BomAsLittleEndian = encodeUTF16BomAsLittleEndian;
+        invalidateSnapshot();
     }
 
     /**
@@ -1299,6 +1436,7 @@ public final class TagOptionSingleton
     public void setWriteChunkSize(long writeChunkSize)
     {
         this.writeChunkSize = writeChunkSize;
+        invalidateSnapshot();
     }
 
     /**
@@ -1313,6 +1451,7 @@ public final class TagOptionSingleton
     public void setWriteMp4GenresAsText(boolean writeMp4GenresAsText)
     {
         isWriteMp4GenresAsText = writeMp4GenresAsText;
+        invalidateSnapshot();
     }
 
     /**
@@ -1327,6 +1466,7 @@ public final class TagOptionSingleton
     public void setWriteMp3GenresAsText(boolean writeMp3GenresAsText)
     {
         isWriteMp3GenresAsText = writeMp3GenresAsText;
+        invalidateSnapshot();
     }
 
     /**
@@ -1340,6 +1480,7 @@ public final class TagOptionSingleton
     public void setPadNumberTotalLength(PadNumberOption padNumberTotalLength)
     {
         this.padNumberTotalLength = padNumberTotalLength;
+        invalidateSnapshot();
     }
 
     /**
@@ -1353,6 +1494,7 @@ public final class TagOptionSingleton
     public void setAPICDescriptionITunesCompatible(boolean APICDescriptionITunesCompatible)
     {
         isAPICDescriptionITunesCompatible = APICDescriptionITunesCompatible;
+        invalidateSnapshot();
     }
 
     /**
@@ -1365,6 +1507,7 @@ public final class TagOptionSingleton
 
 	public void setCheckIsWritable(boolean checkIsWritable) {
 		this.checkIsWritable = checkIsWritable;
+		invalidateSnapshot();
 	}
 
     /**
@@ -1392,6 +1535,132 @@ public final class TagOptionSingleton
      */
     public void setPreserveFileIdentity(boolean preserveFileIdentity) {
         this.preserveFileIdentity = preserveFileIdentity;
+        invalidateSnapshot();
+    }
+
+    /**
+     * If enabled the frames of ID3v2 tags are indexed when the tag is read, but each frame body is only decoded
+     * the first time it is accessed, for example by {@link Tag#getFirst(FieldKey)} or {@link Tag#getFields(FieldKey)}.
+     * This is much quicker when only a few fields are needed from tags holding many frames or large binary frames
+     * such as artwork, although the bytes of every frame are still read from the file with the tag.
+     *
+     * <p>Compressed and encrypted frames are always decoded straight away. A frame that turns out to be corrupt
+     * when it is decoded is kept unchanged with an unsupported body, instead of being dropped from the tag.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isId3v2LazyFrameBodies()
+    {
+        return id3v2LazyFrameBodies;
+    }
+
+    /**
+     * @param id3v2LazyFrameBodies {@code true} or {@code false}
+     * @see #isId3v2LazyFrameBodies()
+     */
+    public void setId3v2LazyFrameBodies(boolean id3v2LazyFrameBodies)
+    {
+        this.id3v2LazyFrameBodies = id3v2LazyFrameBodies;
+        invalidateSnapshot();
+    }
+
+    /**
+     * If enabled the checksum of each Ogg page read by the library is checked against the page data, and a corrupt
+     * page causes the read to fail instead of its content being used. The page data has to be read in full to do
+     * this, so it is slower.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isVerifyOggPageChecksums()
+    {
+        return verifyOggPageChecksums;
+    }
+
+    /**
+     * @param verifyOggPageChecksums {@code true} or {@code false}
+     * @see #isVerifyOggPageChecksums()
+     */
+    public void setVerifyOggPageChecksums(boolean verifyOggPageChecksums)
+    {
+        this.verifyOggPageChecksums = verifyOggPageChecksums;
+        invalidateSnapshot();
+    }
+
+    /**
+     * After writing changes to an Mp4 file the file is checked before returning. By default only the atoms the
+     * writer could have changed are read back, use {@link Mp4VerifyOptions#VERIFY_ALL} to reread the whole moov atom
+     * and compare every chunk offset table, or {@link Mp4VerifyOptions#VERIFY_NONE} to skip the check.
+     *
+     * @return how much of the file is checked. Default is {@link Mp4VerifyOptions#VERIFY_CHANGED_ATOMS}.
+     */
+    public Mp4VerifyOptions getMp4VerifyOptions()
+    {
+        return mp4VerifyOptions;
+    }
+
+    /**
+     * @param mp4VerifyOptions
+     * @see #getMp4VerifyOptions()
+     */
+    public void setMp4VerifyOptions(Mp4VerifyOptions mp4VerifyOptions)
+    {
+        this.mp4VerifyOptions = mp4VerifyOptions;
+        invalidateSnapshot();
+    }
+
+    /**
+     * If enabled the image data of Flac PICTURE blocks and Mp4 covr atoms is not read when the tag is read, only its
+     * location in the file is recorded and the data is read from the file when it is first asked for, or can be
+     * streamed with {@link org.jaudiotagger.tag.images.LazyArtwork#getBinaryDataStream()}, artwork created this way is
+     * a {@link org.jaudiotagger.tag.images.LazyArtwork} so can be told apart with instanceof.
+     *
+     * If the file is changed by something other than this library before the data is read then reading it fails with
+     * {@link org.jaudiotagger.tag.images.ImageDataNotAvailableException}.
+     *
+     * ID3v2 APIC frames are not covered, their bytes are always read with the tag, {@link #isId3v2LazyFrameBodies()}
+     * only defers decoding them.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isLazyArtwork()
+    {
+        return lazyArtwork;
+    }
+
+    /**
+     * @param lazyArtwork {@code true} or {@code false}
+     * @see #isLazyArtwork()
+     */
+    public void setLazyArtwork(boolean lazyArtwork)
+    {
+        this.lazyArtwork = lazyArtwork;
+        invalidateSnapshot();
+    }
+
+    /**
+     * When a larger tag does not fit in the space of the existing tag the audio data after it has to be moved, either
+     * by shifting it within the file, which reads and writes it backwards from the end of the file, or by copying the
+     * whole file to a new file which is then renamed over the original. The cheaper of the two is used, see
+     * {@link org.jaudiotagger.audio.generic.WritePlanner}.
+     *
+     * This is the cost of shifting a byte compared with copying it. On most disks the two are about the same, but on
+     * storage such as SD cards that is much slower at writing backwards it can be several times more.
+     *
+     * @return the factor. Default is {@code 1.0}.
+     */
+    public double getShiftCostFactor()
+    {
+        return shiftCostFactor;
+    }
+
+    /**
+     * @param shiftCostFactor cost of shifting a byte within a file compared with copying it to a new file
+     * @see #getShiftCostFactor()
+     */
+    public void setShiftCostFactor(double shiftCostFactor)
+    {
+        this.shiftCostFactor = shiftCostFactor;
+        invalidateSnapshot();
     }
 
     public boolean isWriteWavForTwonky()
@@ -1402,5 +1671,6 @@ public final class TagOptionSingleton
     public void setWriteWavForTwonky(boolean isWriteWavForTwonky)
     {
         this.isWriteWavForTwonky = isWriteWavForTwonky;
+        invalidateSnapshot();
     }
 }
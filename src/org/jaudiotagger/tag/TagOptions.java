@@ -0,0 +1,411 @@
+package org.jaudiotagger.tag;
+
+import org.jaudiotagger.audio.mp4.Mp4VerifyOptions;
+import org.jaudiotagger.audio.wav.WavOptions;
+import org.jaudiotagger.audio.wav.WavSaveOptions;
+import org.jaudiotagger.audio.wav.WavSaveOrder;
+import org.jaudiotagger.tag.options.PadNumberOption;
+import org.jaudiotagger.tag.reference.ID3V2Version;
+import org.jaudiotagger.tag.vorbiscomment.VorbisAlbumArtistReadOptions;
+import org.jaudiotagger.tag.vorbiscomment.VorbisAlbumArtistSaveOptions;
+
+/**
+ * Immutable copy of the options held by a {@link TagOptionSingleton}.<br>
+ *
+ * <p>The library reads its options through {@link #current()} rather than from the singleton, so the values seen
+ * by a read or write cannot change part way through it, and can be read from many threads without locking.
+ *
+ * <p>A snapshot is obtained with {@link TagOptionSingleton#getSnapshot()}. To read or write files with settings
+ * other than the default ones, configure another instance with {@link TagOptionSingleton#getInstance(String)} and
+ * pass its snapshot to {@link org.jaudiotagger.audio.AudioFileIO#AudioFileIO(TagOptions)}, or bind it to the
+ * current thread with {@link #bind(TagOptions)}. Workers using different AudioFileIO instances can then run at the
+ * same time with different settings.
+ *
+ * <p>The keyword, parenthesis, replace word and lyrics3 field maps and the iTunes 12.6 work/grouping mode are not
+ * part of the snapshot, they are still read from the singleton.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public final class TagOptions
+{
+    /**
+     * Options bound to the current thread, null if the default singleton applies
+     */
+    private static final ThreadLocal<TagOptions> boundOptions = new ThreadLocal<>();
+
+    private final boolean isWriteWavForTwonky;
+    private final WavOptions wavOptions;
+    private final WavSaveOptions wavSaveOptions;
+    private final WavSaveOrder wavSaveOrder;
+    private final VorbisAlbumArtistSaveOptions vorbisAlbumArtistSaveOptions;
+    private final VorbisAlbumArtistReadOptions vorbisAlbumArtistReadOptions;
+    private final String language;
+    private final boolean filenameTagSave;
+    private final boolean id3v1Save;
+    private final boolean id3v1SaveAlbum;
+    private final boolean id3v1SaveArtist;
+    private final boolean id3v1SaveComment;
+    private final boolean id3v1SaveGenre;
+    private final boolean id3v1SaveTitle;
+    private final boolean id3v1SaveTrack;
+    private final boolean id3v1SaveYear;
+    private final boolean id3v2PaddingCopyTag;
+    private final boolean id3v2PaddingWillShorten;
+    private final boolean id3v2Save;
+    private final boolean lyrics3KeepEmptyFieldIfRead;
+    private final boolean lyrics3Save;
+    private final boolean lyrics3SaveEmptyField;
+    private final boolean originalSavedAfterAdjustingID3v2Padding;
+    private final byte timeStampFormat;
+    private final int numberMP3SyncFrame;
+    private final boolean unsyncTags;
+    private final boolean removeTrailingTerminatorOnWrite;
+    private final byte id3v23DefaultTextEncoding;
+    private final byte id3v24DefaultTextEncoding;
+    private final byte id3v24UnicodeTextEncoding;
+    private final boolean resetTextEncodingForExistingFrames;
+    private final boolean truncateTextWithoutErrors;
+    private final boolean padNumbers;
+    private final PadNumberOption padNumberTotalLength;
+    private final boolean isAPICDescriptionITunesCompatible;
+    private final boolean isEncodeUTF16BomAsLittleEndian;
+    private final int playerCompatability;
+    private final long writeChunkSize;
+    private final boolean isWriteMp4GenresAsText;
+    private final boolean isWriteMp3GenresAsText;
+    private final ID3V2Version id3v2Version;
+    private final boolean checkIsWritable;
+    private final boolean preserveFileIdentity;
+    private final boolean id3v2LazyFrameBodies;
+    private final boolean verifyOggPageChecksums;
+    private final Mp4VerifyOptions mp4VerifyOptions;
+    private final boolean lazyArtwork;
+    private final double shiftCostFactor;
+
+    TagOptions(TagOptionSingleton options)
+    {
+        isWriteWavForTwonky = options.isWriteWavForTwonky();
+        wavOptions = options.getWavOptions();
+        wavSaveOptions = options.getWavSaveOptions();
+        wavSaveOrder = options.getWavSaveOrder();
+        vorbisAlbumArtistSaveOptions = options.getVorbisAlbumArtistSaveOptions();
+        vorbisAlbumArtistReadOptions = options.getVorbisAlbumArtisReadOptions();
+        language = options.getLanguage();
+        filenameTagSave = options.isFilenameTagSave();
+        id3v1Save = options.isId3v1Save();
+        id3v1SaveAlbum = options.isId3v1SaveAlbum();
+        id3v1SaveArtist = options.isId3v1SaveArtist();
+        id3v1SaveComment = options.isId3v1SaveComment();
+        id3v1SaveGenre = options.isId3v1SaveGenre();
+        id3v1SaveTitle = options.isId3v1SaveTitle();
+        id3v1SaveTrack = options.isId3v1SaveTrack();
+        id3v1SaveYear = options.isId3v1SaveYear();
+        id3v2PaddingCopyTag = options.isId3v2PaddingCopyTag();
+        id3v2PaddingWillShorten = options.isId3v2PaddingWillShorten();
+        id3v2Save = options.isId3v2Save();
+        lyrics3KeepEmptyFieldIfRead = options.isLyrics3KeepEmptyFieldIfRead();
+        lyrics3Save = options.isLyrics3Save();
+        lyrics3SaveEmptyField = options.isLyrics3SaveEmptyField();
+        originalSavedAfterAdjustingID3v2Padding = options.isOriginalSavedAfterAdjustingID3v2Padding();
+        timeStampFormat = options.getTimeStampFormat();
+        numberMP3SyncFrame = options.getNumberMP3SyncFrame();
+        unsyncTags = options.isUnsyncTags();
+        removeTrailingTerminatorOnWrite = options.isRemoveTrailingTerminatorOnWrite();
+        id3v23DefaultTextEncoding = options.getId3v23DefaultTextEncoding();
+        id3v24DefaultTextEncoding = options.getId3v24DefaultTextEncoding();
+        id3v24UnicodeTextEncoding = options.getId3v24UnicodeTextEncoding();
+        resetTextEncodingForExistingFrames = options.isResetTextEncodingForExistingFrames();
+        truncateTextWithoutErrors = options.isTruncateTextWithoutErrors();
+        padNumbers = options.isPadNumbers();
+        padNumberTotalLength = options.getPadNumberTotalLength();
+        isAPICDescriptionITunesCompatible = options.isAPICDescriptionITunesCompatible();
+        isEncodeUTF16BomAsLittleEndian = options.isEncodeUTF16BomAsLittleEndian();
+        playerCompatability = options.getPlayerCompatability();
+        writeChunkSize = options.getWriteChunkSize();
+        isWriteMp4GenresAsText = options.isWriteMp4GenresAsText();
+        isWriteMp3GenresAsText = options.isWriteMp3GenresAsText();
+        id3v2Version = options.getID3V2Version();
+        checkIsWritable = options.isCheckIsWritable();
+        preserveFileIdentity = options.isPreserveFileIdentity();
+        id3v2LazyFrameBodies = options.isId3v2LazyFrameBodies();
+        verifyOggPageChecksums = options.isVerifyOggPageChecksums();
+        mp4VerifyOptions = options.getMp4VerifyOptions();
+        lazyArtwork = options.isLazyArtwork();
+        shiftCostFactor = options.getShiftCostFactor();
+    }
+
+    /**
+     * @return the options bound to the current thread, or if none are bound a snapshot of the default
+     * {@link TagOptionSingleton}
+     */
+    public static TagOptions current()
+    {
+        TagOptions options = boundOptions.get();
+        if (options == null)
+        {
+            return TagOptionSingleton.getInstance().getSnapshot();
+        }
+        return options;
+    }
+
+    /**
+     * Bind options to the current thread, replacing any already bound. Should be paired with a call restoring
+     * the previous value in a finally block.
+     *
+     * @param options to use for the current thread, null to use the default singleton again
+     * @return the options that were bound before, may be null
+     */
+    public static TagOptions bind(TagOptions options)
+    {
+        TagOptions previous = boundOptions.get();
+        if (options == null)
+        {
+            boundOptions.remove();
+        }
+        else
+        {
+            boundOptions.set(options);
+        }
+        return previous;
+    }
+
+    public boolean isWriteWavForTwonky()
+    {
+        return isWriteWavForTwonky;
+    }
+
+    public WavOptions getWavOptions()
+    {
+        return wavOptions;
+    }
+
+    public WavSaveOptions getWavSaveOptions()
+    {
+        return wavSaveOptions;
+    }
+
+    public WavSaveOrder getWavSaveOrder()
+    {
+        return wavSaveOrder;
+    }
+
+    public VorbisAlbumArtistSaveOptions getVorbisAlbumArtistSaveOptions()
+    {
+        return vorbisAlbumArtistSaveOptions;
+    }
+
+    public VorbisAlbumArtistReadOptions getVorbisAlbumArtisReadOptions()
+    {
+        return vorbisAlbumArtistReadOptions;
+    }
+
+    public String getLanguage()
+    {
+        return language;
+    }
+
+    public boolean isFilenameTagSave()
+    {
+        return filenameTagSave;
+    }
+
+    public boolean isId3v1Save()
+    {
+        return id3v1Save;
+    }
+
+    public boolean isId3v1SaveAlbum()
+    {
+        return id3v1SaveAlbum;
+    }
+
+    public boolean isId3v1SaveArtist()
+    {
+        return id3v1SaveArtist;
+    }
+
+    public boolean isId3v1SaveComment()
+    {
+        return id3v1SaveComment;
+    }
+
+    public boolean isId3v1SaveGenre()
+    {
+        return id3v1SaveGenre;
+    }
+
+    public boolean isId3v1SaveTitle()
+    {
+        return id3v1SaveTitle;
+    }
+
+    public boolean isId3v1SaveTrack()
+    {
+        return id3v1SaveTrack;
+    }
+
+    public boolean isId3v1SaveYear()
+    {
+        return id3v1SaveYear;
+    }
+
+    public boolean isId3v2PaddingCopyTag()
+    {
+        return id3v2PaddingCopyTag;
+    }
+
+    public boolean isId3v2PaddingWillShorten()
+    {
+        return id3v2PaddingWillShorten;
+    }
+
+    public boolean isId3v2Save()
+    {
+        return id3v2Save;
+    }
+
+    public boolean isLyrics3KeepEmptyFieldIfRead()
+    {
+        return lyrics3KeepEmptyFieldIfRead;
+    }
+
+    public boolean isLyrics3Save()
+    {
+        return lyrics3Save;
+    }
+
+    public boolean isLyrics3SaveEmptyField()
+    {
+        return lyrics3SaveEmptyField;
+    }
+
+    public boolean isOriginalSavedAfterAdjustingID3v2Padding()
+    {
+        return originalSavedAfterAdjustingID3v2Padding;
+    }
+
+    public byte getTimeStampFormat()
+    {
+        return timeStampFormat;
+    }
+
+    public int getNumberMP3SyncFrame()
+    {
+        return numberMP3SyncFrame;
+    }
+
+    public boolean isUnsyncTags()
+    {
+        return unsyncTags;
+    }
+
+    public boolean isRemoveTrailingTerminatorOnWrite()
+    {
+        return removeTrailingTerminatorOnWrite;
+    }
+
+    public byte getId3v23DefaultTextEncoding()
+    {
+        return id3v23DefaultTextEncoding;
+    }
+
+    public byte getId3v24DefaultTextEncoding()
+    {
+        return id3v24DefaultTextEncoding;
+    }
+
+    public byte getId3v24UnicodeTextEncoding()
+    {
+        return id3v24UnicodeTextEncoding;
+    }
+
+    public boolean isResetTextEncodingForExistingFrames()
+    {
+        return resetTextEncodingForExistingFrames;
+    }
+
+    public boolean isTruncateTextWithoutErrors()
+    {
+        return truncateTextWithoutErrors;
+    }
+
+    public boolean isPadNumbers()
+    {
+        return padNumbers;
+    }
+
+    public PadNumberOption getPadNumberTotalLength()
+    {
+        return padNumberTotalLength;
+    }
+
+    public boolean isAPICDescriptionITunesCompatible()
+    {
+        return isAPICDescriptionITunesCompatible;
+    }
+
+    public boolean isEncodeUTF16BomAsLittleEndian()
+    {
+        return isEncodeUTF16BomAsLittleEndian;
+    }
+
+    public int getPlayerCompatability()
+    {
+        return playerCompatability;
+    }
+
+    public long getWriteChunkSize()
+    {
+        return writeChunkSize;
+    }
+
+    public boolean isWriteMp4GenresAsText()
+    {
+        return isWriteMp4GenresAsText;
+    }
+
+    public boolean isWriteMp3GenresAsText()
+    {
+        return isWriteMp3GenresAsText;
+    }
+
+    public ID3V2Version getID3V2Version()
+    {
+        return id3v2Version;
+    }
+
+    public boolean isCheckIsWritable()
+    {
+        return checkIsWritable;
+    }
+
+    public boolean isPreserveFileIdentity()
+    {
+        return preserveFileIdentity;
+    }
+
+    public boolean isId3v2LazyFrameBodies()
+    {
+        return id3v2LazyFrameBodies;
+    }
+
+    public boolean isVerifyOggPageChecksums()
+    {
+        return verifyOggPageChecksums;
+    }
+
+    public Mp4VerifyOptions getMp4VerifyOptions()
+    {
+        return mp4VerifyOptions;
+    }
+
+    public boolean isLazyArtwork()
+    {
+        return lazyArtwork;
+    }
+
+    public double getShiftCostFactor()
+    {
+        return shiftCostFactor;
+    }
+}
@@ -425,15 +425,15 @@ public class AiffTag implements Tag, Id3SupportingTag
      */
     public static AbstractID3v2Tag createDefaultID3Tag()
     {
-        if(TagOptionSingleton.getInstance().getID3V2Version()== ID3V2Version.ID3_V24)
+        if(TagOptions.current().getID3V2Version()== ID3V2Version.ID3_V24)
         {
             return new ID3v24Tag();
         }
-        else if(TagOptionSingleton.getInstance().getID3V2Version()==ID3V2Version.ID3_V23)
+        else if(TagOptions.current().getID3V2Version()==ID3V2Version.ID3_V23)
         {
             return new ID3v23Tag();
         }
-        else if(TagOptionSingleton.getInstance().getID3V2Version()==ID3V2Version.ID3_V22)
+        else if(TagOptions.current().getID3V2Version()==ID3V2Version.ID3_V22)
         {
             return new ID3v22Tag();
         }
@@ -3,8 +3,9 @@ package org.jaudiotagger.tag.ape;
 import androidx.annotation.NonNull;
 
 import org.jaudiotagger.StandardCharsets;
-import org.jaudiotagger.audio.ape.ApeFile;
 import org.jaudiotagger.audio.generic.AbstractTag;
+import org.jaudiotagger.audio.generic.PrefetchedFileRegions;
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.KeyNotFoundException;
 import org.jaudiotagger.tag.TagException;
@@ -18,9 +19,11 @@ import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.logging.Logger;
@@ -231,92 +234,163 @@ public class APEv2Tag extends AbstractTag
 
     public APEv2Tag(@NonNull RandomAccessFile file) throws IOException, TagException
     {
-        long id3v1size = getID3v1Size(file);
-        long length = file.length();
+        // Only the footer and a possible ID3v1 tag after it are prefetched, the items are read once we know their size
+        this(new PrefetchedFileRegions(file.getChannel(), 0, FOOTER_SIZE + ID3v1Tag.TAG_LENGTH));
+    }
+
+    /**
+     * Read the tag from the end of the file, the footer is normally taken from the prefetched tail of the file and
+     * the items are read with a single read then parsed from memory
+     *
+     * @param regions
+     * @throws IOException
+     * @throws TagException
+     */
+    public APEv2Tag(@NonNull PrefetchedFileRegions regions) throws IOException, TagException
+    {
+        long id3v1size = getID3v1Size(regions);
+        long length = regions.getFileSize();
         if (length <= id3v1size + FOOTER_SIZE)
             throw new TagNotFoundException("APEv2: no enough space for valid tag");
 
         // Check footer's signature
-        file.seek(length - id3v1size - FOOTER_SIZE);
-        long id = file.readLong();
-        if (id != SIGNATURE)
+        ByteBuffer footer = regions.read(length - id3v1size - FOOTER_SIZE, FOOTER_SIZE);
+        if (footer.limit() < FOOTER_SIZE || footer.getLong() != SIGNATURE)
             throw new TagNotFoundException("APEv2");
 
         // Read footer's data
-        int version = ApeFile.readInt(file);
-        int size = ApeFile.readInt(file);
-        int fields = ApeFile.readInt(file);
-        int flags = ApeFile.readInt(file);
-        long reserved = file.readLong();
+        footer.order(ByteOrder.LITTLE_ENDIAN);
+        int version = footer.getInt();
+        int size = footer.getInt();
+        int fields = footer.getInt();
+        int flags = footer.getInt();
 
         // Check footer's data
-        if (size < 0 || size + id3v1size > length)
+        if (size < FOOTER_SIZE || size + id3v1size > length)
             throw new TagException("APEv2: invalid tag size");
         if (fields < 0)
             throw new TagException("APEv2: invalid number of fields");
 
         // Read fields
-        byte[] buffer = new byte[64];
-        file.seek(length - id3v1size - size);
+        ByteBuffer items = regions.read(length - id3v1size - size, size - FOOTER_SIZE);
+        items.order(ByteOrder.LITTLE_ENDIAN);
         for (; fields > 0; fields--)
         {
-            int valueSize  = ApeFile.readInt(file);
-            int valueFlags = ApeFile.readInt(file);
-            if (valueSize > size)
+            if (items.remaining() < 8)
+                throw new TagException("APEv2: tag malformed");
+            int valueSize  = items.getInt();
+            int valueFlags = items.getInt();
+            if (valueSize < 0 || valueSize > size)
                 throw new TagException("APEv2: tag malformed");
 
             // read name
-            int len = 0;
-            while (true)
-            {
-                int chr = file.read();
-                if (chr <= 0) break;
-                if (len >= buffer.length)
-                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
-                buffer[len] = (byte)(chr & 0xFF);
-                len++;
-            }
-            String fieldName = len > 0 ? new String(buffer, 0, len).toUpperCase() : "";
+            int nameStart = items.position();
+            int nameEnd = nameStart;
+            while (nameEnd < items.limit() && items.get(nameEnd) != 0)
+                nameEnd++;
+            if (nameEnd == items.limit())
+                throw new TagException("APEv2: tag malformed");
+            String fieldName = nameEnd > nameStart ? getString(items, nameStart, nameEnd - nameStart).toUpperCase() : "";
+            items.position(nameEnd + 1);
 
-            // read value
-            if (valueSize > buffer.length)
-                buffer = new byte[valueSize];
-            file.readFully(buffer, 0, valueSize);
+            // read value, binary values are left in the buffer rather than copied
+            if (valueSize > items.remaining())
+                throw new TagException("APEv2: tag malformed");
             if ((valueFlags & TAG_FIELD_FLAG_DATA_TYPE_BINARY) != 0)
-                addField(new APEv2TagFieldBinary(fieldName, Arrays.copyOf(buffer, valueSize)));
+            {
+                ByteBuffer value = items.slice();
+                value.limit(valueSize);
+                addField(new APEv2TagFieldBinary(fieldName, value));
+            }
             else
-                addField(new APEv2TagField(fieldName, new String(buffer, 0, valueSize, StandardCharsets.UTF_8)));
+                addField(new APEv2TagField(fieldName, getString(items, items.position(), valueSize)));
+            items.position(items.position() + valueSize);
+        }
+    }
+
+    private static String getString(@NonNull ByteBuffer buffer, int offset, int length)
+    {
+        if (buffer.hasArray())
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks the prefetched end of a file for the APEv2 footer, which may be followed by an ID3v1 tag
+     *
+     * @param tail the last bytes of the file, positioned at zero
+     * @return true if the footer signature has been found
+     */
+    public static boolean hasFooter(@NonNull ByteBuffer tail)
+    {
+        int end = tail.limit();
+        if (end >= ID3v1Tag.TAG_LENGTH)
+        {
+            int id3v1Start = end - ID3v1Tag.TAG_LENGTH;
+            if (tail.get(id3v1Start) == ID3v1Tag.TAG_ID[0] && tail.get(id3v1Start + 1) == ID3v1Tag.TAG_ID[1] && tail.get(id3v1Start + 2) == ID3v1Tag.TAG_ID[2])
+                end = id3v1Start;
         }
+        return end >= FOOTER_SIZE && tail.getLong(end - FOOTER_SIZE) == SIGNATURE;
     }
 
     public static void delete(@NonNull RandomAccessFile file) throws IOException
+    {
+        delete(file.getChannel());
+    }
+
+    /**
+     * Delete the tag from the end of an open channel
+     *
+     * @param fc channel to delete the tag from
+     * @throws IOException
+     */
+    public static void delete(@NonNull FileChannel fc) throws IOException
     {
         // TODO: keep ID3v1 tag data
-        long id3v1Size = getID3v1Size(file);
-        long length = file.length();
-        file.seek(length - id3v1Size - FOOTER_SIZE);
-        if (file.readLong() != SIGNATURE)
+        long id3v1Size = getID3v1Size(fc);
+        long length = fc.size();
+        ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+        fc.position(length - id3v1Size - FOOTER_SIZE);
+        Utils.readFully(fc, footer);
+        if (footer.getLong(0) != SIGNATURE)
         {
             logger.config("Unable to find APEv2 tag to delete");
             return;
         }
         // Read footer's data
-        int vers = ApeFile.readInt(file);
-        int size = ApeFile.readInt(file);
-        if (size < 0 || size > file.length())
+        footer.order(ByteOrder.LITTLE_ENDIAN);
+        int size = footer.getInt(12);
+        if (size < 0 || size > length)
             throw new IOException("APEv2: invalid tag size");
-        file.setLength(length - size);
+        fc.truncate(length - size);
+    }
+
+    private static long getID3v1Size(@NonNull PrefetchedFileRegions regions) throws IOException
+    {
+        long length = regions.getFileSize();
+        if (length >= ID3v1Tag.TAG_LENGTH)
+        {
+            ByteBuffer id = regions.read(length - ID3v1Tag.TAG_LENGTH, ID3v1Tag.TAG_ID.length);
+            if (id.equals(ByteBuffer.wrap(ID3v1Tag.TAG_ID)))
+                return ID3v1Tag.TAG_LENGTH;
+        }
+        return 0;
     }
 
-    private static long getID3v1Size(@NonNull RandomAccessFile file) throws IOException
+    private static long getID3v1Size(@NonNull FileChannel fc) throws IOException
     {
-        long length = file.length();
+        long length = fc.size();
         if (length >= ID3v1Tag.TAG_LENGTH)
         {
-            byte[] id = new byte[3];
-            file.seek(length - ID3v1Tag.TAG_LENGTH);
-            file.readFully(id, 0, id.length);
-            if (Arrays.equals(id, ID3v1Tag.TAG_ID))
+            ByteBuffer id = ByteBuffer.allocate(ID3v1Tag.TAG_ID.length);
+            fc.position(length - ID3v1Tag.TAG_LENGTH);
+            Utils.readFully(fc, id);
+            id.flip();
+            if (id.equals(ByteBuffer.wrap(ID3v1Tag.TAG_ID)))
                 return ID3v1Tag.TAG_LENGTH;
             // TODO: add ID3v1 Lyrics support
         }
@@ -325,30 +399,56 @@ public class APEv2Tag extends AbstractTag
 
     public void write(@NonNull RandomAccessFile file) throws IOException
     {
-        delete(file);
+        write(file.getChannel());
+    }
 
-        long startPos = file.length();
-        file.seek(startPos);
+    /**
+     * Write the tag to the end of an open channel, replacing any tag previously existing
+     *
+     * @param fc channel to write the tag to
+     * @throws IOException
+     */
+    public void write(@NonNull FileChannel fc) throws IOException
+    {
+        delete(fc);
 
         List<TagField> fields = getAll();
+        List<byte[]> ids = new ArrayList<>(fields.size());
+        List<byte[]> contents = new ArrayList<>(fields.size());
+        int size = FOOTER_SIZE;
         for (TagField field : fields)
         {
+            byte[] id = field.getId().getBytes(StandardCharsets.UTF_8);
             byte[] data = field.getRawContent();
-            ApeFile.writeInt(file, data.length);
-            ApeFile.writeInt(file, field.isBinary() ? TAG_FIELD_FLAG_DATA_TYPE_BINARY : TAG_FIELD_FLAG_DATA_TYPE_TEXT_UTF8);
-            file.write(field.getId().getBytes(StandardCharsets.UTF_8));
-            file.write(0);
-            file.write(data);
+            ids.add(id);
+            contents.add(data);
+            size += 8 + id.length + 1 + data.length;
         }
 
-        int size = (int)(file.length() - startPos + FOOTER_SIZE);
-        file.writeLong(SIGNATURE);
-        ApeFile.writeInt(file, 2000); // version
-        ApeFile.writeInt(file, size);
-        ApeFile.writeInt(file, fields.size());
-        ApeFile.writeInt(file, 0); // flags;
-        ApeFile.writeInt(file, 0); // reserved
-        ApeFile.writeInt(file, 0); // reserved
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < fields.size(); i++)
+        {
+            buffer.putInt(contents.get(i).length);
+            buffer.putInt(fields.get(i).isBinary() ? TAG_FIELD_FLAG_DATA_TYPE_BINARY : TAG_FIELD_FLAG_DATA_TYPE_TEXT_UTF8);
+            buffer.put(ids.get(i));
+            buffer.put((byte) 0);
+            buffer.put(contents.get(i));
+        }
+
+        buffer.order(ByteOrder.BIG_ENDIAN).putLong(SIGNATURE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(2000); // version
+        buffer.putInt(size);
+        buffer.putInt(fields.size());
+        buffer.putInt(0); // flags;
+        buffer.putInt(0); // reserved
+        buffer.putInt(0); // reserved
+        buffer.flip();
+
+        long position = fc.size();
+        while (buffer.hasRemaining())
+        {
+            position += fc.write(buffer, position);
+        }
     }
 
     @Override
@@ -398,18 +498,21 @@ public class APEv2Tag extends AbstractTag
         List<Artwork> artworkList = new ArrayList<>(coverArts.size());
         for (TagField next : coverArts)
         {
-            byte[] data = ((APEv2TagFieldBinary)next).getRawContent();
-            if (data == null || data.length == 0) continue;
+            ByteBuffer data = ((APEv2TagFieldBinary)next).getContent();
+            if (data == null || !data.hasRemaining()) continue;
 
             // find and extract the filename
-            int offset = 0;
-            while (offset < data.length && data[offset] != 0)
+            int offset = data.position();
+            while (offset < data.limit() && data.get(offset) != 0)
                 offset++;
 
             Artwork artwork = ArtworkFactory.getNew();
-            artwork.setDescription(new String(data, 0, offset, StandardCharsets.UTF_8));
+            artwork.setDescription(getString(data, data.position(), offset - data.position()));
             artwork.setPictureType(PictureTypes.DEFAULT_ID);
-            artwork.setBinaryData(Arrays.copyOfRange(data, offset + 1, data.length));
+            data.position(Math.min(offset + 1, data.limit()));
+            byte[] picture = new byte[data.remaining()];
+            data.get(picture);
+            artwork.setBinaryData(picture);
             artwork.setMimeType(ImageFormats.getMimeTypeForBinarySignature(artwork.getBinaryData()));
             artworkList.add(artwork);
         }
@@ -2,7 +2,7 @@ package org.jaudiotagger.tag.ape;
 
 import org.jaudiotagger.tag.TagField;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 
 /**
  * This class represents the name and content of a binary tag entry in APE files.
@@ -12,9 +12,18 @@ import java.io.UnsupportedEncodingException;
 public class APEv2TagFieldBinary implements TagField
 {
     private final String id;
-    private final byte[] content;
+    private final ByteBuffer content;
 
     APEv2TagFieldBinary(String id, byte[] content)
+    {
+        this(id, content != null ? ByteBuffer.wrap(content) : null);
+    }
+
+    /**
+     * @param id
+     * @param content view of the value, usually within the buffer the tag was read from so it is not copied
+     */
+    APEv2TagFieldBinary(String id, ByteBuffer content)
     {
         this.id = id;
         this.content = content;
@@ -32,10 +41,24 @@ public class APEv2TagFieldBinary implements TagField
         return id;
     }
 
+    /**
+     * @return view of the value without copying it, positioned at its start
+     */
+    public ByteBuffer getContent()
+    {
+        return content != null ? content.duplicate() : null;
+    }
+
     @Override
     public byte[] getRawContent()
     {
-        return content;
+        if (content == null)
+            return null;
+        if (content.hasArray() && content.arrayOffset() == 0 && content.remaining() == content.array().length)
+            return content.array();
+        byte[] data = new byte[content.remaining()];
+        content.duplicate().get(data);
+        return data;
     }
 
     @Override
@@ -60,6 +83,6 @@ public class APEv2TagFieldBinary implements TagField
     @Override
     public boolean isEmpty()
     {
-        return content == null || content.length == 0;
+        return content == null || !content.hasRemaining();
     }
 }
@@ -591,8 +591,16 @@ public final class AsfTag extends AbstractTag
         for (TagField next : coverartList)
         {
             AsfTagCoverField coverArt = (AsfTagCoverField) next;
-            Artwork artwork = ArtworkFactory.getNew();
-            artwork.setBinaryData(coverArt.getRawImageData());
+            Artwork artwork;
+            if (coverArt.getImageDataInFile() != null)
+            {
+                artwork = ArtworkFactory.createArtworkFromImageDataInFile(coverArt.getImageDataInFile());
+            }
+            else
+            {
+                artwork = ArtworkFactory.getNew();
+                artwork.setBinaryData(coverArt.getRawImageData());
+            }
             artwork.setMimeType(coverArt.getMimeType());
             artwork.setDescription(coverArt.getDescription());
             artwork.setPictureType(coverArt.getPictureType());
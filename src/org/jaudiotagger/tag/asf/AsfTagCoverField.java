@@ -4,6 +4,7 @@ import org.jaudiotagger.audio.asf.data.AsfHeader;
 import org.jaudiotagger.audio.asf.data.MetadataDescriptor;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.id3.valuepair.ImageFormats;
+import org.jaudiotagger.tag.images.FileImageData;
 
 import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
@@ -181,6 +182,14 @@ public class AsfTagCoverField extends AbstractAsfTagImageField
         return this.pictureType;
     }
 
+    /**
+     * @return location of the image data if it has not been read from file
+     *         yet, otherwise null
+     */
+    public FileImageData getImageDataInFile() {
+        return this.toWrap.getRawDataEndInFile();
+    }
+
     /**
      * @return the raw image data only
      */
@@ -194,12 +203,16 @@ public class AsfTagCoverField extends AbstractAsfTagImageField
     }
 
     private void processRawContent() throws UnsupportedEncodingException {
+        // Only the header is needed, which is all that has been read if the
+        // image data has been left in the file
+        byte[] rawContent = this.toWrap.getRawDataStart();
+
         // PictureType
-        this.pictureType = this.getRawContent()[0];
+        this.pictureType = rawContent[0];
 
         // ImageDataSize
-        this.imageDataSize = org.jaudiotagger.audio.generic.Utils.getIntLE(this
-                .getRawContent(), 1, 2);
+        this.imageDataSize = org.jaudiotagger.audio.generic.Utils.getIntLE(
+                rawContent, 1, 2);
 
         // Set Count to after picture type,datasize and two byte nulls
         int count = 5;
@@ -207,14 +220,14 @@ public class AsfTagCoverField extends AbstractAsfTagImageField
         this.description = null; // Optional
         int endOfMimeType = 0;
 
-        while (count < this.getRawContent().length - 1) {
-            if (getRawContent()[count] == 0 && getRawContent()[count + 1] == 0) {
+        while (count < rawContent.length - 1) {
+            if (rawContent[count] == 0 && rawContent[count + 1] == 0) {
                 if (this.mimeType == null) {
-                    this.mimeType = new String(getRawContent(), 5, (count) - 5,
+                    this.mimeType = new String(rawContent, 5, (count) - 5,
                             StandardCharsets.UTF_16LE);
                     endOfMimeType = count + 2;
                 } else if (this.description == null) {
-                    this.description = new String(getRawContent(),
+                    this.description = new String(rawContent,
                             endOfMimeType, count - endOfMimeType, StandardCharsets.UTF_16LE);
                     this.endOfName = count + 2;
                     break;
@@ -24,7 +24,10 @@
 package org.jaudiotagger.tag.datatype;
 
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
+import org.jaudiotagger.tag.images.FileImageData;
+import org.jaudiotagger.tag.images.ImageDataNotAvailableException;
 
+import java.io.IOException;
 import java.util.logging.Level;
 
 /**
@@ -33,6 +36,9 @@ import java.util.logging.Level;
  */
 public class ByteArraySizeTerminated extends AbstractDataType
 {
+    //Location of the data if it has been left in the audio file, null once it has been read or replaced
+    private FileImageData valueInFile;
+
     public ByteArraySizeTerminated(String identifier, AbstractTagFrameBody frameBody)
     {
         super(identifier, frameBody);
@@ -41,6 +47,58 @@ public class ByteArraySizeTerminated extends AbstractDataType
     public ByteArraySizeTerminated(ByteArraySizeTerminated object)
     {
         super(object);
+        valueInFile = object.valueInFile;
+    }
+
+    /**
+     * @return location of the data if it has been left in the audio file, or null if the data is held
+     */
+    public FileImageData getValueInFile()
+    {
+        return valueInFile;
+    }
+
+    /**
+     * Leave the data in the audio file, it is read from the file the first time the value is asked for
+     *
+     * @param valueInFile location of the data
+     */
+    public void setValueInFile(FileImageData valueInFile)
+    {
+        this.valueInFile = valueInFile;
+        value = null;
+    }
+
+    /**
+     * @return the data, read from the audio file if it has been left there
+     * @throws ImageDataNotAvailableException if the file cannot be read or has changed since the tag was read
+     */
+    public Object getValue()
+    {
+        readValueInFile();
+        return value;
+    }
+
+    public void setValue(Object value)
+    {
+        valueInFile = null;
+        super.setValue(value);
+    }
+
+    private void readValueInFile()
+    {
+        if (valueInFile != null)
+        {
+            try
+            {
+                value = valueInFile.read();
+                valueInFile = null;
+            }
+            catch (IOException ioe)
+            {
+                throw new ImageDataNotAvailableException(ioe);
+            }
+        }
     }
 
     /**
@@ -52,7 +110,11 @@ public class ByteArraySizeTerminated extends AbstractDataType
     {
         int len = 0;
 
-        if (value != null)
+        if (valueInFile != null)
+        {
+            len = valueInFile.getLength();
+        }
+        else if (value != null)
         {
             len = ((byte[]) value).length;
         }
@@ -62,7 +124,13 @@ public class ByteArraySizeTerminated extends AbstractDataType
 
     public boolean equals(Object obj)
     {
-        return obj instanceof ByteArraySizeTerminated && super.equals(obj);
+        if (!(obj instanceof ByteArraySizeTerminated))
+        {
+            return false;
+        }
+        readValueInFile();
+        ((ByteArraySizeTerminated) obj).readValueInFile();
+        return super.equals(obj);
 
     }
 
@@ -81,6 +149,7 @@ public class ByteArraySizeTerminated extends AbstractDataType
         {
             throw new IndexOutOfBoundsException("Offset to byte array is out of bounds: offset = " + offset + ", array.length = " + arr.length);
         }
+        valueInFile = null;
 
         //Empty Byte Array
         if (offset >= arr.length)
@@ -116,6 +185,7 @@ public class ByteArraySizeTerminated extends AbstractDataType
         {
             logger.config("Writing byte array" + this.getIdentifier());
         }
+        readValueInFile();
         return (byte[]) value;
     }
 }
@@ -1,7 +1,7 @@
 package org.jaudiotagger.tag.datatype;
 
 import org.jaudiotagger.StandardCharsets;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.tag.options.PadNumberOption;
@@ -19,11 +19,11 @@ import java.util.regex.Pattern;
  *
  * Some applications like to prepend the count with a zero to aid sorting, (i.e 02 comes before 10)
  *
- * If TagOptionSingleton.getInstance().isPadNumbers() is enabled then all fields will be written to file padded
+ * If TagOptions.current().isPadNumbers() is enabled then all fields will be written to file padded
  * depending on the value of agOptionSingleton.getInstance().getPadNumberTotalLength(). Additionally fields returned
  * from file will be returned as padded even if they are not currently stored as padded in the file.
  *
- * If TagOptionSingleton.getInstance().isPadNumbers() is disabled then count and track are written to file as they
+ * If TagOptions.current().isPadNumbers() is disabled then count and track are written to file as they
  * are provided, i.e if provided pre-padded they will be stored pre-padded, if not they will not. Values read from
  * file will be returned as they are currently stored in file.
  *
@@ -127,7 +127,7 @@ public class PartOfSet extends AbstractString
         //Try and write to buffer using the CharSet defined by getTextEncodingCharSet()
         try
         {
-            if (TagOptionSingleton.getInstance().isRemoveTrailingTerminatorOnWrite())
+            if (TagOptions.current().isRemoveTrailingTerminatorOnWrite())
             {
                 if (!value.isEmpty())
                 {
@@ -204,7 +204,7 @@ public class PartOfSet extends AbstractString
         private Integer count;
         private Integer total;
         private String  extra;   //Any extraneous info such as null chars
-        private String  rawText;   // raw text representation used to actually save the data IF !TagOptionSingleton.getInstance().isPadNumbers()
+        private String  rawText;   // raw text representation used to actually save the data IF !TagOptions.current().isPadNumbers()
         private String  rawCount;  //count value as provided
         private String  rawTotal;  //total value as provided
         
@@ -370,13 +370,13 @@ public class PartOfSet extends AbstractString
         {
             //Don't Pad
             StringBuffer sb = new StringBuffer();
-            if (!TagOptionSingleton.getInstance().isPadNumbers())
+            if (!TagOptions.current().isPadNumbers())
             {
                 return rawCount;
             }
             else
             {
-                padNumber(sb, count, TagOptionSingleton.getInstance().getPadNumberTotalLength());
+                padNumber(sb, count, TagOptions.current().getPadNumberTotalLength());
             }
             return sb.toString();
         }
@@ -448,13 +448,13 @@ public class PartOfSet extends AbstractString
         {
             //Don't Pad
             StringBuffer sb = new StringBuffer();
-            if (!TagOptionSingleton.getInstance().isPadNumbers())
+            if (!TagOptions.current().isPadNumbers())
             {
                 return rawTotal;
             }
             else
             {
-                padNumber(sb, total, TagOptionSingleton.getInstance().getPadNumberTotalLength());
+                padNumber(sb, total, TagOptions.current().getPadNumberTotalLength());
 
             }
             return sb.toString();
@@ -465,7 +465,7 @@ public class PartOfSet extends AbstractString
 
             //Don't Pad
             StringBuffer sb = new StringBuffer();
-            if (!TagOptionSingleton.getInstance().isPadNumbers())
+            if (!TagOptions.current().isPadNumbers())
             {
                 return rawText;
             }
@@ -473,16 +473,16 @@ public class PartOfSet extends AbstractString
             {
                 if (count != null)
                 {
-                    padNumber(sb, count, TagOptionSingleton.getInstance().getPadNumberTotalLength());
+                    padNumber(sb, count, TagOptions.current().getPadNumberTotalLength());
                 }
                 else if (total != null)
                 {
-                    padNumber(sb, 0, TagOptionSingleton.getInstance().getPadNumberTotalLength());
+                    padNumber(sb, 0, TagOptions.current().getPadNumberTotalLength());
                 }
                 if (total != null)
                 {
                     sb.append(SEPARATOR);
-                    padNumber(sb, total, TagOptionSingleton.getInstance().getPadNumberTotalLength());
+                    padNumber(sb, total, TagOptions.current().getPadNumberTotalLength());
                 }
                 if (extra != null)
                 {
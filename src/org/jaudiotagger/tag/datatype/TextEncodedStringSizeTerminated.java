@@ -1,6 +1,6 @@
 package org.jaudiotagger.tag.datatype;
 
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 
 import java.nio.ByteBuffer;
@@ -227,7 +227,7 @@ public class TextEncodedStringSizeTerminated extends AbstractString
      */
     protected void stripTrailingNull()
     {
-        if (TagOptionSingleton.getInstance().isRemoveTrailingTerminatorOnWrite())
+        if (TagOptions.current().isRemoveTrailingTerminatorOnWrite())
         {
             String stringValue = (String) value;
             if (!stringValue.isEmpty())
@@ -249,7 +249,7 @@ public class TextEncodedStringSizeTerminated extends AbstractString
      */
     protected void checkTrailingNull( List<String> values, String stringValue)
     {
-        if(!TagOptionSingleton.getInstance().isRemoveTrailingTerminatorOnWrite())
+        if(!TagOptions.current().isRemoveTrailingTerminatorOnWrite())
         {
             if (!stringValue.isEmpty() && stringValue.charAt(stringValue.length() - 1) == '\0')
             {
@@ -283,7 +283,7 @@ public class TextEncodedStringSizeTerminated extends AbstractString
             Charset actualCharSet = null;
             if (StandardCharsets.UTF_16.equals(charset))
             {
-                if (TagOptionSingleton.getInstance().isEncodeUTF16BomAsLittleEndian())
+                if (TagOptions.current().isEncodeUTF16BomAsLittleEndian())
                 {
                     actualCharSet = StandardCharsets.UTF_16LE;
                 }
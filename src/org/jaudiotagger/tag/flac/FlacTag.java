@@ -128,7 +128,7 @@ public class FlacTag implements Tag
         String value = values[0];
         if(genericKey==FieldKey.ALBUM_ARTIST)
         {
-            switch(TagOptionSingleton.getInstance().getVorbisAlbumArtistSaveOptions())
+            switch(TagOptions.current().getVorbisAlbumArtistSaveOptions())
             {
                 case WRITE_ALBUMARTIST:
                 {
@@ -194,7 +194,7 @@ public class FlacTag implements Tag
         String value = values[0];
         if(genericKey==FieldKey.ALBUM_ARTIST)
         {
-            switch(TagOptionSingleton.getInstance().getVorbisAlbumArtistSaveOptions())
+            switch(TagOptions.current().getVorbisAlbumArtistSaveOptions())
             {
                 case WRITE_ALBUMARTIST:
                 {
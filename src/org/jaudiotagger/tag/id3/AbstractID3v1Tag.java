@@ -119,28 +119,36 @@ abstract public class AbstractID3v1Tag extends AbstractID3Tag
      * @throws IOException if there was a problem accessing the file
      */
     public void delete(RandomAccessFile file) throws IOException
+    {
+        delete(file.getChannel());
+    }
+
+    /**
+     * Delete tag from the end of an open channel
+     * Looks for tag and if found truncates the channel before it.
+     *
+     * @param fc channel to delete the tag from
+     * @throws IOException if there was a problem accessing the channel
+     */
+    public void delete(FileChannel fc) throws IOException
     {
         //Read into Byte Buffer
         logger.config("Deleting ID3v1 from file if exists");
 
-        FileChannel fc;
-        ByteBuffer byteBuffer;
-        fc = file.getChannel();
-
-        if(file.length() < TAG_LENGTH)
+        long length = fc.size();
+        if(length < TAG_LENGTH)
         {
             throw new IOException("File not large enough to contain a tag");
         }
-        fc.position(file.length() - TAG_LENGTH);
-        byteBuffer = ByteBuffer.allocate(TAG_LENGTH);
-        fc.read(byteBuffer);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(TAG_LENGTH);
+        fc.read(byteBuffer, length - TAG_LENGTH);
         byteBuffer.rewind();
         if (AbstractID3v1Tag.seekForV1OrV11Tag(byteBuffer))
         {
             try
             {
                 logger.config("Deleted ID3v1 tag");
-                file.setLength(file.length() - TAG_LENGTH);
+                fc.truncate(length - TAG_LENGTH);
             }
             catch(IOException ex)
             {
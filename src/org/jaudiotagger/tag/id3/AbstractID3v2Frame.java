@@ -17,11 +17,15 @@ package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.*;
+import org.jaudiotagger.tag.datatype.ByteArraySizeTerminated;
+import org.jaudiotagger.tag.datatype.DataTypes;
 import org.jaudiotagger.tag.id3.framebody.*;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+import org.jaudiotagger.tag.images.FileImageData;
 import org.jaudiotagger.utils.EqualsUtil;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
@@ -53,6 +57,18 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
     //when processing many files
     private String loggingFilename = "";
 
+    //When lazy frame bodies are enabled the body data read from file is kept here and only decoded when the body
+    //is first asked for, these are cleared once the body has been decoded
+    private ByteBuffer pendingBodyBuffer;
+    private String pendingBodyIdentifier;
+    private int pendingBodySize;
+    private TagOptions pendingBodyOptions;
+
+    //When lazy artwork is enabled the position of the image data of a picture frame within the frame data of the
+    //tag, and the bytes of the body before it, so the image data can be left in the file once the tag has been read
+    private int imageDataPosition = -1;
+    private byte[] bytesBeforeImageData;
+
     /**
      *
      * @return size in bytes of the frameid field
@@ -145,11 +161,11 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
         frameBody.setHeader(this);
         if (this instanceof ID3v24Frame)
         {
-            frameBody.setTextEncoding(TagOptionSingleton.getInstance().getId3v24DefaultTextEncoding());
+            frameBody.setTextEncoding(TagOptions.current().getId3v24DefaultTextEncoding());
         }
         else if (this instanceof ID3v23Frame)
         {
-            frameBody.setTextEncoding(TagOptionSingleton.getInstance().getId3v23DefaultTextEncoding());
+            frameBody.setTextEncoding(TagOptions.current().getId3v23DefaultTextEncoding());
         }
 
         logger.config("Created empty frame of type" + identifier);
@@ -748,6 +764,192 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
 
     }
 
+    /**
+     * Read the frame body from the buffer, or if lazy frame bodies are enabled just keep a view of the body data
+     * so it can be read the first time the body is needed. Only frames that are neither compressed nor encrypted
+     * should be read this way.
+     *
+     * <p>If lazy artwork is enabled picture frames are read straight away, and if their body data is held as is in
+     * the tag the position of the image data is kept so it can be left in the file.
+     *
+     * @param identifier the frame identifier used to choose the body type
+     * @param byteBuffer holding just the body of this frame, must not be modified afterwards
+     * @param frameSize
+     * @param bodyPosition position of the body within the frame data of the tag, or -1 if the body data is not held
+     *                     as is in the tag such as when it has been unsynchronized
+     * @throws InvalidFrameException unable to construct a framebody from the data
+     * @throws InvalidDataTypeException
+     */
+    protected void readBodyOrDefer(String identifier, ByteBuffer byteBuffer, int frameSize, int bodyPosition)
+            throws InvalidFrameException, InvalidDataTypeException
+    {
+        TagOptions options = TagOptions.current();
+        if (options.isLazyArtwork() && isAttachedPicture(identifier))
+        {
+            ByteBuffer bodyBuffer = byteBuffer.duplicate();
+            frameBody = checkReadBody(readBody(identifier, byteBuffer, frameSize));
+            if (bodyPosition >= 0)
+            {
+                recordImageDataPosition(bodyBuffer, frameSize, bodyPosition);
+            }
+            return;
+        }
+        if (options.isId3v2LazyFrameBodies() && byteBuffer.remaining() >= frameSize)
+        {
+            pendingBodyBuffer = byteBuffer.slice();
+            pendingBodyBuffer.limit(frameSize);
+            pendingBodyIdentifier = identifier;
+            pendingBodySize = frameSize;
+            pendingBodyOptions = options;
+            frameBody = null;
+            return;
+        }
+        frameBody = checkReadBody(readBody(identifier, byteBuffer, frameSize));
+    }
+
+    private static boolean isAttachedPicture(String identifier)
+    {
+        return identifier.equals(ID3v24Frames.FRAME_ID_ATTACHED_PICTURE) || identifier.equals(ID3v22Frames.FRAME_ID_V2_ATTACHED_PICTURE);
+    }
+
+    /**
+     * Keep the position of the image data of the picture body just read, the image data is the end of the body
+     *
+     * @param bodyBuffer holding the body of this frame, positioned at its start
+     * @param frameSize
+     * @param bodyPosition position of the body within the frame data of the tag
+     */
+    private void recordImageDataPosition(ByteBuffer bodyBuffer, int frameSize, int bodyPosition)
+    {
+        boolean isImageUrl;
+        if (frameBody instanceof FrameBodyAPIC)
+        {
+            isImageUrl = ((FrameBodyAPIC) frameBody).isImageUrl();
+        }
+        else if (frameBody instanceof FrameBodyPIC)
+        {
+            isImageUrl = ((FrameBodyPIC) frameBody).isImageUrl();
+        }
+        else
+        {
+            return;
+        }
+
+        int imageDataLength = frameBody.getObject(DataTypes.OBJ_PICTURE_DATA).getSize();
+        if (isImageUrl || imageDataLength == 0)
+        {
+            return;
+        }
+        bytesBeforeImageData = new byte[frameSize - imageDataLength];
+        bodyBuffer.get(bytesBeforeImageData);
+        imageDataPosition = bodyPosition + bytesBeforeImageData.length;
+    }
+
+    /**
+     * Leave the image data of this picture frame in the file it was read from, so it is only read when it is asked
+     * for. Does nothing unless the position of the image data was kept when the frame was read.
+     *
+     * @param file the file the tag was read from
+     * @param frameDataPosition position in the file of the frame data of the tag
+     */
+    void leaveImageDataInFile(File file, long frameDataPosition)
+    {
+        if (imageDataPosition < 0)
+        {
+            return;
+        }
+        ByteArraySizeTerminated imageData = (ByteArraySizeTerminated) frameBody.getObject(DataTypes.OBJ_PICTURE_DATA);
+        imageData.setValueInFile(new FileImageData(file, frameDataPosition + imageDataPosition, imageData.getSize(), bytesBeforeImageData));
+        imageDataPosition = -1;
+        bytesBeforeImageData = null;
+    }
+
+    /**
+     * Called with each body read from file, allows a subclass to replace a body that is not valid for its version
+     *
+     * @param body
+     * @return the body to use
+     */
+    protected AbstractTagFrameBody checkReadBody(AbstractID3v2FrameBody body)
+    {
+        return body;
+    }
+
+    /**
+     * @return true if the body data has been read from file but not yet decoded
+     */
+    protected boolean isBodyPending()
+    {
+        return pendingBodyBuffer != null;
+    }
+
+    /**
+     * Decode the body data kept by readBodyOrDefer. If the data turns out to be invalid the frame is kept with
+     * an unsupported body holding the original data, rather than being dropped as it would have been had it been
+     * read straight away.
+     */
+    private void readPendingBody()
+    {
+        TagOptions previous = TagOptions.bind(pendingBodyOptions);
+        try
+        {
+            frameBody = checkReadBody(readBody(pendingBodyIdentifier, pendingBodyBuffer.duplicate(), pendingBodySize));
+        }
+        catch (InvalidFrameException | InvalidDataTypeException e)
+        {
+            logger.warning(getLoggingFilename() + ":Corrupt Frame:" + identifier + ":" + e.getMessage());
+            byte[] data = new byte[pendingBodySize];
+            pendingBodyBuffer.duplicate().get(data);
+            frameBody = new FrameBodyUnsupported(identifier, data);
+            frameBody.setHeader(this);
+        }
+        finally
+        {
+            TagOptions.bind(previous);
+            pendingBodyBuffer = null;
+            pendingBodyIdentifier = null;
+            pendingBodyOptions = null;
+        }
+    }
+
+    /**
+     * Returns the body of this frame, decoding it first if it has not been decoded yet.
+     *
+     * @return the body datatype
+     */
+    @Override
+    public AbstractTagFrameBody getBody()
+    {
+        if (pendingBodyBuffer != null)
+        {
+            readPendingBody();
+        }
+        return frameBody;
+    }
+
+    @Override
+    public void setBody(AbstractTagFrameBody frameBody)
+    {
+        imageDataPosition = -1;
+        bytesBeforeImageData = null;
+        pendingBodyBuffer = null;
+        pendingBodyIdentifier = null;
+        pendingBodyOptions = null;
+        super.setBody(frameBody);
+    }
+
+    /**
+     * @return size of the body, without decoding it if it has not been decoded yet
+     */
+    protected int getBodySize()
+    {
+        if (pendingBodyBuffer != null)
+        {
+            return pendingBodySize;
+        }
+        return getBody().getSize();
+    }
+
     /**
      * Get the next frame id, throwing an exception if unable to do this and check against just having padded data
      * 
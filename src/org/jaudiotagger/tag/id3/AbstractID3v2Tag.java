@@ -16,9 +16,13 @@
 package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.StandardCharsets;
+import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.UnableToCreateFileException;
 import org.jaudiotagger.audio.exceptions.UnableToModifyFileException;
+import org.jaudiotagger.audio.generic.AudioFileWriter;
 import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.generic.WritePlan;
+import org.jaudiotagger.audio.generic.WritePlanner;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.logging.FileSystemMessage;
@@ -78,6 +82,9 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
 
     protected static final int TAG_SIZE_INCREMENT = 100;
 
+    //Padding is written from this shared block of zeroes, only ever read through duplicates so it is never modified
+    private static final ByteBuffer ZERO_PADDING = ByteBuffer.allocate(16 * 1024).asReadOnlyBuffer();
+
     /**
      * Map of all frames for this tag
      */
@@ -88,6 +95,17 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected Map<String, List<TagField>> encryptedFrameMap = null;
 
+    /**
+     * Position of the frame data within the buffer the tag was read from, -1 if the tag was not read from a buffer
+     * or its frame data is not held as is in the buffer because the whole tag is unsynchronized
+     */
+    protected int frameDataPosition = -1;
+
+    //Ids of the frames in preferred write order from the last write, reused while the maps hold the same ids because
+    //the comparators look each id up in a list
+    private String[] frameWriteOrder;
+    private String[] encryptedFrameWriteOrder;
+
     /**
      * Holds the ids of invalid duplicate frames
      */
@@ -919,20 +937,31 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     //TODO should clear all data and preferably recover lost space and go upto end of mp3s 
     public void delete(RandomAccessFile file) throws IOException
+    {
+        delete(file.getChannel());
+    }
+
+    /**
+     * Delete Tag from an open channel
+     *
+     * @param fc channel to delete the tag from
+     * @throws IOException if problem accessing the channel
+     */
+    public void delete(FileChannel fc) throws IOException
     {
         // this works by just erasing the "ID3" tag at the beginning
         // of the file
-        byte[] buffer = new byte[FIELD_TAGID_LENGTH];
+        ByteBuffer buffer = ByteBuffer.allocate(FIELD_TAGID_LENGTH);
         //Read into Byte Buffer
-        FileChannel fc = file.getChannel();
-        fc.position();
         ByteBuffer byteBuffer = ByteBuffer.allocate(TAG_HEADER_LENGTH);
         fc.read(byteBuffer, 0);
         byteBuffer.flip();
         if (seek(byteBuffer))
         {
-            file.seek(0L);
-            file.write(buffer);
+            while (buffer.hasRemaining())
+            {
+                fc.write(buffer, buffer.position());
+            }
         }
     }
 
@@ -1037,7 +1066,39 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @return new audioStartByte - different only if the audio content had to be moved
      * @throws IOException
      */
-    public abstract long write(File file, long audioStartByte) throws IOException;
+    public long write(File file, long audioStartByte) throws IOException
+    {
+        setLoggingFilename(file.getName());
+        logger.config(getLoggingFilename() + ":Writing tag to file");
+        return write(null, file, audioStartByte);
+    }
+
+    /**
+     * Write tag to the start of an open channel holding the whole file, such as one opened from a file descriptor.
+     * If the tag does not fit before the audio the audio is moved within the channel.
+     *
+     * @param fc channel open for reading and writing
+     * @param audioStartByte
+     * @return new audioStartByte - different only if the audio content had to be moved
+     * @throws IOException
+     */
+    public long writeToChannel(FileChannel fc, long audioStartByte) throws IOException
+    {
+        logger.config(getLoggingFilename() + ":Writing tag to channel");
+        return write(fc, null, audioStartByte);
+    }
+
+    /**
+     * Write tag to the file, or to the channel if there is no file, by passing the buffers to
+     * {@link #writeBuffer(FileChannel, File, ByteBuffer, ByteBuffer, int, int, long)}
+     *
+     * @param fc channel to write to, only used if file is null
+     * @param file file to write to, or null
+     * @param audioStartByte
+     * @return new audioStartByte - different only if the audio content had to be moved
+     * @throws IOException
+     */
+    protected abstract long write(FileChannel fc, File file, long audioStartByte) throws IOException;
 
     /**
      * Get file lock for writing too file
@@ -1127,9 +1188,15 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected void writePadding(WritableByteChannel channel, int padding) throws IOException
     {
-        if (padding > 0)
+        while (padding > 0)
         {
-            channel.write(ByteBuffer.wrap(new byte[padding]));
+            ByteBuffer zeros = ZERO_PADDING.duplicate();
+            zeros.limit(Math.min(padding, zeros.capacity()));
+            padding -= zeros.remaining();
+            while (zeros.hasRemaining())
+            {
+                channel.write(zeros);
+            }
         }
     }
 
@@ -1157,10 +1224,6 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
             bb = ByteBuffer.allocate(TAG_HEADER_LENGTH);
             fc.read(bb);
             bb.flip();
-            if (bb.limit() < (TAG_HEADER_LENGTH))
-            {
-                return 0;
-            }
         }
         finally
         {
@@ -1174,6 +1237,25 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
                 fis.close();
             }
         }
+        return getV2TagSizeIfExists(bb);
+    }
+
+    /**
+     * Checks to see if the buffer holding the start of the file contains an ID3tag and if so return the size
+     * of the tag (including header), if no such tag exists return zero.
+     *
+     * The position of the buffer is not modified.
+     *
+     * @param startOfFile
+     * @return the end of the tag in the file or zero if no tag exists.
+     */
+    public static long getV2TagSizeIfExists(ByteBuffer startOfFile)
+    {
+        ByteBuffer bb = startOfFile.duplicate();
+        if (bb.remaining() < TAG_HEADER_LENGTH)
+        {
+            return 0;
+        }
 
         //ID3 identifier
         byte[] tagIdentifier = new byte[FIELD_TAGID_LENGTH];
@@ -1243,7 +1325,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected int calculateTagSize(int tagSize, int preferredSize)
     {
-        if(TagOptionSingleton.getInstance().isId3v2PaddingWillShorten())
+        if(TagOptions.current().isId3v2PaddingWillShorten())
         {
             //We just use required size
             return tagSize;
@@ -1261,6 +1343,30 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         }
     }
 
+    /**
+     * Write the data from the buffer to the file, or to the channel if there is no file
+     *
+     * @param fc channel to write to, only used if file is null
+     * @param file file to write to, or null
+     * @param headerBuffer
+     * @param bodyByteBuffer
+     * @param padding
+     * @param sizeIncPadding
+     * @param audioStartLocation
+     * @throws IOException
+     */
+    protected void writeBuffer(FileChannel fc, File file, ByteBuffer headerBuffer, ByteBuffer bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
+    {
+        if (file != null)
+        {
+            writeBufferToFile(file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
+        }
+        else
+        {
+            writeBufferToChannel(fc, null, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
+        }
+    }
+
     /**
      * Write the data from the buffer to the file
      *
@@ -1272,26 +1378,12 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @param audioStartLocation
      * @throws IOException
      */
-    protected void writeBufferToFile(File file, ByteBuffer headerBuffer, byte[] bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
+    protected void writeBufferToFile(File file, ByteBuffer headerBuffer, ByteBuffer bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
     {
+        File newFile;
         try(RandomAccessFile raf = new RandomAccessFile(file, "rw"))
         {
-            FileChannel fc = raf.getChannel();
-            //We need to adjust location of audio file if true
-            if (sizeIncPadding > audioStartLocation)
-            {
-                fc.position(audioStartLocation);
-                ShiftData.shiftDataByOffsetToMakeSpace(fc, (int)(sizeIncPadding - audioStartLocation));
-            }
-            else if(TagOptionSingleton.getInstance().isId3v2PaddingWillShorten() && sizeIncPadding < audioStartLocation)
-            {
-                fc.position(audioStartLocation);
-                ShiftData.shiftDataByOffsetToShrinkSpace(fc, (int)(audioStartLocation - sizeIncPadding));
-            }
-            fc.position(0);
-            fc.write(headerBuffer);
-            fc.write(ByteBuffer.wrap(bodyByteBuffer));
-            fc.write(ByteBuffer.wrap(new byte[padding]));
+            newFile = writeBufferToChannel(raf.getChannel(), file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
         }
         catch(IOException ioe)
         {
@@ -1307,6 +1399,99 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
                 throw new UnableToCreateFileException(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
             }
         }
+
+        //Original file has to be closed before it can be replaced
+        if (newFile != null)
+        {
+            try
+            {
+                AudioFileWriter.transferNewFileToOriginalFile(newFile, file, TagOptions.current().isPreserveFileIdentity());
+            }
+            catch (CannotWriteException cwe)
+            {
+                throw new IOException(cwe.getMessage(), cwe);
+            }
+        }
+    }
+
+    /**
+     * Write the data from the buffer to the start of the channel, moving the audio within the channel if it has to
+     * move, unless there is a file and it is cheaper to write a new file
+     *
+     * @param fc                 channel holding the whole file
+     * @param file               the file the channel is open on, or null if there is none
+     * @param headerBuffer
+     * @param bodyByteBuffer
+     * @param padding
+     * @param sizeIncPadding
+     * @param audioStartLocation
+     * @return the new file to replace the file with once the channel is closed, or null if the tag was written to
+     * the channel
+     * @throws IOException
+     */
+    private File writeBufferToChannel(FileChannel fc, File file, ByteBuffer headerBuffer, ByteBuffer bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
+    {
+        //The padding is already decided so the planner only has to choose how to move the audio if it must move
+        WritePlanner planner = new WritePlanner(1, 0, TagOptions.current().isId3v2PaddingWillShorten() ? 0 : Long.MAX_VALUE);
+        WritePlan plan = planner.plan(fc.size(), 0, audioStartLocation, sizeIncPadding, file != null);
+        switch (plan.getStrategy())
+        {
+            case SHIFT_IN_PLACE:
+                fc.position(audioStartLocation);
+                ShiftData.shiftDataByOffsetToMakeSpace(fc, (int)(sizeIncPadding - audioStartLocation));
+                break;
+
+            case SHRINK_PADDING:
+                fc.position(audioStartLocation);
+                ShiftData.shiftDataByOffsetToShrinkSpace(fc, (int)(audioStartLocation - sizeIncPadding));
+                break;
+
+            case REWRITE:
+                File newFile = WritePlanner.createRewriteFile(file);
+                writeBufferToNewFile(fc, newFile, headerBuffer, bodyByteBuffer, padding, audioStartLocation);
+                return newFile;
+
+            default:
+                break;
+        }
+
+        fc.position(0);
+        fc.write(headerBuffer);
+        fc.write(bodyByteBuffer);
+        writePadding(fc, padding);
+        return null;
+    }
+
+    /**
+     * Write the tag followed by the audio of the original file to a new file
+     *
+     * @param fc                 the original file
+     * @param newFile            the new file
+     * @param headerBuffer
+     * @param bodyByteBuffer
+     * @param padding
+     * @param audioStartLocation
+     * @throws IOException
+     */
+    private void writeBufferToNewFile(FileChannel fc, File newFile, ByteBuffer headerBuffer, ByteBuffer bodyByteBuffer, int padding, long audioStartLocation) throws IOException
+    {
+        try(RandomAccessFile rafTemp = new RandomAccessFile(newFile, "rw"))
+        {
+            FileChannel fcTemp = rafTemp.getChannel();
+            fcTemp.write(headerBuffer);
+            fcTemp.write(bodyByteBuffer);
+            writePadding(fcTemp, padding);
+            Utils.transferFully(fc, audioStartLocation, fc.size() - audioStartLocation, fcTemp);
+            fcTemp.force(false);
+        }
+        catch(IOException ioe)
+        {
+            if (!newFile.delete())
+            {
+                logger.warning(ErrorMessage.GENERAL_WRITE_FAILED_TO_DELETE_TEMPORARY_FILE.getMsg(newFile.getPath()));
+            }
+            throw ioe;
+        }
     }
 
 	private boolean containsAggregatedFrame(Collection<TagField> fields)
@@ -1356,6 +1541,32 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     	existing.add(newFrame);
     }
 
+    /**
+     * Leave the image data of the picture frames in the file the tag was read from, so it is only read when it is
+     * asked for. Only the pictures of frames read with lazy artwork enabled whose data is held as is in the file are
+     * left, the others keep their image data.
+     *
+     * @param file the file the tag was read from
+     * @param bufferPosition position in the file of the start of the buffer the tag was read from
+     */
+    public void leaveImageDataInFile(File file, long bufferPosition)
+    {
+        if (frameDataPosition < 0)
+        {
+            return;
+        }
+        for (List<TagField> fields : frameMap.values())
+        {
+            for (TagField field : fields)
+            {
+                if (field instanceof AbstractID3v2Frame)
+                {
+                    ((AbstractID3v2Frame) field).leaveImageDataInFile(file, bufferPosition + frameDataPosition);
+                }
+            }
+        }
+    }
+
     /**
      * Add frame to the frame map
      *
@@ -1364,7 +1575,8 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyEncrypted)
+        //Bodies that are not decoded yet are never encrypted
+        if (!next.isBodyPending() && next.getBody() instanceof FrameBodyEncrypted)
         {
             loadFrameIntoSpecifiedMap(encryptedFrameMap, frameId, next);
         }
@@ -1476,14 +1688,18 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * <p>Currently Write all frames, defaults to the order in which they were loaded, newly
      * created frames will be at end of tag.
      *
+     * <p>The buffer is sized from the sizes the frames already know, which is exact unless frames have been
+     * modified since they were last read or written, so that the frames are normally written without the buffer
+     * having to grow.
+     *
      * @return ByteBuffer Contains all the frames written within the tag ready for writing to file
      * @throws IOException
      */
-    protected ByteArrayOutputStream writeFramesToBuffer() throws IOException
+    protected ID3WriteBuffer writeFramesToBuffer() throws IOException
     {
-        ByteArrayOutputStream bodyBuffer = new ByteArrayOutputStream();
-        writeFramesToBufferStream(frameMap, bodyBuffer);
-        writeFramesToBufferStream(encryptedFrameMap, bodyBuffer);
+        ID3WriteBuffer bodyBuffer = new ID3WriteBuffer(getSize());
+        frameWriteOrder = writeFramesToBufferStream(frameMap, frameWriteOrder, bodyBuffer);
+        encryptedFrameWriteOrder = writeFramesToBufferStream(encryptedFrameMap, encryptedFrameWriteOrder, bodyBuffer);
         return bodyBuffer;
     }
 
@@ -1491,14 +1707,20 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * Write frames in map to bodyBuffer
      *
      * @param map
+     * @param writeOrder ids of map in preferred order from the last write, or null
      * @param bodyBuffer
+     * @return ids of map in preferred order, to be passed in on the next write
      * @throws IOException
      */
-    private void writeFramesToBufferStream(Map<String, List<TagField>> map, ByteArrayOutputStream bodyBuffer) throws IOException
+    private String[] writeFramesToBufferStream(Map<String, List<TagField>> map, String[] writeOrder, ID3WriteBuffer bodyBuffer) throws IOException
     {
-        //Sort keys into Preferred Order
-        TreeSet<String> sortedWriteOrder = new TreeSet<>(getPreferredFrameOrderComparator());
-        sortedWriteOrder.addAll(map.keySet());
+        //Sort keys into Preferred Order, unless they are the same as last time
+        String[] sortedWriteOrder = writeOrder;
+        if (!hasSameIds(sortedWriteOrder, map))
+        {
+            sortedWriteOrder = map.keySet().toArray(new String[map.size()]);
+            Arrays.sort(sortedWriteOrder, getPreferredFrameOrderComparator());
+        }
 
         for (String id : sortedWriteOrder)
         {
@@ -1522,6 +1744,28 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
 				}
 			}
         }
+        return sortedWriteOrder;
+    }
+
+    /**
+     * @param ids
+     * @param map
+     * @return true if ids holds exactly the keys of map
+     */
+    private static boolean hasSameIds(String[] ids, Map<String, List<TagField>> map)
+    {
+        if (ids == null || ids.length != map.size())
+        {
+            return false;
+        }
+        for (String id : ids)
+        {
+            if (!map.containsKey(id))
+            {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
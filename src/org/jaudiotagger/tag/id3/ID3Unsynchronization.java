@@ -28,7 +28,20 @@ public class ID3Unsynchronization
      */
     public static boolean requiresUnsynchronization(byte[] abySource)
     {
-        for (int i = 0; i < abySource.length - 1; i++)
+        return requiresUnsynchronization(abySource, 0, abySource.length);
+    }
+
+    /**
+     * Check if part of a byte array will require unsynchronization before being written as a tag.
+     *
+     * @param abySource the byte array holding the data
+     * @param offset start of the data to be examined
+     * @param length length of the data to be examined
+     * @return true if unsynchronization is required, false otherwise
+     */
+    public static boolean requiresUnsynchronization(byte[] abySource, int offset, int length)
+    {
+        for (int i = offset; i < offset + length - 1; i++)
         {
             if (((abySource[i] & MPEGFrameHeader.SYNC_BYTE1) == MPEGFrameHeader.SYNC_BYTE1) && ((abySource[i + 1] & MPEGFrameHeader.SYNC_BYTE2) == MPEGFrameHeader.SYNC_BYTE2))
             {
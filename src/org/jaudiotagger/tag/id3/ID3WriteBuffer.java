@@ -0,0 +1,127 @@
+package org.jaudiotagger.tag.id3;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Buffer that the frames of a tag are serialised into
+ *
+ * <p>Each frame writes its body straight into this buffer after space reserved for its header, and fills in the
+ * header once the size of the body is known, so a frame is only ever copied once. The buffer is sized up front from
+ * the sizes the frames already know about, and the finished tag body can be passed on without copying it again.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class ID3WriteBuffer extends ByteArrayOutputStream
+{
+    /**
+     * @param size expected size of the data, the buffer still grows if more is written
+     */
+    public ID3WriteBuffer(int size)
+    {
+        super(Math.max(size, 32));
+    }
+
+    /**
+     * Frames write through this buffer, if they are asked to write to an ordinary stream they write to a new one
+     * and copy it across with {@link #copyTo(ByteArrayOutputStream)}
+     *
+     * @param output stream the frame was asked to write to
+     * @param size expected size of the frame
+     * @return output if it is already an ID3WriteBuffer, otherwise a new one
+     */
+    public static ID3WriteBuffer forOutput(ByteArrayOutputStream output, int size)
+    {
+        if (output instanceof ID3WriteBuffer)
+        {
+            return (ID3WriteBuffer) output;
+        }
+        return new ID3WriteBuffer(size);
+    }
+
+    /**
+     * Copy the data to the stream the frame was asked to write to, does nothing if that is this buffer
+     *
+     * @param output
+     */
+    public void copyTo(ByteArrayOutputStream output)
+    {
+        if (output != this)
+        {
+            output.write(buf, 0, count);
+        }
+    }
+
+    /**
+     * Append zeroed space to be filled in later
+     *
+     * @param length
+     * @return position of the space within the buffer
+     */
+    public int reserve(int length)
+    {
+        int position = count;
+        if (position + length > buf.length)
+        {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, position + length));
+        }
+        //Space given up by truncate may still hold old data
+        Arrays.fill(buf, position, position + length, (byte) 0);
+        count = position + length;
+        return position;
+    }
+
+    /**
+     * Discard everything written from position onwards
+     *
+     * @param position
+     */
+    public void truncate(int position)
+    {
+        count = position;
+    }
+
+    /**
+     * View of part of the data already written, only valid until more is written
+     *
+     * @param position
+     * @param length
+     * @return buffer positioned at the data
+     */
+    public ByteBuffer slice(int position, int length)
+    {
+        return ByteBuffer.wrap(buf, position, length);
+    }
+
+    /**
+     * Check whether the data written from position onwards needs unsynchronising
+     *
+     * @param position
+     * @return true if it contains a false sync
+     */
+    public boolean requiresUnsynchronization(int position)
+    {
+        return ID3Unsynchronization.requiresUnsynchronization(buf, position, count - position);
+    }
+
+    /**
+     * Unsynchronise the data written from position onwards in place
+     *
+     * @param position
+     */
+    public void unsynchronize(int position)
+    {
+        byte[] unsynchronized = ID3Unsynchronization.unsynchronize(Arrays.copyOfRange(buf, position, count));
+        truncate(position);
+        write(unsynchronized, 0, unsynchronized.length);
+    }
+
+    /**
+     * @return view of all the data written, without copying it
+     */
+    public ByteBuffer toByteBuffer()
+    {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+}
@@ -228,6 +228,19 @@ public class ID3v11Tag extends ID3v1Tag
         }
     }
 
+    /**
+     * Creates a new ID3v11 datatype from the last TAG_LENGTH bytes of a file, already read into byteBuffer.
+     *
+     * @param byteBuffer
+     * @param loggingFilename
+     * @throws TagNotFoundException
+     */
+    public ID3v11Tag(ByteBuffer byteBuffer, String loggingFilename) throws TagNotFoundException
+    {
+        setLoggingFilename(loggingFilename);
+        read(byteBuffer);
+    }
+
     /**
      * Creates a new ID3v11 datatype.
      *
@@ -551,22 +564,22 @@ public class ID3v11Tag extends ID3v1Tag
 
 
     /**
-     * Write this representation of tag to the file indicated
+     * Write this representation of tag to the end of an open channel
      *
-     * @param file that this tag should be written to
-     * @throws IOException thrown if there were problems writing to the file
+     * @param fc channel that this tag should be written to
+     * @throws IOException thrown if there were problems writing to the channel
      */
-    public void write(RandomAccessFile file) throws IOException
+    @Override
+    public void write(FileChannel fc) throws IOException
     {
         logger.config("Saving ID3v11 tag to file");
         byte[] buffer = new byte[TAG_LENGTH];
         int i;
         String str;
-        delete(file);
-        file.seek(file.length());
+        delete(fc);
         System.arraycopy(TAG_ID, FIELD_TAGID_POS, buffer, FIELD_TAGID_POS, TAG_ID.length);
         int offset = FIELD_TITLE_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveTitle())
+        if (TagOptions.current().isId3v1SaveTitle())
         {
             str = ID3Tags.truncate(title, FIELD_TITLE_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -575,7 +588,7 @@ public class ID3v11Tag extends ID3v1Tag
             }
         }
         offset = FIELD_ARTIST_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveArtist())
+        if (TagOptions.current().isId3v1SaveArtist())
         {
             str = ID3Tags.truncate(artist, FIELD_ARTIST_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -584,7 +597,7 @@ public class ID3v11Tag extends ID3v1Tag
             }
         }
         offset = FIELD_ALBUM_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveAlbum())
+        if (TagOptions.current().isId3v1SaveAlbum())
         {
             str = ID3Tags.truncate(album, FIELD_ALBUM_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -593,7 +606,7 @@ public class ID3v11Tag extends ID3v1Tag
             }
         }
         offset = FIELD_YEAR_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveYear())
+        if (TagOptions.current().isId3v1SaveYear())
         {
             str = ID3Tags.truncate(year, FIELD_YEAR_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -602,7 +615,7 @@ public class ID3v11Tag extends ID3v1Tag
             }
         }
         offset = FIELD_COMMENT_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveComment())
+        if (TagOptions.current().isId3v1SaveComment())
         {
             str = ID3Tags.truncate(comment, FIELD_COMMENT_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -613,11 +626,16 @@ public class ID3v11Tag extends ID3v1Tag
         offset = FIELD_TRACK_POS;
         buffer[offset] = track; // skip one byte extra blank for 1.1 definition
         offset = FIELD_GENRE_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveGenre())
+        if (TagOptions.current().isId3v1SaveGenre())
         {
             buffer[offset] = genre;
         }
-        file.write(buffer);
+        ByteBuffer tagBuffer = ByteBuffer.wrap(buffer);
+        long position = fc.size();
+        while (tagBuffer.hasRemaining())
+        {
+            position += fc.write(tagBuffer, position);
+        }
 
         logger.config("Saved ID3v11 tag to file");
     }
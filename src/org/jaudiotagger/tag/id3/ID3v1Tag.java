@@ -175,6 +175,19 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         }
     }
 
+    /**
+     * Creates a new ID3v1 datatype from the last TAG_LENGTH bytes of a file, already read into byteBuffer.
+     *
+     * @param byteBuffer
+     * @param loggingFilename
+     * @throws TagNotFoundException
+     */
+    public ID3v1Tag(ByteBuffer byteBuffer, String loggingFilename) throws TagNotFoundException
+    {
+        setLoggingFilename(loggingFilename);
+        read(byteBuffer);
+    }
+
     /**
      * Creates a new ID3v1 datatype.
      *
@@ -988,17 +1001,27 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
      * @throws IOException
      */
     public void write(RandomAccessFile file) throws IOException
+    {
+        write(file.getChannel());
+    }
+
+    /**
+     * Write this tag to the end of an open channel, replacing any tag previously existing
+     *
+     * @param fc
+     * @throws IOException
+     */
+    public void write(FileChannel fc) throws IOException
     {
         logger.config("Saving ID3v1 tag to file");
         byte[] buffer = new byte[TAG_LENGTH];
         int i;
         String str;
-        delete(file);
-        file.seek(file.length());
+        delete(fc);
         //Copy the TAGID into new buffer
         System.arraycopy(TAG_ID, FIELD_TAGID_POS, buffer, FIELD_TAGID_POS, TAG_ID.length);
         int offset = FIELD_TITLE_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveTitle())
+        if (TagOptions.current().isId3v1SaveTitle())
         {
             str = ID3Tags.truncate(title, FIELD_TITLE_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -1007,7 +1030,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
             }
         }
         offset = FIELD_ARTIST_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveArtist())
+        if (TagOptions.current().isId3v1SaveArtist())
         {
             str = ID3Tags.truncate(artist, FIELD_ARTIST_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -1016,7 +1039,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
             }
         }
         offset = FIELD_ALBUM_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveAlbum())
+        if (TagOptions.current().isId3v1SaveAlbum())
         {
             str = ID3Tags.truncate(album, FIELD_ALBUM_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -1025,7 +1048,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
             }
         }
         offset = FIELD_YEAR_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveYear())
+        if (TagOptions.current().isId3v1SaveYear())
         {
             str = ID3Tags.truncate(year, AbstractID3v1Tag.FIELD_YEAR_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -1034,7 +1057,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
             }
         }
         offset = FIELD_COMMENT_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveComment())
+        if (TagOptions.current().isId3v1SaveComment())
         {
             str = ID3Tags.truncate(comment, FIELD_COMMENT_LENGTH);
             for (i = 0; i < str.length(); i++)
@@ -1043,11 +1066,16 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
             }
         }
         offset = FIELD_GENRE_POS;
-        if (TagOptionSingleton.getInstance().isId3v1SaveGenre())
+        if (TagOptions.current().isId3v1SaveGenre())
         {
             buffer[offset] = genre;
         }
-        file.write(buffer);
+        ByteBuffer tagBuffer = ByteBuffer.wrap(buffer);
+        long position = fc.size();
+        while (tagBuffer.hasRemaining())
+        {
+            position += fc.write(tagBuffer, position);
+        }
         logger.config("Saved ID3v1 tag to file");
     }
 
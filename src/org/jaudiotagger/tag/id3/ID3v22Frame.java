@@ -28,7 +28,6 @@ import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.utils.EqualsUtil;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
@@ -300,7 +299,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
-        return frameBody.getSize() + getFrameHeaderSize();
+        return getBodySize() + getFrameHeaderSize();
     }
 
     @Override 
@@ -380,7 +379,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
 
             try
             {
-                frameBody = readBody(id, frameBodyBuffer, frameSize);
+                readBodyOrDefer(id, frameBodyBuffer, frameSize, byteBuffer.position());
             }
             finally
             {
@@ -414,32 +413,20 @@ public class ID3v22Frame extends AbstractID3v2Frame
     public void write(ByteArrayOutputStream tagBuffer)
     {
         logger.config("Write Frame to Buffer" + getIdentifier());
-        //This is where we will write header, move position to where we can
-        //write body
-        ByteBuffer headerBuffer = ByteBuffer.allocate(getFrameHeaderSize());
+        ID3WriteBuffer buffer = ID3WriteBuffer.forOutput(tagBuffer, getSize());
 
-        //Write Frame Body Data
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+        //This is where we will write header, it is filled in once we know the size of the body
+        int headerPosition = buffer.reserve(getFrameHeaderSize());
+
+        //Write Frame Body Data straight after the header
+        ((AbstractID3v2FrameBody) getBody()).write(buffer);
 
         //Write Frame Header
         //Write Frame ID must adjust can only be 3 bytes long
+        ByteBuffer headerBuffer = buffer.slice(headerPosition, getFrameHeaderSize());
         headerBuffer.put(getIdentifier().getBytes(StandardCharsets.ISO_8859_1), 0, getFrameIdSize());
         encodeSize(headerBuffer, frameBody.getSize());
-
-        //Add header to the Byte Array Output Stream
-        try
-        {
-            tagBuffer.write(headerBuffer.array());
-
-            //Add body to the Byte Array Output Stream
-            tagBuffer.write(bodyOutputStream.toByteArray());
-        }
-        catch (IOException ioe)
-        {
-            //This could never happen coz not writing to file, so convert to RuntimeException
-            throw new RuntimeException(ioe);
-        }
+        buffer.copyTo(tagBuffer);
     }
 
     /**
@@ -476,7 +463,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
     {
         MP3File.getStructureFormatter().openHeadingElement(TYPE_FRAME, getIdentifier());
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
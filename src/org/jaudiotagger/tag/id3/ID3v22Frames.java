@@ -122,7 +122,7 @@ public final class ID3v22Frames extends ID3Frames
     private final EnumMap<ID3v22FieldKey, FieldKey> id3ToTagField = new EnumMap<>(ID3v22FieldKey.class);
 
 
-    public static ID3v22Frames getInstanceOf()
+    public static synchronized ID3v22Frames getInstanceOf()
     {
         if (id3v22Frames == null)
         {
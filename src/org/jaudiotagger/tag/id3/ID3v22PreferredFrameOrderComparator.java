@@ -101,7 +101,7 @@ public final class ID3v22PreferredFrameOrderComparator implements Comparator<Str
 
     }
 
-    public static ID3v22PreferredFrameOrderComparator getInstanceof()
+    public static synchronized ID3v22PreferredFrameOrderComparator getInstanceof()
     {
         if(comparator ==null)
         {
@@ -29,6 +29,7 @@ import org.jaudiotagger.tag.reference.PictureTypes;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 import org.jaudiotagger.StandardCharsets;
 import java.util.ArrayList;
@@ -380,11 +381,13 @@ public class ID3v22Tag extends AbstractID3v2Tag
 
         //Slice Buffer, so position markers tally with size (i.e do not include tagheader)
         ByteBuffer bufferWithoutHeader = byteBuffer.slice();
+        frameDataPosition = byteBuffer.position();
 
         //We need to synchronize the buffer
         if (unsynchronization)
         {
             bufferWithoutHeader = ID3Unsynchronization.synchronize(bufferWithoutHeader);
+            frameDataPosition = -1;
         }
         readFrames(bufferWithoutHeader, size);
         logger.config(getLoggingFilename() + ":" + "Loaded Frames,there are:" + frameMap.keySet().size());
@@ -530,30 +533,27 @@ public class ID3v22Tag extends AbstractID3v2Tag
      * {@inheritDoc}
      */
     @Override
-    public long write(File file, long audioStartLocation) throws IOException
+    protected long write(FileChannel fc, File file, long audioStartLocation) throws IOException
     {
-        setLoggingFilename(file.getName());
-        logger.config("Writing tag to file:"+getLoggingFilename());
-
         // Write Body Buffer
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
+        ID3WriteBuffer bodyByteBuffer = writeFramesToBuffer();
 
         // Unsynchronize if option enabled and unsync required
-        unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
+        unsynchronization = TagOptions.current().isUnsyncTags() && bodyByteBuffer.requiresUnsynchronization(0);
         if (isUnsynchronization())
         {
-            bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            bodyByteBuffer.unsynchronize(0);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.size());
         }
 
-        int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) audioStartLocation);
-        int padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+        int sizeIncPadding = calculateTagSize(bodyByteBuffer.size() + TAG_HEADER_LENGTH, (int) audioStartLocation);
+        int padding = sizeIncPadding - (bodyByteBuffer.size() + TAG_HEADER_LENGTH);
         logger.config(getLoggingFilename() + ":Current audiostart:" + audioStartLocation);
         logger.config(getLoggingFilename() + ":Size including padding:" + sizeIncPadding);
         logger.config(getLoggingFilename() + ":Padding:" + padding);
 
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
-        writeBufferToFile(file,headerBuffer, bodyByteBuffer,padding,sizeIncPadding,audioStartLocation);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.size());
+        writeBuffer(fc, file, headerBuffer, bodyByteBuffer.toByteBuffer(),padding,sizeIncPadding,audioStartLocation);
         return sizeIncPadding;
     }
 
@@ -566,27 +566,27 @@ public class ID3v22Tag extends AbstractID3v2Tag
     {
         logger.config(getLoggingFilename() + ":Writing tag to channel");
 
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
-        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.length);
+        ID3WriteBuffer bodyByteBuffer = writeFramesToBuffer();
+        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.size());
 
         //Unsynchronize if option enabled and unsync required
-        unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
+        unsynchronization = TagOptions.current().isUnsyncTags() && bodyByteBuffer.requiresUnsynchronization(0);
         if (isUnsynchronization())
         {
-            bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            bodyByteBuffer.unsynchronize(0);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.size());
         }
 
         int padding = 0;
         if(currentTagSize > 0)
         {
-            int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) currentTagSize);
-            padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+            int sizeIncPadding = calculateTagSize(bodyByteBuffer.size() + TAG_HEADER_LENGTH, (int) currentTagSize);
+            padding = sizeIncPadding - (bodyByteBuffer.size() + TAG_HEADER_LENGTH);
         }
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.size());
 
         channel.write(headerBuffer);
-        channel.write(ByteBuffer.wrap(bodyByteBuffer));
+        channel.write(bodyByteBuffer.toByteBuffer());
         writePadding(channel, padding);
     }
 
@@ -777,7 +777,15 @@ public class ID3v22Tag extends AbstractID3v2Tag
         for (TagField next : coverartList)
         {
             FrameBodyPIC coverArt = (FrameBodyPIC) ((AbstractID3v2Frame) next).getBody();
-            Artwork artwork = ArtworkFactory.getNew();
+            Artwork artwork;
+            if (coverArt.getImageDataInFile() != null)
+            {
+                artwork = ArtworkFactory.createArtworkFromImageDataInFile(coverArt.getImageDataInFile());
+            }
+            else
+            {
+                artwork = ArtworkFactory.getNew();
+            }
             artwork.setMimeType(ImageFormats.getMimeTypeForFormat(coverArt.getFormatType()));
             artwork.setPictureType(coverArt.getPictureType());
             artwork.setDescription(coverArt.getDescription());
@@ -786,7 +794,7 @@ public class ID3v22Tag extends AbstractID3v2Tag
                 artwork.setLinked(true);
                 artwork.setImageUrl(coverArt.getImageUrl());
             }
-            else
+            else if (coverArt.getImageDataInFile() == null)
             {
                 artwork.setBinaryData(coverArt.getImageData());
             }
@@ -889,7 +897,8 @@ public class ID3v22Tag extends AbstractID3v2Tag
 
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyTCON)
+        //Only genre frames are checked, so other lazily read bodies are not decoded here
+        if (frameId.equals(ID3v22Frames.FRAME_ID_V2_GENRE) && next.getBody() instanceof FrameBodyTCON)
         {
             ((FrameBodyTCON)next.getBody()).setV23Format();
         }
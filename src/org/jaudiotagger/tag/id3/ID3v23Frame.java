@@ -31,7 +31,6 @@ import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.utils.EqualsUtil;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.regex.Matcher;
@@ -320,7 +319,7 @@ public class ID3v23Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
-        return frameBody.getSize() + ID3v23Frame.FRAME_HEADER_SIZE;
+        return getBodySize() + ID3v23Frame.FRAME_HEADER_SIZE;
     }
 
     /**
@@ -498,16 +497,10 @@ public class ID3v23Frame extends AbstractID3v2Frame
                 //Create Buffer that only contains the body of this frame rather than the remainder of tag
                 frameBodyBuffer = byteBuffer.slice();
                 frameBodyBuffer.limit(realFrameSize);
-                frameBody = readBody(id, frameBodyBuffer, realFrameSize);
-            }
-            //TODO code seems to assume that if the frame created is not a v23FrameBody
-            //it should be deprecated, but what about if somehow a V24Frame has been put into a V23 Tag, shouldn't
-            //it then be created as FrameBodyUnsupported
-            if (!(frameBody instanceof ID3v23FrameBody))
-            {
-                logger.config(getLoggingFilename() + ":Converted frameBody with:" + identifier + " to deprecated frameBody");
-                frameBody = new FrameBodyDeprecated((AbstractID3v2FrameBody) frameBody);
+                readBodyOrDefer(id, frameBodyBuffer, realFrameSize, byteBuffer.position());
+                return;
             }
+            frameBody = checkReadBody((AbstractID3v2FrameBody) frameBody);
         }
         finally
         {
@@ -516,6 +509,23 @@ public class ID3v23Frame extends AbstractID3v2Frame
         }
     }
 
+    /**
+     * Frame bodies that are not valid for v2.3 are wrapped in a deprecated body
+     */
+    //TODO code seems to assume that if the frame created is not a v23FrameBody
+    //it should be deprecated, but what about if somehow a V24Frame has been put into a V23 Tag, shouldn't
+    //it then be created as FrameBodyUnsupported
+    @Override
+    protected AbstractTagFrameBody checkReadBody(AbstractID3v2FrameBody body)
+    {
+        if (!(body instanceof ID3v23FrameBody))
+        {
+            logger.config(getLoggingFilename() + ":Converted frameBody with:" + identifier + " to deprecated frameBody");
+            return new FrameBodyDeprecated(body);
+        }
+        return body;
+    }
+
     /**
      * Write the frame to bufferOutputStream
      *
@@ -523,18 +533,35 @@ public class ID3v23Frame extends AbstractID3v2Frame
     public void write(ByteArrayOutputStream tagBuffer)
     {
         logger.config("Writing frame to buffer:" + getIdentifier());
-        //This is where we will write header, move position to where we can
-        //write body
-        ByteBuffer headerBuffer = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        ID3WriteBuffer buffer = ID3WriteBuffer.forOutput(tagBuffer, getSize());
+
+        //Remove any non standard flags
+        ((EncodingFlags) encodingFlags).unsetNonStandardFlags();
+
+        //Unset Compression flag if previously set because we uncompress previously compressed frames on write.
+        ((EncodingFlags)encodingFlags).unsetCompression();
+
+        //This is where we will write header, it is filled in once we know the size of the body
+        int headerPosition = buffer.reserve(FRAME_HEADER_SIZE);
+        if (((EncodingFlags) encodingFlags).isEncryption())
+        {
+           buffer.write(encryptionMethod);
+        }
+
+        if (((EncodingFlags) encodingFlags).isGrouping())
+        {
+            buffer.write(groupIdentifier);
+        }
+
+        //Write Frame Body Data straight after the header
+        ((AbstractID3v2FrameBody) getBody()).write(buffer);
 
-        //Write Frame Body Data
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
         //Write Frame Header write Frame ID
         if (getIdentifier().length() == 3)
         {
             identifier = identifier + ' ';
         }
+        ByteBuffer headerBuffer = buffer.slice(headerPosition, FRAME_HEADER_SIZE);
         headerBuffer.put(getIdentifier().getBytes(StandardCharsets.ISO_8859_1), 0, FRAME_ID_SIZE);
         //Write Frame Size
         int size = frameBody.getSize();
@@ -544,39 +571,8 @@ public class ID3v23Frame extends AbstractID3v2Frame
         //Write the Flags
         //Status Flags:leave as they were when we read
         headerBuffer.put(statusFlags.getWriteFlags());
-
-        //Remove any non standard flags
-        ((EncodingFlags) encodingFlags).unsetNonStandardFlags();
-
-        //Unset Compression flag if previously set because we uncompress previously compressed frames on write.
-        ((EncodingFlags)encodingFlags).unsetCompression();
         headerBuffer.put(encodingFlags.getFlags());
-
-        try
-        {
-            //Add header to the Byte Array Output Stream
-            tagBuffer.write(headerBuffer.array());
-
-            if (((EncodingFlags) encodingFlags).isEncryption())
-            {
-               tagBuffer.write(encryptionMethod);
-            }
-
-            if (((EncodingFlags) encodingFlags).isGrouping())
-            {
-                tagBuffer.write(groupIdentifier);
-            }
-
-            //Add body to the Byte Array Output Stream
-            tagBuffer.write(bodyOutputStream.toByteArray());
-        }
-        catch (IOException ioe)
-        {
-            //This could never happen coz not writing to file, so convert to RuntimeException
-            throw new RuntimeException(ioe);
-        }
-
-
+        buffer.copyTo(tagBuffer);
     }
 
     public AbstractID3v2Frame.StatusFlags getStatusFlags()
@@ -847,7 +843,7 @@ public class ID3v23Frame extends AbstractID3v2Frame
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
         statusFlags.createStructure();
         encodingFlags.createStructure();
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
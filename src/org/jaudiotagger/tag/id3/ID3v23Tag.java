@@ -30,6 +30,7 @@ import org.jaudiotagger.tag.reference.PictureTypes;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 import org.jaudiotagger.StandardCharsets;
 import java.util.*;
@@ -584,10 +585,12 @@ public class ID3v23Tag extends AbstractID3v2Tag
 
         //Slice Buffer, so position markers tally with size (i.e do not include tagHeader)
         ByteBuffer bufferWithoutHeader = buffer.slice();
+        frameDataPosition = buffer.position();
         //We need to synchronize the buffer
         if (isUnsynchronization())
         {
             bufferWithoutHeader = ID3Unsynchronization.synchronize(bufferWithoutHeader);
+            frameDataPosition = -1;
         }
 
         readFrames(bufferWithoutHeader, size);
@@ -773,31 +776,28 @@ public class ID3v23Tag extends AbstractID3v2Tag
      * @param file The file to write to
      * @throws IOException
      */
-    public long write(File file, long audioStartLocation) throws IOException
+    protected long write(FileChannel fc, File file, long audioStartLocation) throws IOException
     {
-        setLoggingFilename(file.getName());
-        logger.config("Writing tag to file:"+getLoggingFilename());
-
         //Write Body Buffer
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
-        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.length);
+        ID3WriteBuffer bodyByteBuffer = writeFramesToBuffer();
+        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.size());
 
         // Unsynchronize if option enabled and unsync required
-        unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
+        unsynchronization = TagOptions.current().isUnsyncTags() && bodyByteBuffer.requiresUnsynchronization(0);
         if (isUnsynchronization())
         {
-            bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            bodyByteBuffer.unsynchronize(0);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.size());
         }
 
-        int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) audioStartLocation);
-        int padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+        int sizeIncPadding = calculateTagSize(bodyByteBuffer.size() + TAG_HEADER_LENGTH, (int) audioStartLocation);
+        int padding = sizeIncPadding - (bodyByteBuffer.size() + TAG_HEADER_LENGTH);
         logger.config(getLoggingFilename() + ":Current audiostart:" + audioStartLocation);
         logger.config(getLoggingFilename() + ":Size including padding:" + sizeIncPadding);
         logger.config(getLoggingFilename() + ":Padding:" + padding);
 
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
-        writeBufferToFile(file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.size());
+        writeBuffer(fc, file, headerBuffer, bodyByteBuffer.toByteBuffer(), padding, sizeIncPadding, audioStartLocation);
         return sizeIncPadding;
     }
 
@@ -809,28 +809,28 @@ public class ID3v23Tag extends AbstractID3v2Tag
     {
         logger.config(getLoggingFilename() + ":Writing tag to channel");
 
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
-        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.length);
+        ID3WriteBuffer bodyByteBuffer = writeFramesToBuffer();
+        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.size());
 
         // Unsynchronize if option enabled and unsync required
-        unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
+        unsynchronization = TagOptions.current().isUnsyncTags() && bodyByteBuffer.requiresUnsynchronization(0);
         if (isUnsynchronization())
         {
-            bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            bodyByteBuffer.unsynchronize(0);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.size());
         }
 
         int padding = 0;
         if(currentTagSize > 0)
         {
-            int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) currentTagSize);
-            padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+            int sizeIncPadding = calculateTagSize(bodyByteBuffer.size() + TAG_HEADER_LENGTH, (int) currentTagSize);
+            padding = sizeIncPadding - (bodyByteBuffer.size() + TAG_HEADER_LENGTH);
             logger.config(getLoggingFilename() + ":Padding:"+padding);
         }
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.size());
 
         channel.write(headerBuffer);
-        channel.write(ByteBuffer.wrap(bodyByteBuffer));
+        channel.write(bodyByteBuffer.toByteBuffer());
         writePadding(channel, padding);
     }
 
@@ -982,7 +982,15 @@ public class ID3v23Tag extends AbstractID3v2Tag
         for (TagField next : coverartList)
         {
             FrameBodyAPIC coverArt = (FrameBodyAPIC) ((AbstractID3v2Frame) next).getBody();
-            Artwork artwork = ArtworkFactory.getNew();
+            Artwork artwork;
+            if (coverArt.getImageDataInFile() != null)
+            {
+                artwork = ArtworkFactory.createArtworkFromImageDataInFile(coverArt.getImageDataInFile());
+            }
+            else
+            {
+                artwork = ArtworkFactory.getNew();
+            }
             artwork.setMimeType(coverArt.getMimeType());
             artwork.setPictureType(coverArt.getPictureType());
             artwork.setDescription(coverArt.getDescription());
@@ -991,7 +999,7 @@ public class ID3v23Tag extends AbstractID3v2Tag
                 artwork.setLinked(true);
                 artwork.setImageUrl(coverArt.getImageUrl());
             }
-            else
+            else if (coverArt.getImageDataInFile() == null)
             {
                 artwork.setBinaryData(coverArt.getImageData());
             }
@@ -1084,7 +1092,7 @@ public class ID3v23Tag extends AbstractID3v2Tag
             FrameBodyTCON framebody = (FrameBodyTCON) frame.getBody();
             framebody.setV23Format();
 
-            if(TagOptionSingleton.getInstance().isWriteMp3GenresAsText())
+            if(TagOptions.current().isWriteMp3GenresAsText())
             {
                 framebody.setText(value);
             }
@@ -1216,7 +1224,8 @@ public class ID3v23Tag extends AbstractID3v2Tag
 
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyTCON)
+        //Only genre frames are checked, so other lazily read bodies are not decoded here
+        if (frameId.equals(ID3v23Frames.FRAME_ID_V3_GENRE) && next.getBody() instanceof FrameBodyTCON)
         {
             ((FrameBodyTCON)next.getBody()).setV23Format();
         }
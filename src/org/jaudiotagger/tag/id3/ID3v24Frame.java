@@ -28,7 +28,6 @@ import org.jaudiotagger.tag.lyrics3.*;
 import org.jaudiotagger.utils.EqualsUtil;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Iterator;
@@ -390,7 +389,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
-        return frameBody.getSize() + ID3v24Frame.FRAME_HEADER_SIZE;
+        return getBodySize() + ID3v24Frame.FRAME_HEADER_SIZE;
     }
 
     /**
@@ -633,6 +632,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
         //Create Buffer that only contains the body of this frame rather than the remainder of tag
         ByteBuffer frameBodyBuffer = byteBuffer.slice();
         frameBodyBuffer.limit(realFrameSize);
+        int bodyPosition = byteBuffer.position();
 
         //Do we need to synchronize the frame body
         int syncSize = realFrameSize;
@@ -645,6 +645,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
             //bytes to be dropped so the existing buffer is large enough to hold the modifications
             frameBodyBuffer = ID3Unsynchronization.synchronize(frameBodyBuffer);
             syncSize = frameBodyBuffer.limit();
+            bodyPosition = -1;
             logger.config(getLoggingFilename() + ":" + "Frame Size After Syncing is:" + syncSize);
         }
 
@@ -671,13 +672,10 @@ public class ID3v24Frame extends AbstractID3v2Frame
             }
             else
             {
-                frameBody = readBody(identifier, frameBodyBuffer, syncSize);
-            }
-            if (!(frameBody instanceof ID3v24FrameBody))
-            {
-                logger.config(getLoggingFilename() + ":" + "Converted frame body with:" + identifier + " to deprecated framebody");
-                frameBody = new FrameBodyDeprecated((AbstractID3v2FrameBody) frameBody);
+                readBodyOrDefer(identifier, frameBodyBuffer, syncSize, bodyPosition);
+                return;
             }
+            frameBody = checkReadBody((AbstractID3v2FrameBody) frameBody);
         }
         finally
         {
@@ -686,6 +684,20 @@ public class ID3v24Frame extends AbstractID3v2Frame
         }
     }
 
+    /**
+     * Frame bodies that are not valid for v2.4 are wrapped in a deprecated body
+     */
+    @Override
+    protected AbstractTagFrameBody checkReadBody(AbstractID3v2FrameBody body)
+    {
+        if (!(body instanceof ID3v24FrameBody))
+        {
+            logger.config(getLoggingFilename() + ":" + "Converted frame body with:" + identifier + " to deprecated framebody");
+            return new FrameBodyDeprecated(body);
+        }
+        return body;
+    }
+
     /**
      * Write the frame. Writes the frame header but writing the data is delegated to the
      * frame body.
@@ -695,22 +707,37 @@ public class ID3v24Frame extends AbstractID3v2Frame
         boolean unsynchronization;
 
         logger.config("Writing frame to file:" + getIdentifier());
+        ID3WriteBuffer buffer = ID3WriteBuffer.forOutput(tagBuffer, getSize());
 
-        //This is where we will write header, move position to where we can
-        //write bodybuffer
-        ByteBuffer headerBuffer = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        //Remove any non standard flags
+        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetNonStandardFlags();
+
+        //These are not currently supported on write
+        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetCompression();
+        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetDataLengthIndicator();
+
+        //This is where we will write header, it is filled in once we know the size of the body
+        int headerPosition = buffer.reserve(FRAME_HEADER_SIZE);
+        if (((EncodingFlags) encodingFlags).isEncryption())
+        {
+            buffer.write(encryptionMethod);
+        }
+
+        if (((EncodingFlags) encodingFlags).isGrouping())
+        {
+            buffer.write(groupIdentifier);
+        }
 
-        //Write Frame Body Data to a new stream
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+        //Write Frame Body Data straight after the header
+        int bodyPosition = buffer.size();
+        ((AbstractID3v2FrameBody) getBody()).write(buffer);
 
         //Does it need unsynchronizing, and are we allowing unsychronizing
-        byte[] bodyBuffer = bodyOutputStream.toByteArray();
-        unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyBuffer);
+        unsynchronization = TagOptions.current().isUnsyncTags() && buffer.requiresUnsynchronization(bodyPosition);
         if (unsynchronization)
         {
-            bodyBuffer = ID3Unsynchronization.unsynchronize(bodyBuffer);
-            logger.config("bodybytebuffer:sizeafterunsynchronisation:" + bodyBuffer.length);
+            buffer.unsynchronize(bodyPosition);
+            logger.config("bodybytebuffer:sizeafterunsynchronisation:" + (buffer.size() - bodyPosition));
         }
 
         //Write Frame Header
@@ -720,11 +747,12 @@ public class ID3v24Frame extends AbstractID3v2Frame
         {
             identifier = identifier + ' ';
         }
+        ByteBuffer headerBuffer = buffer.slice(headerPosition, FRAME_HEADER_SIZE);
         headerBuffer.put(getIdentifier().getBytes(StandardCharsets.ISO_8859_1), 0, FRAME_ID_SIZE);
 
-        //Write Frame Size based on size of body buffer (if it has been unsynced then it size
+        //Write Frame Size based on size of body (if it has been unsynced then it size
         //will have increased accordingly
-        int size = bodyBuffer.length;
+        int size = buffer.size() - bodyPosition;
         logger.fine("Frame Size Is:" + size);
         headerBuffer.put(ID3SyncSafeInteger.valueToBuffer(size));
 
@@ -732,9 +760,6 @@ public class ID3v24Frame extends AbstractID3v2Frame
         //Status Flags:leave as they were when we read
         headerBuffer.put(statusFlags.getWriteFlags());
 
-        //Remove any non standard flags
-        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetNonStandardFlags();
-
         //Encoding we only support unsynchronization
         if (unsynchronization)
         {
@@ -744,34 +769,8 @@ public class ID3v24Frame extends AbstractID3v2Frame
         {
             ((ID3v24Frame.EncodingFlags) encodingFlags).unsetUnsynchronised();
         }
-        //These are not currently supported on write
-        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetCompression();
-        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetDataLengthIndicator();
         headerBuffer.put(encodingFlags.getFlags());
-
-        try
-        {
-            //Add header to the Byte Array Output Stream
-            tagBuffer.write(headerBuffer.array());
-
-            if (((EncodingFlags) encodingFlags).isEncryption())
-            {
-                tagBuffer.write(encryptionMethod);
-            }
-
-            if (((EncodingFlags) encodingFlags).isGrouping())
-            {
-                tagBuffer.write(groupIdentifier);
-            }
-
-            //Add bodybuffer to the Byte Array Output Stream
-            tagBuffer.write(bodyBuffer);
-        }
-        catch (IOException ioe)
-        {
-            //This could never happen coz not writing to file, so convert to RuntimeException
-            throw new RuntimeException(ioe);
-        }
+        buffer.copyTo(tagBuffer);
     }
 
     /**
@@ -1127,7 +1126,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
         statusFlags.createStructure();
         encodingFlags.createStructure();
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
@@ -141,7 +141,7 @@ public final class ID3v24Frames extends ID3Frames
 
     private static ID3v24Frames id3v24Frames;
 
-    public static ID3v24Frames getInstanceOf()
+    public static synchronized ID3v24Frames getInstanceOf()
     {
         if (id3v24Frames == null)
         {
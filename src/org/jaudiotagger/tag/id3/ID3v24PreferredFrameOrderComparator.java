@@ -117,7 +117,7 @@ public final class ID3v24PreferredFrameOrderComparator implements Comparator<Str
 
     }
 
-    public static ID3v24PreferredFrameOrderComparator getInstanceof()
+    public static synchronized ID3v24PreferredFrameOrderComparator getInstanceof()
     {
         if (comparator == null)
         {
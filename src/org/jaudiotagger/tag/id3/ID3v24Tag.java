@@ -33,6 +33,7 @@ import org.jaudiotagger.tag.reference.PictureTypes;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 import org.jaudiotagger.StandardCharsets;
 import java.util.*;
@@ -873,6 +874,9 @@ public class ID3v24Tag extends AbstractID3v2Tag
             readExtendedHeader(byteBuffer, size);
         }
 
+        //Frames are read from the whole tag buffer
+        frameDataPosition = 0;
+
         //Note if there was an extended header the size value has padding taken
         //off so we dont search it.
         readFrames(byteBuffer, size);
@@ -1093,22 +1097,19 @@ public class ID3v24Tag extends AbstractID3v2Tag
      * {@inheritDoc}
      */
     @Override
-    public long write(File file, long audioStartLocation) throws IOException
+    protected long write(FileChannel fc, File file, long audioStartLocation) throws IOException
     {
-        setLoggingFilename(file.getName());
-        logger.config(getLoggingFilename()+":Writing tag to file:");
-
         //Write Body Buffer
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
+        ID3WriteBuffer bodyByteBuffer = writeFramesToBuffer();
 
         //Calculate Tag Size including Padding
-        int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) audioStartLocation);
+        int sizeIncPadding = calculateTagSize(bodyByteBuffer.size() + TAG_HEADER_LENGTH, (int) audioStartLocation);
 
         //Calculate padding bytes required
-        int padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+        int padding = sizeIncPadding - (bodyByteBuffer.size() + TAG_HEADER_LENGTH);
 
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
-        writeBufferToFile(file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.size());
+        writeBuffer(fc, file, headerBuffer, bodyByteBuffer.toByteBuffer(), padding, sizeIncPadding, audioStartLocation);
         return sizeIncPadding;
     }
 
@@ -1120,19 +1121,19 @@ public class ID3v24Tag extends AbstractID3v2Tag
     {
         logger.config(getLoggingFilename() +":Writing tag to channel");
 
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
+        ID3WriteBuffer bodyByteBuffer = writeFramesToBuffer();
 
 
         int padding = 0;
         if(currentTagSize > 0)
         {
-            int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) currentTagSize);
-            padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+            int sizeIncPadding = calculateTagSize(bodyByteBuffer.size() + TAG_HEADER_LENGTH, (int) currentTagSize);
+            padding = sizeIncPadding - (bodyByteBuffer.size() + TAG_HEADER_LENGTH);
         }
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.size());
 
         channel.write(headerBuffer);
-        channel.write(ByteBuffer.wrap(bodyByteBuffer));
+        channel.write(bodyByteBuffer.toByteBuffer());
         writePadding(channel, padding);
     }
 
@@ -1301,7 +1302,15 @@ public class ID3v24Tag extends AbstractID3v2Tag
         for (TagField next : coverartList)
         {
             FrameBodyAPIC coverArt = (FrameBodyAPIC) ((AbstractID3v2Frame) next).getBody();
-            Artwork artwork = ArtworkFactory.getNew();
+            Artwork artwork;
+            if (coverArt.getImageDataInFile() != null)
+            {
+                artwork = ArtworkFactory.createArtworkFromImageDataInFile(coverArt.getImageDataInFile());
+            }
+            else
+            {
+                artwork = ArtworkFactory.getNew();
+            }
             artwork.setMimeType(coverArt.getMimeType());
             artwork.setPictureType(coverArt.getPictureType());
             artwork.setDescription(coverArt.getDescription());
@@ -1310,7 +1319,7 @@ public class ID3v24Tag extends AbstractID3v2Tag
                 artwork.setLinked(true);
                 artwork.setImageUrl(coverArt.getImageUrl());
             }
-            else
+            else if (coverArt.getImageDataInFile() == null)
             {
                 artwork.setBinaryData(coverArt.getImageData());
             }
@@ -1391,7 +1400,7 @@ public class ID3v24Tag extends AbstractID3v2Tag
             AbstractID3v2Frame frame = createFrame(formatKey.getFrameId());
             FrameBodyTCON framebody = (FrameBodyTCON) frame.getBody();
 
-            if(TagOptionSingleton.getInstance().isWriteMp3GenresAsText())
+            if(TagOptions.current().isWriteMp3GenresAsText())
             {
                 framebody.setText(value);
             }
@@ -17,11 +17,12 @@ package org.jaudiotagger.tag.id3.framebody;
 
 import org.jaudiotagger.StandardCharsets;
 import org.jaudiotagger.tag.InvalidTagException;
-import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagOptions;
 import org.jaudiotagger.tag.datatype.*;
 import org.jaudiotagger.tag.id3.ID3v24Frames;
 import org.jaudiotagger.tag.id3.valuepair.ImageFormats;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+import org.jaudiotagger.tag.images.FileImageData;
 import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.ByteArrayOutputStream;
@@ -152,14 +153,8 @@ public class FrameBodyAPIC extends AbstractID3v2FrameBody implements ID3v24Frame
 
     public String getUserFriendlyValue()
     {
-        if(getImageData()!=null)
-        {
-            return getMimeType() + ":" + getDescription() + ":" + getImageData().length;
-        }
-        else
-        {
-            return getMimeType() + ":" + getDescription() + ":0";
-        }
+        //Size of the image data without reading it if it has been left in the file
+        return getMimeType() + ":" + getDescription() + ":" + getObject(DataTypes.OBJ_PICTURE_DATA).getSize();
     }
 
 
@@ -223,6 +218,14 @@ public class FrameBodyAPIC extends AbstractID3v2FrameBody implements ID3v24Frame
         return (byte[]) getObjectValue(DataTypes.OBJ_PICTURE_DATA);
     }
 
+    /**
+     * @return location of the image data if it has been left in the audio file, otherwise null
+     */
+    public FileImageData getImageDataInFile()
+    {
+        return ((ByteArraySizeTerminated) getObject(DataTypes.OBJ_PICTURE_DATA)).getValueInFile();
+    }
+
     /**
      * Set Picture Type
      *
@@ -257,7 +260,7 @@ public class FrameBodyAPIC extends AbstractID3v2FrameBody implements ID3v24Frame
      */
     public void write(ByteArrayOutputStream tagBuffer)
     {
-        if(TagOptionSingleton.getInstance().isAPICDescriptionITunesCompatible())
+        if(TagOptions.current().isAPICDescriptionITunesCompatible())
         {
             this.setTextEncoding(TextEncoding.ISO_8859_1);
             if (!((AbstractString) getObject(DataTypes.OBJ_DESCRIPTION)).canBeEncoded())
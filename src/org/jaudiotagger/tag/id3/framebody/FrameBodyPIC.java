@@ -29,6 +29,7 @@ import org.jaudiotagger.tag.datatype.*;
 import org.jaudiotagger.tag.id3.ID3v22Frames;
 import org.jaudiotagger.tag.id3.valuepair.ImageFormats;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+import org.jaudiotagger.tag.images.FileImageData;
 import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.ByteArrayOutputStream;
@@ -181,6 +182,14 @@ public class FrameBodyPIC extends AbstractID3v2FrameBody implements ID3v22FrameB
         return (byte[]) getObjectValue(DataTypes.OBJ_PICTURE_DATA);
     }
 
+    /**
+     * @return location of the image data if it has been left in the audio file, otherwise null
+     */
+    public FileImageData getImageDataInFile()
+    {
+        return ((ByteArraySizeTerminated) getObject(DataTypes.OBJ_PICTURE_DATA)).getValueInFile();
+    }
+
     /**
      * Set Picture Type
      *
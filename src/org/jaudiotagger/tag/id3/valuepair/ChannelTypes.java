@@ -28,7 +28,7 @@ public final class ChannelTypes extends AbstractIntStringValuePair
 {
     private static ChannelTypes channelTypes;
 
-    public static ChannelTypes getInstanceOf()
+    public static synchronized ChannelTypes getInstanceOf()
     {
         if (channelTypes == null)
         {
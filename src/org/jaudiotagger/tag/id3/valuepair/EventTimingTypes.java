@@ -27,7 +27,7 @@ public final class EventTimingTypes extends AbstractIntStringValuePair
 {
     private static EventTimingTypes eventTimingTypes;
 
-    public static EventTimingTypes getInstanceOf()
+    public static synchronized EventTimingTypes getInstanceOf()
     {
         if (eventTimingTypes == null)
         {
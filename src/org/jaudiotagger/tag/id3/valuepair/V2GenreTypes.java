@@ -19,7 +19,7 @@ public final class V2GenreTypes
 
     }
 
-    public static V2GenreTypes getInstanceOf()
+    public static synchronized V2GenreTypes getInstanceOf()
     {
         if (v2GenresTypes == null)
         {
@@ -4,8 +4,10 @@ import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
 import org.jaudiotagger.tag.id3.valuepair.ImageFormats;
 import org.jaudiotagger.tag.reference.PictureTypes;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.RandomAccessFile;
 
 /**
@@ -36,6 +38,27 @@ public class AndroidArtwork implements Artwork
         this.binaryData = binaryData;
     }
 
+    /**
+     * Open a stream of the image data, for {@link LazyArtwork} the data is read from the audio file rather than
+     * being loaded into memory first
+     *
+     * @return stream of the image data, the caller must close it
+     * @throws IOException
+     */
+    public InputStream getBinaryDataStream() throws IOException
+    {
+        byte[] data = getBinaryData();
+        return new ByteArrayInputStream(data != null ? data : new byte[0]);
+    }
+
+    /**
+     * @return length of the image data in bytes, for {@link LazyArtwork} available without loading the data
+     */
+    public int getBinaryDataLength()
+    {
+        return binaryData != null ? binaryData.length : 0;
+    }
+
     public String getMimeType()
     {
         return mimeType;
@@ -22,9 +22,22 @@ public class ArtworkFactory {
      * @return
      */
     public static Artwork createArtworkFromMetadataBlockDataPicture(MetadataBlockDataPicture coverArt) {
+        if (coverArt.getImageDataInFile() != null) {
+            return LazyArtwork.createArtworkFromMetadataBlockDataPicture(coverArt);
+        }
         return AndroidArtwork.createArtworkFromMetadataBlockDataPicture(coverArt);
     }
 
+    /**
+     * Create Artwork instance whose image data is read from the audio file when it is asked for
+     *
+     * @param imageDataInFile
+     * @return
+     */
+    public static Artwork createArtworkFromImageDataInFile(FileImageData imageDataInFile) {
+        return new LazyArtwork(imageDataInFile);
+    }
+
     /**
      * Create Artwork instance from an image file
      *
@@ -0,0 +1,184 @@
+package org.jaudiotagger.tag.images;
+
+import org.jaudiotagger.logging.ErrorMessage;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Image data held within a region of an audio file, only the location is recorded when the tag is read and the
+ * data itself is read from the file when it is asked for.
+ *
+ * The length and modification time of the file are recorded as well, together with the bytes that precede the image
+ * data in the file such as the header of the picture block. If any of them has changed by the time the data is read
+ * then the region may no longer hold the image so an IOException is thrown rather than returning the wrong data, the
+ * bytes are compared as well because a change made within the same second and keeping the length is not seen from
+ * the length and modification time.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class FileImageData
+{
+    private final File file;
+    private final long offset;
+    private final int length;
+    private final long fileLength;
+    private final long fileLastModified;
+    private final byte[] precedingBytes;
+
+    /**
+     * @param file the audio file
+     * @param offset position of the image data in the file
+     * @param length length of the image data in bytes
+     * @param precedingBytes the bytes immediately before the image data in the file, such as the header of the
+     *                       picture block, checked before the data is read
+     */
+    public FileImageData(File file, long offset, int length, byte[] precedingBytes)
+    {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.precedingBytes = precedingBytes;
+        this.fileLength = file.length();
+        this.fileLastModified = file.lastModified();
+    }
+
+    public File getFile()
+    {
+        return file;
+    }
+
+    public long getOffset()
+    {
+        return offset;
+    }
+
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Read the whole of the image data
+     *
+     * @return the image data
+     * @throws IOException if the file cannot be read or has changed since the tag was read
+     */
+    public byte[] read() throws IOException
+    {
+        checkFileUnchanged();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            FileChannel fc = raf.getChannel();
+            checkPrecedingBytesUnchanged(fc);
+            ByteBuffer data = ByteBuffer.allocate(length);
+            while (data.hasRemaining())
+            {
+                if (fc.read(data, offset + data.position()) < 0)
+                {
+                    throw new EOFException(ErrorMessage.IMAGE_DATA_NOT_AVAILABLE.getMsg(file));
+                }
+            }
+            return data.array();
+        }
+    }
+
+    /**
+     * Open a channel that reads the image data from the file, the caller must close it
+     *
+     * @return channel positioned at the start of the image data that ends at the end of the image data
+     * @throws IOException if the file cannot be opened or has changed since the tag was read
+     */
+    public ReadableByteChannel openChannel() throws IOException
+    {
+        checkFileUnchanged();
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        final FileChannel fc = raf.getChannel();
+        try
+        {
+            checkPrecedingBytesUnchanged(fc);
+        }
+        catch (IOException ioe)
+        {
+            raf.close();
+            throw ioe;
+        }
+        return new ReadableByteChannel()
+        {
+            private long position = offset;
+            private final long end = offset + length;
+
+            public int read(ByteBuffer dst) throws IOException
+            {
+                if (position >= end)
+                {
+                    return -1;
+                }
+                ByteBuffer window = dst.duplicate();
+                window.limit(window.position() + (int) Math.min(window.remaining(), end - position));
+                int read = fc.read(window, position);
+                if (read < 0)
+                {
+                    throw new EOFException(ErrorMessage.IMAGE_DATA_NOT_AVAILABLE.getMsg(file));
+                }
+                dst.position(window.position());
+                position += read;
+                return read;
+            }
+
+            public boolean isOpen()
+            {
+                return fc.isOpen();
+            }
+
+            public void close() throws IOException
+            {
+                raf.close();
+            }
+        };
+    }
+
+    /**
+     * Open a stream that reads the image data from the file, the caller must close it
+     *
+     * @return stream of the image data
+     * @throws IOException if the file cannot be opened or has changed since the tag was read
+     */
+    public InputStream openStream() throws IOException
+    {
+        return Channels.newInputStream(openChannel());
+    }
+
+    private void checkFileUnchanged() throws IOException
+    {
+        if (file.length() != fileLength || file.lastModified() != fileLastModified)
+        {
+            throw new IOException(ErrorMessage.IMAGE_DATA_NOT_AVAILABLE.getMsg(file));
+        }
+    }
+
+    private void checkPrecedingBytesUnchanged(FileChannel fc) throws IOException
+    {
+        ByteBuffer current = ByteBuffer.allocate(precedingBytes.length);
+        long start = offset - precedingBytes.length;
+        while (current.hasRemaining())
+        {
+            if (fc.read(current, start + current.position()) < 0)
+            {
+                break;
+            }
+        }
+        if (current.hasRemaining() || !Arrays.equals(current.array(), precedingBytes))
+        {
+            throw new IOException(ErrorMessage.IMAGE_DATA_NOT_AVAILABLE.getMsg(file));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.jaudiotagger.tag.images;
+
+import java.io.IOException;
+
+/**
+ * Thrown if image data that was left in the audio file when the tag was read can no longer be read, because the
+ * file cannot be read or has changed since the tag was read
+ *
+ * <p>Only thrown when {@link org.jaudiotagger.tag.TagOptionSingleton#isLazyArtwork()} is enabled, it is a
+ * RuntimeException because the accessors of the image data do not declare any exception.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class ImageDataNotAvailableException extends RuntimeException
+{
+    /**
+     * Creates a new ImageDataNotAvailableException datatype.
+     *
+     * @param ex the I/O error reading the image data.
+     */
+    public ImageDataNotAvailableException(IOException ex)
+    {
+        super(ex.getMessage(), ex);
+    }
+
+    /**
+     * @return the I/O error reading the image data
+     */
+    @Override
+    public synchronized IOException getCause()
+    {
+        return (IOException) super.getCause();
+    }
+}
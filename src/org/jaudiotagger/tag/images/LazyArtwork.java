@@ -0,0 +1,122 @@
+package org.jaudiotagger.tag.images;
+
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Artwork whose image data is left in the audio file until it is asked for
+ *
+ * Only the location of the image data is held together with the mime type, description, picture type and dimensions,
+ * so listing the artwork of many files does not load any images. The data is read from the file the first time
+ * {@link #getBinaryData()} is called and then kept, {@link #getBinaryDataStream()} reads it from the file each time
+ * without keeping it.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class LazyArtwork extends AndroidArtwork
+{
+    //Location of the image data, null once the data has been loaded or replaced
+    private FileImageData imageDataInFile;
+
+    public LazyArtwork()
+    {
+
+    }
+
+    /**
+     * @param imageDataInFile location of the image data
+     */
+    public LazyArtwork(FileImageData imageDataInFile)
+    {
+        this.imageDataInFile = imageDataInFile;
+    }
+
+    /**
+     * @return location of the image data, or null if it has been loaded or replaced
+     */
+    public FileImageData getImageDataInFile()
+    {
+        return imageDataInFile;
+    }
+
+    /**
+     * @return the image data, read from the file if it has not been loaded yet
+     * @throws ImageDataNotAvailableException if the file cannot be read or has changed since the tag was read
+     */
+    public byte[] getBinaryData()
+    {
+        if (imageDataInFile != null)
+        {
+            try
+            {
+                super.setBinaryData(imageDataInFile.read());
+                imageDataInFile = null;
+            }
+            catch (IOException ioe)
+            {
+                throw new ImageDataNotAvailableException(ioe);
+            }
+        }
+        return super.getBinaryData();
+    }
+
+    public void setBinaryData(byte[] binaryData)
+    {
+        imageDataInFile = null;
+        super.setBinaryData(binaryData);
+    }
+
+    public InputStream getBinaryDataStream() throws IOException
+    {
+        if (imageDataInFile != null)
+        {
+            return imageDataInFile.openStream();
+        }
+        return super.getBinaryDataStream();
+    }
+
+    public int getBinaryDataLength()
+    {
+        if (imageDataInFile != null)
+        {
+            return imageDataInFile.getLength();
+        }
+        return super.getBinaryDataLength();
+    }
+
+    /**
+     * Populate Artwork from MetadataBlockDataPicture, if the picture has not loaded its image data only the location
+     * of the data is taken
+     *
+     * @param coverArt
+     */
+    public void setFromMetadataBlockDataPicture(MetadataBlockDataPicture coverArt)
+    {
+        if (coverArt.getImageDataInFile() == null)
+        {
+            super.setFromMetadataBlockDataPicture(coverArt);
+            return;
+        }
+        setMimeType(coverArt.getMimeType());
+        setDescription(coverArt.getDescription());
+        setPictureType(coverArt.getPictureType());
+        setWidth(coverArt.getWidth());
+        setHeight(coverArt.getHeight());
+        imageDataInFile = coverArt.getImageDataInFile();
+    }
+
+    /**
+     * Create artwork from Flac block without loading its image data
+     *
+     * @param coverArt
+     * @return
+     */
+    public static LazyArtwork createArtworkFromMetadataBlockDataPicture(MetadataBlockDataPicture coverArt)
+    {
+        LazyArtwork artwork = new LazyArtwork();
+        artwork.setFromMetadataBlockDataPicture(coverArt);
+        return artwork;
+    }
+}
@@ -244,7 +244,7 @@ public class Mp4Tag extends AbstractTag
         }
 
         //Always write as text
-        if(TagOptionSingleton.getInstance().isWriteMp4GenresAsText())
+        if(TagOptions.current().isWriteMp4GenresAsText())
         {
             return new Mp4TagTextField(GENRE_CUSTOM.getFieldName(), content);
         }
@@ -714,7 +714,7 @@ public class Mp4Tag extends AbstractTag
         else if (genericKey == FieldKey.GENRE)
         {
             //Always write as text
-            if(TagOptionSingleton.getInstance().isWriteMp4GenresAsText())
+            if(TagOptions.current().isWriteMp4GenresAsText())
             {
                 return new Mp4TagTextField(GENRE_CUSTOM.getFieldName(), value);
             }
@@ -938,8 +938,16 @@ public class Mp4Tag extends AbstractTag
         for(TagField next:coverartList)
         {
             Mp4TagCoverField mp4CoverArt = (Mp4TagCoverField)next;
-            Artwork artwork = ArtworkFactory.getNew();
-            artwork.setBinaryData(mp4CoverArt.getData());
+            Artwork artwork;
+            if (mp4CoverArt.getImageDataInFile() != null)
+            {
+                artwork = ArtworkFactory.createArtworkFromImageDataInFile(mp4CoverArt.getImageDataInFile());
+            }
+            else
+            {
+                artwork = ArtworkFactory.getNew();
+                artwork.setBinaryData(mp4CoverArt.getData());
+            }
             artwork.setMimeType(Mp4TagCoverField.getMimeTypeForImageType(mp4CoverArt.getFieldType()));
             artworkList.add(artwork);
         }
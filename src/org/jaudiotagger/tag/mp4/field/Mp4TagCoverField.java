@@ -18,13 +18,18 @@
  */
 package org.jaudiotagger.tag.mp4.field;
 
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.mp4.atom.Mp4BoxHeader;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.id3.valuepair.ImageFormats;
+import org.jaudiotagger.tag.images.FileImageData;
+import org.jaudiotagger.tag.images.ImageDataNotAvailableException;
 import org.jaudiotagger.tag.mp4.Mp4FieldKey;
 import org.jaudiotagger.tag.mp4.atom.Mp4DataBox;
 import org.jaudiotagger.tag.mp4.atom.Mp4NameBox;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 
@@ -45,6 +50,9 @@ public class Mp4TagCoverField extends Mp4TagBinaryField
     //may have data and name atom
     private int dataAndHeaderSize;
 
+    //Location of the image data when it has not been read from file yet
+    private FileImageData imageDataInFile;
+
     /**
      * Empty CoverArt Field
      */
@@ -78,6 +86,28 @@ public class Mp4TagCoverField extends Mp4TagBinaryField
         }
     }
 
+    /**
+     * Construct CoverField from the data atom without reading the image data, only its location is recorded and the
+     * image is read from the file when it is first asked for
+     *
+     * @param raw data atom, the image data itself does not need to have been loaded and may have been left out, with
+     * the length of the atom reduced to what was loaded
+     * @param imageType
+     * @param file the audio file
+     * @param filePos position of the data atom in the file
+     * @param imageLength length of the image data in the file
+     */
+    public Mp4TagCoverField(ByteBuffer raw, Mp4FieldType imageType, File file, long filePos, int imageLength)
+    {
+        super(Mp4FieldKey.ARTWORK.getFieldName());
+        this.imageType=imageType;
+        if(!Mp4FieldType.isCoverArtType(imageType))
+        {
+            logger.warning(ErrorMessage.MP4_IMAGE_FORMAT_IS_NOT_TO_EXPECTED_TYPE.getMsg(imageType));
+        }
+        build(raw, file, filePos, imageLength);
+    }
+
     /**
      * Construct new cover art with binarydata provided
      *
@@ -134,11 +164,75 @@ public class Mp4TagCoverField extends Mp4TagBinaryField
 
     public String toString()
     {
-        return imageType +":" + dataBytes.length + "bytes";
+        return imageType +":" + (imageDataInFile != null ? imageDataInFile.getLength() : dataBytes.length) + "bytes";
+    }
+
+    /**
+     * @return location of the image data if it has not been read from file yet, otherwise null
+     */
+    public FileImageData getImageDataInFile()
+    {
+        return imageDataInFile;
+    }
+
+    /**
+     * The image data, if it has not been read from file yet it is read now and kept
+     *
+     * @return the image data
+     * @throws ImageDataNotAvailableException if the image data has to be read from the file but the file cannot be
+     * read or has changed since the tag was read
+     */
+    public byte[] getData()
+    {
+        if (imageDataInFile != null)
+        {
+            try
+            {
+                dataBytes = imageDataInFile.read();
+                imageDataInFile = null;
+            }
+            catch (IOException ioe)
+            {
+                throw new ImageDataNotAvailableException(ioe);
+            }
+        }
+        return dataBytes;
+    }
+
+    public void setData(byte[] d)
+    {
+        imageDataInFile = null;
+        super.setData(d);
+    }
+
+    protected byte[] getDataBytes() throws UnsupportedEncodingException
+    {
+        return getData();
+    }
+
+    public boolean isEmpty()
+    {
+        if (imageDataInFile != null)
+        {
+            return imageDataInFile.getLength() == 0;
+        }
+        return super.isEmpty();
     }
 
     protected void build(ByteBuffer raw)
     {
+        build(raw, null, 0, 0);
+    }
+
+    /**
+     * @param raw
+     * @param file the audio file if the image data is to be left in the file, or null to read it from raw
+     * @param filePos position of the data atom in the file
+     * @param imageLengthInFile length of the image data in the file, only used if file is given
+     */
+    private void build(ByteBuffer raw, File file, long filePos, int imageLengthInFile)
+    {
+        int dataAtomPos = raw.position();
         Mp4BoxHeader header = new Mp4BoxHeader(raw);
         dataSize = header.getDataLength();
         dataAndHeaderSize = header.getLength();
@@ -146,9 +240,28 @@ public class Mp4TagCoverField extends Mp4TagBinaryField
         //Skip the version and length fields
         raw.position(raw.position() + Mp4DataBox.PRE_DATA_LENGTH);
 
-        //Read the raw data into byte array
-        this.dataBytes = new byte[dataSize - Mp4DataBox.PRE_DATA_LENGTH];
-        raw.get(dataBytes,0,dataBytes.length);
+        int imageLength = dataSize - Mp4DataBox.PRE_DATA_LENGTH;
+        if (file != null)
+        {
+            //Just record where the image is, skipping whatever of it is in raw, the data atom header is checked
+            //before the image is read so is given the length it has in the file
+            byte[] dataAtomHeader = new byte[Mp4DataBox.DATA_HEADER_LENGTH];
+            for (int i = 0; i < dataAtomHeader.length; i++)
+            {
+                dataAtomHeader[i] = raw.get(dataAtomPos + i);
+            }
+            System.arraycopy(Utils.getSizeBEInt32(Mp4DataBox.DATA_HEADER_LENGTH + imageLengthInFile), 0, dataAtomHeader, 0, Mp4BoxHeader.OFFSET_LENGTH);
+            imageDataInFile = new FileImageData(file, filePos + Mp4DataBox.DATA_HEADER_LENGTH, imageLengthInFile, dataAtomHeader);
+            raw.position(raw.position() + imageLength);
+            dataSize += imageLengthInFile - imageLength;
+            dataAndHeaderSize += imageLengthInFile - imageLength;
+        }
+        else
+        {
+            //Read the raw data into byte array
+            this.dataBytes = new byte[imageLength];
+            raw.get(dataBytes,0,dataBytes.length);
+        }
 
         //Is there room for another atom (remember actually passed all the data so unless Covr is last atom
         //there will be room even though more likely to be for the text top level atom)
@@ -38,7 +38,7 @@ public final class Languages extends AbstractStringStringValuePair
     private static Languages languageTypes;
 
 
-    public static Languages getInstanceOf()
+    public static synchronized Languages getInstanceOf()
     {
         if (languageTypes == null)
         {
@@ -34,7 +34,7 @@ public final class PictureTypes extends AbstractIntStringValuePair
 {
     private static PictureTypes pictureTypes;
 
-    public static PictureTypes getInstanceOf()
+    public static synchronized PictureTypes getInstanceOf()
     {
         if (pictureTypes == null)
         {
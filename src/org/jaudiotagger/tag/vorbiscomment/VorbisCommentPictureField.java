@@ -0,0 +1,124 @@
+package org.jaudiotagger.tag.vorbiscomment;
+
+import org.jaudiotagger.StandardCharsets;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
+import org.jaudiotagger.tag.InvalidFrameException;
+import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.TagTextField;
+import org.jaudiotagger.tag.vorbiscomment.util.Base64Coder;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * METADATA_BLOCK_PICTURE field read from a VorbisComment packet
+ *
+ * The base64 encoded picture is left within the packet it was read from rather than being copied into a String,
+ * and is decoded straight from the packet into a {@link MetadataBlockDataPicture} when the picture is asked for. The
+ * content is only converted to a String if asked for, and once the content has been set the field behaves like any
+ * other VorbisCommentTagField.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public class VorbisCommentPictureField extends VorbisCommentTagField
+{
+    //Packet holding the base64 encoded content, null once the content has been set
+    private byte[] packet;
+    private int contentOffset;
+    private int contentLength;
+
+    /**
+     * @param fieldId ID (name) of the field
+     * @param packet packet the field was read from
+     * @param contentOffset start of the base64 encoded content within the packet
+     * @param contentLength length of the base64 encoded content
+     */
+    public VorbisCommentPictureField(String fieldId, byte[] packet, int contentOffset, int contentLength)
+    {
+        super(fieldId, "");
+        this.packet = packet;
+        this.contentOffset = contentOffset;
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * Decode the picture held in this field
+     *
+     * @return the picture
+     * @throws IOException if the content is not valid base64 encoded data
+     * @throws InvalidFrameException if the decoded data is not a valid picture
+     */
+    public MetadataBlockDataPicture getPicture() throws IOException, InvalidFrameException
+    {
+        if (packet != null)
+        {
+            return new MetadataBlockDataPicture(Base64Coder.decodingStream(packet, contentOffset, contentLength));
+        }
+        byte[] content = super.getContent().getBytes(StandardCharsets.ISO_8859_1);
+        return new MetadataBlockDataPicture(Base64Coder.decodingStream(content, 0, content.length));
+    }
+
+    @Override
+    public String getContent()
+    {
+        if (packet != null)
+        {
+            return new String(packet, contentOffset, contentLength, StandardCharsets.UTF_8);
+        }
+        return super.getContent();
+    }
+
+    @Override
+    public void setContent(String s)
+    {
+        packet = null;
+        super.setContent(s);
+    }
+
+    @Override
+    public void copyContent(TagField field)
+    {
+        if (field instanceof TagTextField)
+        {
+            setContent(((TagTextField) field).getContent());
+        }
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        if (packet != null)
+        {
+            return contentLength == 0;
+        }
+        return super.isEmpty();
+    }
+
+    /**
+     * Overridden to copy the content straight from the packet when it has not been set
+     */
+    @Override
+    public byte[] getRawContent() throws UnsupportedEncodingException
+    {
+        if (packet == null)
+        {
+            return super.getRawContent();
+        }
+
+        byte[] idBytes = getId().getBytes(StandardCharsets.ISO_8859_1);
+        int length = idBytes.length + 1 + contentLength;
+        byte[] b = new byte[VorbisCommentReader.FIELD_COMMENT_LENGTH_LENGTH + length];
+        b[0] = (byte) (length & 0x000000FF);
+        b[1] = (byte) ((length & 0x0000FF00) >> 8);
+        b[2] = (byte) ((length & 0x00FF0000) >> 16);
+        b[3] = (byte) ((length & 0xFF000000) >> 24);
+
+        int offset = VorbisCommentReader.FIELD_COMMENT_LENGTH_LENGTH;
+        copy(idBytes, b, offset);
+        offset += idBytes.length;
+        b[offset] = (byte) 0x3D;
+        offset++;// "="
+        System.arraycopy(packet, contentOffset, b, offset, contentLength);
+        return b;
+    }
+}
@@ -20,10 +20,11 @@
 package org.jaudiotagger.tag.vorbiscomment;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
-import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.logging.ErrorMessage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.jaudiotagger.StandardCharsets;
 import java.util.logging.Logger;
 
@@ -83,31 +84,23 @@ public class VorbisCommentReader
 
         VorbisCommentTag tag = new VorbisCommentTag();
 
-        byte[] b = new byte[FIELD_VENDOR_LENGTH_LENGTH];
-        System.arraycopy(rawdata, FIELD_VENDOR_LENGTH_POS, b, FIELD_VENDOR_LENGTH_POS, FIELD_VENDOR_LENGTH_LENGTH);
-        int pos = FIELD_VENDOR_LENGTH_LENGTH;
-        int vendorStringLength = Utils.getIntLE(b);
+        //Lengths are read directly from the packet rather than copying each one out first
+        ByteBuffer packet = ByteBuffer.wrap(rawdata).order(ByteOrder.LITTLE_ENDIAN);
+        int vendorStringLength = packet.getInt(FIELD_VENDOR_LENGTH_POS);
+        int pos = FIELD_VENDOR_STRING_POS;
 
-        b = new byte[vendorStringLength];
-        System.arraycopy(rawdata, pos, b, 0, vendorStringLength);
+        tag.setVendor(new String(rawdata, pos, vendorStringLength, StandardCharsets.UTF_8));
         pos += vendorStringLength;
-        tag.setVendor(new String(b, StandardCharsets.UTF_8));
         logger.config("Vendor is:"+tag.getVendor());
-        
-        b = new byte[FIELD_USER_COMMENT_LIST_LENGTH];
-        System.arraycopy(rawdata, pos, b, 0, FIELD_USER_COMMENT_LIST_LENGTH);
-        pos += FIELD_USER_COMMENT_LIST_LENGTH;
 
-        int userComments = Utils.getIntLE(b);
+        int userComments = packet.getInt(pos);
+        pos += FIELD_USER_COMMENT_LIST_LENGTH;
         logger.config("Number of user comments:" + userComments);
         
         for (int i = 0; i < userComments; i++)
         {
-            b = new byte[FIELD_COMMENT_LENGTH_LENGTH];
-            System.arraycopy(rawdata, pos, b, 0, FIELD_COMMENT_LENGTH_LENGTH);
+            int commentLength = packet.getInt(pos);
             pos += FIELD_COMMENT_LENGTH_LENGTH;
-
-            int commentLength = Utils.getIntLE(b);
             logger.config("Next Comment Length:" + commentLength);
 
             if(commentLength> JAUDIOTAGGER_MAX_COMMENT_LENGTH)
@@ -122,11 +115,8 @@ public class VorbisCommentReader
             }
             else
             {
-                b = new byte[commentLength];
-                System.arraycopy(rawdata, pos, b, 0, commentLength);
+                VorbisCommentTagField fieldComment = createField(rawdata, pos, commentLength);
                 pos += commentLength;
-
-                VorbisCommentTagField fieldComment = new VorbisCommentTagField(b);
                 logger.config("Adding:" + fieldComment.getId());
                 tag.addField(fieldComment);
             }
@@ -142,5 +132,56 @@ public class VorbisCommentReader
         }
         return tag;
     }
+
+    /**
+     * Create field from the comment held within the packet
+     *
+     * <p>Pictures are left base64 encoded within the packet, so they are not copied or decoded until asked for
+     *
+     * @param rawdata the packet
+     * @param start start of the comment
+     * @param length length of the comment
+     * @return the field
+     * @throws IOException
+     */
+    private VorbisCommentTagField createField(byte[] rawdata, int start, int length) throws IOException
+    {
+        int end = start + length;
+        for (int pos = start; pos < end; pos++)
+        {
+            if (rawdata[pos] == '=')
+            {
+                if (isPictureFieldId(rawdata, start, pos))
+                {
+                    return new VorbisCommentPictureField(VorbisCommentFieldKey.METADATA_BLOCK_PICTURE.getFieldName(), rawdata, pos + 1, end - pos - 1);
+                }
+                break;
+            }
+        }
+        return new VorbisCommentTagField(rawdata, start, length);
+    }
+
+    /**
+     * @param rawdata
+     * @param start start of the field id
+     * @param end end of the field id
+     * @return true if the field id is METADATA_BLOCK_PICTURE, ids are not case sensitive
+     */
+    private static boolean isPictureFieldId(byte[] rawdata, int start, int end)
+    {
+        String pictureFieldId = VorbisCommentFieldKey.METADATA_BLOCK_PICTURE.getFieldName();
+        if (end - start != pictureFieldId.length())
+        {
+            return false;
+        }
+        for (int i = 0; i < pictureFieldId.length(); i++)
+        {
+            if (Character.toUpperCase((char) (rawdata[start + i] & 0xFF)) != pictureFieldId.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
 }
 
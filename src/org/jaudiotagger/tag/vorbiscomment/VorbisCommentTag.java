@@ -440,7 +440,7 @@ public class VorbisCommentTag extends AbstractTag
 
         if(genericKey==FieldKey.ALBUM_ARTIST)
         {
-            switch(TagOptionSingleton.getInstance().getVorbisAlbumArtistSaveOptions())
+            switch(TagOptions.current().getVorbisAlbumArtistSaveOptions())
             {
                 case WRITE_ALBUMARTIST:
                 case WRITE_ALBUMARTIST_AND_DELETE_JRIVER_ALBUMARTIST:
@@ -562,11 +562,12 @@ public class VorbisCommentTag extends AbstractTag
         List<Artwork>  artworkList  = new ArrayList<>(1);
 
         //Read Old Format
-        if(getArtworkBinaryData()!=null & getArtworkBinaryData().length>0)
+        byte[] artworkBinaryData = getArtworkBinaryData();
+        if(artworkBinaryData!=null && artworkBinaryData.length>0)
         {
             Artwork artwork= ArtworkFactory.getNew();
             artwork.setMimeType(getArtworkMimeType());
-            artwork.setBinaryData(getArtworkBinaryData());
+            artwork.setBinaryData(artworkBinaryData);
             artworkList.add(artwork);
         }
 
@@ -577,8 +578,17 @@ public class VorbisCommentTag extends AbstractTag
 
             try
             {
-                byte[] imageBinaryData = Base64Coder.decode(((TagTextField)tagField).getContent());
-                MetadataBlockDataPicture coverArt = new MetadataBlockDataPicture(ByteBuffer.wrap(imageBinaryData));
+                MetadataBlockDataPicture coverArt;
+                if(tagField instanceof VorbisCommentPictureField)
+                {
+                    //Decoded straight from the packet the tag was read from
+                    coverArt = ((VorbisCommentPictureField)tagField).getPicture();
+                }
+                else
+                {
+                    byte[] imageBinaryData = Base64Coder.decode(((TagTextField)tagField).getContent());
+                    coverArt = new MetadataBlockDataPicture(ByteBuffer.wrap(imageBinaryData));
+                }
                 Artwork artwork=ArtworkFactory.createArtworkFromMetadataBlockDataPicture(coverArt);
                 artworkList.add(artwork);
             }
@@ -755,7 +765,7 @@ public class VorbisCommentTag extends AbstractTag
         String value = values[0];
         if(genericKey==FieldKey.ALBUM_ARTIST)
         {
-            switch(TagOptionSingleton.getInstance().getVorbisAlbumArtistSaveOptions())
+            switch(TagOptions.current().getVorbisAlbumArtistSaveOptions())
             {
                 case WRITE_ALBUMARTIST:
                 {
@@ -823,7 +833,7 @@ public class VorbisCommentTag extends AbstractTag
         String value = values[0];
         if(genericKey==FieldKey.ALBUM_ARTIST)
         {
-            switch(TagOptionSingleton.getInstance().getVorbisAlbumArtistSaveOptions())
+            switch(TagOptions.current().getVorbisAlbumArtistSaveOptions())
             {
                 case WRITE_ALBUMARTIST:
                 {
@@ -873,7 +883,7 @@ public class VorbisCommentTag extends AbstractTag
     {
         if(genericKey==FieldKey.ALBUM_ARTIST)
         {
-            switch(TagOptionSingleton.getInstance().getVorbisAlbumArtisReadOptions())
+            switch(TagOptions.current().getVorbisAlbumArtisReadOptions())
             {
                 case READ_ALBUMARTIST:
                 {
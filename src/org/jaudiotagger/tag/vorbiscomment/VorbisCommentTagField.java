@@ -69,7 +69,20 @@ public class VorbisCommentTagField implements TagTextField
      */
     public VorbisCommentTagField(byte[] raw) throws UnsupportedEncodingException
     {
-        String field = new String(raw, org.jaudiotagger.StandardCharsets.UTF_8);
+        this(raw, 0, raw.length);
+    }
+
+    /**
+     * Creates an instance from part of an array, such as the packet the field was read from
+     *
+     * @param raw array holding the raw byte data of the tagfield
+     * @param offset start of the tagfield within the array
+     * @param length length of the tagfield
+     * @throws UnsupportedEncodingException If the data doesn't conform "UTF-8" specification.
+     */
+    public VorbisCommentTagField(byte[] raw, int offset, int length) throws UnsupportedEncodingException
+    {
+        String field = new String(raw, offset, length, org.jaudiotagger.StandardCharsets.UTF_8);
         int i = field.indexOf("=");
         if (i == -1)
         {
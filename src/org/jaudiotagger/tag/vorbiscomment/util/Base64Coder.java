@@ -2,6 +2,9 @@ package org.jaudiotagger.tag.vorbiscomment.util;
 
 import org.jaudiotagger.StandardCharsets;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 
 /**
@@ -157,4 +160,161 @@ public class Base64Coder
         }
         return out;
     }
+
+    /**
+     * Decodes Base64 data held as ASCII bytes as it is read, so the decoded data can be read straight into its
+     * final location without decoding the whole of the input first.
+     *
+     * Carriage returns and line feeds within the input are ignored, decoding stops at the first padding character.
+     *
+     * @param in an array containing the Base64 encoded data
+     * @param offset start of the encoded data within the array
+     * @param length length of the encoded data
+     * @return stream of the decoded data bytes, reading it throws an IOException if the input is not valid Base64
+     * encoded data
+     */
+    public static InputStream decodingStream(byte[] in, int offset, int length)
+    {
+        return new DecodingInputStream(in, offset, offset + length);
+    }
+
+    /**
+     * @param c encoded character
+     * @return the 6-bit nibble for the character, or -1 if it is not a Base64 character
+     */
+    private static int decodeChar(byte c)
+    {
+        return c < 0 ? -1 : map2[c];
+    }
+
+    private static class DecodingInputStream extends InputStream
+    {
+        private final byte[] in;
+        private int pos;
+        private final int end;
+
+        //Bytes decoded from the last quantum that have not been read yet
+        private final byte[] quantum = new byte[3];
+        private int quantumPos;
+        private int quantumLength;
+
+        DecodingInputStream(byte[] in, int start, int end)
+        {
+            this.in = in;
+            this.pos = start;
+            this.end = end;
+        }
+
+        public int read() throws IOException
+        {
+            if (quantumPos == quantumLength && !decodeQuantum())
+            {
+                return -1;
+            }
+            return quantum[quantumPos++] & 0xff;
+        }
+
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            if (len == 0)
+            {
+                return 0;
+            }
+            int op = off;
+            int opEnd = off + len;
+            while (op < opEnd)
+            {
+                if (quantumPos < quantumLength)
+                {
+                    b[op++] = quantum[quantumPos++];
+                    continue;
+                }
+
+                //Decode whole quantums straight into the output until we reach a line break or padding
+                while (opEnd - op >= 3 && end - pos >= 4)
+                {
+                    int b0 = decodeChar(in[pos]);
+                    int b1 = decodeChar(in[pos + 1]);
+                    int b2 = decodeChar(in[pos + 2]);
+                    int b3 = decodeChar(in[pos + 3]);
+                    if ((b0 | b1 | b2 | b3) < 0)
+                    {
+                        break;
+                    }
+                    b[op++] = (byte) ((b0 << 2) | (b1 >>> 4));
+                    b[op++] = (byte) (((b1 & 0xf) << 4) | (b2 >>> 2));
+                    b[op++] = (byte) (((b2 & 3) << 6) | b3);
+                    pos += 4;
+                }
+
+                if (op < opEnd && !decodeQuantum())
+                {
+                    break;
+                }
+            }
+            return op == off ? -1 : op - off;
+        }
+
+        /**
+         * An estimate of the number of bytes left, never less than the actual number
+         */
+        public int available()
+        {
+            return quantumLength - quantumPos + (int) (((long) (end - pos) * 3) / 4);
+        }
+
+        /**
+         * Decode the next quantum of up to four characters into the quantum buffer
+         *
+         * @return false if there is no more data
+         * @throws IOException if the input is not valid Base64 encoded data
+         */
+        private boolean decodeQuantum() throws IOException
+        {
+            int bits = 0;
+            int count = 0;
+            while (count < 4 && pos < end)
+            {
+                byte c = in[pos];
+                if (c == '\r' || c == '\n')
+                {
+                    pos++;
+                    continue;
+                }
+                if (c == '=')
+                {
+                    //Padding so no more data
+                    pos = end;
+                    break;
+                }
+                int nibble = decodeChar(c);
+                if (nibble < 0)
+                {
+                    throw new IOException("Illegal character in Base64 encoded data.");
+                }
+                bits = (bits << 6) | nibble;
+                count++;
+                pos++;
+            }
+
+            quantumPos = 0;
+            quantumLength = 0;
+            if (count == 0)
+            {
+                return false;
+            }
+            if (count == 1)
+            {
+                throw new EOFException("Base64 encoded data ends part way through a byte.");
+            }
+
+            //Left align the bits of a partial quantum, the bits after the last whole byte are ignored
+            bits <<= 6 * (4 - count);
+            quantumLength = count - 1;
+            quantum[0] = (byte) (bits >>> 16);
+            quantum[1] = (byte) (bits >>> 8);
+            quantum[2] = (byte) bits;
+            return true;
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package org.jaudiotagger.utils;
+
+/**
+ * Receives the progress of a {@link DataMover} move and can cancel it.<br>
+ *
+ * <p>Called on the thread that is moving the data, after each chunk has been written, so implementations should
+ * return quickly.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public interface DataMoveListener
+{
+    /**
+     * Notifies that part of the data has been moved.
+     *
+     * @param bytesMoved Number of bytes written so far.
+     * @param bytesTotal Number of bytes to be moved.
+     * @return <code>false</code> to cancel the move, it then throws {@link java.io.InterruptedIOException} and leaves
+     * the file part moved.
+     */
+    boolean progress(long bytesMoved, long bytesTotal);
+}
@@ -0,0 +1,349 @@
+package org.jaudiotagger.utils;
+
+import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.TagOptions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Logger;
+
+/**
+ * Moves a block of data to another position within the same file
+ *
+ * <p>The data is copied in chunks of {@link TagOptions#getWriteChunkSize()} bytes, starting from the end that cannot
+ * be overwritten before it has been read, so the source and destination may overlap. When there is more than one
+ * chunk the chunks are read on a separate thread and handed to the calling thread to write through a bounded queue
+ * of two buffers, so reading the next chunk overlaps writing the last one. The buffers are direct and are kept for
+ * the next move.
+ *
+ * <p>Progress is reported to the {@link DataMoveListener} set on the calling thread, which can also cancel the move.
+ *
+ * @author Artem Izmaylov (www.aimp.ru)
+ */
+public final class DataMover
+{
+    public static final Logger logger = Logger.getLogger("org.jaudiotagger.utils");
+
+    private static final int BUFFER_COUNT = 2;
+    private static final String READER_THREAD_NAME = "jaudiotagger-data-mover";
+
+    //Marks the end of the chunks in the queues
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private static final List<ByteBuffer> pool = new ArrayList<>(BUFFER_COUNT);
+    private static final ThreadLocal<DataMoveListener> listener = new ThreadLocal<>();
+
+    private DataMover()
+    {
+    }
+
+    /**
+     * Set the listener for moves made on the calling thread
+     *
+     * @param moveListener the listener, or null to remove it
+     */
+    public static void setListener(DataMoveListener moveListener)
+    {
+        if (moveListener == null)
+        {
+            listener.remove();
+        }
+        else
+        {
+            listener.set(moveListener);
+        }
+    }
+
+    /**
+     * @return the listener for moves made on the calling thread, or null if none has been set
+     */
+    public static DataMoveListener getListener()
+    {
+        return listener.get();
+    }
+
+    /**
+     * Move length bytes from position from to position to, the file grows if the data is moved past its end but is
+     * never truncated.
+     *
+     * On return the channel is positioned after the moved data.
+     *
+     * @param fc
+     * @param from
+     * @param length
+     * @param to
+     * @throws IOException
+     * @throws InterruptedIOException if the move was cancelled, the file is then part moved
+     */
+    public static void move(FileChannel fc, long from, long length, long to) throws IOException
+    {
+        if (length > 0 && from != to)
+        {
+            logger.config("Moving:" + length + " bytes from:" + from + " to:" + to);
+            Move move = new Move(fc, from, length, to, (int) TagOptions.current().getWriteChunkSize(), listener.get());
+            if (move.chunkCount == 1)
+            {
+                move.runSynchronously();
+            }
+            else
+            {
+                move.runOverlapped();
+            }
+        }
+        fc.position(to + length);
+    }
+
+    private static ByteBuffer acquireBuffer(int capacity)
+    {
+        synchronized (pool)
+        {
+            //Buffers of another size were pooled before the chunk size was changed, so are dropped
+            while (!pool.isEmpty())
+            {
+                ByteBuffer buffer = pool.remove(pool.size() - 1);
+                if (buffer.capacity() == capacity)
+                {
+                    buffer.clear();
+                    return buffer;
+                }
+            }
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer)
+    {
+        synchronized (pool)
+        {
+            if (pool.size() < BUFFER_COUNT)
+            {
+                pool.add(buffer);
+            }
+        }
+    }
+
+    /**
+     * State of a single move
+     */
+    private static class Move
+    {
+        private final FileChannel fc;
+        private final long from;
+        private final long length;
+        private final long to;
+        private final int chunkSize;
+        private final long chunkCount;
+        private final DataMoveListener moveListener;
+
+        //Moving towards the end of the file has to start with the last chunk
+        private final boolean backwards;
+
+        private long bytesMoved;
+
+        private volatile boolean aborted;
+        private volatile Throwable readFailure;
+
+        Move(FileChannel fc, long from, long length, long to, int chunkSize, DataMoveListener moveListener)
+        {
+            this.fc = fc;
+            this.from = from;
+            this.length = length;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (length + chunkSize - 1) / chunkSize;
+            this.moveListener = moveListener;
+            this.backwards = to > from;
+        }
+
+        private long chunkOffset(long chunk)
+        {
+            if (backwards)
+            {
+                return Math.max(0, length - (chunk + 1) * chunkSize);
+            }
+            return chunk * chunkSize;
+        }
+
+        private int chunkLength(long chunk)
+        {
+            if (backwards)
+            {
+                return (int) (length - chunk * chunkSize - chunkOffset(chunk));
+            }
+            return (int) Math.min(chunkSize, length - chunkOffset(chunk));
+        }
+
+        private void readChunk(ByteBuffer buffer, long chunk) throws IOException
+        {
+            long position = from + chunkOffset(chunk);
+            buffer.clear();
+            buffer.limit(chunkLength(chunk));
+            while (buffer.hasRemaining())
+            {
+                if (fc.read(buffer, position + buffer.position()) < 0)
+                {
+                    throw new EOFException("Unexpected end of file at:" + (position + buffer.position()));
+                }
+            }
+            buffer.flip();
+        }
+
+        private void writeChunk(ByteBuffer buffer, long chunk) throws IOException
+        {
+            long position = to + chunkOffset(chunk);
+            while (buffer.hasRemaining())
+            {
+                fc.write(buffer, position + buffer.position());
+            }
+
+            bytesMoved += buffer.limit();
+            if (moveListener != null && !moveListener.progress(bytesMoved, length))
+            {
+                throw new InterruptedIOException(ErrorMessage.DATA_MOVE_CANCELLED.getMsg(bytesMoved, length));
+            }
+        }
+
+        void runSynchronously() throws IOException
+        {
+            ByteBuffer buffer = acquireBuffer(chunkSize);
+            try
+            {
+                for (long chunk = 0; chunk < chunkCount; chunk++)
+                {
+                    readChunk(buffer, chunk);
+                    writeChunk(buffer, chunk);
+                }
+            }
+            finally
+            {
+                releaseBuffer(buffer);
+            }
+        }
+
+        void runOverlapped() throws IOException
+        {
+            final List<ByteBuffer> buffers = new ArrayList<>(BUFFER_COUNT);
+            final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(BUFFER_COUNT + 1);
+            final BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(BUFFER_COUNT + 1);
+            for (int i = 0; i < BUFFER_COUNT; i++)
+            {
+                ByteBuffer buffer = acquireBuffer(chunkSize);
+                buffers.add(buffer);
+                free.add(buffer);
+            }
+
+            //The reader is never interrupted because that would close the channel, it stops when it sees aborted
+            Thread reader = new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        for (long chunk = 0; chunk < chunkCount; chunk++)
+                        {
+                            ByteBuffer buffer = free.take();
+                            if (aborted)
+                            {
+                                return;
+                            }
+                            readChunk(buffer, chunk);
+                            filled.add(buffer);
+                        }
+                    }
+                    catch (InterruptedException ie)
+                    {
+                        readFailure = new InterruptedIOException(ie.getMessage());
+                    }
+                    catch (Throwable t)
+                    {
+                        readFailure = t;
+                    }
+                    finally
+                    {
+                        //Always wake the writer, once every chunk has been read it is never taken
+                        filled.offer(END);
+                    }
+                }
+            }, READER_THREAD_NAME);
+            reader.setDaemon(true);
+            reader.start();
+
+            try
+            {
+                for (long chunk = 0; chunk < chunkCount; chunk++)
+                {
+                    ByteBuffer buffer = filled.take();
+                    if (buffer == END)
+                    {
+                        throwReadFailure();
+                    }
+                    writeChunk(buffer, chunk);
+                    free.add(buffer);
+                }
+            }
+            catch (InterruptedException ie)
+            {
+                throw new InterruptedIOException(ie.getMessage());
+            }
+            finally
+            {
+                //Wake the reader if it is waiting for a buffer, then wait for it to finish with the channel
+                aborted = true;
+                free.offer(END);
+                joinUninterruptibly(reader);
+                for (ByteBuffer buffer : buffers)
+                {
+                    releaseBuffer(buffer);
+                }
+            }
+        }
+
+        /**
+         * Rethrow on the calling thread whatever stopped the reader
+         */
+        private void throwReadFailure() throws IOException
+        {
+            Throwable failure = readFailure;
+            if (failure instanceof IOException)
+            {
+                throw (IOException) failure;
+            }
+            if (failure instanceof RuntimeException)
+            {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error)
+            {
+                throw (Error) failure;
+            }
+            throw new IOException("Reading data to move failed at:" + bytesMoved, failure);
+        }
+
+        private void joinUninterruptibly(Thread thread)
+        {
+            boolean interrupted = false;
+            while (thread.isAlive())
+            {
+                try
+                {
+                    thread.join();
+                }
+                catch (InterruptedException ie)
+                {
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
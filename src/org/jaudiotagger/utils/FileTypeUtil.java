@@ -4,12 +4,14 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map;
 
 public class FileTypeUtil {
 	private static final int BUFFER_SIZE = 4096;
-	private static final int MAX_SIGNATURE_SIZE = 8;
+	private static final int MAX_SIGNATURE_SIZE = 12;
 
 	// PDF files starts with: %PDF
 	// MS office files starts with: (D0 CF 11 E0 A1 B1 1A E1)
@@ -24,6 +26,16 @@ public class FileTypeUtil {
 	private static final Integer[] mp3v1Sig_3 = { 0xFF, 0xF2 };
 	private static final Integer[] mp3v1Sig_4 = { 0xFF, 0xFB };
 	private static final Integer[] mp4Sig = { 0x00, 0x00, 0x00, null, 0x66, 0x74, 0x79, 0x70 };
+	private static final Integer[] flacSig = { 0x66, 0x4C, 0x61, 0x43 };
+	private static final Integer[] oggSig = { 0x4F, 0x67, 0x67, 0x53 };
+	private static final Integer[] wavSig = { 0x52, 0x49, 0x46, 0x46, null, null, null, null, 0x57, 0x41, 0x56, 0x45 };
+	private static final Integer[] aiffSig = { 0x46, 0x4F, 0x52, 0x4D, null, null, null, null, 0x41, 0x49, 0x46, 0x46 };
+	private static final Integer[] aifcSig = { 0x46, 0x4F, 0x52, 0x4D, null, null, null, null, 0x41, 0x49, 0x46, 0x43 };
+	private static final Integer[] asfSig = { 0x30, 0x26, 0xB2, 0x75, 0x8E, 0x66, 0xCF, 0x11 };
+	private static final Integer[] dsfSig = { 0x44, 0x53, 0x44, 0x20 };
+	private static final Integer[] dffSig = { 0x46, 0x52, 0x4D, 0x38 };
+	private static final Integer[] apeSig = { 0x4D, 0x41, 0x43, 0x20 };
+	private static final Integer[] realSig = { 0x2E, 0x52, 0x4D, 0x46 };
 
 	private static final Map<String, Integer[]> signatureMap;
 	private static final Map<String, String> extensionMap;
@@ -36,6 +48,16 @@ public class FileTypeUtil {
 		signatureMap.put("MP3IDv1_3", mp3v1Sig_3);
 		signatureMap.put("MP3IDv1_4", mp3v1Sig_4);
 		signatureMap.put("MP4", mp4Sig);
+		signatureMap.put("FLAC", flacSig);
+		signatureMap.put("OGG", oggSig);
+		signatureMap.put("WAV", wavSig);
+		signatureMap.put("AIFF", aiffSig);
+		signatureMap.put("AIFC", aifcSig);
+		signatureMap.put("ASF", asfSig);
+		signatureMap.put("DSF", dsfSig);
+		signatureMap.put("DFF", dffSig);
+		signatureMap.put("APE", apeSig);
+		signatureMap.put("REAL", realSig);
 		
 		extensionMap = new HashMap<>();
 		extensionMap.put("MP3IDv2", "mp3");
@@ -44,6 +66,16 @@ public class FileTypeUtil {
 		extensionMap.put("MP3IDv1_3", "mp3");
 		extensionMap.put("MP3IDv1_4", "mp3");
 		extensionMap.put("MP4", "m4a");
+		extensionMap.put("FLAC", "flac");
+		extensionMap.put("OGG", "ogg");
+		extensionMap.put("WAV", "wav");
+		extensionMap.put("AIFF", "aif");
+		extensionMap.put("AIFC", "aifc");
+		extensionMap.put("ASF", "wma");
+		extensionMap.put("DSF", "dsf");
+		extensionMap.put("DFF", "dff");
+		extensionMap.put("APE", "ape");
+		extensionMap.put("REAL", "ra");
 		extensionMap.put("UNKNOWN", "");
 	}
 	
@@ -72,6 +104,28 @@ public class FileTypeUtil {
 		}
 	}
 
+	public static String getMagicFileType(FileChannel fc) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		while (buffer.position() < MAX_SIGNATURE_SIZE)
+		{
+			if (fc.read(buffer, buffer.position()) <= 0)
+			{
+				break;
+			}
+		}
+
+		String fileType = "UNKNOWN";
+		for (String key : signatureMap.keySet())
+		{
+			if (matchesSignature(signatureMap.get(key), buffer.array(), buffer.position()))
+			{
+				fileType = key;
+				break;
+			}
+		}
+		return fileType;
+	}
+
 	public static String getMagicExt(String fileType){
 		return extensionMap.get(fileType);
 	}